@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.benchmark;
+
+import matrix4j.matrix.ColumnMajorMatrix;
+import matrix4j.matrix.MatrixUtils;
+import matrix4j.matrix.RowMajorMatrix;
+import matrix4j.matrix.sparse.CSCMatrix;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.DoKMatrix;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * COO to CSR/CSC, DoK to CSR/CSC, and CSR/CSC transposes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({SyntheticData.UNIFORM, SyntheticData.POWER_LAW})
+    public String distribution;
+
+    @Param({"10000"})
+    public int numRows;
+
+    @Param({"10000"})
+    public int numCols;
+
+    @Param({"500000"})
+    public int nnz;
+
+    private SyntheticData data;
+    private DoKMatrix dok;
+    private CSRMatrix csr;
+    private CSCMatrix csc;
+
+    @Setup
+    public void setup() {
+        this.data = SyntheticData.generate(distribution, numRows, numCols, nnz, SyntheticData.SEED);
+        this.dok = new DoKMatrix(nnz * 2);
+        for (int i = 0; i < data.nnz(); i++) {
+            dok.set(data.rows[i], data.cols[i], data.values[i]);
+        }
+        this.csr = MatrixUtils.coo2csr(data.rows, data.cols, data.values, numRows, numCols, true);
+        this.csc = MatrixUtils.coo2csc(data.rows, data.cols, data.values, numRows, numCols, true);
+    }
+
+    @Benchmark
+    public CSRMatrix coo2csr() {
+        return MatrixUtils.coo2csr(data.rows, data.cols, data.values, numRows, numCols, false);
+    }
+
+    @Benchmark
+    public CSRMatrix coo2csrSorted() {
+        return MatrixUtils.coo2csr(data.rows, data.cols, data.values, numRows, numCols, true);
+    }
+
+    @Benchmark
+    public CSCMatrix coo2cscSorted() {
+        return MatrixUtils.coo2csc(data.rows, data.cols, data.values, numRows, numCols, true);
+    }
+
+    @Benchmark
+    public RowMajorMatrix dok2csr() {
+        return dok.toRowMajorMatrix();
+    }
+
+    @Benchmark
+    public ColumnMajorMatrix dok2csc() {
+        return dok.toColumnMajorMatrix();
+    }
+
+    /**
+     * CSR to CSC of the same matrix, i.e., a transpose of the underlying arrays.
+     */
+    @Benchmark
+    public CSCMatrix csr2csc() {
+        return csr.toColumnMajorMatrix();
+    }
+
+    @Benchmark
+    public CSRMatrix csc2csr() {
+        return csc.toRowMajorMatrix();
+    }
+
+}
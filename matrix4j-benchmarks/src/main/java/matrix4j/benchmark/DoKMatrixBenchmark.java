@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.benchmark;
+
+import matrix4j.matrix.sparse.DoKMatrix;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DoKMatrix} set/get where the backing hash table is pre-sized so that it ends up filled to
+ * the given load factor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoKMatrixBenchmark {
+
+    @Param({SyntheticData.UNIFORM, SyntheticData.POWER_LAW})
+    public String distribution;
+
+    @Param({"0.25", "0.5", "0.7"})
+    public float loadFactor;
+
+    @Param({"200000"})
+    public int nnz;
+
+    private SyntheticData data;
+    private int initSize;
+    private DoKMatrix matrix;
+    private int[] missingRows, missingCols;
+
+    @Setup
+    public void setup() {
+        this.data = SyntheticData.generate(distribution, 100000, 100000, nnz, SyntheticData.SEED);
+        this.initSize = Math.round(nnz / loadFactor);
+        this.matrix = set();
+
+        // transposed keys, moved along the row until absent from the matrix
+        final int n = data.rows.length;
+        this.missingRows = new int[n];
+        this.missingCols = new int[n];
+        for (int i = 0; i < n; i++) {
+            final int row = data.cols[i];
+            int col = data.rows[i];
+            while (!Double.isNaN(matrix.get(row, col, Double.NaN))) {
+                col++;
+            }
+            missingRows[i] = row;
+            missingCols[i] = col;
+        }
+    }
+
+    @Benchmark
+    public DoKMatrix set() {
+        final int[] rows = data.rows, cols = data.cols;
+        final double[] values = data.values;
+        final DoKMatrix dok = new DoKMatrix(initSize);
+        for (int i = 0, n = values.length; i < n; i++) {
+            dok.set(rows[i], cols[i], values[i]);
+        }
+        return dok;
+    }
+
+    @Benchmark
+    public double get() {
+        final int[] rows = data.rows, cols = data.cols;
+        double sum = 0.d;
+        for (int i = 0, n = rows.length; i < n; i++) {
+            sum += matrix.get(rows[i], cols[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double getMissing() {
+        final int[] rows = missingRows, cols = missingCols;
+        double sum = 0.d;
+        for (int i = 0, n = rows.length; i < n; i++) {
+            sum += matrix.get(rows[i], cols[i], 1.d);
+        }
+        return sum;
+    }
+
+}
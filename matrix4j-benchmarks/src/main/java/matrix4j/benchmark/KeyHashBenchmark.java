@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.benchmark;
+
+import matrix4j.utils.collections.maps.Long2DoubleOpenHashTable;
+import matrix4j.utils.collections.maps.LongHashFunction;
+import matrix4j.utils.lang.Primitives;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Long2DoubleOpenHashTable} put/get on the <code>(row, col)</code> keys used by the DoK
+ * matrices, for each {@link LongHashFunction}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyHashBenchmark {
+
+    @Param({SyntheticData.UNIFORM, SyntheticData.POWER_LAW, SyntheticData.BANDED})
+    public String distribution;
+
+    @Param({"xorfold", "murmur3", "splitmix64"})
+    public String hash;
+
+    @Param({"200000"})
+    public int nnz;
+
+    private long[] keys;
+    private double[] values;
+    private LongHashFunction hashFunction;
+    private Long2DoubleOpenHashTable table;
+
+    @Setup
+    public void setup() {
+        final SyntheticData data =
+                SyntheticData.generate(distribution, 100000, 100000, nnz, SyntheticData.SEED);
+        final int size = data.nnz();
+        this.keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = Primitives.toLong(data.rows[i], data.cols[i]);
+        }
+        this.values = data.values;
+        if ("xorfold".equals(hash)) {
+            this.hashFunction = LongHashFunction.XOR_FOLD;
+        } else if ("murmur3".equals(hash)) {
+            this.hashFunction = LongHashFunction.MURMUR3;
+        } else if ("splitmix64".equals(hash)) {
+            this.hashFunction = LongHashFunction.SPLITMIX64;
+        } else {
+            throw new IllegalArgumentException("Unsupported hash: " + hash);
+        }
+        this.table = put();
+    }
+
+    @Benchmark
+    public Long2DoubleOpenHashTable put() {
+        final long[] keys = this.keys;
+        final double[] values = this.values;
+        final Long2DoubleOpenHashTable map = new Long2DoubleOpenHashTable(16384, hashFunction);
+        for (int i = 0, n = keys.length; i < n; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public double get() {
+        final long[] keys = this.keys;
+        double sum = 0.d;
+        for (int i = 0, n = keys.length; i < n; i++) {
+            sum += table.get(keys[i]);
+        }
+        return sum;
+    }
+
+}
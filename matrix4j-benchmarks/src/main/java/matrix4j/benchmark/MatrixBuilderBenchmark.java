@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.benchmark;
+
+import matrix4j.matrix.Matrix;
+import matrix4j.matrix.MatrixUtils;
+import matrix4j.matrix.builders.CSCMatrixBuilder;
+import matrix4j.matrix.builders.CSRMatrixBuilder;
+import matrix4j.matrix.builders.ColumnMajorDenseMatrixBuilder;
+import matrix4j.matrix.builders.DoKMatrixBuilder;
+import matrix4j.matrix.builders.MatrixBuilder;
+import matrix4j.matrix.builders.RowMajorDenseMatrixBuilder;
+import matrix4j.matrix.sparse.CSRMatrix;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Row-by-row ingestion through {@link MatrixBuilder} per format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBuilderBenchmark {
+
+    @Param({SyntheticData.UNIFORM, SyntheticData.POWER_LAW})
+    public String distribution;
+
+    @Param({"csr", "csc", "dok", "dense_row", "dense_column"})
+    public String format;
+
+    @Param({"5000"})
+    public int numRows;
+
+    @Param({"5000"})
+    public int numCols;
+
+    @Param({"200000"})
+    public int nnz;
+
+    /** input rows sorted by column index */
+    private CSRMatrix input;
+
+    @Setup
+    public void setup() {
+        SyntheticData data =
+                SyntheticData.generate(distribution, numRows, numCols, nnz, SyntheticData.SEED);
+        this.input = MatrixUtils.coo2csr(data.rows, data.cols, data.values, numRows, numCols, true);
+    }
+
+    @Benchmark
+    public Matrix build() {
+        final MatrixBuilder builder = newBuilder(format, nnz);
+        final int[] rowPointers = input.getRowPointers();
+        final int[] columnIndices = input.getColumnIndices();
+        final double[] values = input.getValues();
+        for (int row = 0; row < numRows; row++) {
+            for (int i = rowPointers[row], end = rowPointers[row + 1]; i < end; i++) {
+                builder.nextColumn(columnIndices[i], values[i]);
+            }
+            builder.nextRow();
+        }
+        return builder.buildMatrix();
+    }
+
+    @Nonnull
+    private static MatrixBuilder newBuilder(@Nonnull final String format, final int nnz) {
+        if ("csr".equals(format)) {
+            return new CSRMatrixBuilder(nnz);
+        } else if ("csc".equals(format)) {
+            return new CSCMatrixBuilder(nnz);
+        } else if ("dok".equals(format)) {
+            return new DoKMatrixBuilder(nnz);
+        } else if ("dense_row".equals(format)) {
+            return new RowMajorDenseMatrixBuilder(1024);
+        } else if ("dense_column".equals(format)) {
+            return new ColumnMajorDenseMatrixBuilder(1024);
+        }
+        throw new IllegalArgumentException("Unsupported format: " + format);
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.benchmark;
+
+import matrix4j.matrix.MatrixUtils;
+import matrix4j.matrix.sparse.CSCMatrix;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.vector.VectorCursor;
+import matrix4j.vector.VectorProcedure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Random access and row/column iteration on {@link CSRMatrix} and {@link CSCMatrix}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparseAccessBenchmark {
+
+    @Param({SyntheticData.UNIFORM, SyntheticData.POWER_LAW})
+    public String distribution;
+
+    @Param({"10000"})
+    public int numRows;
+
+    @Param({"10000"})
+    public int numCols;
+
+    @Param({"500000"})
+    public int nnz;
+
+    private SyntheticData data;
+    private CSRMatrix csr;
+    private CSCMatrix csc;
+    private VectorCursor cursor;
+
+    @Setup
+    public void setup() {
+        this.data = SyntheticData.generate(distribution, numRows, numCols, nnz, SyntheticData.SEED);
+        this.csr = MatrixUtils.coo2csr(data.rows, data.cols, data.values, numRows, numCols, true);
+        this.csc = MatrixUtils.coo2csc(data.rows, data.cols, data.values, numRows, numCols, true);
+        this.cursor = new VectorCursor();
+    }
+
+    @Benchmark
+    public double csrGet() {
+        final int[] rows = data.rows, cols = data.cols;
+        double sum = 0.d;
+        for (int i = 0, n = rows.length; i < n; i++) {
+            sum += csr.get(rows[i], cols[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double cscGet() {
+        final int[] rows = data.rows, cols = data.cols;
+        double sum = 0.d;
+        for (int i = 0, n = rows.length; i < n; i++) {
+            sum += csc.get(rows[i], cols[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double csrEachNonZeroInRow() {
+        final Sum sum = new Sum();
+        for (int row = 0; row < numRows; row++) {
+            csr.eachNonZeroInRow(row, sum);
+        }
+        return sum.value;
+    }
+
+    @Benchmark
+    public double csrRowCursor() {
+        double sum = 0.d;
+        for (int row = 0; row < numRows; row++) {
+            csr.getRow(row, cursor);
+            while (cursor.next()) {
+                sum += cursor.value();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double cscEachNonZeroInColumn() {
+        final Sum sum = new Sum();
+        for (int col = 0; col < numCols; col++) {
+            csc.eachNonZeroInColumn(col, sum);
+        }
+        return sum.value;
+    }
+
+    @Benchmark
+    public double cscColumnCursor() {
+        double sum = 0.d;
+        for (int col = 0; col < numCols; col++) {
+            csc.getColumn(col, cursor);
+            while (cursor.next()) {
+                sum += cursor.value();
+            }
+        }
+        return sum;
+    }
+
+    private static final class Sum extends VectorProcedure {
+        double value;
+
+        @Override
+        public void apply(int i, double v) {
+            value += v;
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.benchmark;
+
+import matrix4j.matrix.generators.BandedMatrixGenerator;
+import matrix4j.matrix.generators.SparseMatrixGenerator;
+import matrix4j.matrix.generators.UniformMatrixGenerator;
+import matrix4j.matrix.generators.ZipfMatrixGenerator;
+import matrix4j.matrix.sparse.CSRMatrix;
+
+import java.util.Random;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Reproducible coordinate lists of distinct non-zeros in random order for benchmarks.
+ */
+final class SyntheticData {
+
+    static final long SEED = 43L;
+
+    static final String UNIFORM = "uniform";
+    static final String POWER_LAW = "powerlaw";
+    static final String BANDED = "banded";
+
+    final int numRows;
+    final int numCols;
+    @Nonnull
+    final int[] rows;
+    @Nonnull
+    final int[] cols;
+    @Nonnull
+    final double[] values;
+
+    private SyntheticData(int numRows, int numCols, @Nonnull int[] rows, @Nonnull int[] cols,
+            @Nonnull double[] values) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.rows = rows;
+        this.cols = cols;
+        this.values = values;
+    }
+
+    int nnz() {
+        return values.length;
+    }
+
+    /**
+     * @param distribution {@link #UNIFORM}, {@link #POWER_LAW} (Zipf with exponent 1.1 on both row
+     *        and column degrees) or {@link #BANDED} (a band of 8 entries on either side of the
+     *        diagonal)
+     */
+    @Nonnull
+    static SyntheticData generate(@Nonnull final String distribution,
+            @Nonnegative final int numRows, @Nonnegative final int numCols,
+            @Nonnegative final int nnz, final long seed) {
+        final SparseMatrixGenerator generator;
+        if (UNIFORM.equals(distribution)) {
+            generator = new UniformMatrixGenerator(numRows, numCols, nnz, seed);
+        } else if (POWER_LAW.equals(distribution)) {
+            generator = new ZipfMatrixGenerator(numRows, numCols, nnz, 1.1d, 1.1d, seed);
+        } else if (BANDED.equals(distribution)) {
+            generator = new BandedMatrixGenerator(numRows, numCols, 8, 8, nnz, seed);
+        } else {
+            throw new IllegalArgumentException("Unsupported distribution: " + distribution);
+        }
+        final CSRMatrix csr = generator.toCSRMatrix();
+        final int[] rowPointers = csr.getRowPointers();
+        final int[] cols = csr.getColumnIndices().clone();
+        final double[] values = csr.getValues().clone();
+        final int size = values.length;
+        final int[] rows = new int[size];
+        for (int row = 0; row < numRows; row++) {
+            for (int i = rowPointers[row], end = rowPointers[row + 1]; i < end; i++) {
+                rows[i] = row;
+            }
+        }
+
+        // shuffle so that the coordinate list is not in row-major order
+        final Random rnd = new Random(seed);
+        for (int i = size - 1; i > 0; i--) {
+            final int j = rnd.nextInt(i + 1);
+            swap(rows, i, j);
+            swap(cols, i, j);
+            final double v = values[i];
+            values[i] = values[j];
+            values[j] = v;
+        }
+        return new SyntheticData(numRows, numCols, rows, cols, values);
+    }
+
+    private static void swap(@Nonnull final int[] a, final int i, final int j) {
+        final int tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+}
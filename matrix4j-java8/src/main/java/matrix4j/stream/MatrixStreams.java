@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.stream;
+
+import matrix4j.matrix.ColumnMajorMatrix;
+import matrix4j.matrix.Matrix;
+import matrix4j.matrix.RowMajorMatrix;
+import matrix4j.matrix.sparse.CSCMatrix;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.floats.CSCFloatMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+import matrix4j.vector.VectorCursor;
+
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Spliterator and stream views of matrices for parallel row (or column) processing.
+ *
+ * <pre>
+ * MatrixStreams.rows(matrix, true).forEach(row -&gt; {
+ *     VectorCursor cursor = matrix.getRow(row, new VectorCursor());
+ *     ...
+ * });
+ * </pre>
+ */
+public final class MatrixStreams {
+
+    private MatrixStreams() {}
+
+    /**
+     * @return a spliterator over the row indices of m that splits by the number of stored entries
+     */
+    @Nonnull
+    public static NnzSpliterator rowSpliterator(@Nonnull final RowMajorMatrix m) {
+        final int[] rowPointers;
+        if (m instanceof CSRMatrix) {
+            rowPointers = ((CSRMatrix) m).getRowPointers();
+        } else if (m instanceof CSRFloatMatrix) {
+            rowPointers = ((CSRFloatMatrix) m).getRowPointers();
+        } else {
+            final int numRows = m.numRows();
+            rowPointers = new int[numRows + 1];
+            for (int row = 0; row < numRows; row++) {
+                rowPointers[row + 1] = rowPointers[row] + m.numColumns(row);
+            }
+        }
+        return new NnzSpliterator(rowPointers);
+    }
+
+    /**
+     * @return a spliterator over the column indices of m that splits by the number of stored
+     *         entries
+     */
+    @Nonnull
+    public static NnzSpliterator columnSpliterator(@Nonnull final ColumnMajorMatrix m) {
+        final int[] columnPointers;
+        if (m instanceof CSCMatrix) {
+            columnPointers = ((CSCMatrix) m).getColumnPointers();
+        } else if (m instanceof CSCFloatMatrix) {
+            columnPointers = ((CSCFloatMatrix) m).getColumnPointers();
+        } else {
+            final int numColumns = m.numColumns();
+            columnPointers = new int[numColumns + 1];
+            final VectorCursor cursor = new VectorCursor();
+            for (int col = 0; col < numColumns; col++) {
+                columnPointers[col + 1] = columnPointers[col] + m.getColumn(col, cursor).length();
+            }
+        }
+        return new NnzSpliterator(columnPointers);
+    }
+
+    @Nonnull
+    public static IntStream rows(@Nonnull final RowMajorMatrix m, final boolean parallel) {
+        return StreamSupport.intStream(rowSpliterator(m), parallel);
+    }
+
+    @Nonnull
+    public static IntStream columns(@Nonnull final ColumnMajorMatrix m, final boolean parallel) {
+        return StreamSupport.intStream(columnSpliterator(m), parallel);
+    }
+
+    /**
+     * @return column indices of the non-zero entries in the given row
+     */
+    @Nonnull
+    public static IntStream nonZeroIndicesInRow(@Nonnull final Matrix m,
+            @Nonnegative final int row) {
+        return nonZeroIndices(m.getRow(row, new VectorCursor()));
+    }
+
+    @Nonnull
+    public static DoubleStream nonZeroValuesInRow(@Nonnull final Matrix m,
+            @Nonnegative final int row) {
+        return nonZeroValues(m.getRow(row, new VectorCursor()));
+    }
+
+    /**
+     * @return row indices of the non-zero entries in the given column
+     */
+    @Nonnull
+    public static IntStream nonZeroIndicesInColumn(@Nonnull final Matrix m,
+            @Nonnegative final int col) {
+        return nonZeroIndices(m.getColumn(col, new VectorCursor()));
+    }
+
+    @Nonnull
+    public static DoubleStream nonZeroValuesInColumn(@Nonnull final Matrix m,
+            @Nonnegative final int col) {
+        return nonZeroValues(m.getColumn(col, new VectorCursor()));
+    }
+
+    /**
+     * @return non-zero values of m in row-major order
+     */
+    @Nonnull
+    public static DoubleStream nonZeroValues(@Nonnull final RowMajorMatrix m,
+            final boolean parallel) {
+        return rows(m, parallel).mapToObj(row -> nonZeroValuesInRow(m, row))
+                                .flatMapToDouble(s -> s);
+    }
+
+    /**
+     * @return non-zero values of m in column-major order
+     */
+    @Nonnull
+    public static DoubleStream nonZeroValues(@Nonnull final ColumnMajorMatrix m,
+            final boolean parallel) {
+        return columns(m, parallel).mapToObj(col -> nonZeroValuesInColumn(m, col))
+                                   .flatMapToDouble(s -> s);
+    }
+
+    @Nonnull
+    private static IntStream nonZeroIndices(@Nonnull final VectorCursor cursor) {
+        final int[] indices = cursor.indices();
+        final double[] values = cursor.values();
+        final int offset = cursor.offset();
+        final IntStream positions =
+                IntStream.range(offset, offset + cursor.length()).filter(i -> values[i] != 0.d);
+        if (indices == null) {
+            return positions.map(i -> i - offset);
+        }
+        return positions.map(i -> indices[i]);
+    }
+
+    @Nonnull
+    private static DoubleStream nonZeroValues(@Nonnull final VectorCursor cursor) {
+        final int offset = cursor.offset();
+        return Arrays.stream(cursor.values(), offset, offset + cursor.length())
+                     .filter(v -> v != 0.d);
+    }
+
+}
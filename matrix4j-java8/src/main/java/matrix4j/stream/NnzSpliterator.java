@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.stream;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link Spliterator.OfInt} over row (or column) indices <code>[from, to)</code> that splits at
+ * the index halving the number of entries rather than the number of indices.
+ *
+ * Index i holds <code>pointers[i + 1] - pointers[i]</code> entries, as the row pointers of a CSR
+ * matrix and the column pointers of a CSC matrix do.
+ */
+public final class NnzSpliterator implements Spliterator.OfInt {
+
+    @Nonnull
+    private final int[] pointers;
+    private int from;
+    private final int to;
+    @Nonnegative
+    private final int minSplitSize;
+
+    public NnzSpliterator(@Nonnull int[] pointers) {
+        this(pointers, 0, pointers.length - 1, 1);
+    }
+
+    /**
+     * @param minSplitSize the minimum number of indices of a split
+     */
+    public NnzSpliterator(@Nonnull int[] pointers, @Nonnegative int from, @Nonnegative int to,
+            @Nonnegative int minSplitSize) {
+        if (from < 0 || from > to || to >= pointers.length) {
+            throw new IndexOutOfBoundsException(
+                "Range [" + from + ", " + to + ") out of range " + (pointers.length - 1));
+        }
+        if (minSplitSize < 1) {
+            throw new IllegalArgumentException("Invalid minSplitSize: " + minSplitSize);
+        }
+        this.pointers = pointers;
+        this.from = from;
+        this.to = to;
+        this.minSplitSize = minSplitSize;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        final int lo = from, hi = to;
+        if (hi - lo < 2 * minSplitSize) {
+            return null;
+        }
+
+        // first index whose pointer reaches the half of the entries in [lo, hi)
+        final long half = ((long) pointers[lo] + pointers[hi]) >>> 1;
+        int left = lo + minSplitSize, right = hi - minSplitSize;
+        while (left < right) {
+            final int mid = (left + right) >>> 1;
+            if (pointers[mid] < half) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+
+        this.from = left;
+        return new NnzSpliterator(pointers, lo, left, minSplitSize);
+    }
+
+    @Override
+    public boolean tryAdvance(@Nonnull final IntConsumer action) {
+        if (from >= to) {
+            return false;
+        }
+        action.accept(from++);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(@Nonnull final IntConsumer action) {
+        final int hi = to;
+        int i = from;
+        this.from = hi;
+        for (; i < hi; i++) {
+            action.accept(i);
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    /**
+     * @return the number of entries remaining in this spliterator
+     */
+    public long estimateNnz() {
+        return (long) pointers[to] - pointers[from];
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null;
+    }
+
+}
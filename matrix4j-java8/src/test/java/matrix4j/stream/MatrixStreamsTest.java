@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.stream;
+
+import matrix4j.matrix.MatrixUtils;
+import matrix4j.matrix.RowMajorMatrix;
+import matrix4j.matrix.builders.RowMajorDenseMatrixBuilder;
+import matrix4j.matrix.sparse.CSCMatrix;
+import matrix4j.matrix.sparse.CSRMatrix;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MatrixStreamsTest {
+
+    @Test
+    public void testSplitByNnz() {
+        // row 0 holds as many entries as rows 1-8 together
+        int[] pointers = new int[] {0, 8, 9, 10, 11, 12, 13, 14, 15, 16};
+        NnzSpliterator s = new NnzSpliterator(pointers);
+        Assert.assertEquals(9, s.estimateSize());
+        Assert.assertTrue(s.hasCharacteristics(Spliterator.SUBSIZED));
+
+        Spliterator.OfInt prefix = s.trySplit();
+        Assert.assertNotNull(prefix);
+        Assert.assertEquals(1, prefix.estimateSize());
+        Assert.assertEquals(8, s.estimateSize());
+        Assert.assertEquals(8, s.estimateNnz());
+
+        List<Integer> rows = new ArrayList<>();
+        prefix.forEachRemaining((int i) -> rows.add(i));
+        s.forEachRemaining((int i) -> rows.add(i));
+        Assert.assertEquals(9, rows.size());
+        for (int i = 0; i < 9; i++) {
+            Assert.assertEquals(i, rows.get(i).intValue());
+        }
+        Assert.assertNull(prefix.trySplit());
+    }
+
+    @Test
+    public void testSplitAll() {
+        int[] pointers = new int[] {0, 0, 0, 5, 5, 6};
+        NnzSpliterator s = new NnzSpliterator(pointers, 0, 5, 1);
+        List<NnzSpliterator> splits = new ArrayList<>();
+        splits.add(s);
+        for (int i = 0; i < splits.size(); i++) {
+            NnzSpliterator split;
+            while ((split = (NnzSpliterator) splits.get(i).trySplit()) != null) {
+                splits.add(split);
+            }
+        }
+        long size = 0L;
+        for (NnzSpliterator split : splits) {
+            Assert.assertTrue(split.estimateSize() >= 1);
+            size += split.estimateSize();
+        }
+        Assert.assertEquals(5, size);
+    }
+
+    @Test
+    public void testParallelRows() {
+        CSRMatrix matrix = randomMatrix(1000, 50, 43L);
+        double expected = 0.d;
+        for (double v : matrix.getValues()) {
+            expected += v;
+        }
+
+        double actual = MatrixStreams.nonZeroValues(matrix, true).sum();
+        Assert.assertEquals(expected, actual, 1E-6d);
+
+        AtomicLong nnz = new AtomicLong();
+        MatrixStreams.rows(matrix, true).forEach(
+            row -> nnz.addAndGet(MatrixStreams.nonZeroIndicesInRow(matrix, row).count()));
+        Assert.assertEquals(matrix.getValues().length, nnz.get());
+
+        CSCMatrix csc = matrix.toColumnMajorMatrix();
+        Assert.assertEquals(expected, MatrixStreams.nonZeroValues(csc, true).sum(), 1E-6d);
+        Assert.assertEquals(50, MatrixStreams.columns(csc, true).count());
+
+        RowMajorMatrix view = MatrixUtils.shuffleView(matrix, new int[] {3, 1, 4, 1, 5});
+        Assert.assertEquals(5, MatrixStreams.rows(view, true).count());
+    }
+
+    @Test
+    public void testDenseRow() {
+        RowMajorDenseMatrixBuilder builder = new RowMajorDenseMatrixBuilder(16);
+        builder.nextRow(new double[] {0, 1, 0, 3});
+        builder.nextRow(new double[] {5, 0});
+        RowMajorMatrix matrix = builder.buildMatrix();
+
+        Assert.assertArrayEquals(new int[] {1, 3},
+            MatrixStreams.nonZeroIndicesInRow(matrix, 0).toArray());
+        Assert.assertArrayEquals(new double[] {1, 3},
+            MatrixStreams.nonZeroValuesInRow(matrix, 0).toArray(), 0.d);
+        Assert.assertArrayEquals(new int[] {1},
+            MatrixStreams.nonZeroIndicesInColumn(matrix.toColumnMajorMatrix(), 0).toArray());
+        Assert.assertEquals(9.d, MatrixStreams.nonZeroValues(matrix, false).sum(), 0.d);
+    }
+
+    private static CSRMatrix randomMatrix(int numRows, int numCols, long seed) {
+        Random rnd = new Random(seed);
+        int[] rowPointers = new int[numRows + 1];
+        List<Integer> cols = new ArrayList<>();
+        List<Double> vals = new ArrayList<>();
+        for (int i = 0; i < numRows; i++) {
+            // skewed row lengths
+            int len = (i % 100 == 0) ? numCols : rnd.nextInt(3);
+            int step = numCols / Math.max(len, 1);
+            for (int j = 0; j < len; j++) {
+                cols.add(j * step);
+                vals.add(rnd.nextDouble() + 0.1d);
+            }
+            rowPointers[i + 1] = cols.size();
+        }
+        int[] columnIndices = new int[cols.size()];
+        double[] values = new double[vals.size()];
+        for (int i = 0; i < columnIndices.length; i++) {
+            columnIndices[i] = cols.get(i);
+            values[i] = vals.get(i);
+        }
+        return new CSRMatrix(rowPointers, columnIndices, values, numCols);
+    }
+
+}
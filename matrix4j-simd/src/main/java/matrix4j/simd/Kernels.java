@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.simd;
+
+/**
+ * Dense and CSR inner kernels. Matrices are row-major arrays.
+ */
+interface Kernels {
+
+    double dot(double[] x, double[] y, int n);
+
+    float dot(float[] x, float[] y, int n);
+
+    void axpy(double a, double[] x, double[] y, int n);
+
+    void axpy(float a, float[] x, float[] y, int n);
+
+    /**
+     * y = A * x where A is m x n
+     */
+    void gemv(double[] a, int m, int n, double[] x, double[] y);
+
+    void gemv(float[] a, int m, int n, float[] x, float[] y);
+
+    /**
+     * C += A * B where A is m x k, B is k x n and C is m x n
+     */
+    void gemm(double[] a, double[] b, double[] c, int m, int n, int k);
+
+    void gemm(float[] a, float[] b, float[] c, int m, int n, int k);
+
+    /**
+     * y = A * x where A is a CSR matrix of numRows rows
+     */
+    void spmv(int[] rowPointers, int[] columnIndices, double[] values, int numRows, double[] x,
+            double[] y);
+
+    void spmv(int[] rowPointers, int[] columnIndices, float[] values, int numRows, float[] x,
+            float[] y);
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.simd;
+
+import matrix4j.vector.VectorUtils;
+
+/**
+ * Scalar fallback used when the Vector API module is not available.
+ */
+final class ScalarKernels implements Kernels {
+
+    ScalarKernels() {}
+
+    @Override
+    public double dot(double[] x, double[] y, int n) {
+        return VectorUtils.dot(x, y, n);
+    }
+
+    @Override
+    public float dot(float[] x, float[] y, int n) {
+        return VectorUtils.dot(x, y, n);
+    }
+
+    @Override
+    public void axpy(double a, double[] x, double[] y, int n) {
+        VectorUtils.axpy(a, x, y, n);
+    }
+
+    @Override
+    public void axpy(float a, float[] x, float[] y, int n) {
+        VectorUtils.axpy(a, x, y, n);
+    }
+
+    @Override
+    public void gemv(double[] a, int m, int n, double[] x, double[] y) {
+        for (int i = 0, offset = 0; i < m; i++, offset += n) {
+            double sum = 0.d;
+            for (int j = 0; j < n; j++) {
+                sum += a[offset + j] * x[j];
+            }
+            y[i] = sum;
+        }
+    }
+
+    @Override
+    public void gemv(float[] a, int m, int n, float[] x, float[] y) {
+        for (int i = 0, offset = 0; i < m; i++, offset += n) {
+            float sum = 0.f;
+            for (int j = 0; j < n; j++) {
+                sum += a[offset + j] * x[j];
+            }
+            y[i] = sum;
+        }
+    }
+
+    @Override
+    public void gemm(double[] a, double[] b, double[] c, int m, int n, int k) {
+        for (int i = 0; i < m; i++) {
+            final int ci = i * n;
+            for (int p = 0; p < k; p++) {
+                final double aip = a[i * k + p];
+                if (aip == 0.d) {
+                    continue;
+                }
+                final int bp = p * n;
+                for (int j = 0; j < n; j++) {
+                    c[ci + j] += aip * b[bp + j];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void gemm(float[] a, float[] b, float[] c, int m, int n, int k) {
+        for (int i = 0; i < m; i++) {
+            final int ci = i * n;
+            for (int p = 0; p < k; p++) {
+                final float aip = a[i * k + p];
+                if (aip == 0.f) {
+                    continue;
+                }
+                final int bp = p * n;
+                for (int j = 0; j < n; j++) {
+                    c[ci + j] += aip * b[bp + j];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void spmv(int[] rowPointers, int[] columnIndices, double[] values, int numRows,
+            double[] x, double[] y) {
+        for (int i = 0; i < numRows; i++) {
+            double sum = 0.d;
+            for (int j = rowPointers[i], end = rowPointers[i + 1]; j < end; j++) {
+                sum += values[j] * x[columnIndices[j]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    @Override
+    public void spmv(int[] rowPointers, int[] columnIndices, float[] values, int numRows, float[] x,
+            float[] y) {
+        for (int i = 0; i < numRows; i++) {
+            float sum = 0.f;
+            for (int j = rowPointers[i], end = rowPointers[i + 1]; j < end; j++) {
+                sum += values[j] * x[columnIndices[j]];
+            }
+            y[i] = sum;
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.simd;
+
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+import matrix4j.utils.lang.Preconditions;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Dense dot/axpy, GEMV/GEMM inner kernels and CSR SpMV on top of the incubating JDK Vector API.
+ *
+ * The JVM must be started with <code>--add-modules jdk.incubator.vector</code> for the vectorized
+ * kernels to be used. Otherwise, or when the system property <code>matrix4j.simd.disable</code> is
+ * true, the kernels fall back to scalar code.
+ */
+public final class SimdKernels {
+
+    private static final String VECTOR_API_KERNELS = "matrix4j.simd.VectorApiKernels";
+
+    @Nonnull
+    private static final Kernels KERNELS = load();
+
+    private SimdKernels() {}
+
+    @Nonnull
+    private static Kernels load() {
+        if (!Boolean.getBoolean("matrix4j.simd.disable")) {
+            try {
+                return (Kernels) Class.forName(VECTOR_API_KERNELS)
+                                      .getDeclaredConstructor()
+                                      .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // jdk.incubator.vector is not resolved
+            }
+        }
+        return new ScalarKernels();
+    }
+
+    /**
+     * @return true if the Vector API kernels are in use
+     */
+    public static boolean isVectorized() {
+        return !(KERNELS instanceof ScalarKernels);
+    }
+
+    public static double dot(@Nonnull final double[] x, @Nonnull final double[] y,
+            @Nonnegative final int n) {
+        checkLength(x.length, n);
+        checkLength(y.length, n);
+        return KERNELS.dot(x, y, n);
+    }
+
+    public static float dot(@Nonnull final float[] x, @Nonnull final float[] y,
+            @Nonnegative final int n) {
+        checkLength(x.length, n);
+        checkLength(y.length, n);
+        return KERNELS.dot(x, y, n);
+    }
+
+    /**
+     * y += a * x
+     */
+    public static void axpy(final double a, @Nonnull final double[] x, @Nonnull final double[] y,
+            @Nonnegative final int n) {
+        checkLength(x.length, n);
+        checkLength(y.length, n);
+        KERNELS.axpy(a, x, y, n);
+    }
+
+    /**
+     * y += a * x
+     */
+    public static void axpy(final float a, @Nonnull final float[] x, @Nonnull final float[] y,
+            @Nonnegative final int n) {
+        checkLength(x.length, n);
+        checkLength(y.length, n);
+        KERNELS.axpy(a, x, y, n);
+    }
+
+    /**
+     * y = A * x where A is a m x n row-major matrix
+     */
+    public static void gemv(@Nonnull final double[] a, @Nonnegative final int m,
+            @Nonnegative final int n, @Nonnull final double[] x, @Nonnull final double[] y) {
+        checkLength(a.length, (long) m * n);
+        checkLength(x.length, n);
+        checkLength(y.length, m);
+        KERNELS.gemv(a, m, n, x, y);
+    }
+
+    /**
+     * y = A * x where A is a m x n row-major matrix
+     */
+    public static void gemv(@Nonnull final float[] a, @Nonnegative final int m,
+            @Nonnegative final int n, @Nonnull final float[] x, @Nonnull final float[] y) {
+        checkLength(a.length, (long) m * n);
+        checkLength(x.length, n);
+        checkLength(y.length, m);
+        KERNELS.gemv(a, m, n, x, y);
+    }
+
+    /**
+     * C += A * B where A is m x k, B is k x n and C is m x n, all row-major
+     */
+    public static void gemm(@Nonnull final double[] a, @Nonnull final double[] b,
+            @Nonnull final double[] c, @Nonnegative final int m, @Nonnegative final int n,
+            @Nonnegative final int k) {
+        checkLength(a.length, (long) m * k);
+        checkLength(b.length, (long) k * n);
+        checkLength(c.length, (long) m * n);
+        KERNELS.gemm(a, b, c, m, n, k);
+    }
+
+    /**
+     * C += A * B where A is m x k, B is k x n and C is m x n, all row-major
+     */
+    public static void gemm(@Nonnull final float[] a, @Nonnull final float[] b,
+            @Nonnull final float[] c, @Nonnegative final int m, @Nonnegative final int n,
+            @Nonnegative final int k) {
+        checkLength(a.length, (long) m * k);
+        checkLength(b.length, (long) k * n);
+        checkLength(c.length, (long) m * n);
+        KERNELS.gemm(a, b, c, m, n, k);
+    }
+
+    /**
+     * y = A * x, gathering x through the column indices of A.
+     *
+     * @return returns y
+     */
+    @Nonnull
+    public static double[] spmv(@Nonnull final CSRMatrix a, @Nonnull final double[] x,
+            @Nonnull final double[] y) {
+        checkLength(x.length, a.numColumns());
+        checkLength(y.length, a.numRows());
+        KERNELS.spmv(a.getRowPointers(), a.getColumnIndices(), a.getValues(), a.numRows(), x, y);
+        return y;
+    }
+
+    /**
+     * y = A * x, gathering x through the column indices of A.
+     *
+     * @return returns y
+     */
+    @Nonnull
+    public static float[] spmv(@Nonnull final CSRFloatMatrix a, @Nonnull final float[] x,
+            @Nonnull final float[] y) {
+        checkLength(x.length, a.numColumns());
+        checkLength(y.length, a.numRows());
+        KERNELS.spmv(a.getRowPointers(), a.getColumnIndices(), a.getValues(), a.numRows(), x, y);
+        return y;
+    }
+
+    private static void checkLength(final int length, final long required) {
+        Preconditions.checkArgument(length >= required,
+            "Array length " + length + " must be equals to or greater than " + required);
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.simd;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels on the preferred species of the running CPU (e.g., 8 doubles on AVX-512).
+ */
+final class VectorApiKernels implements Kernels {
+
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+
+    VectorApiKernels() {}
+
+    @Override
+    public double dot(double[] x, double[] y, int n) {
+        return dot(x, 0, y, n);
+    }
+
+    private static double dot(double[] x, int xOffset, double[] y, int n) {
+        DoubleVector acc = DoubleVector.zero(D);
+        int i = 0;
+        for (final int upper = D.loopBound(n); i < upper; i += D.length()) {
+            DoubleVector xv = DoubleVector.fromArray(D, x, xOffset + i);
+            DoubleVector yv = DoubleVector.fromArray(D, y, i);
+            acc = xv.fma(yv, acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += x[xOffset + i] * y[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] x, float[] y, int n) {
+        return dot(x, 0, y, n);
+    }
+
+    private static float dot(float[] x, int xOffset, float[] y, int n) {
+        FloatVector acc = FloatVector.zero(F);
+        int i = 0;
+        for (final int upper = F.loopBound(n); i < upper; i += F.length()) {
+            FloatVector xv = FloatVector.fromArray(F, x, xOffset + i);
+            FloatVector yv = FloatVector.fromArray(F, y, i);
+            acc = xv.fma(yv, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += x[xOffset + i] * y[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(double a, double[] x, double[] y, int n) {
+        axpy(a, x, 0, y, 0, n);
+    }
+
+    private static void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int n) {
+        final DoubleVector av = DoubleVector.broadcast(D, a);
+        int i = 0;
+        for (final int upper = D.loopBound(n); i < upper; i += D.length()) {
+            DoubleVector xv = DoubleVector.fromArray(D, x, xOffset + i);
+            DoubleVector yv = DoubleVector.fromArray(D, y, yOffset + i);
+            xv.fma(av, yv).intoArray(y, yOffset + i);
+        }
+        for (; i < n; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public void axpy(float a, float[] x, float[] y, int n) {
+        axpy(a, x, 0, y, 0, n);
+    }
+
+    private static void axpy(float a, float[] x, int xOffset, float[] y, int yOffset, int n) {
+        final FloatVector av = FloatVector.broadcast(F, a);
+        int i = 0;
+        for (final int upper = F.loopBound(n); i < upper; i += F.length()) {
+            FloatVector xv = FloatVector.fromArray(F, x, xOffset + i);
+            FloatVector yv = FloatVector.fromArray(F, y, yOffset + i);
+            xv.fma(av, yv).intoArray(y, yOffset + i);
+        }
+        for (; i < n; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public void gemv(double[] a, int m, int n, double[] x, double[] y) {
+        for (int i = 0, offset = 0; i < m; i++, offset += n) {
+            y[i] = dot(a, offset, x, n);
+        }
+    }
+
+    @Override
+    public void gemv(float[] a, int m, int n, float[] x, float[] y) {
+        for (int i = 0, offset = 0; i < m; i++, offset += n) {
+            y[i] = dot(a, offset, x, n);
+        }
+    }
+
+    @Override
+    public void gemm(double[] a, double[] b, double[] c, int m, int n, int k) {
+        // i-p-j order streams rows of B and C through the vector registers
+        for (int i = 0; i < m; i++) {
+            final int ci = i * n;
+            for (int p = 0; p < k; p++) {
+                final double aip = a[i * k + p];
+                if (aip != 0.d) {
+                    axpy(aip, b, p * n, c, ci, n);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void gemm(float[] a, float[] b, float[] c, int m, int n, int k) {
+        for (int i = 0; i < m; i++) {
+            final int ci = i * n;
+            for (int p = 0; p < k; p++) {
+                final float aip = a[i * k + p];
+                if (aip != 0.f) {
+                    axpy(aip, b, p * n, c, ci, n);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void spmv(int[] rowPointers, int[] columnIndices, double[] values, int numRows,
+            double[] x, double[] y) {
+        final int lanes = D.length();
+        for (int i = 0; i < numRows; i++) {
+            final int start = rowPointers[i], end = rowPointers[i + 1];
+            int j = start;
+            double sum = 0.d;
+            if (end - start >= lanes) {
+                DoubleVector acc = DoubleVector.zero(D);
+                for (final int upper = end - lanes; j <= upper; j += lanes) {
+                    DoubleVector vv = DoubleVector.fromArray(D, values, j);
+                    DoubleVector xv = DoubleVector.fromArray(D, x, 0, columnIndices, j);
+                    acc = vv.fma(xv, acc);
+                }
+                sum = acc.reduceLanes(VectorOperators.ADD);
+            }
+            for (; j < end; j++) {
+                sum += values[j] * x[columnIndices[j]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    @Override
+    public void spmv(int[] rowPointers, int[] columnIndices, float[] values, int numRows, float[] x,
+            float[] y) {
+        final int lanes = F.length();
+        for (int i = 0; i < numRows; i++) {
+            final int start = rowPointers[i], end = rowPointers[i + 1];
+            int j = start;
+            float sum = 0.f;
+            if (end - start >= lanes) {
+                FloatVector acc = FloatVector.zero(F);
+                for (final int upper = end - lanes; j <= upper; j += lanes) {
+                    FloatVector vv = FloatVector.fromArray(F, values, j);
+                    FloatVector xv = FloatVector.fromArray(F, x, 0, columnIndices, j);
+                    acc = vv.fma(xv, acc);
+                }
+                sum = acc.reduceLanes(VectorOperators.ADD);
+            }
+            for (; j < end; j++) {
+                sum += values[j] * x[columnIndices[j]];
+            }
+            y[i] = sum;
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.simd;
+
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SimdKernelsTest {
+
+    private final Kernels scalar = new ScalarKernels();
+
+    @Test
+    public void testVectorized() {
+        // surefire runs with --add-modules jdk.incubator.vector
+        Assert.assertTrue(SimdKernels.isVectorized());
+    }
+
+    @Test
+    public void testDotAndAxpy() {
+        Random rnd = new Random(43L);
+        for (int n : new int[] {0, 1, 7, 8, 33, 1000}) {
+            double[] x = randomDoubles(rnd, n), y = randomDoubles(rnd, n);
+            Assert.assertEquals(scalar.dot(x, y, n), SimdKernels.dot(x, y, n), 1E-9d);
+
+            float[] xf = randomFloats(rnd, n), yf = randomFloats(rnd, n);
+            Assert.assertEquals(scalar.dot(xf, yf, n), SimdKernels.dot(xf, yf, n), 1E-3f);
+
+            double[] expected = y.clone();
+            scalar.axpy(0.5d, x, expected, n);
+            SimdKernels.axpy(0.5d, x, y, n);
+            Assert.assertArrayEquals(expected, y, 1E-12d);
+
+            float[] expectedf = yf.clone();
+            scalar.axpy(-2.f, xf, expectedf, n);
+            SimdKernels.axpy(-2.f, xf, yf, n);
+            Assert.assertArrayEquals(expectedf, yf, 1E-5f);
+        }
+    }
+
+    @Test
+    public void testGemvAndGemm() {
+        Random rnd = new Random(31L);
+        int m = 13, n = 29, k = 17;
+        double[] a = randomDoubles(rnd, m * k), b = randomDoubles(rnd, k * n);
+        double[] x = randomDoubles(rnd, k);
+
+        double[] expected = new double[m], actual = new double[m];
+        scalar.gemv(a, m, k, x, expected);
+        SimdKernels.gemv(a, m, k, x, actual);
+        Assert.assertArrayEquals(expected, actual, 1E-9d);
+
+        double[] c1 = randomDoubles(rnd, m * n), c2 = c1.clone();
+        scalar.gemm(a, b, c1, m, n, k);
+        SimdKernels.gemm(a, b, c2, m, n, k);
+        Assert.assertArrayEquals(c1, c2, 1E-9d);
+
+        float[] af = randomFloats(rnd, m * k), bf = randomFloats(rnd, k * n);
+        float[] xf = randomFloats(rnd, k);
+        float[] expectedf = new float[m], actualf = new float[m];
+        scalar.gemv(af, m, k, xf, expectedf);
+        SimdKernels.gemv(af, m, k, xf, actualf);
+        Assert.assertArrayEquals(expectedf, actualf, 1E-4f);
+
+        float[] cf1 = new float[m * n], cf2 = new float[m * n];
+        scalar.gemm(af, bf, cf1, m, n, k);
+        SimdKernels.gemm(af, bf, cf2, m, n, k);
+        Assert.assertArrayEquals(cf1, cf2, 1E-4f);
+    }
+
+    @Test
+    public void testSpmv() {
+        Random rnd = new Random(7L);
+        int numRows = 200, numCols = 300;
+        int[] rowPointers = new int[numRows + 1];
+        for (int i = 0; i < numRows; i++) {
+            rowPointers[i + 1] = rowPointers[i] + rnd.nextInt(40);
+        }
+        int nnz = rowPointers[numRows];
+        int[] columnIndices = new int[nnz];
+        double[] values = randomDoubles(rnd, nnz);
+        float[] valuesf = randomFloats(rnd, nnz);
+        for (int i = 0; i < numRows; i++) {
+            for (int j = rowPointers[i], col = 0; j < rowPointers[i + 1]; j++) {
+                col += 1 + rnd.nextInt(7);
+                columnIndices[j] = col;
+            }
+        }
+        double[] x = randomDoubles(rnd, numCols);
+        float[] xf = randomFloats(rnd, numCols);
+
+        double[] expected = new double[numRows];
+        scalar.spmv(rowPointers, columnIndices, values, numRows, x, expected);
+        double[] actual = SimdKernels.spmv(
+            new CSRMatrix(rowPointers, columnIndices, values, numCols), x, new double[numRows]);
+        Assert.assertArrayEquals(expected, actual, 1E-9d);
+
+        float[] expectedf = new float[numRows];
+        scalar.spmv(rowPointers, columnIndices, valuesf, numRows, xf, expectedf);
+        float[] actualf =
+                SimdKernels.spmv(new CSRFloatMatrix(rowPointers, columnIndices, valuesf, numCols),
+                    xf, new float[numRows]);
+        Assert.assertArrayEquals(expectedf, actualf, 1E-4f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortArray() {
+        SimdKernels.dot(new double[3], new double[2], 3);
+    }
+
+    private static double[] randomDoubles(Random rnd, int n) {
+        double[] a = new double[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = rnd.nextDouble() - 0.5d;
+        }
+        return a;
+    }
+
+    private static float[] randomFloats(Random rnd, int n) {
+        float[] a = new float[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = rnd.nextFloat() - 0.5f;
+        }
+        return a;
+    }
+
+}
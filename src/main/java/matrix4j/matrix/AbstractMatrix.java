@@ -17,6 +17,7 @@ package matrix4j.matrix;
 
 import matrix4j.vector.SparseVector;
 import matrix4j.vector.Vector;
+import matrix4j.vector.VectorCursor;
 import matrix4j.vector.VectorProcedure;
 
 import javax.annotation.Nonnegative;
@@ -81,6 +82,30 @@ public abstract class AbstractMatrix implements Matrix {
         }
     }
 
+    @Override
+    public VectorCursor getRow(@Nonnegative final int index, @Nonnull final VectorCursor dst) {
+        dst.clear();
+        eachNonNullInRow(index, new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                dst.append(i, value);
+            }
+        });
+        return dst;
+    }
+
+    @Override
+    public VectorCursor getColumn(@Nonnegative final int index, @Nonnull final VectorCursor dst) {
+        dst.clear();
+        eachNonNullInColumn(index, new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                dst.append(i, value);
+            }
+        });
+        return dst;
+    }
+
     @Override
     public void eachInRow(final int row, @Nonnull final VectorProcedure procedure) {
         eachInRow(row, procedure, true);
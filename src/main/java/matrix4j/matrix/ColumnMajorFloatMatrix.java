@@ -15,7 +15,11 @@
  */
 package matrix4j.matrix;
 
+import matrix4j.vector.FloatVectorCursor;
+import matrix4j.vector.VectorProcedure;
+
 import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
 
 public abstract class ColumnMajorFloatMatrix extends ColumnMajorMatrix implements FloatMatrix {
 
@@ -45,4 +49,30 @@ public abstract class ColumnMajorFloatMatrix extends ColumnMajorMatrix implement
         return getAndSet(row, col, (float) value);
     }
 
+    @Override
+    public FloatVectorCursor getRow(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        dst.clear();
+        eachNonNullInRow(index, new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                dst.append(i, (float) value);
+            }
+        });
+        return dst;
+    }
+
+    @Override
+    public FloatVectorCursor getColumn(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        dst.clear();
+        eachNonNullInColumn(index, new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                dst.append(i, (float) value);
+            }
+        });
+        return dst;
+    }
+
 }
@@ -15,6 +15,8 @@
  */
 package matrix4j.matrix;
 
+import matrix4j.vector.FloatVectorCursor;
+
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
@@ -45,6 +47,21 @@ public interface FloatMatrix extends Matrix {
     @Nonnull
     public float[] getRow(@Nonnegative int index, @Nonnull float[] dst);
 
+    /**
+     * @return returns dst
+     * @see Matrix#getRow(int, matrix4j.vector.VectorCursor)
+     */
+    @Nonnull
+    public FloatVectorCursor getRow(@Nonnegative int index, @Nonnull FloatVectorCursor dst);
+
+    /**
+     * @return returns dst
+     * @throws UnsupportedOperationException
+     * @see Matrix#getColumn(int, matrix4j.vector.VectorCursor)
+     */
+    @Nonnull
+    public FloatVectorCursor getColumn(@Nonnegative int index, @Nonnull FloatVectorCursor dst);
+
     /*
     @Override
     default double get(@Nonnegative final int row, @Nonnegative final int col,
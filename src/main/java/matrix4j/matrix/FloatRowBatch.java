@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix;
+
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.vector.FloatVectorCursor;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Caller-owned CSR buffers holding a batch of float rows copied out of a
+ * {@link RowMajorFloatMatrix}.
+ *
+ * Buffers grow on demand and are reused across {@link #clear()}, so that pulling mini-batches does
+ * not allocate once the batch reached its working size. The i-th row of the batch is stored in
+ * <code>[rowPointers[i], rowPointers[i + 1])</code> of {@link #getColumnIndices()} and
+ * {@link #getValues()}.
+ *
+ * @see RowMajorFloatMatrix#getRows(int[], int, int, FloatRowBatch)
+ */
+@NotThreadSafe
+public final class FloatRowBatch {
+
+    @Nonnull
+    private int[] rowPointers;
+    @Nonnull
+    private int[] columnIndices;
+    @Nonnull
+    private float[] values;
+
+    @Nonnegative
+    private int numRows;
+    @Nonnegative
+    private int nnz;
+
+    @Nonnull
+    private final FloatVectorCursor cursor;
+
+    public FloatRowBatch() {
+        this(256, 8192);
+    }
+
+    public FloatRowBatch(@Nonnegative int expectedRows, @Nonnegative int expectedNnz) {
+        Preconditions.checkArgument(expectedRows >= 0, "Invalid expectedRows: " + expectedRows);
+        Preconditions.checkArgument(expectedNnz >= 0, "Invalid expectedNnz: " + expectedNnz);
+        this.rowPointers = new int[expectedRows + 1];
+        this.columnIndices = new int[expectedNnz];
+        this.values = new float[expectedNnz];
+        this.cursor = new FloatVectorCursor(0);
+    }
+
+    public void clear() {
+        this.numRows = 0;
+        this.nnz = 0;
+    }
+
+    @Nonnegative
+    public int numRows() {
+        return numRows;
+    }
+
+    @Nonnegative
+    public int nnz() {
+        return nnz;
+    }
+
+    /**
+     * @return row pointers of which the first {@code numRows() + 1} elements are valid
+     */
+    @Nonnull
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    /**
+     * @return column indices of which the first {@code nnz()} elements are valid
+     */
+    @Nonnull
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    /**
+     * @return values of which the first {@code nnz()} elements are valid
+     */
+    @Nonnull
+    public float[] getValues() {
+        return values;
+    }
+
+    /**
+     * Appends a row of <code>length</code> entries starting at <code>offset</code>.
+     */
+    public void appendRow(@Nonnull final int[] srcIndices, @Nonnull final float[] srcValues,
+            @Nonnegative final int offset, @Nonnegative final int length) {
+        ensureCapacity(numRows + 1, nnz + length);
+        System.arraycopy(srcIndices, offset, columnIndices, nnz, length);
+        System.arraycopy(srcValues, offset, values, nnz, length);
+        this.nnz += length;
+        rowPointers[++numRows] = nnz;
+    }
+
+    /**
+     * Appends the entries of the given cursor as a row.
+     */
+    public void appendRow(@Nonnull final FloatVectorCursor src) {
+        final int[] srcIndices = src.indices();
+        final int offset = src.offset();
+        final int length = src.length();
+        if (srcIndices != null) {
+            appendRow(srcIndices, src.values(), offset, length);
+            return;
+        }
+
+        ensureCapacity(numRows + 1, nnz + length);
+        for (int i = 0; i < length; i++) {
+            columnIndices[nnz + i] = i;
+        }
+        System.arraycopy(src.values(), offset, values, nnz, length);
+        this.nnz += length;
+        rowPointers[++numRows] = nnz;
+    }
+
+    /**
+     * Appends rows <code>[fromRow, toRow)</code> of the given CSR arrays at once.
+     */
+    public void appendRows(@Nonnull final int[] srcRowPointers, @Nonnull final int[] srcIndices,
+            @Nonnull final float[] srcValues, @Nonnegative final int fromRow,
+            @Nonnegative final int toRow) {
+        final int start = srcRowPointers[fromRow];
+        final int length = srcRowPointers[toRow] - start;
+        final int rows = toRow - fromRow;
+        ensureCapacity(numRows + rows, nnz + length);
+        System.arraycopy(srcIndices, start, columnIndices, nnz, length);
+        System.arraycopy(srcValues, start, values, nnz, length);
+        final int shift = nnz - start;
+        for (int i = 1; i <= rows; i++) {
+            rowPointers[numRows + i] = srcRowPointers[fromRow + i] + shift;
+        }
+        this.numRows += rows;
+        this.nnz += length;
+    }
+
+    @Nonnull
+    FloatVectorCursor cursor() {
+        return cursor;
+    }
+
+    private void ensureCapacity(@Nonnegative final int rows, @Nonnegative final int entries) {
+        if (rows >= rowPointers.length) {
+            this.rowPointers =
+                    Arrays.copyOf(rowPointers, Math.max(rows + 1, rowPointers.length * 2));
+        }
+        if (entries > columnIndices.length) {
+            final int newCapacity = Math.max(entries, columnIndices.length * 2);
+            this.columnIndices = Arrays.copyOf(columnIndices, newCapacity);
+            this.values = Arrays.copyOf(values, newCapacity);
+        }
+    }
+
+}
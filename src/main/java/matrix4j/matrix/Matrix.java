@@ -17,6 +17,7 @@ package matrix4j.matrix;
 
 import matrix4j.matrix.builders.MatrixBuilder;
 import matrix4j.vector.Vector;
+import matrix4j.vector.VectorCursor;
 import matrix4j.vector.VectorProcedure;
 
 import javax.annotation.Nonnegative;
@@ -42,6 +43,11 @@ public interface Matrix {
     /** The Number of Non-Zeros */
     public int nnz();
 
+    /**
+     * @return the estimated number of bytes retained by this matrix on the heap
+     */
+    public long estimatedMemoryBytes();
+
     @Nonnegative
     public int numRows();
 
@@ -68,6 +74,25 @@ public interface Matrix {
 
     public void getRow(@Nonnegative int index, @Nonnull Vector row);
 
+    /**
+     * Sets the stored entries of the given row to the cursor, without copying when the storage
+     * allows it.
+     *
+     * @return returns dst
+     */
+    @Nonnull
+    public VectorCursor getRow(@Nonnegative int index, @Nonnull VectorCursor dst);
+
+    /**
+     * Sets the stored entries of the given column to the cursor, without copying when the storage
+     * allows it.
+     *
+     * @return returns dst
+     * @throws UnsupportedOperationException
+     */
+    @Nonnull
+    public VectorCursor getColumn(@Nonnegative int index, @Nonnull VectorCursor dst);
+
     /**
      * @throws IndexOutOfBoundsException
      */
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix;
+
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Storage formats of double matrices and their estimated heap footprint for a given shape and
+ * number of non-zeros.
+ */
+public enum MatrixFormat {
+
+    /** {@link matrix4j.matrix.sparse.CSRMatrix} */
+    CSR {
+        @Override
+        public long estimateMemoryBytes(int numRows, int numColumns, long nnz) {
+            return SizeOf.object(3, 12) + SizeOf.array(numRows + 1L, 4) + SizeOf.array(nnz, 4)
+                    + SizeOf.array(nnz, 8);
+        }
+    },
+    /** {@link matrix4j.matrix.sparse.CSCMatrix} */
+    CSC {
+        @Override
+        public long estimateMemoryBytes(int numRows, int numColumns, long nnz) {
+            return CSR.estimateMemoryBytes(numColumns, numRows, nnz);
+        }
+    },
+    /**
+     * {@link matrix4j.matrix.sparse.DoKMatrix}, the lower bound right after the hash table grows
+     */
+    DOK {
+        @Override
+        public long estimateMemoryBytes(int numRows, int numColumns, long nnz) {
+            final long capacity = Math.max(16384L, (long) Math.ceil(nnz / 0.75d));
+            return SizeOf.object(1, 8) + SizeOf.object(4, 56) + SizeOf.array(capacity, 8)
+                    + SizeOf.array(capacity, 8) + SizeOf.array(capacity, 1);
+        }
+    },
+    /** {@link matrix4j.matrix.dense.RowMajorDenseMatrix2d} with no null rows */
+    DENSE_ROW_MAJOR {
+        @Override
+        public long estimateMemoryBytes(int numRows, int numColumns, long nnz) {
+            return SizeOf.object(1, 12) + SizeOf.array(numRows, SizeOf.REFERENCE)
+                    + numRows * SizeOf.array(numColumns, 8);
+        }
+    },
+    /** {@link matrix4j.matrix.dense.ColumnMajorDenseMatrix2d} with no null columns */
+    DENSE_COLUMN_MAJOR {
+        @Override
+        public long estimateMemoryBytes(int numRows, int numColumns, long nnz) {
+            return DENSE_ROW_MAJOR.estimateMemoryBytes(numColumns, numRows, nnz);
+        }
+    };
+
+    public abstract long estimateMemoryBytes(@Nonnegative int numRows, @Nonnegative int numColumns,
+            @Nonnegative long nnz);
+
+    /**
+     * Recommends the most compact read-only format, i.e., CSR or row-major dense if rowMajor is
+     * true, otherwise CSC or column-major dense. DoK is never recommended as it is meant for random
+     * updates.
+     */
+    @Nonnull
+    public static MatrixFormat recommend(@Nonnegative final int numRows,
+            @Nonnegative final int numColumns, @Nonnegative final long nnz,
+            final boolean rowMajor) {
+        Preconditions.checkArgument(numRows >= 0, "Invalid numRows: " + numRows);
+        Preconditions.checkArgument(numColumns >= 0, "Invalid numColumns: " + numColumns);
+        Preconditions.checkArgument(nnz >= 0L && nnz <= (long) numRows * numColumns,
+            "Invalid nnz: " + nnz);
+
+        final MatrixFormat sparse = rowMajor ? CSR : CSC;
+        final MatrixFormat dense = rowMajor ? DENSE_ROW_MAJOR : DENSE_COLUMN_MAJOR;
+        if (sparse.estimateMemoryBytes(numRows, numColumns,
+            nnz) <= dense.estimateMemoryBytes(numRows, numColumns, nnz)) {
+            return sparse;
+        }
+        return dense;
+    }
+
+    /**
+     * Recommends the most compact read-only format for the shape and nnz of the given matrix
+     * keeping its major order. Row-major is assumed for a matrix that is neither of them.
+     */
+    @Nonnull
+    public static MatrixFormat recommend(@Nonnull final Matrix matrix) {
+        return recommend(matrix.numRows(), matrix.numColumns(), matrix.nnz(),
+            !matrix.isColumnMajorMatrix());
+    }
+
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix;
+
+import matrix4j.matrix.sparse.DoKMatrix;
+import matrix4j.matrix.sparse.floats.DoKFloatMatrix;
+import matrix4j.vector.FloatVectorCursor;
+import matrix4j.vector.VectorCursor;
+import matrix4j.vector.VectorProcedure;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Reductions along the rows or the columns of a matrix into primitive arrays.
+ *
+ * Entries that a sparse matrix does not store count as zeros, e.g., the mean of a row is the sum of
+ * its stored values divided by numColumns, and the minimum of a row with fewer stored entries than
+ * numColumns is at most zero.
+ *
+ * Each row (column) of a row-major (column-major) matrix is read through a {@link VectorCursor},
+ * zero-copy for CSR, CSC and dense matrices. Columns of a row-major matrix and rows of a
+ * column-major matrix are reduced in a single pass over its rows (columns), and a {@link DoKMatrix}
+ * in a single pass over the entries of its hash table.
+ */
+public final class MatrixReductions {
+
+    private MatrixReductions() {}
+
+    public enum Reduction {
+        SUM, MEAN, MIN, MAX,
+        /** sum of absolute values */
+        L1_NORM,
+        /** square root of the sum of squares */
+        L2_NORM,
+        /** number of non-zero values */
+        NNZ,
+        /** population variance */
+        VARIANCE;
+    }
+
+    @Nonnull
+    public static double[] reduceRows(@Nonnull final Matrix matrix,
+            @Nonnull final Reduction reduction) {
+        return reduceRows(matrix, reduction, new double[matrix.numRows()]);
+    }
+
+    /**
+     * @param dst buffer of length numRows or more
+     * @return dst
+     */
+    @Nonnull
+    public static double[] reduceRows(@Nonnull final Matrix matrix,
+            @Nonnull final Reduction reduction, @Nonnull final double[] dst) {
+        final int numRows = matrix.numRows();
+        checkBuffer(dst, numRows);
+
+        final Accumulator acc = new Accumulator(reduction, dst, numRows);
+        if (matrix instanceof DoKMatrix || matrix instanceof DoKFloatMatrix) {
+            acc.addCells(matrix, true);
+        } else if (matrix.isColumnMajorMatrix()) {
+            acc.addAcross(matrix, false);
+        } else {
+            acc.addAlong(matrix, true);
+        }
+        acc.finish(matrix.numColumns());
+        return dst;
+    }
+
+    @Nonnull
+    public static double[] reduceColumns(@Nonnull final Matrix matrix,
+            @Nonnull final Reduction reduction) {
+        return reduceColumns(matrix, reduction, new double[matrix.numColumns()]);
+    }
+
+    /**
+     * @param dst buffer of length numColumns or more
+     * @return dst
+     */
+    @Nonnull
+    public static double[] reduceColumns(@Nonnull final Matrix matrix,
+            @Nonnull final Reduction reduction, @Nonnull final double[] dst) {
+        final int numColumns = matrix.numColumns();
+        checkBuffer(dst, numColumns);
+
+        final Accumulator acc = new Accumulator(reduction, dst, numColumns);
+        if (matrix instanceof DoKMatrix || matrix instanceof DoKFloatMatrix) {
+            acc.addCells(matrix, false);
+        } else if (matrix.isColumnMajorMatrix()) {
+            acc.addAlong(matrix, false);
+        } else {
+            acc.addAcross(matrix, true);
+        }
+        acc.finish(matrix.numRows());
+        return dst;
+    }
+
+    private static void checkBuffer(@Nonnull final double[] dst, final int size) {
+        if (dst.length < size) {
+            throw new IllegalArgumentException(
+                "Buffer length " + dst.length + " is less than " + size);
+        }
+    }
+
+    /**
+     * Per-line state of a reduction over the stored values of each line, kept in the destination
+     * buffer and, for MIN, MAX and VARIANCE, the number of stored values. VARIANCE keeps the
+     * running mean in the destination buffer and the sum of squared deviations in m2 (Welford).
+     */
+    private static final class Accumulator {
+
+        @Nonnull
+        private final Reduction reduction;
+        @Nonnull
+        private final double[] dst;
+        private final int size;
+        @Nullable
+        private final int[] counts;
+        @Nullable
+        private final double[] m2;
+
+        Accumulator(@Nonnull Reduction reduction, @Nonnull double[] dst, int size) {
+            this.reduction = reduction;
+            this.dst = dst;
+            this.size = size;
+            switch (reduction) {
+                case MIN:
+                    Arrays.fill(dst, 0, size, Double.POSITIVE_INFINITY);
+                    this.counts = new int[size];
+                    this.m2 = null;
+                    break;
+                case MAX:
+                    Arrays.fill(dst, 0, size, Double.NEGATIVE_INFINITY);
+                    this.counts = new int[size];
+                    this.m2 = null;
+                    break;
+                case VARIANCE:
+                    Arrays.fill(dst, 0, size, 0.d);
+                    this.counts = new int[size];
+                    this.m2 = new double[size];
+                    break;
+                default:
+                    Arrays.fill(dst, 0, size, 0.d);
+                    this.counts = null;
+                    this.m2 = null;
+            }
+        }
+
+        /**
+         * Reads each line through a cursor and reduces it in a tight loop.
+         */
+        void addAlong(@Nonnull final Matrix matrix, final boolean rows) {
+            if (matrix instanceof FloatMatrix) {
+                final FloatMatrix floatMatrix = (FloatMatrix) matrix;
+                final FloatVectorCursor cursor = new FloatVectorCursor();
+                for (int i = 0; i < size; i++) {
+                    if (rows) {
+                        floatMatrix.getRow(i, cursor);
+                    } else {
+                        floatMatrix.getColumn(i, cursor);
+                    }
+                    final float[] values = cursor.values();
+                    for (int j = cursor.offset(), end = j + cursor.length(); j < end; j++) {
+                        add(i, values[j]);
+                    }
+                }
+                return;
+            }
+
+            final VectorCursor cursor = new VectorCursor();
+            for (int i = 0; i < size; i++) {
+                if (rows) {
+                    matrix.getRow(i, cursor);
+                } else {
+                    matrix.getColumn(i, cursor);
+                }
+                addLine(i, cursor.values(), cursor.offset(), cursor.offset() + cursor.length());
+            }
+        }
+
+        /**
+         * Reduces the lines in a pass over the crossing lines, e.g., columns over the rows.
+         */
+        void addAcross(@Nonnull final Matrix matrix, final boolean rowMajor) {
+            final int numLines = rowMajor ? matrix.numRows() : matrix.numColumns();
+            if (matrix instanceof FloatMatrix) {
+                final FloatMatrix floatMatrix = (FloatMatrix) matrix;
+                final FloatVectorCursor cursor = new FloatVectorCursor();
+                for (int line = 0; line < numLines; line++) {
+                    if (rowMajor) {
+                        floatMatrix.getRow(line, cursor);
+                    } else {
+                        floatMatrix.getColumn(line, cursor);
+                    }
+                    final int[] indices = cursor.indices();
+                    final float[] values = cursor.values();
+                    final int start = cursor.offset();
+                    for (int j = start, end = start + cursor.length(); j < end; j++) {
+                        add((indices == null) ? j - start : indices[j], values[j]);
+                    }
+                }
+                return;
+            }
+
+            final VectorCursor cursor = new VectorCursor();
+            for (int line = 0; line < numLines; line++) {
+                if (rowMajor) {
+                    matrix.getRow(line, cursor);
+                } else {
+                    matrix.getColumn(line, cursor);
+                }
+                final int[] indices = cursor.indices();
+                final double[] values = cursor.values();
+                final int start = cursor.offset();
+                for (int j = start, end = start + cursor.length(); j < end; j++) {
+                    add((indices == null) ? j - start : indices[j], values[j]);
+                }
+            }
+        }
+
+        /**
+         * Reduces in a single pass over the stored cells.
+         */
+        void addCells(@Nonnull final Matrix matrix, final boolean rows) {
+            matrix.eachNonZeroCell(new VectorProcedure() {
+                @Override
+                public void apply(final int row, final int col, final double value) {
+                    add(rows ? row : col, value);
+                }
+            });
+        }
+
+        void addLine(final int i, @Nonnull final double[] values, final int start, final int end) {
+            switch (reduction) {
+                case SUM:
+                case MEAN: {
+                    double sum = 0.d;
+                    for (int j = start; j < end; j++) {
+                        sum += values[j];
+                    }
+                    dst[i] += sum;
+                    break;
+                }
+                case L1_NORM: {
+                    double sum = 0.d;
+                    for (int j = start; j < end; j++) {
+                        sum += Math.abs(values[j]);
+                    }
+                    dst[i] += sum;
+                    break;
+                }
+                case L2_NORM: {
+                    double sum = 0.d;
+                    for (int j = start; j < end; j++) {
+                        sum += values[j] * values[j];
+                    }
+                    dst[i] += sum;
+                    break;
+                }
+                case NNZ: {
+                    int nnz = 0;
+                    for (int j = start; j < end; j++) {
+                        if (values[j] != 0.d) {
+                            nnz++;
+                        }
+                    }
+                    dst[i] += nnz;
+                    break;
+                }
+                case MIN: {
+                    double min = dst[i];
+                    for (int j = start; j < end; j++) {
+                        min = Math.min(min, values[j]);
+                    }
+                    dst[i] = min;
+                    counts[i] += end - start;
+                    break;
+                }
+                case MAX: {
+                    double max = dst[i];
+                    for (int j = start; j < end; j++) {
+                        max = Math.max(max, values[j]);
+                    }
+                    dst[i] = max;
+                    counts[i] += end - start;
+                    break;
+                }
+                default:
+                    for (int j = start; j < end; j++) {
+                        add(i, values[j]);
+                    }
+            }
+        }
+
+        void add(final int i, final double v) {
+            switch (reduction) {
+                case SUM:
+                case MEAN:
+                    dst[i] += v;
+                    break;
+                case L1_NORM:
+                    dst[i] += Math.abs(v);
+                    break;
+                case L2_NORM:
+                    dst[i] += v * v;
+                    break;
+                case NNZ:
+                    if (v != 0.d) {
+                        dst[i] += 1.d;
+                    }
+                    break;
+                case MIN:
+                    dst[i] = Math.min(dst[i], v);
+                    counts[i]++;
+                    break;
+                case MAX:
+                    dst[i] = Math.max(dst[i], v);
+                    counts[i]++;
+                    break;
+                case VARIANCE: {
+                    final int n = ++counts[i];
+                    final double delta = v - dst[i];
+                    dst[i] += delta / n;
+                    m2[i] += delta * (v - dst[i]);
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unexpected reduction: " + reduction);
+            }
+        }
+
+        /**
+         * @param length the number of values of a line including implicit zeros
+         */
+        void finish(final int length) {
+            switch (reduction) {
+                case MEAN:
+                    for (int i = 0; i < size; i++) {
+                        dst[i] /= length;
+                    }
+                    break;
+                case L2_NORM:
+                    for (int i = 0; i < size; i++) {
+                        dst[i] = Math.sqrt(dst[i]);
+                    }
+                    break;
+                case MIN:
+                case MAX:
+                    for (int i = 0; i < size; i++) {
+                        if (length == 0) {
+                            dst[i] = Double.NaN;
+                        } else if (counts[i] < length) {
+                            // implicit zeros
+                            dst[i] = (reduction == Reduction.MIN) ? Math.min(dst[i], 0.d)
+                                    : Math.max(dst[i], 0.d);
+                        }
+                    }
+                    break;
+                case VARIANCE:
+                    for (int i = 0; i < size; i++) {
+                        final int n = counts[i];
+                        double sumSq = m2[i];
+                        if (n < length) {
+                            // merge with the group of (length - n) implicit zeros
+                            final double mean = dst[i];
+                            sumSq += mean * mean * n * (length - n) / length;
+                        }
+                        dst[i] = sumSq / length;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+    }
+
+}
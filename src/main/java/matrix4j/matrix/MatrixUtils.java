@@ -16,13 +16,21 @@
 package matrix4j.matrix;
 
 import matrix4j.matrix.builders.MatrixBuilder;
+import matrix4j.matrix.ints.CSRIntMatrix;
+import matrix4j.matrix.ints.ColumnMajorDenseIntMatrix2d;
+import matrix4j.matrix.ints.ColumnMajorIntMatrix;
 import matrix4j.matrix.ints.IntMatrix;
 import matrix4j.matrix.sparse.CSCMatrix;
 import matrix4j.matrix.sparse.CSRMatrix;
 import matrix4j.matrix.sparse.floats.CSCFloatMatrix;
 import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+import matrix4j.utils.collections.heaps.IntDoubleTopKHeap;
+import matrix4j.utils.concurrent.Parallel;
+import matrix4j.utils.concurrent.Parallel.RangeProcedure;
 import matrix4j.utils.lang.Preconditions;
 import matrix4j.utils.lang.mutable.MutableInt;
+import matrix4j.vector.FloatVectorCursor;
+import matrix4j.vector.VectorCursor;
 import matrix4j.vector.VectorProcedure;
 
 import java.util.Arrays;
@@ -54,6 +62,25 @@ public final class MatrixUtils {
         return builder.buildMatrix();
     }
 
+    /**
+     * Returns a view of the given matrix whose i-th row is <code>indices[i]</code> of m, without
+     * copying the matrix. The indices array is not copied either.
+     */
+    @Nonnull
+    public static RowSubsetMatrix shuffleView(@Nonnull final RowMajorMatrix m,
+            @Nonnull final int[] indices) {
+        return new RowSubsetMatrix(m, indices);
+    }
+
+    /**
+     * @see #shuffleView(RowMajorMatrix, int[])
+     */
+    @Nonnull
+    public static RowSubsetFloatMatrix shuffleView(@Nonnull final RowMajorFloatMatrix m,
+            @Nonnull final int[] indices) {
+        return new RowSubsetFloatMatrix(m, indices);
+    }
+
     /**
      * Returns the index of maximum value of an array.
      * 
@@ -74,6 +101,532 @@ public final class MatrixUtils {
         return which.getValue();
     }
 
+    /**
+     * Computes {@link #whichMax(IntMatrix, int)} of every row, i.e., the column of the largest
+     * stored value in each row, the smallest such column on ties, or -1 for an empty row.
+     *
+     * @param dst buffer of length numRows or more
+     * @return dst
+     */
+    @Nonnull
+    public static int[] whichMaxInRows(@Nonnull final IntMatrix matrix, @Nonnull final int[] dst) {
+        return whichMaxInRows(matrix, dst, false);
+    }
+
+    /**
+     * @param parallel partitions the rows over {@link Parallel#pool()}
+     * @see #whichMaxInRows(IntMatrix, int[])
+     */
+    @Nonnull
+    public static int[] whichMaxInRows(@Nonnull final IntMatrix matrix, @Nonnull final int[] dst,
+            final boolean parallel) {
+        final int numRows = matrix.numRows();
+        checkBuffer(dst, numRows);
+
+        final RangeProcedure procedure;
+        if (matrix instanceof ColumnMajorDenseIntMatrix2d) {
+            final int[][] data = ((ColumnMajorDenseIntMatrix2d) matrix).getData();
+            procedure = new RangeProcedure() {
+                @Override
+                public void apply(final int from, final int to) {
+                    final int[] max = new int[to - from];
+                    Arrays.fill(dst, from, to, -1);
+                    for (int col = 0; col < data.length; col++) {
+                        final int[] column = data[col];
+                        if (column == null) {
+                            continue;
+                        }
+                        for (int row = from, end = Math.min(to, column.length); row < end; row++) {
+                            final int v = column[row];
+                            if (dst[row] == -1 || v > max[row - from]) {
+                                max[row - from] = v;
+                                dst[row] = col;
+                            }
+                        }
+                    }
+                }
+            };
+        } else if (matrix instanceof ColumnMajorIntMatrix) {
+            final ColumnMajorIntMatrix columnMajor = (ColumnMajorIntMatrix) matrix;
+            procedure = new RangeProcedure() {
+                @Override
+                public void apply(final int from, final int to) {
+                    final IntArgMaxAcross argmax = new IntArgMaxAcross(dst, from, to);
+                    for (int col = 0, numCols = columnMajor.numColumns(); col < numCols; col++) {
+                        argmax.index = col;
+                        columnMajor.eachNonNullInColumn(col, from, to, argmax);
+                    }
+                }
+            };
+        } else {
+            procedure = new RangeProcedure() {
+                @Override
+                public void apply(final int from, final int to) {
+                    final IntArgMax argmax = new IntArgMax();
+                    for (int row = from; row < to; row++) {
+                        argmax.which = -1;
+                        matrix.eachInRow(row, argmax, false);
+                        dst[row] = argmax.which;
+                    }
+                }
+            };
+        }
+        run(procedure, numRows, parallel);
+        return dst;
+    }
+
+    /**
+     * Computes the row of the largest stored value in each column, the smallest such row on ties,
+     * or -1 for an empty column.
+     *
+     * @param dst buffer of length numColumns or more
+     * @return dst
+     */
+    @Nonnull
+    public static int[] whichMaxInColumns(@Nonnull final IntMatrix matrix,
+            @Nonnull final int[] dst) {
+        return whichMaxInColumns(matrix, dst, false);
+    }
+
+    /**
+     * @param parallel partitions the columns, or the rows of a {@link CSRIntMatrix}, over
+     *        {@link Parallel#pool()}
+     * @see #whichMaxInColumns(IntMatrix, int[])
+     */
+    @Nonnull
+    public static int[] whichMaxInColumns(@Nonnull final IntMatrix matrix, @Nonnull final int[] dst,
+            final boolean parallel) {
+        final int numCols = matrix.numColumns();
+        checkBuffer(dst, numCols);
+
+        if (matrix instanceof CSRIntMatrix) {
+            // one pass over the rows per block, then merge the blocks in row order
+            final int numRows = matrix.numRows();
+            final int numBlocks =
+                    parallel ? Math.max(1, Math.min(numRows, Parallel.parallelism())) : 1;
+            final int[][] maxs = new int[numBlocks][];
+            final int[][] whichs = new int[numBlocks][];
+            run(new RangeProcedure() {
+                @Override
+                public void apply(final int from, final int to) {
+                    for (int b = from; b < to; b++) {
+                        final int[] which = new int[numCols];
+                        final IntArgMaxAcross argmax = new IntArgMaxAcross(which, 0, numCols);
+                        for (int row = (int) ((long) numRows * b / numBlocks), end =
+                                (int) ((long) numRows * (b + 1) / numBlocks); row < end; row++) {
+                            argmax.index = row;
+                            matrix.eachInRow(row, argmax, false);
+                        }
+                        maxs[b] = argmax.max;
+                        whichs[b] = which;
+                    }
+                }
+            }, numBlocks, parallel);
+
+            System.arraycopy(whichs[0], 0, dst, 0, numCols);
+            final int[] max = maxs[0];
+            for (int b = 1; b < numBlocks; b++) {
+                final int[] blockMax = maxs[b];
+                final int[] blockWhich = whichs[b];
+                for (int col = 0; col < numCols; col++) {
+                    if (blockWhich[col] != -1 && (dst[col] == -1 || blockMax[col] > max[col])) {
+                        max[col] = blockMax[col];
+                        dst[col] = blockWhich[col];
+                    }
+                }
+            }
+            return dst;
+        }
+
+        final RangeProcedure procedure;
+        if (matrix instanceof ColumnMajorDenseIntMatrix2d) {
+            final int[][] data = ((ColumnMajorDenseIntMatrix2d) matrix).getData();
+            procedure = new RangeProcedure() {
+                @Override
+                public void apply(final int from, final int to) {
+                    for (int col = from; col < to; col++) {
+                        final int[] column = data[col];
+                        int which = -1;
+                        if (column != null && column.length > 0) {
+                            which = 0;
+                            int max = column[0];
+                            for (int row = 1; row < column.length; row++) {
+                                final int v = column[row];
+                                if (v > max) {
+                                    max = v;
+                                    which = row;
+                                }
+                            }
+                        }
+                        dst[col] = which;
+                    }
+                }
+            };
+        } else {
+            procedure = new RangeProcedure() {
+                @Override
+                public void apply(final int from, final int to) {
+                    final IntArgMax argmax = new IntArgMax();
+                    for (int col = from; col < to; col++) {
+                        argmax.which = -1;
+                        matrix.eachInColumn(col, argmax, false);
+                        dst[col] = argmax.which;
+                    }
+                }
+            };
+        }
+        run(procedure, numCols, parallel);
+        return dst;
+    }
+
+    /**
+     * Computes the column of the largest stored value in each row, the smallest such column on
+     * ties, or -1 for an empty row. Implicit zeros of a sparse matrix are not considered.
+     *
+     * @param dst buffer of length numRows or more
+     * @return dst
+     */
+    @Nonnull
+    public static int[] whichMaxInRows(@Nonnull final Matrix matrix, @Nonnull final int[] dst) {
+        return whichMaxInRows(matrix, dst, false);
+    }
+
+    /**
+     * @param parallel partitions the rows, or the columns of a column-major matrix, over
+     *        {@link Parallel#pool()}
+     * @see #whichMaxInRows(Matrix, int[])
+     */
+    @Nonnull
+    public static int[] whichMaxInRows(@Nonnull final Matrix matrix, @Nonnull final int[] dst,
+            final boolean parallel) {
+        checkBuffer(dst, matrix.numRows());
+        if (matrix.isColumnMajorMatrix()) {
+            whichMaxAcross(matrix, false, dst, parallel);
+        } else {
+            whichMaxAlong(matrix, true, dst, parallel);
+        }
+        return dst;
+    }
+
+    /**
+     * Computes the row of the largest stored value in each column, the smallest such row on ties,
+     * or -1 for an empty column. Implicit zeros of a sparse matrix are not considered.
+     *
+     * @param dst buffer of length numColumns or more
+     * @return dst
+     */
+    @Nonnull
+    public static int[] whichMaxInColumns(@Nonnull final Matrix matrix, @Nonnull final int[] dst) {
+        return whichMaxInColumns(matrix, dst, false);
+    }
+
+    /**
+     * @param parallel partitions the columns, or the rows of a row-major matrix, over
+     *        {@link Parallel#pool()}
+     * @see #whichMaxInColumns(Matrix, int[])
+     */
+    @Nonnull
+    public static int[] whichMaxInColumns(@Nonnull final Matrix matrix, @Nonnull final int[] dst,
+            final boolean parallel) {
+        checkBuffer(dst, matrix.numColumns());
+        if (matrix.isRowMajorMatrix()) {
+            whichMaxAcross(matrix, true, dst, parallel);
+        } else {
+            whichMaxAlong(matrix, false, dst, parallel);
+        }
+        return dst;
+    }
+
+    /**
+     * Argmax of each row (or column) read one at a time through a {@link VectorCursor}.
+     */
+    private static void whichMaxAlong(@Nonnull final Matrix matrix, final boolean rows,
+            @Nonnull final int[] dst, final boolean parallel) {
+        run(new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                final VectorCursor cursor = new VectorCursor();
+                for (int i = from; i < to; i++) {
+                    if (rows) {
+                        matrix.getRow(i, cursor);
+                    } else {
+                        matrix.getColumn(i, cursor);
+                    }
+                    int which = -1;
+                    double max = Double.NEGATIVE_INFINITY;
+                    while (cursor.next()) {
+                        final double v = cursor.value();
+                        if (which == -1 || v > max) {
+                            max = v;
+                            which = cursor.index();
+                        }
+                    }
+                    dst[i] = which;
+                }
+            }
+        }, rows ? matrix.numRows() : matrix.numColumns(), parallel);
+    }
+
+    /**
+     * Argmax of each column (or row) in a pass over the rows (or columns) split into blocks, of
+     * which results are merged in order.
+     */
+    private static void whichMaxAcross(@Nonnull final Matrix matrix, final boolean rowMajor,
+            @Nonnull final int[] dst, final boolean parallel) {
+        final int numLines = rowMajor ? matrix.numRows() : matrix.numColumns();
+        final int size = rowMajor ? matrix.numColumns() : matrix.numRows();
+        final int numBlocks =
+                parallel ? Math.max(1, Math.min(numLines, Parallel.parallelism())) : 1;
+        final double[][] maxs = new double[numBlocks][];
+        final int[][] whichs = new int[numBlocks][];
+        run(new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                final VectorCursor cursor = new VectorCursor();
+                for (int b = from; b < to; b++) {
+                    final double[] max = new double[size];
+                    final int[] which = new int[size];
+                    Arrays.fill(which, -1);
+                    for (int line = (int) ((long) numLines * b / numBlocks), end =
+                            (int) ((long) numLines * (b + 1) / numBlocks); line < end; line++) {
+                        if (rowMajor) {
+                            matrix.getRow(line, cursor);
+                        } else {
+                            matrix.getColumn(line, cursor);
+                        }
+                        while (cursor.next()) {
+                            final int i = cursor.index();
+                            final double v = cursor.value();
+                            if (which[i] == -1 || v > max[i]) {
+                                max[i] = v;
+                                which[i] = line;
+                            }
+                        }
+                    }
+                    maxs[b] = max;
+                    whichs[b] = which;
+                }
+            }
+        }, numBlocks, parallel);
+
+        System.arraycopy(whichs[0], 0, dst, 0, size);
+        final double[] max = maxs[0];
+        for (int b = 1; b < numBlocks; b++) {
+            final double[] blockMax = maxs[b];
+            final int[] blockWhich = whichs[b];
+            for (int i = 0; i < size; i++) {
+                if (blockWhich[i] != -1 && (dst[i] == -1 || blockMax[i] > max[i])) {
+                    max[i] = blockMax[i];
+                    dst[i] = blockWhich[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects the k largest stored values of a row, where k is {@link IntDoubleTopKHeap#k()}, and
+     * writes their columns and values in descending order of values, the smaller column first on
+     * ties, into <code>dstIndices</code> and <code>dstValues</code> from offset. Implicit zeros of
+     * a sparse matrix are not considered.
+     *
+     * @param heap an empty heap that is left empty
+     * @param cursor reused for reading the row
+     * @return the number of entries written, which is less than k for a row with fewer entries
+     */
+    public static int topKInRow(@Nonnull final Matrix matrix, @Nonnegative final int row,
+            @Nonnull final IntDoubleTopKHeap heap, @Nonnull final VectorCursor cursor,
+            @Nonnull final int[] dstIndices, @Nonnull final double[] dstValues,
+            @Nonnegative final int offset) {
+        matrix.getRow(row, cursor);
+        final int[] indices = cursor.indices();
+        final double[] values = cursor.values();
+        final int start = cursor.offset(), end = start + cursor.length();
+        if (indices == null) {
+            for (int i = start; i < end; i++) {
+                heap.offer(i - start, values[i]);
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                heap.offer(indices[i], values[i]);
+            }
+        }
+        return heap.drainTo(dstIndices, dstValues, offset);
+    }
+
+    /**
+     * @see #topKInRow(Matrix, int, IntDoubleTopKHeap, VectorCursor, int[], double[], int)
+     */
+    public static int topKInRow(@Nonnull final FloatMatrix matrix, @Nonnegative final int row,
+            @Nonnull final IntDoubleTopKHeap heap, @Nonnull final FloatVectorCursor cursor,
+            @Nonnull final int[] dstIndices, @Nonnull final float[] dstValues,
+            @Nonnegative final int offset) {
+        matrix.getRow(row, cursor);
+        final int[] indices = cursor.indices();
+        final float[] values = cursor.values();
+        final int start = cursor.offset(), end = start + cursor.length();
+        if (indices == null) {
+            for (int i = start; i < end; i++) {
+                heap.offer(i - start, values[i]);
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                heap.offer(indices[i], values[i]);
+            }
+        }
+        return heap.drainTo(dstIndices, dstValues, offset);
+    }
+
+    /**
+     * Selects the top-k entries of each row in <code>[fromRow, toRow)</code> as
+     * {@link #topKInRow(Matrix, int, IntDoubleTopKHeap, VectorCursor, int[], double[], int)} does.
+     * The entries of the i-th row of the range are written into
+     * <code>[i * k, i * k + counts[i])</code> of <code>dstIndices</code> and
+     * <code>dstValues</code>, so that the buffers can be reused across batches of rows.
+     *
+     * @param dstIndices buffer of length (toRow - fromRow) * k or more
+     * @param dstValues buffer of length (toRow - fromRow) * k or more
+     * @param counts buffer of length (toRow - fromRow) or more
+     */
+    public static void topKInRows(@Nonnull final Matrix matrix, @Nonnegative final int k,
+            @Nonnegative final int fromRow, @Nonnegative final int toRow,
+            @Nonnull final int[] dstIndices, @Nonnull final double[] dstValues,
+            @Nonnull final int[] counts) {
+        topKInRows(matrix, k, fromRow, toRow, dstIndices, dstValues, counts, false);
+    }
+
+    /**
+     * @param parallel partitions the rows over {@link Parallel#pool()}
+     * @see #topKInRows(Matrix, int, int, int, int[], double[], int[])
+     */
+    public static void topKInRows(@Nonnull final Matrix matrix, @Nonnegative final int k,
+            @Nonnegative final int fromRow, @Nonnegative final int toRow,
+            @Nonnull final int[] dstIndices, @Nonnull final double[] dstValues,
+            @Nonnull final int[] counts, final boolean parallel) {
+        checkTopKBuffers(matrix, k, fromRow, toRow, dstIndices, dstValues.length, counts);
+
+        run(new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                final IntDoubleTopKHeap heap = new IntDoubleTopKHeap(k);
+                final VectorCursor cursor = new VectorCursor();
+                for (int i = from; i < to; i++) {
+                    counts[i] = topKInRow(matrix, fromRow + i, heap, cursor, dstIndices, dstValues,
+                        i * k);
+                }
+            }
+        }, toRow - fromRow, parallel);
+    }
+
+    /**
+     * @see #topKInRows(Matrix, int, int, int, int[], double[], int[])
+     */
+    public static void topKInRows(@Nonnull final FloatMatrix matrix, @Nonnegative final int k,
+            @Nonnegative final int fromRow, @Nonnegative final int toRow,
+            @Nonnull final int[] dstIndices, @Nonnull final float[] dstValues,
+            @Nonnull final int[] counts) {
+        topKInRows(matrix, k, fromRow, toRow, dstIndices, dstValues, counts, false);
+    }
+
+    /**
+     * @param parallel partitions the rows over {@link Parallel#pool()}
+     * @see #topKInRows(Matrix, int, int, int, int[], double[], int[])
+     */
+    public static void topKInRows(@Nonnull final FloatMatrix matrix, @Nonnegative final int k,
+            @Nonnegative final int fromRow, @Nonnegative final int toRow,
+            @Nonnull final int[] dstIndices, @Nonnull final float[] dstValues,
+            @Nonnull final int[] counts, final boolean parallel) {
+        checkTopKBuffers(matrix, k, fromRow, toRow, dstIndices, dstValues.length, counts);
+
+        run(new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                final IntDoubleTopKHeap heap = new IntDoubleTopKHeap(k);
+                final FloatVectorCursor cursor = new FloatVectorCursor();
+                for (int i = from; i < to; i++) {
+                    counts[i] = topKInRow(matrix, fromRow + i, heap, cursor, dstIndices, dstValues,
+                        i * k);
+                }
+            }
+        }, toRow - fromRow, parallel);
+    }
+
+    private static void checkTopKBuffers(@Nonnull final Matrix matrix, final int k,
+            final int fromRow, final int toRow, @Nonnull final int[] dstIndices,
+            final int dstValuesLength, @Nonnull final int[] counts) {
+        Preconditions.checkArgument(k > 0, "Invalid k: " + k);
+        if (fromRow < 0 || fromRow > toRow || toRow > matrix.numRows()) {
+            throw new IndexOutOfBoundsException("Invalid row range [" + fromRow + ", " + toRow
+                    + ") for " + matrix.numRows() + " rows");
+        }
+        final long required = (long) (toRow - fromRow) * k;
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                "Too many rows for a buffer: " + (toRow - fromRow) + " * " + k);
+        }
+        checkBuffer(dstIndices, (int) required);
+        if (dstValuesLength < required) {
+            throw new IllegalArgumentException(
+                "Buffer length " + dstValuesLength + " is less than " + required);
+        }
+        checkBuffer(counts, toRow - fromRow);
+    }
+
+    private static void run(@Nonnull final RangeProcedure procedure, final int size,
+            final boolean parallel) {
+        Parallel.forEach(0, size, procedure, parallel);
+    }
+
+    private static void checkBuffer(@Nonnull final int[] dst, final int size) {
+        if (dst.length < size) {
+            throw new IllegalArgumentException(
+                "Buffer length " + dst.length + " is less than " + size);
+        }
+    }
+
+    /**
+     * Keeps the index of the largest value seen.
+     */
+    private static final class IntArgMax extends VectorProcedure {
+        int max;
+        int which = -1;
+
+        @Override
+        public void apply(final int i, final int value) {
+            if (which == -1 || value > max) {
+                this.max = value;
+                this.which = i;
+            }
+        }
+    }
+
+    /**
+     * Keeps, for each index i in [from, to), the line of the largest value seen at i where
+     * {@link #index} is the current line.
+     */
+    private static final class IntArgMaxAcross extends VectorProcedure {
+        @Nonnull
+        final int[] which;
+        @Nonnull
+        final int[] max;
+        final int from;
+        int index;
+
+        IntArgMaxAcross(@Nonnull int[] which, int from, int to) {
+            this.which = which;
+            this.max = new int[to - from];
+            this.from = from;
+            Arrays.fill(which, from, to, -1);
+        }
+
+        @Override
+        public void apply(final int i, final int value) {
+            if (which[i] == -1 || value > max[i - from]) {
+                max[i - from] = value;
+                which[i] = index;
+            }
+        }
+    }
+
     /**
      * @param data non-zero entries
      */
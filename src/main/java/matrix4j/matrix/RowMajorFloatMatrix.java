@@ -15,7 +15,11 @@
  */
 package matrix4j.matrix;
 
+import matrix4j.vector.FloatVectorCursor;
+import matrix4j.vector.VectorProcedure;
+
 import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
 
 public abstract class RowMajorFloatMatrix extends RowMajorMatrix implements FloatMatrix {
 
@@ -45,4 +49,65 @@ public abstract class RowMajorFloatMatrix extends RowMajorMatrix implements Floa
         return getAndSet(row, col, (float) value);
     }
 
+    @Override
+    public FloatVectorCursor getRow(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        dst.clear();
+        eachNonNullInRow(index, new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                dst.append(i, (float) value);
+            }
+        });
+        return dst;
+    }
+
+    @Override
+    public FloatVectorCursor getColumn(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        dst.clear();
+        eachNonNullInColumn(index, new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                dst.append(i, (float) value);
+            }
+        });
+        return dst;
+    }
+
+    /**
+     * Copies the given rows into the batch buffers, replacing its content.
+     *
+     * @param rows row indices of which <code>rows[offset, offset + length)</code> are copied
+     * @return returns dst
+     */
+    @Nonnull
+    public FloatRowBatch getRows(@Nonnull final int[] rows, @Nonnegative final int offset,
+            @Nonnegative final int length, @Nonnull final FloatRowBatch dst) {
+        dst.clear();
+        final FloatVectorCursor cursor = dst.cursor();
+        for (int i = offset, end = offset + length; i < end; i++) {
+            dst.appendRow(getRow(rows[i], cursor));
+        }
+        return dst;
+    }
+
+    /**
+     * Copies rows <code>[fromRow, toRow)</code> into the batch buffers, replacing its content.
+     *
+     * @return returns dst
+     */
+    @Nonnull
+    public FloatRowBatch getRows(@Nonnegative final int fromRow, @Nonnegative final int toRow,
+            @Nonnull final FloatRowBatch dst) {
+        checkRowRange(fromRow, toRow);
+
+        dst.clear();
+        final FloatVectorCursor cursor = dst.cursor();
+        for (int row = fromRow; row < toRow; row++) {
+            dst.appendRow(getRow(row, cursor));
+        }
+        return dst;
+    }
+
 }
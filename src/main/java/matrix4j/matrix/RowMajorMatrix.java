@@ -16,6 +16,7 @@
 package matrix4j.matrix;
 
 import matrix4j.vector.Vector;
+import matrix4j.vector.VectorCursor;
 import matrix4j.vector.VectorProcedure;
 
 import javax.annotation.Nonnegative;
@@ -48,6 +49,48 @@ public abstract class RowMajorMatrix extends AbstractMatrix {
         });
     }
 
+    /**
+     * Copies the given rows into the batch buffers, replacing its content.
+     *
+     * @param rows row indices of which <code>rows[offset, offset + length)</code> are copied
+     * @return returns dst
+     */
+    @Nonnull
+    public RowBatch getRows(@Nonnull final int[] rows, @Nonnegative final int offset,
+            @Nonnegative final int length, @Nonnull final RowBatch dst) {
+        dst.clear();
+        final VectorCursor cursor = dst.cursor();
+        for (int i = offset, end = offset + length; i < end; i++) {
+            dst.appendRow(getRow(rows[i], cursor));
+        }
+        return dst;
+    }
+
+    /**
+     * Copies rows <code>[fromRow, toRow)</code> into the batch buffers, replacing its content.
+     *
+     * @return returns dst
+     */
+    @Nonnull
+    public RowBatch getRows(@Nonnegative final int fromRow, @Nonnegative final int toRow,
+            @Nonnull final RowBatch dst) {
+        checkRowRange(fromRow, toRow);
+
+        dst.clear();
+        final VectorCursor cursor = dst.cursor();
+        for (int row = fromRow; row < toRow; row++) {
+            dst.appendRow(getRow(row, cursor));
+        }
+        return dst;
+    }
+
+    protected final void checkRowRange(final int fromRow, final int toRow) {
+        if (fromRow < 0 || fromRow > toRow || toRow > numRows()) {
+            throw new IndexOutOfBoundsException(
+                "Row range [" + fromRow + ", " + toRow + ") out of range " + numRows());
+        }
+    }
+
     @Override
     public void eachInColumn(int col, VectorProcedure procedure, boolean nullOutput) {
         throw new UnsupportedOperationException();
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix;
+
+import matrix4j.matrix.builders.MatrixBuilder;
+import matrix4j.matrix.sparse.floats.CSCFloatMatrix;
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.vector.FloatVectorCursor;
+import matrix4j.vector.Vector;
+import matrix4j.vector.VectorCursor;
+import matrix4j.vector.VectorProcedure;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A view of a subset of the rows of a row-major float matrix sharing its storage.
+ *
+ * The i-th row of the view is either <code>rows[i]</code> or <code>fromRow + i</code> of the
+ * underlying matrix. A permutation view is {@link #swappable()} by swapping row indices, which
+ * makes epoch shuffling cost a single <code>int[]</code>.
+ *
+ * @see MatrixUtils#shuffleView(RowMajorFloatMatrix, int[])
+ */
+public final class RowSubsetFloatMatrix extends RowMajorFloatMatrix {
+
+    @Nonnull
+    private final RowMajorFloatMatrix matrix;
+    @Nullable
+    private final int[] rows;
+    @Nonnegative
+    private final int fromRow;
+    @Nonnegative
+    private final int numRows;
+
+    /**
+     * @param rows row indices of the underlying matrix, not copied
+     */
+    public RowSubsetFloatMatrix(@Nonnull RowMajorFloatMatrix matrix, @Nonnull int[] rows) {
+        super();
+        this.matrix = Preconditions.checkNotNull(matrix);
+        this.rows = Preconditions.checkNotNull(rows);
+        this.fromRow = 0;
+        this.numRows = rows.length;
+    }
+
+    public RowSubsetFloatMatrix(@Nonnull RowMajorFloatMatrix matrix, @Nonnegative int fromRow,
+            @Nonnegative int toRow) {
+        super();
+        matrix.checkRowRange(fromRow, toRow);
+        this.matrix = matrix;
+        this.rows = null;
+        this.fromRow = fromRow;
+        this.numRows = toRow - fromRow;
+    }
+
+    @Nonnull
+    public RowMajorFloatMatrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * @return row indices of the underlying matrix, or null for a row range
+     */
+    @Nullable
+    public int[] getRowIndices() {
+        return rows;
+    }
+
+    /**
+     * @return the row index of the underlying matrix
+     */
+    public int rowIndex(@Nonnegative final int row) {
+        checkRowIndex(row, numRows);
+        return (rows == null) ? fromRow + row : rows[row];
+    }
+
+    @Override
+    public boolean isSparse() {
+        return matrix.isSparse();
+    }
+
+    @Override
+    public boolean readOnly() {
+        return matrix.readOnly();
+    }
+
+    @Override
+    public boolean swappable() {
+        return rows != null;
+    }
+
+    /**
+     * Counts the non-zero entries of the rows in the view on each call.
+     */
+    @Override
+    public int nnz() {
+        final FloatVectorCursor cursor = new FloatVectorCursor(0);
+        int count = 0;
+        for (int i = 0; i < numRows; i++) {
+            matrix.getRow(rowIndex(i), cursor);
+            while (cursor.next()) {
+                if (cursor.value() != 0.f) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this view excluding the shared underlying
+     *         matrix
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(2, 8) + SizeOf.sizeOf(rows);
+    }
+
+    @Override
+    public int numRows() {
+        return numRows;
+    }
+
+    @Override
+    public int numColumns() {
+        return matrix.numColumns();
+    }
+
+    @Override
+    public int numColumns(@Nonnegative final int row) {
+        return matrix.numColumns(rowIndex(row));
+    }
+
+    @Override
+    public double[] row() {
+        return matrix.row();
+    }
+
+    @Override
+    public Vector rowVector() {
+        return matrix.rowVector();
+    }
+
+    @Override
+    public double[] getRow(@Nonnegative final int index) {
+        return matrix.getRow(rowIndex(index));
+    }
+
+    @Override
+    public double[] getRow(@Nonnegative final int index, @Nonnull final double[] dst) {
+        return matrix.getRow(rowIndex(index), dst);
+    }
+
+    @Override
+    public void getRow(@Nonnegative final int index, @Nonnull final Vector row) {
+        matrix.getRow(rowIndex(index), row);
+    }
+
+    @Override
+    public VectorCursor getRow(@Nonnegative final int index, @Nonnull final VectorCursor dst) {
+        return matrix.getRow(rowIndex(index), dst);
+    }
+
+    @Override
+    public float[] getRow(@Nonnegative final int index, @Nonnull final float[] dst) {
+        return matrix.getRow(rowIndex(index), dst);
+    }
+
+    @Override
+    public FloatVectorCursor getRow(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        return matrix.getRow(rowIndex(index), dst);
+    }
+
+    @Override
+    public RowBatch getRows(@Nonnegative final int fromRow, @Nonnegative final int toRow,
+            @Nonnull final RowBatch dst) {
+        if (rows != null) {
+            return super.getRows(fromRow, toRow, dst);
+        }
+        checkRowRange(fromRow, toRow);
+        return matrix.getRows(this.fromRow + fromRow, this.fromRow + toRow, dst);
+    }
+
+    @Override
+    public FloatRowBatch getRows(@Nonnegative final int fromRow, @Nonnegative final int toRow,
+            @Nonnull final FloatRowBatch dst) {
+        if (rows != null) {
+            return super.getRows(fromRow, toRow, dst);
+        }
+        checkRowRange(fromRow, toRow);
+        return matrix.getRows(this.fromRow + fromRow, this.fromRow + toRow, dst);
+    }
+
+    @Override
+    public float get(@Nonnegative final int row, @Nonnegative final int col,
+            final float defaultValue) {
+        return matrix.get(rowIndex(row), col, defaultValue);
+    }
+
+    @Override
+    public void set(@Nonnegative final int row, @Nonnegative final int col, final float value) {
+        matrix.set(rowIndex(row), col, value);
+    }
+
+    @Override
+    public float getAndSet(@Nonnegative final int row, @Nonnegative final int col,
+            final float value) {
+        return matrix.getAndSet(rowIndex(row), col, value);
+    }
+
+    /**
+     * Swaps the row indices of the view. The underlying matrix is not modified.
+     */
+    @Override
+    public void swap(@Nonnegative final int row1, @Nonnegative final int row2) {
+        if (rows == null) {
+            throw new UnsupportedOperationException("Row range view is not swappable");
+        }
+        checkRowIndex(row1, numRows);
+        checkRowIndex(row2, numRows);
+
+        final int tmp = rows[row1];
+        rows[row1] = rows[row2];
+        rows[row2] = tmp;
+    }
+
+    @Override
+    public void eachInRow(@Nonnegative final int row, @Nonnull final VectorProcedure procedure,
+            final boolean nullOutput) {
+        matrix.eachInRow(rowIndex(row), procedure, nullOutput);
+    }
+
+    @Override
+    public void eachNonZeroInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        matrix.eachNonZeroInRow(rowIndex(row), procedure);
+    }
+
+    @Override
+    public void eachColumnIndexInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        matrix.eachColumnIndexInRow(rowIndex(row), procedure);
+    }
+
+    /**
+     * @return a copy of the view in CSC format
+     */
+    @Override
+    public CSCFloatMatrix toColumnMajorMatrix() {
+        final int numColumns = matrix.numColumns();
+        final FloatVectorCursor cursor = new FloatVectorCursor();
+
+        final int[] columnPointers = new int[numColumns + 1];
+        for (int i = 0; i < numRows; i++) {
+            matrix.getRow(rowIndex(i), cursor);
+            while (cursor.next()) {
+                if (cursor.value() != 0.f) {
+                    columnPointers[cursor.index() + 1]++;
+                }
+            }
+        }
+        for (int j = 0; j < numColumns; j++) {
+            columnPointers[j + 1] += columnPointers[j];
+        }
+
+        final int nnz = columnPointers[numColumns];
+        final int[] rowIndices = new int[nnz];
+        final float[] values = new float[nnz];
+        final int[] offsets = new int[numColumns];
+        System.arraycopy(columnPointers, 0, offsets, 0, numColumns);
+        for (int i = 0; i < numRows; i++) {
+            matrix.getRow(rowIndex(i), cursor);
+            while (cursor.next()) {
+                final float v = cursor.value();
+                if (v == 0.f) {
+                    continue;
+                }
+                final int dst = offsets[cursor.index()]++;
+                rowIndices[dst] = i;
+                values[dst] = v;
+            }
+        }
+
+        return new CSCFloatMatrix(columnPointers, rowIndices, values, numRows, numColumns);
+    }
+
+    @Override
+    public MatrixBuilder builder() {
+        return matrix.builder();
+    }
+
+}
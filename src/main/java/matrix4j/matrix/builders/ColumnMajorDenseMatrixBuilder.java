@@ -60,7 +60,7 @@ public final class ColumnMajorDenseMatrixBuilder extends MatrixBuilder {
             rows = new SparseDoubleArray(4);
             col2rows.put(col, rows);
         }
-        rows.put(row, value);
+        rows.append(row, value);
         nnz++;
         return this;
     }
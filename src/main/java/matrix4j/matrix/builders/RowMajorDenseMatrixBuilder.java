@@ -50,7 +50,7 @@ public final class RowMajorDenseMatrixBuilder extends MatrixBuilder {
         if (value == 0.d) {
             return this;
         }
-        rowProbe.put(col, value);
+        rowProbe.append(col, value);
         nnz++;
         return this;
     }
@@ -18,7 +18,9 @@ package matrix4j.matrix.dense;
 import matrix4j.matrix.ColumnMajorMatrix;
 import matrix4j.matrix.builders.ColumnMajorDenseMatrixBuilder;
 import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
 import matrix4j.vector.Vector;
+import matrix4j.vector.VectorCursor;
 import matrix4j.vector.VectorProcedure;
 
 import javax.annotation.Nonnegative;
@@ -72,6 +74,15 @@ public final class ColumnMajorDenseMatrix2d extends ColumnMajorMatrix {
         return nnz;
     }
 
+    /**
+     * @return the estimated number of bytes retained by this matrix where null columns take no
+     *         space
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 12) + SizeOf.sizeOf(data);
+    }
+
     @Override
     public int numRows() {
         return numRows;
@@ -140,6 +151,34 @@ public final class ColumnMajorDenseMatrix2d extends ColumnMajorMatrix {
         }
     }
 
+    @Override
+    public VectorCursor getRow(@Nonnegative final int index, @Nonnull final VectorCursor dst) {
+        checkRowIndex(index, numRows);
+        dst.clear();
+
+        for (int j = 0; j < data.length; j++) {
+            final double[] col = data[j];
+            if (col == null) {
+                continue;
+            }
+            if (index < col.length) {
+                dst.append(j, col[index]);
+            }
+        }
+        return dst;
+    }
+
+    @Override
+    public VectorCursor getColumn(@Nonnegative final int index, @Nonnull final VectorCursor dst) {
+        checkColIndex(index, numColumns);
+
+        final double[] col = data[index];
+        if (col == null) {
+            return dst.clear();
+        }
+        return dst.view(null, col, 0, col.length);
+    }
+
     @Override
     public double get(final int row, final int col, final double defaultValue) {
         checkIndex(row, col, numRows, numColumns);
@@ -0,0 +1,434 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.dense;
+
+import matrix4j.matrix.RowMajorFloatMatrix;
+import matrix4j.matrix.builders.RowMajorDenseMatrixBuilder;
+import matrix4j.matrix.sparse.floats.CSCFloatMatrix;
+import matrix4j.utils.lang.HalfFloat;
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.vector.FloatVectorCursor;
+import matrix4j.vector.VectorProcedure;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Fixed-size Dense 2-d float Matrix storing values in 16 bits, either IEEE 754 binary16 (half) or
+ * bfloat16.
+ *
+ * @see HalfFloat
+ */
+public final class RowMajorDenseHalfFloatMatrix2d extends RowMajorFloatMatrix {
+
+    @Nonnull
+    private final short[][] data;
+    private final boolean bfloat16;
+
+    @Nonnegative
+    private final int numRows;
+    @Nonnegative
+    private final int numColumns;
+    @Nonnegative
+    private int nnz;
+
+    public RowMajorDenseHalfFloatMatrix2d(@Nonnull short[][] data, @Nonnegative int numColumns,
+            boolean bfloat16) {
+        super();
+        this.data = data;
+        this.bfloat16 = bfloat16;
+        this.numRows = data.length;
+        this.numColumns = numColumns;
+        this.nnz = nnz(data);
+    }
+
+    @Nonnull
+    public static RowMajorDenseHalfFloatMatrix2d build(@Nonnull final float[][] rows,
+            @Nonnegative final int numColumns, final boolean bfloat16) {
+        final short[][] data = new short[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            final float[] row = rows[i];
+            if (row == null) {
+                continue;
+            }
+            final short[] dst = new short[row.length];
+            for (int j = 0; j < row.length; j++) {
+                dst[j] = bfloat16 ? HalfFloat.floatToBFloat16(row[j])
+                        : HalfFloat.floatToHalf(row[j]);
+            }
+            data[i] = dst;
+        }
+        return new RowMajorDenseHalfFloatMatrix2d(data, numColumns, bfloat16);
+    }
+
+    public boolean isBFloat16() {
+        return bfloat16;
+    }
+
+    @Override
+    public boolean isSparse() {
+        return false;
+    }
+
+    @Override
+    public boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean swappable() {
+        return true;
+    }
+
+    @Override
+    public int nnz() {
+        return nnz;
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this matrix where null rows take no space
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 13) + SizeOf.sizeOf(data);
+    }
+
+    @Override
+    public int numRows() {
+        return numRows;
+    }
+
+    @Override
+    public int numColumns() {
+        return numColumns;
+    }
+
+    @Override
+    public int numColumns(@Nonnegative final int row) {
+        checkRowIndex(row, numRows);
+
+        final short[] r = data[row];
+        if (r == null) {
+            return 0;
+        }
+        return r.length;
+    }
+
+    @Override
+    public double[] getRow(@Nonnegative final int index) {
+        final double[] row = new double[numColumns];
+        return getRow(index, row);
+    }
+
+    @Override
+    public double[] getRow(@Nonnegative final int index, @Nonnull final double[] dst) {
+        checkRowIndex(index, numRows);
+
+        final short[] row = data[index];
+        int col = 0;
+        if (row != null) {
+            for (int len = Math.min(row.length, dst.length); col < len; col++) {
+                dst[col] = decode(row[col]);
+            }
+        }
+        if (dst.length > col) {// zerofill
+            Arrays.fill(dst, col, dst.length, 0.d);
+        }
+        return dst;
+    }
+
+    @Override
+    public float[] getRow(@Nonnegative final int index, @Nonnull final float[] dst) {
+        checkRowIndex(index, numRows);
+
+        final short[] row = data[index];
+        int col = 0;
+        if (row != null) {
+            for (int len = Math.min(row.length, dst.length); col < len; col++) {
+                dst[col] = decode(row[col]);
+            }
+        }
+        if (dst.length > col) {// zerofill
+            Arrays.fill(dst, col, dst.length, 0.f);
+        }
+        return dst;
+    }
+
+    @Override
+    public FloatVectorCursor getRow(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        checkRowIndex(index, numRows);
+        dst.clear();
+
+        final short[] row = data[index];
+        if (row != null) {
+            for (int col = 0; col < row.length; col++) {
+                dst.append(col, decode(row[col]));
+            }
+        }
+        return dst;
+    }
+
+    @Override
+    public float get(@Nonnegative final int row, @Nonnegative final int col,
+            final float defaultValue) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final short[] rowData = data[row];
+        if (rowData == null || col >= rowData.length) {
+            return defaultValue;
+        }
+        return decode(rowData[col]);
+    }
+
+    @Override
+    public float getAndSet(@Nonnegative final int row, @Nonnegative final int col,
+            final float value) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final short[] rowData = data[row];
+        Preconditions.checkNotNull(rowData, "row does not exists: " + row);
+        checkColIndex(col, rowData.length);
+
+        final float old = decode(rowData[col]);
+        final short encoded = encode(value);
+        rowData[col] = encoded;
+        if (old == 0.f && decode(encoded) != 0.f) {
+            ++nnz;
+        }
+        return old;
+    }
+
+    @Override
+    public void set(@Nonnegative final int row, @Nonnegative final int col, final float value) {
+        checkIndex(row, col, numRows, numColumns);
+        if (value == 0.f) {
+            return;
+        }
+
+        final short[] rowData = data[row];
+        Preconditions.checkNotNull(rowData, "row does not exists: " + row);
+        checkColIndex(col, rowData.length);
+
+        final short encoded = encode(value);
+        if (decode(rowData[col]) == 0.f && decode(encoded) != 0.f) {
+            ++nnz;
+        }
+        rowData[col] = encoded;
+    }
+
+    private float decode(final short v) {
+        return bfloat16 ? HalfFloat.bfloat16ToFloat(v) : HalfFloat.halfToFloat(v);
+    }
+
+    private short encode(final float v) {
+        return bfloat16 ? HalfFloat.floatToBFloat16(v) : HalfFloat.floatToHalf(v);
+    }
+
+    @Override
+    public void swap(@Nonnegative final int row1, @Nonnegative final int row2) {
+        checkRowIndex(row1, numRows);
+        checkRowIndex(row2, numRows);
+
+        short[] oldRow1 = data[row1];
+        data[row1] = data[row2];
+        data[row2] = oldRow1;
+    }
+
+    @Override
+    public void eachInRow(@Nonnegative final int row, @Nonnull final VectorProcedure procedure,
+            final boolean nullOutput) {
+        checkRowIndex(row, numRows);
+
+        final short[] rowData = data[row];
+        if (rowData == null) {
+            if (nullOutput) {
+                for (int j = 0; j < numColumns; j++) {
+                    procedure.apply(j, 0.f);
+                }
+            }
+            return;
+        }
+
+        int col = 0;
+        for (int len = rowData.length; col < len; col++) {
+            procedure.apply(col, decode(rowData[col]));
+        }
+        if (nullOutput) {
+            for (; col < numColumns; col++) {
+                procedure.apply(col, 0.f);
+            }
+        }
+    }
+
+    @Override
+    public void eachNonZeroInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        checkRowIndex(row, numRows);
+
+        final short[] rowData = data[row];
+        if (rowData == null) {
+            return;
+        }
+        for (int col = 0, len = rowData.length; col < len; col++) {
+            final float v = decode(rowData[col]);
+            if (v != 0.f) {
+                procedure.apply(col, v);
+            }
+        }
+    }
+
+    @Override
+    public void eachColumnIndexInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        checkRowIndex(row, numRows);
+
+        final short[] rowData = data[row];
+        if (rowData == null) {
+            return;
+        }
+        for (int col = 0, len = rowData.length; col < len; col++) {
+            procedure.apply(col);
+        }
+    }
+
+    @Override
+    public void eachInColumn(@Nonnegative final int col, @Nonnull final VectorProcedure procedure,
+            final boolean nullOutput) {
+        checkColIndex(col, numColumns);
+
+        for (int row = 0; row < numRows; row++) {
+            final short[] rowData = data[row];
+            if (rowData != null && col < rowData.length) {
+                procedure.apply(row, decode(rowData[col]));
+            } else {
+                if (nullOutput) {
+                    procedure.apply(row, 0.f);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void eachNonZeroInColumn(@Nonnegative final int col,
+            @Nonnull final VectorProcedure procedure) {
+        checkColIndex(col, numColumns);
+
+        for (int row = 0; row < numRows; row++) {
+            final short[] rowData = data[row];
+            if (rowData == null) {
+                continue;
+            }
+            if (col < rowData.length) {
+                final float v = decode(rowData[col]);
+                if (v != 0.f) {
+                    procedure.apply(row, v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Dense matrix-vector multiplication y = A * x.
+     *
+     * @return returns y
+     */
+    @Nonnull
+    public float[] multiply(@Nonnull final float[] x, @Nonnull final float[] y) {
+        Preconditions.checkArgument(x.length >= numColumns,
+            "x.length (" + x.length + ") must be equals to or greater than " + numColumns);
+        Preconditions.checkArgument(y.length >= numRows,
+            "y.length (" + y.length + ") must be equals to or greater than " + numRows);
+
+        for (int i = 0; i < numRows; i++) {
+            final short[] rowData = data[i];
+            float sum = 0.f;
+            if (rowData != null) {
+                for (int j = 0; j < rowData.length; j++) {
+                    sum += decode(rowData[j]) * x[j];
+                }
+            }
+            y[i] = sum;
+        }
+        return y;
+    }
+
+    @Override
+    public CSCFloatMatrix toColumnMajorMatrix() {
+        final int[] columnPointers = new int[numColumns + 1];
+        for (int i = 0; i < numRows; i++) {
+            final short[] rowData = data[i];
+            if (rowData == null) {
+                continue;
+            }
+            for (int j = 0; j < rowData.length; j++) {
+                if (decode(rowData[j]) != 0.f) {
+                    columnPointers[j + 1]++;
+                }
+            }
+        }
+        for (int j = 0; j < numColumns; j++) {
+            columnPointers[j + 1] += columnPointers[j];
+        }
+
+        final int total = columnPointers[numColumns];
+        final int[] rowIndices = new int[total];
+        final float[] values = new float[total];
+        final int[] offsets = Arrays.copyOf(columnPointers, numColumns);
+        for (int i = 0; i < numRows; i++) {
+            final short[] rowData = data[i];
+            if (rowData == null) {
+                continue;
+            }
+            for (int j = 0; j < rowData.length; j++) {
+                final float v = decode(rowData[j]);
+                if (v == 0.f) {
+                    continue;
+                }
+                final int dst = offsets[j]++;
+                rowIndices[dst] = i;
+                values[dst] = v;
+            }
+        }
+
+        return new CSCFloatMatrix(columnPointers, rowIndices, values, numRows, numColumns);
+    }
+
+    @Override
+    public RowMajorDenseMatrixBuilder builder() {
+        return new RowMajorDenseMatrixBuilder(numRows);
+    }
+
+    private int nnz(@Nonnull final short[][] data) {
+        int count = 0;
+        for (int i = 0; i < data.length; i++) {
+            final short[] row = data[i];
+            if (row == null) {
+                continue;
+            }
+            for (int j = 0; j < row.length; j++) {
+                if (decode(row[j]) != 0.f) {
+                    ++count;
+                }
+            }
+        }
+        return count;
+    }
+
+}
@@ -18,7 +18,9 @@ package matrix4j.matrix.dense;
 import matrix4j.matrix.RowMajorMatrix;
 import matrix4j.matrix.builders.RowMajorDenseMatrixBuilder;
 import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
 import matrix4j.vector.DenseVector;
+import matrix4j.vector.VectorCursor;
 import matrix4j.vector.VectorProcedure;
 
 import java.util.Arrays;
@@ -74,6 +76,14 @@ public final class RowMajorDenseMatrix2d extends RowMajorMatrix {
         return nnz;
     }
 
+    /**
+     * @return the estimated number of bytes retained by this matrix where null rows take no space
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 12) + SizeOf.sizeOf(data);
+    }
+
     @Override
     public int numRows() {
         return numRows;
@@ -132,6 +142,17 @@ public final class RowMajorDenseMatrix2d extends RowMajorMatrix {
         return dst;
     }
 
+    @Override
+    public VectorCursor getRow(@Nonnegative final int index, @Nonnull final VectorCursor dst) {
+        checkRowIndex(index, numRows);
+
+        final double[] row = data[index];
+        if (row == null) {
+            return dst.clear();
+        }
+        return dst.view(null, row, 0, row.length);
+    }
+
     @Override
     public double get(@Nonnegative final int row, @Nonnegative final int col,
             final double defaultValue) {
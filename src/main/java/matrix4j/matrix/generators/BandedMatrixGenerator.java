@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.generators;
+
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.vector.HashSparseVector;
+
+import java.util.Random;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Generates a banded sparse matrix of which non-zeros of row i lie in columns
+ * <code>[i - lower, i + upper]</code>. The band is filled uniformly at the density to reach the
+ * target nnz, or fully if the band has fewer cells.
+ */
+public final class BandedMatrixGenerator extends SparseMatrixGenerator {
+
+    @Nonnegative
+    private final int lower;
+    @Nonnegative
+    private final int upper;
+    private final double density;
+
+    public BandedMatrixGenerator(@Nonnegative int numRows, @Nonnegative int numColumns,
+            @Nonnegative int lower, @Nonnegative int upper, @Nonnegative long nnz, long seed) {
+        super(numRows, numColumns, seed);
+        Preconditions.checkArgument(lower >= 0, "Invalid lower: " + lower);
+        Preconditions.checkArgument(upper >= 0, "Invalid upper: " + upper);
+        Preconditions.checkArgument(nnz >= 0, "Invalid nnz: " + nnz);
+        this.lower = lower;
+        this.upper = upper;
+
+        long cells = 0L;
+        for (int row = 0; row < numRows; row++) {
+            cells += support(row);
+        }
+        this.density = (cells == 0L) ? 0.d : Math.min(1.d, (double) nnz / cells);
+    }
+
+    @Override
+    protected double expectedDegree(@Nonnegative final int row) {
+        return density * support(row);
+    }
+
+    @Override
+    protected int support(@Nonnegative final int row) {
+        return Math.max(0, to(row) - from(row));
+    }
+
+    @Override
+    protected void sampleColumns(@Nonnegative final int row, @Nonnegative final int k,
+            @Nonnull final Random rnd, @Nonnull final HashSparseVector dst) {
+        final int from = from(row);
+        sampleRange(from, to(row) - from, k, rnd, dst);
+    }
+
+    private int from(final int row) {
+        return Math.max(0, row - lower);
+    }
+
+    private int to(final int row) {
+        return (int) Math.min(numColumns, (long) row + upper + 1L);
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.generators;
+
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.vector.HashSparseVector;
+
+import java.util.Random;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Generates a block-diagonal sparse matrix of which rows and columns are split evenly into the
+ * given number of blocks. The blocks are filled uniformly at the density to reach the target nnz,
+ * or fully if the blocks have fewer cells.
+ */
+public final class BlockDiagonalMatrixGenerator extends SparseMatrixGenerator {
+
+    @Nonnegative
+    private final int numBlocks;
+    private final double density;
+
+    public BlockDiagonalMatrixGenerator(@Nonnegative int numRows, @Nonnegative int numColumns,
+            @Nonnegative int numBlocks, @Nonnegative long nnz, long seed) {
+        super(numRows, numColumns, seed);
+        Preconditions.checkArgument(numBlocks >= 1, "Invalid numBlocks: " + numBlocks);
+        Preconditions.checkArgument(nnz >= 0, "Invalid nnz: " + nnz);
+        this.numBlocks = numBlocks;
+
+        long cells = 0L;
+        for (int row = 0; row < numRows; row++) {
+            cells += support(row);
+        }
+        this.density = (cells == 0L) ? 0.d : Math.min(1.d, (double) nnz / cells);
+    }
+
+    @Override
+    protected double expectedDegree(@Nonnegative final int row) {
+        return density * support(row);
+    }
+
+    @Override
+    protected int support(@Nonnegative final int row) {
+        final int block = block(row);
+        return columnFrom(block + 1) - columnFrom(block);
+    }
+
+    @Override
+    protected void sampleColumns(@Nonnegative final int row, @Nonnegative final int k,
+            @Nonnull final Random rnd, @Nonnull final HashSparseVector dst) {
+        final int block = block(row);
+        final int from = columnFrom(block);
+        sampleRange(from, columnFrom(block + 1) - from, k, rnd, dst);
+    }
+
+    private int block(final int row) {
+        return (int) ((long) row * numBlocks / numRows);
+    }
+
+    private int columnFrom(final int block) {
+        return (int) ((long) block * numColumns / numBlocks);
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.generators;
+
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.vector.HashSparseVector;
+
+import java.util.Random;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Generates the adjacency matrix of an R-MAT graph with <code>2^scale</code> vertices.
+ *
+ * R-MAT recursively places an edge into one of the four quadrants with probabilities a, b, c and d
+ * = 1 - (a + b + c). Rows are generated one at a time by drawing the degree of a row from its
+ * marginal probability, a product of (a + b) or (c + d) per bit of the row index, and then each
+ * column bit conditioned on the row bit.
+ *
+ * @link http://www.cs.cmu.edu/~christos/PUBLICATIONS/siam04.pdf
+ */
+public final class RMatMatrixGenerator extends SparseMatrixGenerator {
+
+    @Nonnegative
+    private final int scale;
+    private final double nnz;
+    private final double top;
+    /** P(column bit = 1 | row bit = 0) */
+    private final double right0;
+    /** P(column bit = 1 | row bit = 1) */
+    private final double right1;
+
+    public RMatMatrixGenerator(@Nonnegative int scale, @Nonnegative long nnz, double a, double b,
+            double c, long seed) {
+        super(1 << scale, 1 << scale, seed);
+        Preconditions.checkArgument(scale >= 0 && scale <= 30, "Invalid scale: " + scale);
+        Preconditions.checkArgument(nnz >= 0, "Invalid nnz: " + nnz);
+        final double d = 1.d - (a + b + c);
+        Preconditions.checkArgument(a > 0.d && b >= 0.d && c >= 0.d && d >= 0.d && a + b < 1.d,
+            "Invalid probabilities: a=" + a + ", b=" + b + ", c=" + c + ", d=" + d);
+        this.scale = scale;
+        this.nnz = nnz;
+        this.top = a + b;
+        this.right0 = b / (a + b);
+        this.right1 = d / (c + d);
+    }
+
+    /**
+     * R-MAT with the commonly used parameters a=0.57, b=0.19, c=0.19 and d=0.05.
+     */
+    public RMatMatrixGenerator(@Nonnegative int scale, @Nonnegative long nnz, long seed) {
+        this(scale, nnz, 0.57d, 0.19d, 0.19d, seed);
+    }
+
+    @Override
+    protected double expectedDegree(@Nonnegative final int row) {
+        double p = 1.d;
+        for (int bit = scale - 1; bit >= 0; bit--) {
+            p *= ((row >>> bit) & 1) == 0 ? top : 1.d - top;
+        }
+        return nnz * p;
+    }
+
+    @Override
+    protected int support(@Nonnegative final int row) {
+        return numColumns;
+    }
+
+    @Override
+    protected void sampleColumns(@Nonnegative final int row, @Nonnegative final int k,
+            @Nonnull final Random rnd, @Nonnull final HashSparseVector dst) {
+        for (int i = 0, maxDraws = 8 * k + 64; dst.size() < k && i < maxDraws; i++) {
+            int col = 0;
+            for (int bit = scale - 1; bit >= 0; bit--) {
+                final double right = ((row >>> bit) & 1) == 0 ? right0 : right1;
+                col = (col << 1) | (rnd.nextDouble() < right ? 1 : 0);
+            }
+            dst.set(col, 1.d);
+        }
+        for (int col = 0; dst.size() < k && col < numColumns; col++) {
+            dst.set(col, 1.d);
+        }
+    }
+
+}
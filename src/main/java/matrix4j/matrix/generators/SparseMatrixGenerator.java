@@ -0,0 +1,328 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.generators;
+
+import matrix4j.matrix.sparse.CSCMatrix;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.DoKMatrix;
+import matrix4j.utils.collections.lists.DoubleArrayList;
+import matrix4j.utils.collections.lists.IntArrayList;
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.vector.HashSparseVector;
+import matrix4j.vector.VectorCursor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Generates a reproducible random sparse matrix row by row.
+ *
+ * Each row draws its number of non-zeros around {@link #expectedDegree(int)} and then distinct
+ * column indices by {@link #sampleColumns(int, int, Random, HashSparseVector)}. Values are drawn
+ * uniformly from (0, 1]. Given the same seed, every output method generates the same matrix, and
+ * the number of non-zeros is close to the target nnz in expectation.
+ *
+ * Since rows are generated one at a time, {@link #writeLibSVM(Writer)} and
+ * {@link #writeEdgeList(Writer)} can write a matrix larger than memory.
+ */
+@NotThreadSafe
+public abstract class SparseMatrixGenerator {
+
+    @Nonnegative
+    protected final int numRows;
+    @Nonnegative
+    protected final int numColumns;
+    protected final long seed;
+
+    @Nonnull
+    private final HashSparseVector sampled;
+    @Nonnull
+    private int[] columnBuffer;
+    @Nonnull
+    private double[] valueBuffer;
+
+    public SparseMatrixGenerator(@Nonnegative int numRows, @Nonnegative int numColumns, long seed) {
+        Preconditions.checkArgument(numRows >= 0, "Invalid numRows: " + numRows);
+        Preconditions.checkArgument(numColumns >= 0, "Invalid numColumns: " + numColumns);
+        this.numRows = numRows;
+        this.numColumns = numColumns;
+        this.seed = seed;
+        this.sampled = new HashSparseVector();
+        this.columnBuffer = new int[16];
+        this.valueBuffer = new double[16];
+    }
+
+    public final int numRows() {
+        return numRows;
+    }
+
+    public final int numColumns() {
+        return numColumns;
+    }
+
+    /**
+     * @return the expected number of non-zeros in the row
+     */
+    protected abstract double expectedDegree(@Nonnegative int row);
+
+    /**
+     * @return the number of columns that can be non-zero in the row
+     */
+    protected abstract int support(@Nonnegative int row);
+
+    /**
+     * Samples k distinct columns of the row by setting them to 1 in dst.
+     */
+    protected abstract void sampleColumns(@Nonnegative int row, @Nonnegative int k,
+            @Nonnull Random rnd, @Nonnull HashSparseVector dst);
+
+    /**
+     * Generates the entries of the row sorted by column index. Rows have to be generated in order
+     * with a {@link Random} seeded by {@link #newRandom()} to reproduce the same matrix.
+     */
+    @Nonnull
+    public final VectorCursor generateRow(@Nonnegative final int row, @Nonnull final Random rnd,
+            @Nonnull final VectorCursor dst) {
+        final double expected = expectedDegree(row);
+        int k = (int) expected;
+        if (rnd.nextDouble() < expected - k) {
+            k++;
+        }
+        k = Math.min(k, support(row));
+
+        sampled.clear();
+        if (k > 0) {
+            sampleColumns(row, k, rnd, sampled);
+        }
+        final int size = sampled.size();
+        if (size > columnBuffer.length) {
+            this.columnBuffer = new int[Math.max(size, columnBuffer.length * 2)];
+            this.valueBuffer = new double[columnBuffer.length];
+        }
+        sampled.compact(columnBuffer, valueBuffer);
+
+        dst.clear();
+        for (int i = 0; i < size; i++) {
+            dst.append(columnBuffer[i], 1.d - rnd.nextDouble());
+        }
+        return dst;
+    }
+
+    @Nonnull
+    public final Random newRandom() {
+        return new Random(seed);
+    }
+
+    @Nonnull
+    public CSRMatrix toCSRMatrix() {
+        final int[] rowPointers = new int[numRows + 1];
+        final IntArrayList columnIndices = new IntArrayList(1024);
+        final DoubleArrayList values = new DoubleArrayList(1024);
+
+        final Random rnd = newRandom();
+        final VectorCursor cursor = new VectorCursor();
+        for (int row = 0; row < numRows; row++) {
+            generateRow(row, rnd, cursor);
+            while (cursor.next()) {
+                columnIndices.add(cursor.index());
+                values.add(cursor.value());
+            }
+            rowPointers[row + 1] = values.size();
+        }
+        return new CSRMatrix(rowPointers, columnIndices.toArray(true), values.toArray(true),
+            numColumns);
+    }
+
+    /**
+     * Builds a CSC matrix in two passes over the rows without an intermediate matrix: the first
+     * pass counts non-zeros per column and the second one fills them in.
+     */
+    @Nonnull
+    public CSCMatrix toCSCMatrix() {
+        final int[] columnPointers = new int[numColumns + 1];
+        final VectorCursor cursor = new VectorCursor();
+
+        Random rnd = newRandom();
+        for (int row = 0; row < numRows; row++) {
+            generateRow(row, rnd, cursor);
+            while (cursor.next()) {
+                columnPointers[cursor.index() + 1]++;
+            }
+        }
+        for (int col = 0; col < numColumns; col++) {
+            columnPointers[col + 1] += columnPointers[col];
+        }
+
+        final int nnz = columnPointers[numColumns];
+        final int[] rowIndices = new int[nnz];
+        final double[] values = new double[nnz];
+        final int[] next = new int[numColumns];
+        System.arraycopy(columnPointers, 0, next, 0, numColumns);
+        rnd = newRandom();
+        for (int row = 0; row < numRows; row++) {
+            generateRow(row, rnd, cursor);
+            while (cursor.next()) {
+                final int i = next[cursor.index()]++;
+                rowIndices[i] = row;
+                values[i] = cursor.value();
+            }
+        }
+        return new CSCMatrix(columnPointers, rowIndices, values, numRows, numColumns);
+    }
+
+    @Nonnull
+    public DoKMatrix toDoKMatrix() {
+        final float sparsity = (numRows == 0 || numColumns == 0) ? 0.f
+                : (float) Math.min(1.d, expectedNnz() / numRows / numColumns);
+        final DoKMatrix matrix = new DoKMatrix(numRows, numColumns, sparsity);
+
+        final Random rnd = newRandom();
+        final VectorCursor cursor = new VectorCursor();
+        for (int row = 0; row < numRows; row++) {
+            generateRow(row, rnd, cursor);
+            while (cursor.next()) {
+                matrix.set(row, cursor.index(), cursor.value());
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Writes one line per row consisting of space separated <code>col:value</code> pairs, which can
+     * be fed to {@link matrix4j.matrix.builders.MatrixBuilder#nextRow(String[])}.
+     */
+    public void writeLibSVM(@Nonnull final Writer out) throws IOException {
+        final Random rnd = newRandom();
+        final VectorCursor cursor = new VectorCursor();
+        for (int row = 0; row < numRows; row++) {
+            generateRow(row, rnd, cursor);
+            boolean first = true;
+            while (cursor.next()) {
+                if (first) {
+                    first = false;
+                } else {
+                    out.write(' ');
+                }
+                out.write(Integer.toString(cursor.index()));
+                out.write(':');
+                out.write(Double.toString(cursor.value()));
+            }
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes one <code>row col value</code> line per non-zero in row-major order.
+     */
+    public void writeEdgeList(@Nonnull final Writer out) throws IOException {
+        final Random rnd = newRandom();
+        final VectorCursor cursor = new VectorCursor();
+        for (int row = 0; row < numRows; row++) {
+            generateRow(row, rnd, cursor);
+            final String prefix = Integer.toString(row) + ' ';
+            while (cursor.next()) {
+                out.write(prefix);
+                out.write(Integer.toString(cursor.index()));
+                out.write(' ');
+                out.write(Double.toString(cursor.value()));
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * @return the expected number of non-zeros of the whole matrix
+     */
+    public double expectedNnz() {
+        double nnz = 0.d;
+        for (int row = 0; row < numRows; row++) {
+            nnz += Math.min(expectedDegree(row), support(row));
+        }
+        return nnz;
+    }
+
+    /**
+     * Samples k distinct columns uniformly from [from, from + n) by Floyd's algorithm.
+     */
+    protected static void sampleRange(@Nonnegative final int from, @Nonnegative final int n,
+            @Nonnegative final int k, @Nonnull final Random rnd,
+            @Nonnull final HashSparseVector dst) {
+        for (int j = n - k; j < n; j++) {
+            final int t = rnd.nextInt(j + 1);
+            if (dst.get(from + t, 0.d) == 0.d) {
+                dst.set(from + t, 1.d);
+            } else {
+                dst.set(from + j, 1.d);
+            }
+        }
+    }
+
+    /**
+     * Samples k distinct columns following the given cumulative distribution by rejection. When a
+     * row is too heavy for rejection to finish within <code>8 * k</code> draws, the rest is topped
+     * up with the most probable columns not drawn yet.
+     */
+    protected static void sampleCdf(@Nonnull final double[] cdf, @Nonnegative final int k,
+            @Nonnull final Random rnd, @Nonnull final HashSparseVector dst) {
+        for (int i = 0, maxDraws = 8 * k + 64; dst.size() < k && i < maxDraws; i++) {
+            dst.set(search(cdf, rnd.nextDouble()), 1.d);
+        }
+        for (int col = 0; dst.size() < k && col < cdf.length; col++) {
+            dst.set(col, 1.d);
+        }
+    }
+
+    /**
+     * @return the normalized cumulative distribution of Zipf's law over n ranks
+     */
+    @Nonnull
+    protected static double[] zipfCdf(@Nonnegative final int n, final double exponent) {
+        final double[] cdf = new double[n];
+        double sum = 0.d;
+        for (int i = 0; i < n; i++) {
+            sum += Math.pow(i + 1, -exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    /**
+     * @return the first index i where p &lt; cdf[i]
+     */
+    protected static int search(@Nonnull final double[] cdf, final double p) {
+        int low = 0, high = cdf.length - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (p < cdf[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+}
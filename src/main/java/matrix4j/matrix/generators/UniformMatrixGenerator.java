@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.generators;
+
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.vector.HashSparseVector;
+
+import java.util.Random;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Generates a sparse matrix of which non-zeros are placed uniformly at random.
+ */
+public final class UniformMatrixGenerator extends SparseMatrixGenerator {
+
+    private final double degree;
+
+    public UniformMatrixGenerator(@Nonnegative int numRows, @Nonnegative int numColumns,
+            @Nonnegative long nnz, long seed) {
+        super(numRows, numColumns, seed);
+        Preconditions.checkArgument(nnz >= 0, "Invalid nnz: " + nnz);
+        this.degree = (numRows == 0) ? 0.d : (double) nnz / numRows;
+    }
+
+    @Override
+    protected double expectedDegree(@Nonnegative final int row) {
+        return degree;
+    }
+
+    @Override
+    protected int support(@Nonnegative final int row) {
+        return numColumns;
+    }
+
+    @Override
+    protected void sampleColumns(@Nonnegative final int row, @Nonnegative final int k,
+            @Nonnull final Random rnd, @Nonnull final HashSparseVector dst) {
+        sampleRange(0, numColumns, k, rnd, dst);
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.generators;
+
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.vector.HashSparseVector;
+
+import java.util.Random;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Generates a sparse matrix of which row and column degrees follow Zipf's (power) law, i.e., the
+ * i-th row (column) is proportional to <code>(i + 1)^-exponent</code>.
+ */
+public final class ZipfMatrixGenerator extends SparseMatrixGenerator {
+
+    @Nonnull
+    private final double[] rowCdf;
+    @Nonnull
+    private final double[] columnCdf;
+    private final double nnz;
+
+    public ZipfMatrixGenerator(@Nonnegative int numRows, @Nonnegative int numColumns,
+            @Nonnegative long nnz, double rowExponent, double columnExponent, long seed) {
+        super(numRows, numColumns, seed);
+        Preconditions.checkArgument(nnz >= 0, "Invalid nnz: " + nnz);
+        Preconditions.checkArgument(rowExponent >= 0.d, "Invalid rowExponent: " + rowExponent);
+        Preconditions.checkArgument(columnExponent >= 0.d,
+            "Invalid columnExponent: " + columnExponent);
+        this.rowCdf = zipfCdf(numRows, rowExponent);
+        this.columnCdf = zipfCdf(numColumns, columnExponent);
+        this.nnz = nnz;
+    }
+
+    @Override
+    protected double expectedDegree(@Nonnegative final int row) {
+        final double p = (row == 0) ? rowCdf[0] : rowCdf[row] - rowCdf[row - 1];
+        return nnz * p;
+    }
+
+    @Override
+    protected int support(@Nonnegative final int row) {
+        return numColumns;
+    }
+
+    @Override
+    protected void sampleColumns(@Nonnegative final int row, @Nonnegative final int k,
+            @Nonnull final Random rnd, @Nonnull final HashSparseVector dst) {
+        sampleCdf(columnCdf, k, rnd, dst);
+    }
+
+}
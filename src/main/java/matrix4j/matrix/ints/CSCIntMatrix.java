@@ -0,0 +1,304 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.ints;
+
+import matrix4j.matrix.sparse.CSCRowIndex;
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.vector.VectorProcedure;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Compressed Sparse Column int matrix optimized for column major access.
+ *
+ * Values can be stored as byte or short when all of them fit, e.g., for small counts. Updating an
+ * entry to a value that does not fit widens the storage.
+ */
+public final class CSCIntMatrix extends ColumnMajorIntMatrix {
+
+    @Nonnull
+    private final int[] columnPointers;
+    @Nonnull
+    private final int[] rowIndices;
+    @Nonnull
+    private IntValues values;
+
+    @Nonnegative
+    private final int numRows;
+    @Nonnegative
+    private final int numColumns;
+    @Nonnegative
+    private final int nnz;
+
+    public CSCIntMatrix(@Nonnull int[] columnPointers, @Nonnull int[] rowIndices,
+            @Nonnull int[] values, @Nonnegative int numRows, @Nonnegative int numColumns) {
+        this(columnPointers, rowIndices, values, numRows, numColumns, false);
+    }
+
+    /**
+     * @param narrowValues store the values in the narrowest of byte, short and int holding all of
+     *        them
+     */
+    public CSCIntMatrix(@Nonnull int[] columnPointers, @Nonnull int[] rowIndices,
+            @Nonnull int[] values, @Nonnegative int numRows, @Nonnegative int numColumns,
+            boolean narrowValues) {
+        this(columnPointers, rowIndices, IntValues.of(values, narrowValues), numRows, numColumns);
+    }
+
+    CSCIntMatrix(@Nonnull int[] columnPointers, @Nonnull int[] rowIndices,
+            @Nonnull IntValues values, @Nonnegative int numRows, @Nonnegative int numColumns) {
+        super();
+        Preconditions.checkArgument(columnPointers.length >= 1,
+            "columnPointers must be greater than 0: " + columnPointers.length);
+        Preconditions.checkArgument(rowIndices.length == values.size(), "#rowIndices ("
+                + rowIndices.length + ") must be equals to #values (" + values.size() + ")");
+        this.columnPointers = columnPointers;
+        this.rowIndices = rowIndices;
+        this.values = values;
+        this.numRows = numRows;
+        this.numColumns = numColumns;
+        this.nnz = rowIndices.length;
+    }
+
+    @Nonnull
+    public int[] getColumnPointers() {
+        return columnPointers;
+    }
+
+    @Nonnull
+    public int[] getRowIndices() {
+        return rowIndices;
+    }
+
+    /**
+     * @return a copy of the values widened to int, which does not write through to this matrix
+     */
+    @Nonnull
+    public int[] toValueArray() {
+        return values.toArray();
+    }
+
+    /**
+     * @return 1, 2 or 4 for values stored as byte, short or int
+     */
+    public int bytesPerValue() {
+        return values.bytesPerValue();
+    }
+
+    @Override
+    public boolean isSparse() {
+        return true;
+    }
+
+    @Override
+    public boolean readOnly() {
+        return true;
+    }
+
+    public int nnz() {
+        return nnz;
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this matrix
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(3, 16) + SizeOf.sizeOf(columnPointers) + SizeOf.sizeOf(rowIndices)
+                + values.estimatedMemoryBytes();
+    }
+
+    @Override
+    public int numRows() {
+        return numRows;
+    }
+
+    @Override
+    public int numColumns() {
+        return numColumns;
+    }
+
+    public int numRows(@Nonnegative final int col) {
+        checkColIndex(col, numColumns);
+
+        return columnPointers[col + 1] - columnPointers[col];
+    }
+
+    @Override
+    public int[] getRow(@Nonnegative final int index) {
+        return getRow(index, new int[numColumns]);
+    }
+
+    @Override
+    public int[] getRow(@Nonnegative final int index, @Nonnull final int[] dst) {
+        checkRowIndex(index, numRows);
+
+        final int end = Math.min(dst.length, numColumns);
+        for (int j = 0; j < end; j++) {
+            final int k = Arrays.binarySearch(rowIndices, columnPointers[j], columnPointers[j + 1],
+                index);
+            dst[j] = (k >= 0) ? values.get(k) : defaultValue;
+        }
+        return dst;
+    }
+
+    @Override
+    public int get(@Nonnegative final int row, @Nonnegative final int col, final int defaultValue) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            return defaultValue;
+        }
+        return values.get(index);
+    }
+
+    @Override
+    public void set(@Nonnegative final int row, @Nonnegative final int col, final int value) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            throw new UnsupportedOperationException(
+                "Cannot update value in row " + row + ", col " + col);
+        }
+        this.values = values.set(index, value);
+    }
+
+    @Override
+    public int getAndSet(@Nonnegative final int row, @Nonnegative final int col, final int value) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            throw new UnsupportedOperationException(
+                "Cannot update value in row " + row + ", col " + col);
+        }
+        final int old = values.get(index);
+        this.values = values.set(index, value);
+        return old;
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the entry is not stored
+     */
+    @Override
+    public void incr(@Nonnegative final int row, @Nonnegative final int col, final int delta) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            throw new UnsupportedOperationException(
+                "Cannot update value in row " + row + ", col " + col);
+        }
+        this.values = values.set(index, values.get(index) + delta);
+    }
+
+    private int getIndex(@Nonnegative final int row, @Nonnegative final int col) {
+        return Arrays.binarySearch(rowIndices, columnPointers[col], columnPointers[col + 1], row);
+    }
+
+    @Override
+    public void eachInColumn(@Nonnegative final int col, @Nonnull final VectorProcedure procedure,
+            final boolean nullOutput) {
+        checkColIndex(col, numColumns);
+
+        final int startIn = columnPointers[col];
+        final int endEx = columnPointers[col + 1];
+
+        if (nullOutput) {
+            for (int row = 0, i = startIn; row < numRows; row++) {
+                if (i < endEx && row == rowIndices[i]) {
+                    procedure.apply(row, values.get(i++));
+                } else {
+                    procedure.apply(row, defaultValue);
+                }
+            }
+        } else {
+            for (int i = startIn; i < endEx; i++) {
+                procedure.apply(rowIndices[i], values.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void eachNonZeroInColumn(@Nonnegative final int col,
+            @Nonnull final VectorProcedure procedure) {
+        checkColIndex(col, numColumns);
+
+        for (int i = columnPointers[col], last = columnPointers[col + 1]; i < last; i++) {
+            final int v = values.get(i);
+            if (v != 0) {
+                procedure.apply(rowIndices[i], v);
+            }
+        }
+    }
+
+    @Override
+    public void eachNonNullInColumn(@Nonnegative final int col, @Nonnegative final int startRow,
+            @Nonnegative final int endRow, @Nonnull final VectorProcedure procedure) {
+        checkColIndex(col, numColumns);
+        rangeCheck(numRows, startRow, endRow);
+
+        final int last = columnPointers[col + 1];
+        int i = Arrays.binarySearch(rowIndices, columnPointers[col], last, startRow);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        for (; i < last; i++) {
+            final int row = rowIndices[i];
+            if (row >= endRow) {
+                break;
+            }
+            procedure.apply(row, values.get(i));
+        }
+    }
+
+    /**
+     * Applies the procedure to each non-empty column as a dense array of its rows.
+     */
+    @Override
+    public void eachRow(@Nonnull final VectorProcedure procedure) {
+        for (int col = 0; col < numColumns; col++) {
+            final int startIn = columnPointers[col];
+            final int endEx = columnPointers[col + 1];
+            if (startIn == endEx) {
+                continue;
+            }
+            final int[] column = new int[numRows];
+            Arrays.fill(column, defaultValue);
+            for (int i = startIn; i < endEx; i++) {
+                column[rowIndices[i]] = values.get(i);
+            }
+            procedure.apply(col, column);
+        }
+    }
+
+    /**
+     * @return a CSR copy of this matrix in the same value width
+     */
+    @Nonnull
+    public CSRIntMatrix toRowMajorMatrix() {
+        final CSCRowIndex index = CSCRowIndex.build(columnPointers, rowIndices, numRows);
+        return new CSRIntMatrix(index.getRowPointers(), index.getColumnIndices(),
+            values.gather(index.getPositions()), numColumns);
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.ints;
+
+import matrix4j.matrix.sparse.CSCRowIndex;
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.vector.VectorProcedure;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Compressed Sparse Row int matrix optimized for row major access.
+ *
+ * Values can be stored as byte or short when all of them fit, e.g., for small counts. Updating an
+ * entry to a value that does not fit widens the storage.
+ */
+public final class CSRIntMatrix extends AbstractIntMatrix {
+
+    @Nonnull
+    private final int[] rowPointers;
+    @Nonnull
+    private final int[] columnIndices;
+    @Nonnull
+    private IntValues values;
+
+    @Nonnegative
+    private final int numRows;
+    @Nonnegative
+    private final int numColumns;
+    @Nonnegative
+    private final int nnz;
+
+    public CSRIntMatrix(@Nonnull int[] rowPointers, @Nonnull int[] columnIndices,
+            @Nonnull int[] values, @Nonnegative int numColumns) {
+        this(rowPointers, columnIndices, values, numColumns, false);
+    }
+
+    /**
+     * @param narrowValues store the values in the narrowest of byte, short and int holding all of
+     *        them
+     */
+    public CSRIntMatrix(@Nonnull int[] rowPointers, @Nonnull int[] columnIndices,
+            @Nonnull int[] values, @Nonnegative int numColumns, boolean narrowValues) {
+        this(rowPointers, columnIndices, IntValues.of(values, narrowValues), numColumns);
+    }
+
+    CSRIntMatrix(@Nonnull int[] rowPointers, @Nonnull int[] columnIndices,
+            @Nonnull IntValues values, @Nonnegative int numColumns) {
+        super();
+        Preconditions.checkArgument(rowPointers.length >= 1,
+            "rowPointers must be greater than 0: " + rowPointers.length);
+        Preconditions.checkArgument(columnIndices.length == values.size(), "#columnIndices ("
+                + columnIndices.length + ") must be equals to #values (" + values.size() + ")");
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+        this.numRows = rowPointers.length - 1;
+        this.numColumns = numColumns;
+        this.nnz = columnIndices.length;
+    }
+
+    @Nonnull
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    @Nonnull
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    /**
+     * @return a copy of the values widened to int, which does not write through to this matrix
+     */
+    @Nonnull
+    public int[] toValueArray() {
+        return values.toArray();
+    }
+
+    /**
+     * @return 1, 2 or 4 for values stored as byte, short or int
+     */
+    public int bytesPerValue() {
+        return values.bytesPerValue();
+    }
+
+    @Override
+    public boolean isSparse() {
+        return true;
+    }
+
+    @Override
+    public boolean readOnly() {
+        return true;
+    }
+
+    public int nnz() {
+        return nnz;
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this matrix
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(3, 16) + SizeOf.sizeOf(rowPointers) + SizeOf.sizeOf(columnIndices)
+                + values.estimatedMemoryBytes();
+    }
+
+    @Override
+    public int numRows() {
+        return numRows;
+    }
+
+    @Override
+    public int numColumns() {
+        return numColumns;
+    }
+
+    public int numColumns(@Nonnegative final int row) {
+        checkRowIndex(row, numRows);
+
+        return rowPointers[row + 1] - rowPointers[row];
+    }
+
+    @Override
+    public int[] getRow(@Nonnegative final int index) {
+        return getRow(index, new int[numColumns]);
+    }
+
+    @Override
+    public int[] getRow(@Nonnegative final int index, @Nonnull final int[] dst) {
+        checkRowIndex(index, numRows);
+
+        final int end = Math.min(dst.length, numColumns);
+        Arrays.fill(dst, 0, end, defaultValue);
+        for (int i = rowPointers[index], last = rowPointers[index + 1]; i < last; i++) {
+            final int col = columnIndices[i];
+            if (col >= end) {
+                break;
+            }
+            dst[col] = values.get(i);
+        }
+        return dst;
+    }
+
+    @Override
+    public int get(@Nonnegative final int row, @Nonnegative final int col, final int defaultValue) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            return defaultValue;
+        }
+        return values.get(index);
+    }
+
+    @Override
+    public void set(@Nonnegative final int row, @Nonnegative final int col, final int value) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            throw new UnsupportedOperationException(
+                "Cannot update value in row " + row + ", col " + col);
+        }
+        this.values = values.set(index, value);
+    }
+
+    @Override
+    public int getAndSet(@Nonnegative final int row, @Nonnegative final int col, final int value) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            throw new UnsupportedOperationException(
+                "Cannot update value in row " + row + ", col " + col);
+        }
+        final int old = values.get(index);
+        this.values = values.set(index, value);
+        return old;
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the entry is not stored
+     */
+    @Override
+    public void incr(@Nonnegative final int row, @Nonnegative final int col, final int delta) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            throw new UnsupportedOperationException(
+                "Cannot update value in row " + row + ", col " + col);
+        }
+        this.values = values.set(index, values.get(index) + delta);
+    }
+
+    private int getIndex(@Nonnegative final int row, @Nonnegative final int col) {
+        return Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1], col);
+    }
+
+    @Override
+    public void eachInRow(@Nonnegative final int row, @Nonnull final VectorProcedure procedure,
+            final boolean nullOutput) {
+        checkRowIndex(row, numRows);
+
+        final int startIn = rowPointers[row];
+        final int endEx = rowPointers[row + 1];
+
+        if (nullOutput) {
+            for (int col = 0, j = startIn; col < numColumns; col++) {
+                if (j < endEx && col == columnIndices[j]) {
+                    procedure.apply(col, values.get(j++));
+                } else {
+                    procedure.apply(col, defaultValue);
+                }
+            }
+        } else {
+            for (int i = startIn; i < endEx; i++) {
+                procedure.apply(columnIndices[i], values.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void eachNonZeroInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        checkRowIndex(row, numRows);
+
+        for (int i = rowPointers[row], last = rowPointers[row + 1]; i < last; i++) {
+            final int v = values.get(i);
+            if (v != 0) {
+                procedure.apply(columnIndices[i], v);
+            }
+        }
+    }
+
+    @Override
+    public void eachInColumn(int col, VectorProcedure procedure, boolean nullOutput) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void eachNonZeroInColumn(int col, VectorProcedure procedure) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return a CSC copy of this matrix in the same value width
+     */
+    @Nonnull
+    public CSCIntMatrix toColumnMajorMatrix() {
+        // the transpose of a CSR matrix is its CSC row index with the roles of rows and columns
+        // swapped
+        final CSCRowIndex index = CSCRowIndex.build(rowPointers, columnIndices, numColumns);
+        return new CSCIntMatrix(index.getRowPointers(), index.getColumnIndices(),
+            values.gather(index.getPositions()), numRows, numColumns);
+    }
+
+}
@@ -15,6 +15,7 @@
  */
 package matrix4j.matrix.ints;
 
+import matrix4j.utils.lang.SizeOf;
 import matrix4j.vector.VectorProcedure;
 
 import javax.annotation.Nonnegative;
@@ -37,6 +38,15 @@ public final class ColumnMajorDenseIntMatrix2d extends ColumnMajorIntMatrix {
         this.numColumns = data.length;
     }
 
+    /**
+     * @return the columns of this matrix where a column is null or shorter than numRows when its
+     *         trailing rows are not stored
+     */
+    @Nonnull
+    public int[][] getData() {
+        return data;
+    }
+
     @Override
     public boolean isSparse() {
         return false;
@@ -47,6 +57,15 @@ public final class ColumnMajorDenseIntMatrix2d extends ColumnMajorIntMatrix {
         return true;
     }
 
+    /**
+     * @return the estimated number of bytes retained by this matrix where null columns take no
+     *         space
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 12) + SizeOf.sizeOf(data);
+    }
+
     @Override
     public int numRows() {
         return numRows;
@@ -15,9 +15,12 @@
  */
 package matrix4j.matrix.ints;
 
+import matrix4j.utils.collections.maps.HashTableStatistics;
 import matrix4j.utils.collections.maps.Long2IntOpenHashTable;
+import matrix4j.utils.lang.ArrayUtils;
 import matrix4j.utils.lang.Preconditions;
 import matrix4j.utils.lang.Primitives;
+import matrix4j.utils.lang.SizeOf;
 import matrix4j.vector.VectorProcedure;
 
 import javax.annotation.Nonnegative;
@@ -47,7 +50,8 @@ public final class DoKIntMatrix extends AbstractIntMatrix {
             @Nonnegative float sparsity) {
         Preconditions.checkArgument(sparsity >= 0.f && sparsity <= 1.f,
             "Invalid Sparsity value: " + sparsity);
-        int initialCapacity = Math.max(16384, Math.round(numRows * numCols * sparsity));
+        int initialCapacity = (int) Math.max(16384L,
+            Math.min(Integer.MAX_VALUE, Math.round((double) numRows * numCols * sparsity)));
         this.elements = new Long2IntOpenHashTable(initialCapacity);
         this.numRows = numRows;
         this.numColumns = numCols;
@@ -70,6 +74,31 @@ public final class DoKIntMatrix extends AbstractIntMatrix {
         return false;
     }
 
+    /**
+     * @return the estimated number of bytes retained by this matrix including the slack of its hash
+     *         table
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 12) + elements.estimatedMemoryBytes();
+    }
+
+    /**
+     * @return a snapshot of the statistics of the backing hash table
+     */
+    @Nonnull
+    public HashTableStatistics hashTableStatistics() {
+        return elements.statistics();
+    }
+
+    /**
+     * Shrinks the backing hash table to fit the current non-zero entries, dropping the slots left
+     * behind by removed entries.
+     */
+    public void trimToSize() {
+        elements.trimToSize();
+    }
+
     @Override
     public int numRows() {
         return numRows;
@@ -205,6 +234,84 @@ public final class DoKIntMatrix extends AbstractIntMatrix {
         }
     }
 
+    @Nonnull
+    public CSRIntMatrix toRowMajorMatrix() {
+        return toRowMajorMatrix(false);
+    }
+
+    /**
+     * @param narrowValues store the values in the narrowest of byte, short and int holding all of
+     *        them
+     */
+    @Nonnull
+    public CSRIntMatrix toRowMajorMatrix(final boolean narrowValues) {
+        final int nnz = elements.size();
+        final long[] keys = new long[nnz];
+        final int[] values = new int[nnz];
+        // (row, col) keys sort in row-major order
+        sortEntries(false, keys, values);
+        final int[] rowPointers = new int[numRows + 1];
+        final int[] columnIndices = new int[nnz];
+        for (int i = 0; i < nnz; i++) {
+            final long k = keys[i];
+            rowPointers[Primitives.getHigh(k) + 1]++;
+            columnIndices[i] = Primitives.getLow(k);
+        }
+        for (int i = 0; i < numRows; i++) {
+            rowPointers[i + 1] += rowPointers[i];
+        }
+        return new CSRIntMatrix(rowPointers, columnIndices, values, numColumns, narrowValues);
+    }
+
+    @Nonnull
+    public CSCIntMatrix toColumnMajorMatrix() {
+        return toColumnMajorMatrix(false);
+    }
+
+    /**
+     * @param narrowValues store the values in the narrowest of byte, short and int holding all of
+     *        them
+     */
+    @Nonnull
+    public CSCIntMatrix toColumnMajorMatrix(final boolean narrowValues) {
+        final int nnz = elements.size();
+        final long[] keys = new long[nnz];
+        final int[] values = new int[nnz];
+        // transposed (col, row) keys
+        sortEntries(true, keys, values);
+        final int[] columnPointers = new int[numColumns + 1];
+        final int[] rowIndices = new int[nnz];
+        for (int i = 0; i < nnz; i++) {
+            final long k = keys[i];
+            columnPointers[Primitives.getHigh(k) + 1]++;
+            rowIndices[i] = Primitives.getLow(k);
+        }
+        for (int j = 0; j < numColumns; j++) {
+            columnPointers[j + 1] += columnPointers[j];
+        }
+        return new CSCIntMatrix(columnPointers, rowIndices, values, numRows, numColumns,
+            narrowValues);
+    }
+
+    /**
+     * Fills the keys in ascending order and their values alongside them.
+     */
+    private void sortEntries(final boolean transpose, @Nonnull final long[] keys,
+            @Nonnull final int[] values) {
+        final int nnz = keys.length;
+        final Long2IntOpenHashTable.IMapIterator itor = elements.entries();
+        for (int i = 0; i < nnz; i++) {
+            if (itor.next() == -1) {
+                throw new IllegalStateException("itor.next() returns -1 where i=" + i);
+            }
+            final long k = itor.getKey();
+            keys[i] =
+                    transpose ? Primitives.toLong(Primitives.getLow(k), Primitives.getHigh(k)) : k;
+            values[i] = itor.getValue();
+        }
+        ArrayUtils.sort(keys, values, nnz);
+    }
+
     @Nonnegative
     private static long index(@Nonnegative final int row, @Nonnegative final int col) {
         return Primitives.toLong(row, col);
@@ -28,6 +28,11 @@ public interface IntMatrix {
 
     public void setDefaultValue(int value);
 
+    /**
+     * @return the estimated number of bytes retained by this matrix on the heap
+     */
+    public long estimatedMemoryBytes();
+
     @Nonnegative
     public int numRows();
 
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.ints;
+
+import matrix4j.utils.lang.SizeOf;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Values of a compressed int matrix stored as byte, short or int. Storing a value that does not fit
+ * returns a wider copy.
+ */
+abstract class IntValues {
+
+    IntValues() {}
+
+    /**
+     * @param narrow store the values in the narrowest of byte, short and int holding all of them
+     */
+    @Nonnull
+    static IntValues of(@Nonnull final int[] values, final boolean narrow) {
+        if (!narrow) {
+            return new Ints(values);
+        }
+        int min = 0, max = 0;
+        for (int v : values) {
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        if (min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE) {
+            final byte[] a = new byte[values.length];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = (byte) values[i];
+            }
+            return new Bytes(a);
+        }
+        if (min >= Short.MIN_VALUE && max <= Short.MAX_VALUE) {
+            final short[] a = new short[values.length];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = (short) values[i];
+            }
+            return new Shorts(a);
+        }
+        return new Ints(values);
+    }
+
+    @Nonnegative
+    abstract int size();
+
+    abstract int get(@Nonnegative int i);
+
+    /**
+     * @return this or a wider copy holding the value
+     */
+    @Nonnull
+    abstract IntValues set(@Nonnegative int i, int value);
+
+    abstract int bytesPerValue();
+
+    abstract long estimatedMemoryBytes();
+
+    /**
+     * @return a copy of the values
+     */
+    @Nonnull
+    final int[] toArray() {
+        final int[] dst = new int[size()];
+        for (int i = 0; i < dst.length; i++) {
+            dst[i] = get(i);
+        }
+        return dst;
+    }
+
+    /**
+     * @return the values at the given positions in the same storage width
+     */
+    @Nonnull
+    final IntValues gather(@Nonnull final int[] positions) {
+        final int[] dst = new int[positions.length];
+        for (int i = 0; i < dst.length; i++) {
+            dst[i] = get(positions[i]);
+        }
+        return bytesPerValue() == 4 ? new Ints(dst) : of(dst, true);
+    }
+
+    static final class Bytes extends IntValues {
+
+        @Nonnull
+        private final byte[] a;
+
+        Bytes(@Nonnull byte[] a) {
+            this.a = a;
+        }
+
+        @Override
+        int size() {
+            return a.length;
+        }
+
+        @Override
+        int get(final int i) {
+            return a[i];
+        }
+
+        @Override
+        IntValues set(final int i, final int value) {
+            if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+                if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+                    return new Ints(toArray()).set(i, value);
+                }
+                final short[] wider = new short[a.length];
+                for (int j = 0; j < a.length; j++) {
+                    wider[j] = a[j];
+                }
+                return new Shorts(wider).set(i, value);
+            }
+            a[i] = (byte) value;
+            return this;
+        }
+
+        @Override
+        int bytesPerValue() {
+            return 1;
+        }
+
+        @Override
+        long estimatedMemoryBytes() {
+            return SizeOf.object(1, 0) + SizeOf.sizeOf(a);
+        }
+    }
+
+    static final class Shorts extends IntValues {
+
+        @Nonnull
+        private final short[] a;
+
+        Shorts(@Nonnull short[] a) {
+            this.a = a;
+        }
+
+        @Override
+        int size() {
+            return a.length;
+        }
+
+        @Override
+        int get(final int i) {
+            return a[i];
+        }
+
+        @Override
+        IntValues set(final int i, final int value) {
+            if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+                return new Ints(toArray()).set(i, value);
+            }
+            a[i] = (short) value;
+            return this;
+        }
+
+        @Override
+        int bytesPerValue() {
+            return 2;
+        }
+
+        @Override
+        long estimatedMemoryBytes() {
+            return SizeOf.object(1, 0) + SizeOf.sizeOf(a);
+        }
+    }
+
+    static final class Ints extends IntValues {
+
+        @Nonnull
+        private final int[] a;
+
+        Ints(@Nonnull int[] a) {
+            this.a = a;
+        }
+
+        @Override
+        int size() {
+            return a.length;
+        }
+
+        @Override
+        int get(final int i) {
+            return a[i];
+        }
+
+        @Override
+        IntValues set(final int i, final int value) {
+            a[i] = value;
+            return this;
+        }
+
+        @Override
+        int bytesPerValue() {
+            return 4;
+        }
+
+        @Override
+        long estimatedMemoryBytes() {
+            return SizeOf.object(1, 0) + SizeOf.sizeOf(a);
+        }
+    }
+
+}
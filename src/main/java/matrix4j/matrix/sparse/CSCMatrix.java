@@ -17,15 +17,20 @@ package matrix4j.matrix.sparse;
 
 import matrix4j.matrix.ColumnMajorMatrix;
 import matrix4j.matrix.builders.CSCMatrixBuilder;
-import matrix4j.utils.lang.ArrayUtils;
+import matrix4j.utils.concurrent.Parallel;
+import matrix4j.utils.concurrent.Parallel.RangeProcedure;
 import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.utils.lang.UnaryDoubleOperator;
 import matrix4j.vector.Vector;
+import matrix4j.vector.VectorCursor;
 import matrix4j.vector.VectorProcedure;
 
 import java.util.Arrays;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Compressed Sparse Column matrix optimized for column major access.
@@ -45,6 +50,10 @@ public final class CSCMatrix extends ColumnMajorMatrix {
     private final int numColumns;
     private final int nnz;
 
+    /** Lazily built on the first row access */
+    @Nullable
+    private CSCRowIndex rowIndex;
+
     public CSCMatrix(@Nonnull int[] columnPointers, @Nonnull int[] rowIndices,
             @Nonnull double[] values, int numRows, int numColumns) {
         super();
@@ -75,6 +84,31 @@ public final class CSCMatrix extends ColumnMajorMatrix {
         return values;
     }
 
+    /**
+     * Returns the row-major index used for row access, building it in O(nnz + numRows) on the first
+     * call. It retains about 8 bytes per non-zero, and can be released by {@link #dropRowIndex()}.
+     */
+    @Nonnull
+    public CSCRowIndex rowIndex() {
+        CSCRowIndex index = rowIndex;
+        if (index == null) {
+            index = CSCRowIndex.build(columnPointers, rowIndices, numRows);
+            this.rowIndex = index;
+        }
+        return index;
+    }
+
+    public boolean hasRowIndex() {
+        return rowIndex != null;
+    }
+
+    /**
+     * Releases the row index. It is rebuilt on the next row access.
+     */
+    public void dropRowIndex() {
+        this.rowIndex = null;
+    }
+
     @Override
     public boolean isSparse() {
         return true;
@@ -95,6 +129,16 @@ public final class CSCMatrix extends ColumnMajorMatrix {
         return nnz;
     }
 
+    /**
+     * @return the estimated number of bytes retained by this matrix
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        final CSCRowIndex rowIndex = this.rowIndex;
+        return SizeOf.object(4, 12) + SizeOf.sizeOf(columnPointers) + SizeOf.sizeOf(rowIndices)
+                + SizeOf.sizeOf(values) + (rowIndex == null ? 0L : rowIndex.estimatedMemoryBytes());
+    }
+
     @Override
     public int numRows() {
         return numRows;
@@ -109,7 +153,7 @@ public final class CSCMatrix extends ColumnMajorMatrix {
     public int numColumns(final int row) {
         checkRowIndex(row, numRows);
 
-        return ArrayUtils.count(rowIndices, row);
+        return rowIndex().numColumns(row);
     }
 
     @Override
@@ -118,13 +162,12 @@ public final class CSCMatrix extends ColumnMajorMatrix {
 
         final double[] row = new double[numColumns];
 
-        final int numCols = columnPointers.length - 1;
-        for (int j = 0; j < numCols; j++) {
-            final int k = Arrays.binarySearch(rowIndices, columnPointers[j], columnPointers[j + 1],
-                index);
-            if (k >= 0) {
-                row[j] = values[k];
-            }
+        final CSCRowIndex rowIndex = rowIndex();
+        final int[] columnIndices = rowIndex.getColumnIndices();
+        final int[] positions = rowIndex.getPositions();
+        final int[] rowPointers = rowIndex.getRowPointers();
+        for (int i = rowPointers[index], last = rowPointers[index + 1]; i < last; i++) {
+            row[columnIndices[i]] = values[positions[i]];
         }
 
         return row;
@@ -134,18 +177,17 @@ public final class CSCMatrix extends ColumnMajorMatrix {
     public double[] getRow(final int index, @Nonnull final double[] dst) {
         checkRowIndex(index, numRows);
 
-        final int last = Math.min(dst.length, columnPointers.length - 1);
-        for (int j = 0; j < last; j++) {
-            final int k = Arrays.binarySearch(rowIndices, columnPointers[j], columnPointers[j + 1],
-                index);
-            if (k >= 0) {
-                dst[j] = values[k];
-            } else {
-                dst[j] = 0.d;
+        Arrays.fill(dst, 0.d);
+        final CSCRowIndex rowIndex = rowIndex();
+        final int[] columnIndices = rowIndex.getColumnIndices();
+        final int[] positions = rowIndex.getPositions();
+        final int[] rowPointers = rowIndex.getRowPointers();
+        for (int i = rowPointers[index], last = rowPointers[index + 1]; i < last; i++) {
+            final int col = columnIndices[i];
+            if (col >= dst.length) {
+                break;
             }
-        }
-        for (int j = last; j < dst.length; j++) {
-            dst[j] = 0.d;
+            dst[col] = values[positions[i]];
         }
 
         return dst;
@@ -156,16 +198,38 @@ public final class CSCMatrix extends ColumnMajorMatrix {
         checkRowIndex(index, numRows);
         row.clear();
 
-        for (int j = 0, last = columnPointers.length - 1; j < last; j++) {
-            final int k = Arrays.binarySearch(rowIndices, columnPointers[j], columnPointers[j + 1],
-                index);
-            if (k >= 0) {
-                double v = values[k];
-                row.set(j, v);
-            }
+        final CSCRowIndex rowIndex = rowIndex();
+        final int[] columnIndices = rowIndex.getColumnIndices();
+        final int[] positions = rowIndex.getPositions();
+        final int[] rowPointers = rowIndex.getRowPointers();
+        for (int i = rowPointers[index], last = rowPointers[index + 1]; i < last; i++) {
+            row.set(columnIndices[i], values[positions[i]]);
         }
     }
 
+    @Override
+    public VectorCursor getRow(@Nonnegative final int index, @Nonnull final VectorCursor dst) {
+        checkRowIndex(index, numRows);
+        dst.clear();
+
+        final CSCRowIndex rowIndex = rowIndex();
+        final int[] columnIndices = rowIndex.getColumnIndices();
+        final int[] positions = rowIndex.getPositions();
+        final int[] rowPointers = rowIndex.getRowPointers();
+        for (int i = rowPointers[index], last = rowPointers[index + 1]; i < last; i++) {
+            dst.append(columnIndices[i], values[positions[i]]);
+        }
+        return dst;
+    }
+
+    @Override
+    public VectorCursor getColumn(@Nonnegative final int index, @Nonnull final VectorCursor dst) {
+        checkColIndex(index, numColumns);
+
+        final int start = columnPointers[index];
+        return dst.view(rowIndices, values, start, columnPointers[index + 1] - start);
+    }
+
     @Override
     public double get(final int row, final int col, final double defaultValue) {
         checkIndex(row, col, numRows, numColumns);
@@ -261,8 +325,202 @@ public final class CSCMatrix extends ColumnMajorMatrix {
         }
     }
 
+    @Override
+    public void eachInRow(final int row, @Nonnull final VectorProcedure procedure,
+            final boolean nullOutput) {
+        checkRowIndex(row, numRows);
+
+        final CSCRowIndex rowIndex = rowIndex();
+        final int[] columnIndices = rowIndex.getColumnIndices();
+        final int[] positions = rowIndex.getPositions();
+        final int startIn = rowIndex.getRowPointers()[row];
+        final int endEx = rowIndex.getRowPointers()[row + 1];
+
+        if (nullOutput) {
+            for (int col = 0, i = startIn; col < numColumns; col++) {
+                if (i < endEx && col == columnIndices[i]) {
+                    double v = values[positions[i++]];
+                    procedure.apply(col, v);
+                } else {
+                    procedure.apply(col, 0.d);
+                }
+            }
+        } else {
+            for (int i = startIn; i < endEx; i++) {
+                procedure.apply(columnIndices[i], values[positions[i]]);
+            }
+        }
+    }
+
+    @Override
+    public void eachNonZeroInRow(final int row, @Nonnull final VectorProcedure procedure) {
+        checkRowIndex(row, numRows);
+
+        final CSCRowIndex rowIndex = rowIndex();
+        final int[] columnIndices = rowIndex.getColumnIndices();
+        final int[] positions = rowIndex.getPositions();
+        final int startIn = rowIndex.getRowPointers()[row];
+        final int endEx = rowIndex.getRowPointers()[row + 1];
+        for (int i = startIn; i < endEx; i++) {
+            final double v = values[positions[i]];
+            if (v != 0.d) {
+                procedure.apply(columnIndices[i], v);
+            }
+        }
+    }
+
+    @Override
+    public void eachColumnIndexInRow(final int row, @Nonnull final VectorProcedure procedure) {
+        checkRowIndex(row, numRows);
+
+        final CSCRowIndex rowIndex = rowIndex();
+        final int[] columnIndices = rowIndex.getColumnIndices();
+        for (int i = rowIndex.getRowPointers()[row], last =
+                rowIndex.getRowPointers()[row + 1]; i < last; i++) {
+            procedure.apply(columnIndices[i]);
+        }
+    }
+
+    /**
+     * Multiplies the values of each column i by factors[i] in place.
+     *
+     * @param factors of length numColumns or more
+     */
+    public void scaleColumns(@Nonnull final double[] factors) {
+        scaleColumns(factors, false);
+    }
+
+    /**
+     * @param parallel partitions the columns over {@link Parallel#pool()}
+     * @see #scaleColumns(double[])
+     */
+    public void scaleColumns(@Nonnull final double[] factors, final boolean parallel) {
+        Preconditions.checkArgument(factors.length >= numColumns,
+            "factors.length (" + factors.length + ") < numColumns (" + numColumns + ")");
+
+        Parallel.forEach(0, numColumns, new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final double factor = factors[i];
+                    for (int j = columnPointers[i], end = columnPointers[i + 1]; j < end; j++) {
+                        values[j] *= factor;
+                    }
+                }
+            }
+        }, parallel);
+    }
+
+    /**
+     * Multiplies the values of each row j by factors[j] in place.
+     *
+     * @param factors of length numRows or more
+     */
+    public void scaleRows(@Nonnull final double[] factors) {
+        scaleRows(factors, false);
+    }
+
+    /**
+     * @param parallel partitions the stored values over {@link Parallel#pool()}
+     * @see #scaleRows(double[])
+     */
+    public void scaleRows(@Nonnull final double[] factors, final boolean parallel) {
+        Preconditions.checkArgument(factors.length >= numRows,
+            "factors.length (" + factors.length + ") < numRows (" + numRows + ")");
+
+        Parallel.forEach(0, nnz, new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                for (int j = from; j < to; j++) {
+                    values[j] *= factors[rowIndices[j]];
+                }
+            }
+        }, parallel);
+    }
+
+    /**
+     * Replaces each stored value v by f(v) in place. Entries that are not stored are left as zeros,
+     * so f is expected to map zero to zero, e.g., log1p.
+     */
+    public void map(@Nonnull final UnaryDoubleOperator f) {
+        map(f, false);
+    }
+
+    /**
+     * @param parallel partitions the stored values over {@link Parallel#pool()}
+     * @see #map(UnaryDoubleOperator)
+     */
+    public void map(@Nonnull final UnaryDoubleOperator f, final boolean parallel) {
+        Parallel.forEach(0, nnz, new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                for (int j = from; j < to; j++) {
+                    values[j] = f.apply(values[j]);
+                }
+            }
+        }, parallel);
+    }
+
+    /**
+     * @return a tightly sized copy without the explicitly stored zeros, or this matrix if there is
+     *         none
+     * @see #prune(double)
+     */
+    @Nonnull
+    public CSCMatrix prune() {
+        return prune(0.d);
+    }
+
+    /**
+     * Drops the entries whose absolute value is less than or equal to the threshold. Kept entries
+     * are counted first so that the result is allocated at its exact size. NaN entries are kept.
+     *
+     * @return a tightly sized copy of the kept entries, or this matrix if no entry is dropped
+     */
+    @Nonnull
+    public CSCMatrix prune(final double threshold) {
+        Preconditions.checkArgument(threshold >= 0.d, "Invalid threshold: " + threshold);
+
+        int kept = 0;
+        for (int j = 0; j < nnz; j++) {
+            if (!(Math.abs(values[j]) <= threshold)) {
+                kept++;
+            }
+        }
+        if (kept == nnz) {
+            return this;
+        }
+
+        final int[] newPointers = new int[numColumns + 1];
+        final int[] newIndices = new int[kept];
+        final double[] newValues = new double[kept];
+        for (int i = 0, k = 0; i < numColumns; i++) {
+            for (int j = columnPointers[i], end = columnPointers[i + 1]; j < end; j++) {
+                final double v = values[j];
+                if (!(Math.abs(v) <= threshold)) {
+                    newIndices[k] = rowIndices[j];
+                    newValues[k] = v;
+                    k++;
+                }
+            }
+            newPointers[i + 1] = k;
+        }
+        return new CSCMatrix(newPointers, newIndices, newValues, numRows, numColumns);
+    }
+
     @Override
     public CSRMatrix toRowMajorMatrix() {
+        final CSCRowIndex rowIndex = this.rowIndex;
+        if (rowIndex != null) {
+            final int[] positions = rowIndex.getPositions();
+            final double[] csrValues = new double[nnz];
+            for (int i = 0; i < nnz; i++) {
+                csrValues[i] = values[positions[i]];
+            }
+            return new CSRMatrix(rowIndex.getRowPointers().clone(),
+                rowIndex.getColumnIndices().clone(), csrValues, numColumns);
+        }
+
         final int[] rowPointers = new int[numRows + 1];
         final int[] colIndices = new int[nnz];
         final double[] csrValues = new double[nnz];
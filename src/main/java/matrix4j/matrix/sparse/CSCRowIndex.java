@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse;
+
+import matrix4j.utils.lang.SizeOf;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Row-major index over the entries of a Compressed Sparse Column matrix.
+ *
+ * The entries of row <code>i</code> are <code>[rowPointers[i], rowPointers[i + 1])</code> in
+ * ascending column order, where <code>columnIndices</code> holds their columns and
+ * <code>positions</code> their offsets into the values of the CSC matrix. Values are not copied, so
+ * the index stays valid across updates of existing entries.
+ */
+@Immutable
+public final class CSCRowIndex {
+
+    @Nonnull
+    private final int[] rowPointers;
+    @Nonnull
+    private final int[] columnIndices;
+    @Nonnull
+    private final int[] positions;
+
+    private CSCRowIndex(@Nonnull int[] rowPointers, @Nonnull int[] columnIndices,
+            @Nonnull int[] positions) {
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.positions = positions;
+    }
+
+    /**
+     * Builds the index by a counting sort of the entries on their row in O(nnz + numRows).
+     */
+    @Nonnull
+    public static CSCRowIndex build(@Nonnull final int[] columnPointers,
+            @Nonnull final int[] rowIndices, @Nonnegative final int numRows) {
+        final int numColumns = columnPointers.length - 1;
+        final int nnz = columnPointers[numColumns];
+
+        final int[] rowPointers = new int[numRows + 1];
+        for (int k = 0; k < nnz; k++) {
+            rowPointers[rowIndices[k] + 1]++;
+        }
+        for (int i = 0; i < numRows; i++) {
+            rowPointers[i + 1] += rowPointers[i];
+        }
+
+        final int[] columnIndices = new int[nnz];
+        final int[] positions = new int[nnz];
+        final int[] next = new int[numRows];
+        System.arraycopy(rowPointers, 0, next, 0, numRows);
+        for (int j = 0; j < numColumns; j++) {
+            for (int k = columnPointers[j], last = columnPointers[j + 1]; k < last; k++) {
+                final int dst = next[rowIndices[k]]++;
+                columnIndices[dst] = j;
+                positions[dst] = k;
+            }
+        }
+        return new CSCRowIndex(rowPointers, columnIndices, positions);
+    }
+
+    @Nonnull
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    @Nonnull
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    @Nonnull
+    public int[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return the number of entries in the given row
+     */
+    public int numColumns(@Nonnegative final int row) {
+        return rowPointers[row + 1] - rowPointers[row];
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this index
+     */
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(3, 0) + SizeOf.sizeOf(rowPointers) + SizeOf.sizeOf(columnIndices)
+                + SizeOf.sizeOf(positions);
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse;
+
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+import matrix4j.utils.collections.heaps.IntDoubleTopKHeap;
+import matrix4j.utils.collections.lists.DoubleArrayList;
+import matrix4j.utils.collections.lists.IntArrayList;
+import matrix4j.utils.concurrent.Parallel;
+import matrix4j.utils.concurrent.Parallel.RangeProcedure;
+import matrix4j.utils.lang.ArrayUtils;
+import matrix4j.utils.lang.Preconditions;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * All-pairs cosine similarity between the rows of a sparse matrix, e.g., item-item similarity of an
+ * item-by-user matrix, kept as a k-nearest-neighbor graph.
+ *
+ * Rows are L2-normalized and the dot products of a row with all the others are accumulated through
+ * the inverted index of the normalized matrix, i.e., its CSC form, so that only the pairs of rows
+ * sharing a column are visited. For each row, the k most similar other rows whose similarity is at
+ * least a threshold are kept.
+ *
+ * Row blocks are processed in parallel, each worker holding O(numRows + k) scratch memory besides
+ * the results of its block.
+ */
+public final class CosineSimilarity {
+
+    private CosineSimilarity() {}
+
+    /**
+     * @see #knn(CSRMatrix, int, double, boolean)
+     */
+    @Nonnull
+    public static CSRMatrix knn(@Nonnull final CSRMatrix matrix, @Nonnegative final int k,
+            final double threshold) {
+        return knn(matrix, k, threshold, false);
+    }
+
+    /**
+     * @param k the maximum number of neighbors of a row
+     * @param threshold the minimum similarity of a neighbor
+     * @param parallel partitions the rows over {@link Parallel#pool()}
+     * @return a numRows x numRows matrix where row i holds the neighbors of row i, excluding
+     *         itself, in ascending column order with their similarities as values
+     */
+    @Nonnull
+    public static CSRMatrix knn(@Nonnull final CSRMatrix matrix, @Nonnegative final int k,
+            final double threshold, final boolean parallel) {
+        final int[] rowPointers = matrix.getRowPointers();
+        final double[] values = matrix.getValues();
+        final double[] normalized = normalizeRows(rowPointers, values);
+        return knn(rowPointers, matrix.getColumnIndices(), normalized, matrix.numColumns(), k,
+            threshold, parallel);
+    }
+
+    /**
+     * @see #knn(CSRFloatMatrix, int, double, boolean)
+     */
+    @Nonnull
+    public static CSRMatrix knn(@Nonnull final CSRFloatMatrix matrix, @Nonnegative final int k,
+            final double threshold) {
+        return knn(matrix, k, threshold, false);
+    }
+
+    /**
+     * Computes similarities in double precision.
+     *
+     * @see #knn(CSRMatrix, int, double, boolean)
+     */
+    @Nonnull
+    public static CSRMatrix knn(@Nonnull final CSRFloatMatrix matrix, @Nonnegative final int k,
+            final double threshold, final boolean parallel) {
+        final int[] rowPointers = matrix.getRowPointers();
+        final float[] floatValues = matrix.getValues();
+        final double[] values = new double[floatValues.length];
+        ArrayUtils.copy(floatValues, values);
+        final double[] normalized = normalizeRows(rowPointers, values);
+        return knn(rowPointers, matrix.getColumnIndices(), normalized, matrix.numColumns(), k,
+            threshold, parallel);
+    }
+
+    /**
+     * @return the values of each row divided by the L2 norm of the row, where the values of a zero
+     *         row stay zeros to be skipped
+     */
+    @Nonnull
+    private static double[] normalizeRows(@Nonnull final int[] rowPointers,
+            @Nonnull final double[] values) {
+        final double[] normalized = new double[values.length];
+        for (int i = 0, numRows = rowPointers.length - 1; i < numRows; i++) {
+            final int start = rowPointers[i], end = rowPointers[i + 1];
+            double sqsum = 0.d;
+            for (int j = start; j < end; j++) {
+                sqsum += values[j] * values[j];
+            }
+            if (sqsum == 0.d) {
+                continue;
+            }
+            final double invNorm = 1.d / Math.sqrt(sqsum);
+            for (int j = start; j < end; j++) {
+                normalized[j] = values[j] * invNorm;
+            }
+        }
+        return normalized;
+    }
+
+    @Nonnull
+    private static CSRMatrix knn(@Nonnull final int[] rowPointers,
+            @Nonnull final int[] columnIndices, @Nonnull final double[] normalized,
+            @Nonnegative final int numColumns, final int k, final double threshold,
+            final boolean parallel) {
+        Preconditions.checkArgument(k > 0, "Invalid k: " + k);
+
+        final int numRows = rowPointers.length - 1;
+        final CSCMatrix inverted = new CSRMatrix(rowPointers, columnIndices, normalized,
+            numColumns).toColumnMajorMatrix();
+        final int[] columnPointers = inverted.getColumnPointers();
+        final int[] rowIndices = inverted.getRowIndices();
+        final double[] columnValues = inverted.getValues();
+
+        final int numBlocks =
+                parallel ? Math.max(1, Math.min(numRows, Parallel.parallelism() * 4)) : 1;
+        final int[] counts = new int[numRows];
+        final int[][] blockIndices = new int[numBlocks][];
+        final double[][] blockValues = new double[numBlocks][];
+
+        final RangeProcedure procedure = new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                final double[] acc = new double[numRows];
+                final int[] touched = new int[numRows];
+                final int[] stamps = new int[numRows];
+                final IntDoubleTopKHeap heap =
+                        new IntDoubleTopKHeap(Math.min(k, Math.max(1, numRows)));
+                final int[] topIndices = new int[heap.k()];
+                final double[] topValues = new double[heap.k()];
+
+                for (int b = from; b < to; b++) {
+                    final IntArrayList indices = new IntArrayList();
+                    final DoubleArrayList values = new DoubleArrayList();
+                    for (int i = (int) ((long) numRows * b / numBlocks), end =
+                            (int) ((long) numRows * (b + 1) / numBlocks); i < end; i++) {
+                        final int stamp = i + 1;
+                        int numTouched = 0;
+                        for (int p = rowPointers[i], pEnd = rowPointers[i + 1]; p < pEnd; p++) {
+                            final double v = normalized[p];
+                            if (v == 0.d) {
+                                continue;
+                            }
+                            final int col = columnIndices[p];
+                            for (int q = columnPointers[col], qEnd =
+                                    columnPointers[col + 1]; q < qEnd; q++) {
+                                final int other = rowIndices[q];
+                                final double w = columnValues[q];
+                                if (other == i || w == 0.d) {
+                                    continue;
+                                }
+                                if (stamps[other] != stamp) {
+                                    stamps[other] = stamp;
+                                    acc[other] = 0.d;
+                                    touched[numTouched++] = other;
+                                }
+                                acc[other] += v * w;
+                            }
+                        }
+                        for (int t = 0; t < numTouched; t++) {
+                            final int other = touched[t];
+                            final double similarity = acc[other];
+                            if (similarity >= threshold) {
+                                heap.offer(other, similarity);
+                            }
+                        }
+
+                        final int n = heap.drainTo(topIndices, topValues, 0);
+                        ArrayUtils.sort(topIndices, topValues, n);
+                        for (int j = 0; j < n; j++) {
+                            indices.add(topIndices[j]);
+                            values.add(topValues[j]);
+                        }
+                        counts[i] = n;
+                    }
+                    blockIndices[b] = indices.toArray(true);
+                    blockValues[b] = values.toArray(true);
+                }
+            }
+        };
+        if (parallel) {
+            Parallel.forEach(Parallel.pool(), 0, numBlocks, 1, procedure);
+        } else {
+            procedure.apply(0, numBlocks);
+        }
+
+        final int[] resultPointers = new int[numRows + 1];
+        for (int i = 0; i < numRows; i++) {
+            resultPointers[i + 1] = resultPointers[i] + counts[i];
+        }
+        final int nnz = resultPointers[numRows];
+        final int[] resultIndices = new int[nnz];
+        final double[] resultValues = new double[nnz];
+        for (int b = 0, offset = 0; b < numBlocks; b++) {
+            final int size = blockIndices[b].length;
+            System.arraycopy(blockIndices[b], 0, resultIndices, offset, size);
+            System.arraycopy(blockValues[b], 0, resultValues, offset, size);
+            blockIndices[b] = null;
+            blockValues[b] = null;
+            offset += size;
+        }
+        return new CSRMatrix(resultPointers, resultIndices, resultValues, numRows);
+    }
+
+}
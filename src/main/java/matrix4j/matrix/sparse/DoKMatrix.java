@@ -20,10 +20,12 @@ import matrix4j.matrix.ColumnMajorMatrix;
 import matrix4j.matrix.MatrixUtils;
 import matrix4j.matrix.RowMajorMatrix;
 import matrix4j.matrix.builders.DoKMatrixBuilder;
+import matrix4j.utils.collections.maps.HashTableStatistics;
 import matrix4j.utils.collections.maps.Long2DoubleOpenHashTable;
 import matrix4j.utils.collections.maps.Long2DoubleOpenHashTable.IMapIterator;
 import matrix4j.utils.lang.Preconditions;
 import matrix4j.utils.lang.Primitives;
+import matrix4j.utils.lang.SizeOf;
 import matrix4j.vector.Vector;
 import matrix4j.vector.VectorProcedure;
 
@@ -57,7 +59,8 @@ public final class DoKMatrix extends AbstractMatrix {
         super();
         Preconditions.checkArgument(sparsity >= 0.f && sparsity <= 1.f,
             "Invalid Sparsity value: " + sparsity);
-        int initialCapacity = Math.max(16384, Math.round(numRows * numCols * sparsity));
+        int initialCapacity = (int) Math.max(16384L,
+            Math.min(Integer.MAX_VALUE, Math.round((double) numRows * numCols * sparsity)));
         this.elements = new Long2DoubleOpenHashTable(initialCapacity);
         elements.defaultReturnValue(0.d);
         this.numRows = numRows;
@@ -103,6 +106,31 @@ public final class DoKMatrix extends AbstractMatrix {
         return elements.size();
     }
 
+    /**
+     * @return the estimated number of bytes retained by this matrix including the slack of its hash
+     *         table
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 8) + elements.estimatedMemoryBytes();
+    }
+
+    /**
+     * @return a snapshot of the statistics of the backing hash table
+     */
+    @Nonnull
+    public HashTableStatistics hashTableStatistics() {
+        return elements.statistics();
+    }
+
+    /**
+     * Shrinks the backing hash table to fit the current non-zero entries, dropping the slots left
+     * behind by removed entries.
+     */
+    public void trimToSize() {
+        elements.trimToSize();
+    }
+
     @Override
     public int numRows() {
         return numRows;
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse;
+
+import matrix4j.matrix.RowBatch;
+import matrix4j.matrix.RowMajorMatrix;
+import matrix4j.matrix.builders.CSRMatrixBuilder;
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.vector.VectorCursor;
+import matrix4j.vector.VectorProcedure;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Compressed Sparse Row matrix with a column-major index for fast access in both orientations.
+ *
+ * Column <code>j</code> consists of the entries <code>[columnPointers[j], columnPointers[j + 1])
+ * </code> in ascending row order, where <code>rowIndices</code> holds their rows and
+ * <code>positions</code> their offsets into the CSR values. Both orientations share one values
+ * array, so updates through {@link #set(int, int, double)} are visible in either of them.
+ */
+public final class DualCSRMatrix extends RowMajorMatrix {
+
+    @Nonnull
+    private final CSRMatrix csr;
+    @Nonnull
+    private final double[] values;
+
+    @Nonnull
+    private final int[] columnPointers;
+    @Nonnull
+    private final int[] rowIndices;
+    @Nonnull
+    private final int[] positions;
+
+    /**
+     * Builds the column index of the given matrix in O(nnz + numColumns), sharing its storage.
+     */
+    public DualCSRMatrix(@Nonnull CSRMatrix csr) {
+        super();
+        this.csr = Preconditions.checkNotNull(csr);
+        this.values = csr.getValues();
+        // the row index of the transposed structure is the column index of this one
+        final CSCRowIndex index =
+                CSCRowIndex.build(csr.getRowPointers(), csr.getColumnIndices(), csr.numColumns());
+        this.columnPointers = index.getRowPointers();
+        this.rowIndices = index.getColumnIndices();
+        this.positions = index.getPositions();
+    }
+
+    public DualCSRMatrix(@Nonnull int[] rowPointers, @Nonnull int[] columnIndices,
+            @Nonnull double[] values, @Nonnegative int numColumns) {
+        this(new CSRMatrix(rowPointers, columnIndices, values, numColumns));
+    }
+
+    @Nonnull
+    public CSRMatrix getRowMajorMatrix() {
+        return csr;
+    }
+
+    @Nonnull
+    public int[] getRowPointers() {
+        return csr.getRowPointers();
+    }
+
+    @Nonnull
+    public int[] getColumnIndices() {
+        return csr.getColumnIndices();
+    }
+
+    @Nonnull
+    public double[] getValues() {
+        return values;
+    }
+
+    @Nonnull
+    public int[] getColumnPointers() {
+        return columnPointers;
+    }
+
+    @Nonnull
+    public int[] getRowIndices() {
+        return rowIndices;
+    }
+
+    /**
+     * @return offsets into {@link #getValues()} of the entries in column-major order
+     */
+    @Nonnull
+    public int[] getPositions() {
+        return positions;
+    }
+
+    @Override
+    public boolean isSparse() {
+        return true;
+    }
+
+    @Override
+    public boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean swappable() {
+        return false;
+    }
+
+    @Override
+    public int nnz() {
+        return csr.nnz();
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this matrix including its column index
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(5, 0) + csr.estimatedMemoryBytes() + SizeOf.sizeOf(columnPointers)
+                + SizeOf.sizeOf(rowIndices) + SizeOf.sizeOf(positions);
+    }
+
+    @Override
+    public int numRows() {
+        return csr.numRows();
+    }
+
+    @Override
+    public int numColumns() {
+        return csr.numColumns();
+    }
+
+    @Override
+    public int numColumns(@Nonnegative final int row) {
+        return csr.numColumns(row);
+    }
+
+    /**
+     * @return the number of entries in the given column
+     */
+    public int numRows(@Nonnegative final int col) {
+        checkColIndex(col, csr.numColumns());
+
+        return columnPointers[col + 1] - columnPointers[col];
+    }
+
+    @Override
+    public double[] getRow(@Nonnegative final int index) {
+        return csr.getRow(index);
+    }
+
+    @Override
+    public double[] getRow(@Nonnegative final int index, @Nonnull final double[] dst) {
+        return csr.getRow(index, dst);
+    }
+
+    @Override
+    public VectorCursor getRow(@Nonnegative final int index, @Nonnull final VectorCursor dst) {
+        return csr.getRow(index, dst);
+    }
+
+    @Override
+    public VectorCursor getColumn(@Nonnegative final int index, @Nonnull final VectorCursor dst) {
+        checkColIndex(index, csr.numColumns());
+        dst.clear();
+
+        for (int i = columnPointers[index], last = columnPointers[index + 1]; i < last; i++) {
+            dst.append(rowIndices[i], values[positions[i]]);
+        }
+        return dst;
+    }
+
+    @Override
+    public double get(@Nonnegative final int row, @Nonnegative final int col,
+            final double defaultValue) {
+        return csr.get(row, col, defaultValue);
+    }
+
+    @Override
+    public double getAndSet(@Nonnegative final int row, @Nonnegative final int col,
+            final double value) {
+        return csr.getAndSet(row, col, value);
+    }
+
+    @Override
+    public void set(@Nonnegative final int row, @Nonnegative final int col, final double value) {
+        csr.set(row, col, value);
+    }
+
+    @Override
+    public RowBatch getRows(@Nonnull final int[] rows, @Nonnegative final int offset,
+            @Nonnegative final int length, @Nonnull final RowBatch dst) {
+        return csr.getRows(rows, offset, length, dst);
+    }
+
+    @Override
+    public RowBatch getRows(@Nonnegative final int fromRow, @Nonnegative final int toRow,
+            @Nonnull final RowBatch dst) {
+        return csr.getRows(fromRow, toRow, dst);
+    }
+
+    @Override
+    public void swap(int row1, int row2) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void eachInRow(@Nonnegative final int row, @Nonnull final VectorProcedure procedure,
+            final boolean nullOutput) {
+        csr.eachInRow(row, procedure, nullOutput);
+    }
+
+    @Override
+    public void eachNonZeroInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        csr.eachNonZeroInRow(row, procedure);
+    }
+
+    @Override
+    public void eachColumnIndexInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        csr.eachColumnIndexInRow(row, procedure);
+    }
+
+    @Override
+    public void eachInColumn(@Nonnegative final int col, @Nonnull final VectorProcedure procedure,
+            final boolean nullOutput) {
+        checkColIndex(col, csr.numColumns());
+
+        final int startIn = columnPointers[col];
+        final int endEx = columnPointers[col + 1];
+
+        if (nullOutput) {
+            for (int row = 0, numRows = csr.numRows(), i = startIn; row < numRows; row++) {
+                if (i < endEx && row == rowIndices[i]) {
+                    double v = values[positions[i++]];
+                    procedure.apply(row, v);
+                } else {
+                    procedure.apply(row, 0.d);
+                }
+            }
+        } else {
+            for (int i = startIn; i < endEx; i++) {
+                procedure.apply(rowIndices[i], values[positions[i]]);
+            }
+        }
+    }
+
+    @Override
+    public void eachNonZeroInColumn(@Nonnegative final int col,
+            @Nonnull final VectorProcedure procedure) {
+        checkColIndex(col, csr.numColumns());
+
+        final int startIn = columnPointers[col];
+        final int endEx = columnPointers[col + 1];
+        for (int i = startIn; i < endEx; i++) {
+            final double v = values[positions[i]];
+            if (v != 0.d) {
+                procedure.apply(rowIndices[i], v);
+            }
+        }
+    }
+
+    /**
+     * @return a CSC copy of this matrix
+     */
+    @Nonnull
+    public CSCMatrix toColumnMajorMatrix() {
+        final int nnz = positions.length;
+        final double[] cscValues = new double[nnz];
+        for (int i = 0; i < nnz; i++) {
+            cscValues[i] = values[positions[i]];
+        }
+        return new CSCMatrix(columnPointers.clone(), rowIndices.clone(), cscValues, csr.numRows(),
+            csr.numColumns());
+    }
+
+    @Override
+    public CSRMatrixBuilder builder() {
+        return csr.builder();
+    }
+
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse;
+
+import matrix4j.matrix.sparse.floats.CSCFloatMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+import matrix4j.utils.concurrent.Parallel;
+import matrix4j.utils.concurrent.Parallel.RangeProcedure;
+import matrix4j.utils.lang.Preconditions;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Weighted sums <code>w_1 A_1 + ... + w_n A_n</code> of CSR (CSC) matrices of the same shape, e.g.,
+ * <code>alpha A + beta B</code> or the sum of per-shard matrices.
+ *
+ * Each row (column) of the result is an n-way merge of the sorted rows (columns) of the inputs
+ * through a heap of the n inputs keyed by their current column (row). A symbolic pass first counts
+ * the union of the entries of each row to allocate the result at its exact size, then a numeric
+ * pass writes it. Both passes can be partitioned by rows (columns) over {@link Parallel#pool()}.
+ *
+ * Entries present in any input are stored in the result even when their weighted sum cancels to
+ * zero. Use <code>prune()</code> of the result to drop them.
+ */
+public final class LinearCombination {
+
+    private LinearCombination() {}
+
+    /**
+     * @return alpha * a + beta * b
+     */
+    @Nonnull
+    public static CSRMatrix add(final double alpha, @Nonnull final CSRMatrix a, final double beta,
+            @Nonnull final CSRMatrix b) {
+        return combine(new CSRMatrix[] {a, b}, new double[] {alpha, beta}, false);
+    }
+
+    /**
+     * @param weights the weight of each matrix, or null for a plain sum
+     * @param parallel partitions the rows over {@link Parallel#pool()}
+     */
+    @Nonnull
+    public static CSRMatrix combine(@Nonnull final CSRMatrix[] matrices,
+            @Nullable final double[] weights, final boolean parallel) {
+        final int n = matrices.length;
+        Preconditions.checkArgument(n > 0, "No matrix to combine");
+        final int numRows = matrices[0].numRows(), numColumns = matrices[0].numColumns();
+        final int[][] pointers = new int[n][];
+        final int[][] indices = new int[n][];
+        final double[][] values = new double[n][];
+        for (int s = 0; s < n; s++) {
+            final CSRMatrix m = matrices[s];
+            checkShape(s, m.numRows(), m.numColumns(), numRows, numColumns);
+            pointers[s] = m.getRowPointers();
+            indices[s] = m.getColumnIndices();
+            values[s] = m.getValues();
+        }
+
+        final int[] newPointers = symbolic(pointers, indices, numRows, parallel);
+        final int[] newIndices = new int[newPointers[numRows]];
+        final double[] newValues = new double[newIndices.length];
+        numeric(pointers, indices, values, weights(weights, n), numRows, newPointers, newIndices,
+            newValues, parallel);
+        return new CSRMatrix(newPointers, newIndices, newValues, numColumns);
+    }
+
+    /**
+     * @return alpha * a + beta * b
+     */
+    @Nonnull
+    public static CSCMatrix add(final double alpha, @Nonnull final CSCMatrix a, final double beta,
+            @Nonnull final CSCMatrix b) {
+        return combine(new CSCMatrix[] {a, b}, new double[] {alpha, beta}, false);
+    }
+
+    /**
+     * @param weights the weight of each matrix, or null for a plain sum
+     * @param parallel partitions the columns over {@link Parallel#pool()}
+     */
+    @Nonnull
+    public static CSCMatrix combine(@Nonnull final CSCMatrix[] matrices,
+            @Nullable final double[] weights, final boolean parallel) {
+        final int n = matrices.length;
+        Preconditions.checkArgument(n > 0, "No matrix to combine");
+        final int numRows = matrices[0].numRows(), numColumns = matrices[0].numColumns();
+        final int[][] pointers = new int[n][];
+        final int[][] indices = new int[n][];
+        final double[][] values = new double[n][];
+        for (int s = 0; s < n; s++) {
+            final CSCMatrix m = matrices[s];
+            checkShape(s, m.numRows(), m.numColumns(), numRows, numColumns);
+            pointers[s] = m.getColumnPointers();
+            indices[s] = m.getRowIndices();
+            values[s] = m.getValues();
+        }
+
+        final int[] newPointers = symbolic(pointers, indices, numColumns, parallel);
+        final int[] newIndices = new int[newPointers[numColumns]];
+        final double[] newValues = new double[newIndices.length];
+        numeric(pointers, indices, values, weights(weights, n), numColumns, newPointers, newIndices,
+            newValues, parallel);
+        return new CSCMatrix(newPointers, newIndices, newValues, numRows, numColumns);
+    }
+
+    /**
+     * @return alpha * a + beta * b
+     */
+    @Nonnull
+    public static CSRFloatMatrix add(final float alpha, @Nonnull final CSRFloatMatrix a,
+            final float beta, @Nonnull final CSRFloatMatrix b) {
+        return combine(new CSRFloatMatrix[] {a, b}, new float[] {alpha, beta}, false);
+    }
+
+    /**
+     * @param weights the weight of each matrix, or null for a plain sum
+     * @param parallel partitions the rows over {@link Parallel#pool()}
+     */
+    @Nonnull
+    public static CSRFloatMatrix combine(@Nonnull final CSRFloatMatrix[] matrices,
+            @Nullable final float[] weights, final boolean parallel) {
+        final int n = matrices.length;
+        Preconditions.checkArgument(n > 0, "No matrix to combine");
+        final int numRows = matrices[0].numRows(), numColumns = matrices[0].numColumns();
+        final int[][] pointers = new int[n][];
+        final int[][] indices = new int[n][];
+        final float[][] values = new float[n][];
+        for (int s = 0; s < n; s++) {
+            final CSRFloatMatrix m = matrices[s];
+            checkShape(s, m.numRows(), m.numColumns(), numRows, numColumns);
+            pointers[s] = m.getRowPointers();
+            indices[s] = m.getColumnIndices();
+            values[s] = m.getValues();
+        }
+
+        final int[] newPointers = symbolic(pointers, indices, numRows, parallel);
+        final int[] newIndices = new int[newPointers[numRows]];
+        final float[] newValues = new float[newIndices.length];
+        numeric(pointers, indices, values, weights(weights, n), numRows, newPointers, newIndices,
+            newValues, parallel);
+        return new CSRFloatMatrix(newPointers, newIndices, newValues, numColumns);
+    }
+
+    /**
+     * @return alpha * a + beta * b
+     */
+    @Nonnull
+    public static CSCFloatMatrix add(final float alpha, @Nonnull final CSCFloatMatrix a,
+            final float beta, @Nonnull final CSCFloatMatrix b) {
+        return combine(new CSCFloatMatrix[] {a, b}, new float[] {alpha, beta}, false);
+    }
+
+    /**
+     * @param weights the weight of each matrix, or null for a plain sum
+     * @param parallel partitions the columns over {@link Parallel#pool()}
+     */
+    @Nonnull
+    public static CSCFloatMatrix combine(@Nonnull final CSCFloatMatrix[] matrices,
+            @Nullable final float[] weights, final boolean parallel) {
+        final int n = matrices.length;
+        Preconditions.checkArgument(n > 0, "No matrix to combine");
+        final int numRows = matrices[0].numRows(), numColumns = matrices[0].numColumns();
+        final int[][] pointers = new int[n][];
+        final int[][] indices = new int[n][];
+        final float[][] values = new float[n][];
+        for (int s = 0; s < n; s++) {
+            final CSCFloatMatrix m = matrices[s];
+            checkShape(s, m.numRows(), m.numColumns(), numRows, numColumns);
+            pointers[s] = m.getColumnPointers();
+            indices[s] = m.getRowIndices();
+            values[s] = m.getValues();
+        }
+
+        final int[] newPointers = symbolic(pointers, indices, numColumns, parallel);
+        final int[] newIndices = new int[newPointers[numColumns]];
+        final float[] newValues = new float[newIndices.length];
+        numeric(pointers, indices, values, weights(weights, n), numColumns, newPointers, newIndices,
+            newValues, parallel);
+        return new CSCFloatMatrix(newPointers, newIndices, newValues, numRows, numColumns);
+    }
+
+    private static void checkShape(final int s, final int numRows, final int numColumns,
+            final int expectedRows, final int expectedColumns) {
+        Preconditions.checkArgument(numRows == expectedRows && numColumns == expectedColumns,
+            "Matrix " + s + " is " + numRows + "x" + numColumns + " but expected " + expectedRows
+                    + "x" + expectedColumns);
+    }
+
+    @Nonnull
+    private static double[] weights(@Nullable final double[] weights, final int n) {
+        if (weights == null) {
+            final double[] ones = new double[n];
+            Arrays.fill(ones, 1.d);
+            return ones;
+        }
+        Preconditions.checkArgument(weights.length == n,
+            "#weights (" + weights.length + ") must be equal to #matrices (" + n + ")");
+        return weights;
+    }
+
+    @Nonnull
+    private static float[] weights(@Nullable final float[] weights, final int n) {
+        if (weights == null) {
+            final float[] ones = new float[n];
+            Arrays.fill(ones, 1.f);
+            return ones;
+        }
+        Preconditions.checkArgument(weights.length == n,
+            "#weights (" + weights.length + ") must be equal to #matrices (" + n + ")");
+        return weights;
+    }
+
+    /**
+     * @return the pointers of the result, sized by the union of the entries of each line
+     */
+    @Nonnull
+    private static int[] symbolic(@Nonnull final int[][] pointers, @Nonnull final int[][] indices,
+            @Nonnegative final int numLines, final boolean parallel) {
+        final int[] newPointers = new int[numLines + 1];
+        Parallel.forEach(0, numLines, new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                final LineMerger merger = new LineMerger(pointers, indices);
+                for (int i = from; i < to; i++) {
+                    merger.reset(i);
+                    int count = 0;
+                    for (int last = -1; merger.hasNext(); merger.advance()) {
+                        final int index = merger.index();
+                        if (index != last) {
+                            count++;
+                            last = index;
+                        }
+                    }
+                    newPointers[i + 1] = count;
+                }
+            }
+        }, parallel);
+
+        for (int i = 0; i < numLines; i++) {
+            newPointers[i + 1] += newPointers[i];
+        }
+        return newPointers;
+    }
+
+    private static void numeric(@Nonnull final int[][] pointers, @Nonnull final int[][] indices,
+            @Nonnull final double[][] values, @Nonnull final double[] weights,
+            @Nonnegative final int numLines, @Nonnull final int[] newPointers,
+            @Nonnull final int[] newIndices, @Nonnull final double[] newValues,
+            final boolean parallel) {
+        Parallel.forEach(0, numLines, new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                final LineMerger merger = new LineMerger(pointers, indices);
+                for (int i = from; i < to; i++) {
+                    merger.reset(i);
+                    int k = newPointers[i] - 1;
+                    for (int last = -1; merger.hasNext(); merger.advance()) {
+                        final int s = merger.input();
+                        final int index = merger.index();
+                        final double v = weights[s] * values[s][merger.position()];
+                        if (index != last) {
+                            newIndices[++k] = index;
+                            newValues[k] = v;
+                            last = index;
+                        } else {
+                            newValues[k] += v;
+                        }
+                    }
+                }
+            }
+        }, parallel);
+    }
+
+    private static void numeric(@Nonnull final int[][] pointers, @Nonnull final int[][] indices,
+            @Nonnull final float[][] values, @Nonnull final float[] weights,
+            @Nonnegative final int numLines, @Nonnull final int[] newPointers,
+            @Nonnull final int[] newIndices, @Nonnull final float[] newValues,
+            final boolean parallel) {
+        Parallel.forEach(0, numLines, new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                final LineMerger merger = new LineMerger(pointers, indices);
+                for (int i = from; i < to; i++) {
+                    merger.reset(i);
+                    int k = newPointers[i] - 1;
+                    for (int last = -1; merger.hasNext(); merger.advance()) {
+                        final int s = merger.input();
+                        final int index = merger.index();
+                        final float v = weights[s] * values[s][merger.position()];
+                        if (index != last) {
+                            newIndices[++k] = index;
+                            newValues[k] = v;
+                            last = index;
+                        } else {
+                            newValues[k] += v;
+                        }
+                    }
+                }
+            }
+        }, parallel);
+    }
+
+    /**
+     * Iterates the entries of a line of n inputs in ascending order of their minor index, and of
+     * the input on ties, through a binary heap of the inputs.
+     */
+    private static final class LineMerger {
+
+        @Nonnull
+        private final int[][] pointers;
+        @Nonnull
+        private final int[][] indices;
+        @Nonnull
+        private final int[] positions;
+        @Nonnull
+        private final int[] ends;
+        @Nonnull
+        private final int[] heap;
+        private int size;
+
+        LineMerger(@Nonnull int[][] pointers, @Nonnull int[][] indices) {
+            this.pointers = pointers;
+            this.indices = indices;
+            final int n = pointers.length;
+            this.positions = new int[n];
+            this.ends = new int[n];
+            this.heap = new int[n];
+        }
+
+        void reset(final int line) {
+            this.size = 0;
+            for (int s = 0; s < pointers.length; s++) {
+                final int start = pointers[s][line], end = pointers[s][line + 1];
+                if (start < end) {
+                    positions[s] = start;
+                    ends[s] = end;
+                    heap[size++] = s;
+                }
+            }
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        boolean hasNext() {
+            return size > 0;
+        }
+
+        /**
+         * @return the input of the current entry
+         */
+        int input() {
+            return heap[0];
+        }
+
+        /**
+         * @return the offset of the current entry in the indices and values of its input
+         */
+        int position() {
+            return positions[heap[0]];
+        }
+
+        int index() {
+            final int s = heap[0];
+            return indices[s][positions[s]];
+        }
+
+        void advance() {
+            final int s = heap[0];
+            if (++positions[s] == ends[s]) {
+                heap[0] = heap[--size];
+            }
+            siftDown(0);
+        }
+
+        private boolean less(final int s1, final int s2) {
+            final int i1 = indices[s1][positions[s1]];
+            final int i2 = indices[s2][positions[s2]];
+            return i1 < i2 || (i1 == i2 && s1 < s2);
+        }
+
+        private void siftDown(int pos) {
+            final int s = heap[pos];
+            final int half = size >>> 1;
+            while (pos < half) {
+                int child = (pos << 1) + 1;
+                final int right = child + 1;
+                if (right < size && less(heap[right], heap[child])) {
+                    child = right;
+                }
+                if (!less(heap[child], s)) {
+                    break;
+                }
+                heap[pos] = heap[child];
+                pos = child;
+            }
+            heap[pos] = s;
+        }
+
+    }
+
+}
@@ -15,9 +15,15 @@
  */
 package matrix4j.matrix.sparse.floats;
 
+import matrix4j.matrix.FloatRowBatch;
 import matrix4j.matrix.RowMajorFloatMatrix;
 import matrix4j.matrix.builders.CSRMatrixBuilder;
+import matrix4j.utils.concurrent.Parallel;
+import matrix4j.utils.concurrent.Parallel.RangeProcedure;
 import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.utils.lang.UnaryDoubleOperator;
+import matrix4j.vector.FloatVectorCursor;
 import matrix4j.vector.VectorProcedure;
 
 import java.util.Arrays;
@@ -97,6 +103,15 @@ public final class CSRFloatMatrix extends RowMajorFloatMatrix {
         return nnz;
     }
 
+    /**
+     * @return the estimated number of bytes retained by this matrix
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(3, 12) + SizeOf.sizeOf(rowPointers) + SizeOf.sizeOf(columnIndices)
+                + SizeOf.sizeOf(values);
+    }
+
     @Override
     public int numRows() {
         return numRows;
@@ -150,6 +165,15 @@ public final class CSRFloatMatrix extends RowMajorFloatMatrix {
         return dst;
     }
 
+    @Override
+    public FloatVectorCursor getRow(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        checkRowIndex(index, numRows);
+
+        final int start = rowPointers[index];
+        return dst.view(columnIndices, values, start, rowPointers[index + 1] - start);
+    }
+
     @Override
     public float get(@Nonnegative final int row, @Nonnegative final int col,
             final float defaultValue) {
@@ -201,6 +225,29 @@ public final class CSRFloatMatrix extends RowMajorFloatMatrix {
         return index;
     }
 
+    @Override
+    public FloatRowBatch getRows(@Nonnull final int[] rows, @Nonnegative final int offset,
+            @Nonnegative final int length, @Nonnull final FloatRowBatch dst) {
+        dst.clear();
+        for (int i = offset, end = offset + length; i < end; i++) {
+            final int row = rows[i];
+            checkRowIndex(row, numRows);
+            final int start = rowPointers[row];
+            dst.appendRow(columnIndices, values, start, rowPointers[row + 1] - start);
+        }
+        return dst;
+    }
+
+    @Override
+    public FloatRowBatch getRows(@Nonnegative final int fromRow, @Nonnegative final int toRow,
+            @Nonnull final FloatRowBatch dst) {
+        checkRowRange(fromRow, toRow);
+
+        dst.clear();
+        dst.appendRows(rowPointers, columnIndices, values, fromRow, toRow);
+        return dst;
+    }
+
     @Override
     public void swap(int row1, int row2) {
         throw new UnsupportedOperationException();
@@ -259,6 +306,155 @@ public final class CSRFloatMatrix extends RowMajorFloatMatrix {
         }
     }
 
+    /**
+     * Sparse matrix-vector multiplication y = A * x.
+     *
+     * @return returns y
+     */
+    @Nonnull
+    public float[] multiply(@Nonnull final float[] x, @Nonnull final float[] y) {
+        Preconditions.checkArgument(x.length >= numColumns,
+            "x.length (" + x.length + ") must be equals to or greater than " + numColumns);
+        Preconditions.checkArgument(y.length >= numRows,
+            "y.length (" + y.length + ") must be equals to or greater than " + numRows);
+
+        for (int i = 0; i < numRows; i++) {
+            float sum = 0.f;
+            for (int j = rowPointers[i], end = rowPointers[i + 1]; j < end; j++) {
+                sum += values[j] * x[columnIndices[j]];
+            }
+            y[i] = sum;
+        }
+        return y;
+    }
+
+    /**
+     * Multiplies the values of each row i by factors[i] in place.
+     *
+     * @param factors of length numRows or more
+     */
+    public void scaleRows(@Nonnull final float[] factors) {
+        scaleRows(factors, false);
+    }
+
+    /**
+     * @param parallel partitions the rows over {@link Parallel#pool()}
+     * @see #scaleRows(float[])
+     */
+    public void scaleRows(@Nonnull final float[] factors, final boolean parallel) {
+        Preconditions.checkArgument(factors.length >= numRows,
+            "factors.length (" + factors.length + ") < numRows (" + numRows + ")");
+
+        Parallel.forEach(0, numRows, new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final float factor = factors[i];
+                    for (int j = rowPointers[i], end = rowPointers[i + 1]; j < end; j++) {
+                        values[j] *= factor;
+                    }
+                }
+            }
+        }, parallel);
+    }
+
+    /**
+     * Multiplies the values of each column j by factors[j] in place.
+     *
+     * @param factors of length numColumns or more
+     */
+    public void scaleColumns(@Nonnull final float[] factors) {
+        scaleColumns(factors, false);
+    }
+
+    /**
+     * @param parallel partitions the stored values over {@link Parallel#pool()}
+     * @see #scaleColumns(float[])
+     */
+    public void scaleColumns(@Nonnull final float[] factors, final boolean parallel) {
+        Preconditions.checkArgument(factors.length >= numColumns,
+            "factors.length (" + factors.length + ") < numColumns (" + numColumns + ")");
+
+        Parallel.forEach(0, nnz, new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                for (int j = from; j < to; j++) {
+                    values[j] *= factors[columnIndices[j]];
+                }
+            }
+        }, parallel);
+    }
+
+    /**
+     * Replaces each stored value v by f(v) in place. Entries that are not stored are left as zeros,
+     * so f is expected to map zero to zero, e.g., log1p.
+     */
+    public void map(@Nonnull final UnaryDoubleOperator f) {
+        map(f, false);
+    }
+
+    /**
+     * @param parallel partitions the stored values over {@link Parallel#pool()}
+     * @see #map(UnaryDoubleOperator)
+     */
+    public void map(@Nonnull final UnaryDoubleOperator f, final boolean parallel) {
+        Parallel.forEach(0, nnz, new RangeProcedure() {
+            @Override
+            public void apply(final int from, final int to) {
+                for (int j = from; j < to; j++) {
+                    values[j] = (float) f.apply(values[j]);
+                }
+            }
+        }, parallel);
+    }
+
+    /**
+     * @return a tightly sized copy without the explicitly stored zeros, or this matrix if there is
+     *         none
+     * @see #prune(double)
+     */
+    @Nonnull
+    public CSRFloatMatrix prune() {
+        return prune(0.d);
+    }
+
+    /**
+     * Drops the entries whose absolute value is less than or equal to the threshold. Kept entries
+     * are counted first so that the result is allocated at its exact size. NaN entries are kept.
+     *
+     * @return a tightly sized copy of the kept entries, or this matrix if no entry is dropped
+     */
+    @Nonnull
+    public CSRFloatMatrix prune(final double threshold) {
+        Preconditions.checkArgument(threshold >= 0.d, "Invalid threshold: " + threshold);
+
+        int kept = 0;
+        for (int j = 0; j < nnz; j++) {
+            if (!(Math.abs(values[j]) <= threshold)) {
+                kept++;
+            }
+        }
+        if (kept == nnz) {
+            return this;
+        }
+
+        final int[] newPointers = new int[numRows + 1];
+        final int[] newIndices = new int[kept];
+        final float[] newValues = new float[kept];
+        for (int i = 0, k = 0; i < numRows; i++) {
+            for (int j = rowPointers[i], end = rowPointers[i + 1]; j < end; j++) {
+                final float v = values[j];
+                if (!(Math.abs(v) <= threshold)) {
+                    newIndices[k] = columnIndices[j];
+                    newValues[k] = v;
+                    k++;
+                }
+            }
+            newPointers[i + 1] = k;
+        }
+        return new CSRFloatMatrix(newPointers, newIndices, newValues, numColumns);
+    }
+
     @Nonnull
     public CSCFloatMatrix toColumnMajorMatrix() {
         final int[] columnPointers = new int[numColumns + 1];
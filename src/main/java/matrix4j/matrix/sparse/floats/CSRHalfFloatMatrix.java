@@ -0,0 +1,360 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse.floats;
+
+import matrix4j.matrix.RowMajorFloatMatrix;
+import matrix4j.matrix.builders.CSRMatrixBuilder;
+import matrix4j.utils.lang.HalfFloat;
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.vector.FloatVectorCursor;
+import matrix4j.vector.VectorProcedure;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Compressed Sparse Row Matrix storing values in 16 bits, either IEEE 754 binary16 (half) or
+ * bfloat16. Values are decoded to float on read and rounded to nearest even on write.
+ *
+ * @see HalfFloat
+ */
+public final class CSRHalfFloatMatrix extends RowMajorFloatMatrix {
+
+    @Nonnull
+    private final int[] rowPointers;
+    @Nonnull
+    private final int[] columnIndices;
+    @Nonnull
+    private final short[] values;
+    private final boolean bfloat16;
+
+    @Nonnegative
+    private final int numRows;
+    @Nonnegative
+    private final int numColumns;
+    @Nonnegative
+    private final int nnz;
+
+    public CSRHalfFloatMatrix(@Nonnull int[] rowPointers, @Nonnull int[] columnIndices,
+            @Nonnull short[] values, @Nonnegative int numColumns, boolean bfloat16) {
+        super();
+        Preconditions.checkArgument(rowPointers.length >= 1,
+            "rowPointers must be greater than 0: " + rowPointers.length);
+        Preconditions.checkArgument(columnIndices.length == values.length, "#columnIndices ("
+                + columnIndices.length + ") must be equals to #values (" + values.length + ")");
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+        this.bfloat16 = bfloat16;
+        this.numRows = rowPointers.length - 1;
+        this.numColumns = numColumns;
+        this.nnz = values.length;
+    }
+
+    /**
+     * Encodes the values of the given matrix while sharing its row pointers and column indices.
+     */
+    @Nonnull
+    public static CSRHalfFloatMatrix build(@Nonnull final CSRFloatMatrix src,
+            final boolean bfloat16) {
+        final float[] srcValues = src.getValues();
+        final short[] values = new short[srcValues.length];
+        for (int i = 0; i < srcValues.length; i++) {
+            values[i] = bfloat16 ? HalfFloat.floatToBFloat16(srcValues[i])
+                    : HalfFloat.floatToHalf(srcValues[i]);
+        }
+        return new CSRHalfFloatMatrix(src.getRowPointers(), src.getColumnIndices(), values,
+            src.numColumns(), bfloat16);
+    }
+
+    @Nonnull
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    @Nonnull
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    /**
+     * @return encoded values
+     */
+    @Nonnull
+    public short[] getValues() {
+        return values;
+    }
+
+    public boolean isBFloat16() {
+        return bfloat16;
+    }
+
+    @Override
+    public boolean isSparse() {
+        return true;
+    }
+
+    @Override
+    public boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean swappable() {
+        return false;
+    }
+
+    @Override
+    public int nnz() {
+        return nnz;
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this matrix
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(3, 13) + SizeOf.sizeOf(rowPointers) + SizeOf.sizeOf(columnIndices)
+                + SizeOf.sizeOf(values);
+    }
+
+    @Override
+    public int numRows() {
+        return numRows;
+    }
+
+    @Override
+    public int numColumns() {
+        return numColumns;
+    }
+
+    @Override
+    public int numColumns(@Nonnegative final int row) {
+        checkRowIndex(row, numRows);
+
+        int columns = rowPointers[row + 1] - rowPointers[row];
+        return columns;
+    }
+
+    @Override
+    public double[] getRow(@Nonnegative final int index) {
+        final double[] row = new double[numColumns];
+        return getRow(index, row);
+    }
+
+    @Override
+    public double[] getRow(@Nonnegative final int index, @Nonnull final double[] dst) {
+        checkRowIndex(index, numRows);
+
+        Arrays.fill(dst, 0.d);
+        for (int i = rowPointers[index], end = rowPointers[index + 1]; i < end; i++) {
+            int col = columnIndices[i];
+            checkColIndex(col, dst.length);
+            dst[col] = decode(values[i]);
+        }
+        return dst;
+    }
+
+    @Override
+    public float[] getRow(@Nonnegative final int index, @Nonnull final float[] dst) {
+        checkRowIndex(index, numRows);
+
+        Arrays.fill(dst, 0.f);
+        for (int i = rowPointers[index], end = rowPointers[index + 1]; i < end; i++) {
+            int col = columnIndices[i];
+            checkColIndex(col, dst.length);
+            dst[col] = decode(values[i]);
+        }
+        return dst;
+    }
+
+    @Override
+    public FloatVectorCursor getRow(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        checkRowIndex(index, numRows);
+        dst.clear();
+
+        for (int i = rowPointers[index], end = rowPointers[index + 1]; i < end; i++) {
+            dst.append(columnIndices[i], decode(values[i]));
+        }
+        return dst;
+    }
+
+    @Override
+    public float get(@Nonnegative final int row, @Nonnegative final int col,
+            final float defaultValue) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            return defaultValue;
+        }
+        return decode(values[index]);
+    }
+
+    @Override
+    public float getAndSet(@Nonnegative final int row, @Nonnegative final int col,
+            final float value) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            throw new UnsupportedOperationException(
+                "Cannot update value in row " + row + ", col " + col);
+        }
+
+        float old = decode(values[index]);
+        values[index] = encode(value);
+        return old;
+    }
+
+    @Override
+    public void set(@Nonnegative final int row, @Nonnegative final int col, final float value) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            throw new UnsupportedOperationException(
+                "Cannot update value in row " + row + ", col " + col);
+        }
+        values[index] = encode(value);
+    }
+
+    private int getIndex(@Nonnegative final int row, @Nonnegative final int col) {
+        int leftIn = rowPointers[row];
+        int rightEx = rowPointers[row + 1];
+        final int index = Arrays.binarySearch(columnIndices, leftIn, rightEx, col);
+        if (index >= 0 && index >= values.length) {
+            throw new IndexOutOfBoundsException(
+                "Value index " + index + " out of range " + values.length);
+        }
+        return index;
+    }
+
+    private float decode(final short v) {
+        return bfloat16 ? HalfFloat.bfloat16ToFloat(v) : HalfFloat.halfToFloat(v);
+    }
+
+    private short encode(final float v) {
+        return bfloat16 ? HalfFloat.floatToBFloat16(v) : HalfFloat.floatToHalf(v);
+    }
+
+    @Override
+    public void swap(int row1, int row2) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void eachInRow(@Nonnegative final int row, @Nonnull final VectorProcedure procedure,
+            final boolean nullOutput) {
+        checkRowIndex(row, numRows);
+
+        final int startIn = rowPointers[row];
+        final int endEx = rowPointers[row + 1];
+
+        if (nullOutput) {
+            for (int col = 0, j = startIn; col < numColumns; col++) {
+                if (j < endEx && col == columnIndices[j]) {
+                    float v = decode(values[j++]);
+                    procedure.apply(col, v);
+                } else {
+                    procedure.apply(col, 0.f);
+                }
+            }
+        } else {
+            for (int i = startIn; i < endEx; i++) {
+                procedure.apply(columnIndices[i], decode(values[i]));
+            }
+        }
+    }
+
+    @Override
+    public void eachNonZeroInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        checkRowIndex(row, numRows);
+
+        final int startIn = rowPointers[row];
+        final int endEx = rowPointers[row + 1];
+        for (int i = startIn; i < endEx; i++) {
+            int col = columnIndices[i];
+            final float v = decode(values[i]);
+            if (v != 0.f) {
+                procedure.apply(col, v);
+            }
+        }
+    }
+
+    @Override
+    public void eachColumnIndexInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        checkRowIndex(row, numRows);
+
+        final int startIn = rowPointers[row];
+        final int endEx = rowPointers[row + 1];
+
+        for (int i = startIn; i < endEx; i++) {
+            procedure.apply(columnIndices[i]);
+        }
+    }
+
+    /**
+     * Sparse matrix-vector multiplication y = A * x.
+     *
+     * @return returns y
+     */
+    @Nonnull
+    public float[] multiply(@Nonnull final float[] x, @Nonnull final float[] y) {
+        Preconditions.checkArgument(x.length >= numColumns,
+            "x.length (" + x.length + ") must be equals to or greater than " + numColumns);
+        Preconditions.checkArgument(y.length >= numRows,
+            "y.length (" + y.length + ") must be equals to or greater than " + numRows);
+
+        for (int i = 0; i < numRows; i++) {
+            float sum = 0.f;
+            for (int j = rowPointers[i], end = rowPointers[i + 1]; j < end; j++) {
+                sum += decode(values[j]) * x[columnIndices[j]];
+            }
+            y[i] = sum;
+        }
+        return y;
+    }
+
+    /**
+     * @return decoded matrix in full precision
+     */
+    @Nonnull
+    public CSRFloatMatrix toFloatMatrix() {
+        final float[] decoded = new float[nnz];
+        for (int i = 0; i < nnz; i++) {
+            decoded[i] = decode(values[i]);
+        }
+        return new CSRFloatMatrix(rowPointers, columnIndices, decoded, numColumns);
+    }
+
+    @Nonnull
+    public CSCFloatMatrix toColumnMajorMatrix() {
+        return toFloatMatrix().toColumnMajorMatrix();
+    }
+
+    @Override
+    public CSRMatrixBuilder builder() {
+        return new CSRMatrixBuilder(values.length);
+    }
+
+}
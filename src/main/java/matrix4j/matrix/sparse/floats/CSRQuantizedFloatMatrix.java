@@ -0,0 +1,417 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse.floats;
+
+import matrix4j.matrix.RowMajorFloatMatrix;
+import matrix4j.matrix.builders.CSRMatrixBuilder;
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.vector.FloatVectorCursor;
+import matrix4j.vector.VectorProcedure;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Compressed Sparse Row Matrix storing each value in a byte with per-row affine quantization.
+ *
+ * <pre>
+ * value = offsets[row] + scales[row] * (values[i] &amp; 0xff)
+ * </pre>
+ *
+ * Updates through {@link #set(int, int, float)} are clamped into the value range of the row.
+ */
+public final class CSRQuantizedFloatMatrix extends RowMajorFloatMatrix {
+
+    private static final int LEVELS = 255;
+
+    @Nonnull
+    private final int[] rowPointers;
+    @Nonnull
+    private final int[] columnIndices;
+    @Nonnull
+    private final byte[] values;
+    @Nonnull
+    private final float[] scales;
+    @Nonnull
+    private final float[] offsets;
+
+    @Nonnegative
+    private final int numRows;
+    @Nonnegative
+    private final int numColumns;
+    @Nonnegative
+    private final int nnz;
+
+    public CSRQuantizedFloatMatrix(@Nonnull int[] rowPointers, @Nonnull int[] columnIndices,
+            @Nonnull byte[] values, @Nonnull float[] scales, @Nonnull float[] offsets,
+            @Nonnegative int numColumns) {
+        super();
+        Preconditions.checkArgument(rowPointers.length >= 1,
+            "rowPointers must be greater than 0: " + rowPointers.length);
+        Preconditions.checkArgument(columnIndices.length == values.length, "#columnIndices ("
+                + columnIndices.length + ") must be equals to #values (" + values.length + ")");
+        Preconditions.checkArgument(scales.length == rowPointers.length - 1, "#scales ("
+                + scales.length + ") must be equals to #rows (" + (rowPointers.length - 1) + ")");
+        Preconditions.checkArgument(offsets.length == scales.length,
+            "#offsets (" + offsets.length + ") must be equals to #scales (" + scales.length + ")");
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+        this.scales = scales;
+        this.offsets = offsets;
+        this.numRows = rowPointers.length - 1;
+        this.numColumns = numColumns;
+        this.nnz = values.length;
+    }
+
+    /**
+     * Quantizes the values of the given matrix row by row while sharing its row pointers and column
+     * indices.
+     */
+    @Nonnull
+    public static CSRQuantizedFloatMatrix build(@Nonnull final CSRFloatMatrix src) {
+        final int[] rowPointers = src.getRowPointers();
+        final float[] srcValues = src.getValues();
+        final int numRows = src.numRows();
+
+        final byte[] values = new byte[srcValues.length];
+        final float[] scales = new float[numRows];
+        final float[] offsets = new float[numRows];
+        for (int row = 0; row < numRows; row++) {
+            final int start = rowPointers[row];
+            final int end = rowPointers[row + 1];
+            if (start == end) {
+                continue;
+            }
+            float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+            for (int i = start; i < end; i++) {
+                float v = srcValues[i];
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            final float scale = (max - min) / LEVELS;
+            scales[row] = scale;
+            offsets[row] = min;
+            for (int i = start; i < end; i++) {
+                values[i] = quantize(srcValues[i], min, scale);
+            }
+        }
+
+        return new CSRQuantizedFloatMatrix(rowPointers, src.getColumnIndices(), values, scales,
+            offsets, src.numColumns());
+    }
+
+    @Nonnull
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    @Nonnull
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    /**
+     * @return quantized values
+     */
+    @Nonnull
+    public byte[] getValues() {
+        return values;
+    }
+
+    @Nonnull
+    public float[] getScales() {
+        return scales;
+    }
+
+    @Nonnull
+    public float[] getOffsets() {
+        return offsets;
+    }
+
+    @Override
+    public boolean isSparse() {
+        return true;
+    }
+
+    @Override
+    public boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean swappable() {
+        return false;
+    }
+
+    @Override
+    public int nnz() {
+        return nnz;
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this matrix
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(5, 12) + SizeOf.sizeOf(rowPointers) + SizeOf.sizeOf(columnIndices)
+                + SizeOf.sizeOf(values) + SizeOf.sizeOf(scales) + SizeOf.sizeOf(offsets);
+    }
+
+    @Override
+    public int numRows() {
+        return numRows;
+    }
+
+    @Override
+    public int numColumns() {
+        return numColumns;
+    }
+
+    @Override
+    public int numColumns(@Nonnegative final int row) {
+        checkRowIndex(row, numRows);
+
+        int columns = rowPointers[row + 1] - rowPointers[row];
+        return columns;
+    }
+
+    @Override
+    public double[] getRow(@Nonnegative final int index) {
+        final double[] row = new double[numColumns];
+        return getRow(index, row);
+    }
+
+    @Override
+    public double[] getRow(@Nonnegative final int index, @Nonnull final double[] dst) {
+        checkRowIndex(index, numRows);
+
+        Arrays.fill(dst, 0.d);
+        final float scale = scales[index], offset = offsets[index];
+        for (int i = rowPointers[index], end = rowPointers[index + 1]; i < end; i++) {
+            int col = columnIndices[i];
+            checkColIndex(col, dst.length);
+            dst[col] = offset + scale * (values[i] & 0xff);
+        }
+        return dst;
+    }
+
+    @Override
+    public float[] getRow(@Nonnegative final int index, @Nonnull final float[] dst) {
+        checkRowIndex(index, numRows);
+
+        Arrays.fill(dst, 0.f);
+        final float scale = scales[index], offset = offsets[index];
+        for (int i = rowPointers[index], end = rowPointers[index + 1]; i < end; i++) {
+            int col = columnIndices[i];
+            checkColIndex(col, dst.length);
+            dst[col] = offset + scale * (values[i] & 0xff);
+        }
+        return dst;
+    }
+
+    @Override
+    public FloatVectorCursor getRow(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        checkRowIndex(index, numRows);
+        dst.clear();
+
+        final float scale = scales[index], offset = offsets[index];
+        for (int i = rowPointers[index], end = rowPointers[index + 1]; i < end; i++) {
+            dst.append(columnIndices[i], offset + scale * (values[i] & 0xff));
+        }
+        return dst;
+    }
+
+    @Override
+    public float get(@Nonnegative final int row, @Nonnegative final int col,
+            final float defaultValue) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            return defaultValue;
+        }
+        return offsets[row] + scales[row] * (values[index] & 0xff);
+    }
+
+    @Override
+    public float getAndSet(@Nonnegative final int row, @Nonnegative final int col,
+            final float value) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            throw new UnsupportedOperationException(
+                "Cannot update value in row " + row + ", col " + col);
+        }
+
+        final float scale = scales[row], offset = offsets[row];
+        float old = offset + scale * (values[index] & 0xff);
+        values[index] = quantize(value, offset, scale);
+        return old;
+    }
+
+    @Override
+    public void set(@Nonnegative final int row, @Nonnegative final int col, final float value) {
+        checkIndex(row, col, numRows, numColumns);
+
+        final int index = getIndex(row, col);
+        if (index < 0) {
+            throw new UnsupportedOperationException(
+                "Cannot update value in row " + row + ", col " + col);
+        }
+        values[index] = quantize(value, offsets[row], scales[row]);
+    }
+
+    private int getIndex(@Nonnegative final int row, @Nonnegative final int col) {
+        int leftIn = rowPointers[row];
+        int rightEx = rowPointers[row + 1];
+        final int index = Arrays.binarySearch(columnIndices, leftIn, rightEx, col);
+        if (index >= 0 && index >= values.length) {
+            throw new IndexOutOfBoundsException(
+                "Value index " + index + " out of range " + values.length);
+        }
+        return index;
+    }
+
+    private static byte quantize(final float value, final float offset, final float scale) {
+        if (scale == 0.f) {
+            return 0;
+        }
+        int q = Math.round((value - offset) / scale);
+        if (q < 0) {
+            q = 0;
+        } else if (q > LEVELS) {
+            q = LEVELS;
+        }
+        return (byte) q;
+    }
+
+    @Override
+    public void swap(int row1, int row2) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void eachInRow(@Nonnegative final int row, @Nonnull final VectorProcedure procedure,
+            final boolean nullOutput) {
+        checkRowIndex(row, numRows);
+
+        final int startIn = rowPointers[row];
+        final int endEx = rowPointers[row + 1];
+        final float scale = scales[row], offset = offsets[row];
+
+        if (nullOutput) {
+            for (int col = 0, j = startIn; col < numColumns; col++) {
+                if (j < endEx && col == columnIndices[j]) {
+                    float v = offset + scale * (values[j++] & 0xff);
+                    procedure.apply(col, v);
+                } else {
+                    procedure.apply(col, 0.f);
+                }
+            }
+        } else {
+            for (int i = startIn; i < endEx; i++) {
+                procedure.apply(columnIndices[i], offset + scale * (values[i] & 0xff));
+            }
+        }
+    }
+
+    @Override
+    public void eachNonZeroInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        checkRowIndex(row, numRows);
+
+        final int startIn = rowPointers[row];
+        final int endEx = rowPointers[row + 1];
+        final float scale = scales[row], offset = offsets[row];
+        for (int i = startIn; i < endEx; i++) {
+            int col = columnIndices[i];
+            final float v = offset + scale * (values[i] & 0xff);
+            if (v != 0.f) {
+                procedure.apply(col, v);
+            }
+        }
+    }
+
+    @Override
+    public void eachColumnIndexInRow(@Nonnegative final int row,
+            @Nonnull final VectorProcedure procedure) {
+        checkRowIndex(row, numRows);
+
+        final int startIn = rowPointers[row];
+        final int endEx = rowPointers[row + 1];
+
+        for (int i = startIn; i < endEx; i++) {
+            procedure.apply(columnIndices[i]);
+        }
+    }
+
+    /**
+     * Sparse matrix-vector multiplication y = A * x.
+     *
+     * @return returns y
+     */
+    @Nonnull
+    public float[] multiply(@Nonnull final float[] x, @Nonnull final float[] y) {
+        Preconditions.checkArgument(x.length >= numColumns,
+            "x.length (" + x.length + ") must be equals to or greater than " + numColumns);
+        Preconditions.checkArgument(y.length >= numRows,
+            "y.length (" + y.length + ") must be equals to or greater than " + numRows);
+
+        for (int i = 0; i < numRows; i++) {
+            // sum_j (offset + scale * q_j) * x_j = offset * sum_j x_j + scale * sum_j q_j * x_j
+            float sumX = 0.f, sumQX = 0.f;
+            for (int j = rowPointers[i], end = rowPointers[i + 1]; j < end; j++) {
+                final float xj = x[columnIndices[j]];
+                sumX += xj;
+                sumQX += (values[j] & 0xff) * xj;
+            }
+            y[i] = offsets[i] * sumX + scales[i] * sumQX;
+        }
+        return y;
+    }
+
+    /**
+     * @return decoded matrix in full precision
+     */
+    @Nonnull
+    public CSRFloatMatrix toFloatMatrix() {
+        final float[] decoded = new float[nnz];
+        for (int row = 0; row < numRows; row++) {
+            final float scale = scales[row], offset = offsets[row];
+            for (int i = rowPointers[row], end = rowPointers[row + 1]; i < end; i++) {
+                decoded[i] = offset + scale * (values[i] & 0xff);
+            }
+        }
+        return new CSRFloatMatrix(rowPointers, columnIndices, decoded, numColumns);
+    }
+
+    @Nonnull
+    public CSCFloatMatrix toColumnMajorMatrix() {
+        return toFloatMatrix().toColumnMajorMatrix();
+    }
+
+    @Override
+    public CSRMatrixBuilder builder() {
+        return new CSRMatrixBuilder(values.length);
+    }
+
+}
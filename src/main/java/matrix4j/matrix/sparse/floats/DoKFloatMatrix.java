@@ -19,10 +19,13 @@ import matrix4j.matrix.AbstractMatrix;
 import matrix4j.matrix.FloatMatrix;
 import matrix4j.matrix.MatrixUtils;
 import matrix4j.matrix.builders.DoKMatrixBuilder;
+import matrix4j.utils.collections.maps.HashTableStatistics;
 import matrix4j.utils.collections.maps.Long2FloatOpenHashTable;
 import matrix4j.utils.collections.maps.Long2FloatOpenHashTable.IMapIterator;
 import matrix4j.utils.lang.Preconditions;
 import matrix4j.utils.lang.Primitives;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.vector.FloatVectorCursor;
 import matrix4j.vector.Vector;
 import matrix4j.vector.VectorProcedure;
 
@@ -56,7 +59,8 @@ public final class DoKFloatMatrix extends AbstractMatrix implements FloatMatrix
         super();
         Preconditions.checkArgument(sparsity >= 0.f && sparsity <= 1.f,
             "Invalid Sparsity value: " + sparsity);
-        int initialCapacity = Math.max(16384, Math.round(numRows * numCols * sparsity));
+        int initialCapacity = (int) Math.max(16384L,
+            Math.min(Integer.MAX_VALUE, Math.round((double) numRows * numCols * sparsity)));
         this.elements = new Long2FloatOpenHashTable(initialCapacity);
         elements.defaultReturnValue(0.f);
         this.numRows = numRows;
@@ -102,6 +106,31 @@ public final class DoKFloatMatrix extends AbstractMatrix implements FloatMatrix
         return elements.size();
     }
 
+    /**
+     * @return the estimated number of bytes retained by this matrix including the slack of its hash
+     *         table
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 8) + elements.estimatedMemoryBytes();
+    }
+
+    /**
+     * @return a snapshot of the statistics of the backing hash table
+     */
+    @Nonnull
+    public HashTableStatistics hashTableStatistics() {
+        return elements.statistics();
+    }
+
+    /**
+     * Shrinks the backing hash table to fit the current non-zero entries, dropping the slots left
+     * behind by removed entries.
+     */
+    public void trimToSize() {
+        elements.trimToSize();
+    }
+
     @Override
     public int numRows() {
         return numRows;
@@ -172,6 +201,32 @@ public final class DoKFloatMatrix extends AbstractMatrix implements FloatMatrix
         }
     }
 
+    @Override
+    public FloatVectorCursor getRow(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        dst.clear();
+        eachNonNullInRow(index, new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                dst.append(i, (float) value);
+            }
+        });
+        return dst;
+    }
+
+    @Override
+    public FloatVectorCursor getColumn(@Nonnegative final int index,
+            @Nonnull final FloatVectorCursor dst) {
+        dst.clear();
+        eachNonNullInColumn(index, new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                dst.append(i, (float) value);
+            }
+        });
+        return dst;
+    }
+
     @Override
     public float get(@Nonnegative final int row, @Nonnegative final int col,
             final float defaultValue) {
@@ -39,4 +39,9 @@ public interface DoubleArray extends Serializable {
 
     public void clear();
 
+    /**
+     * @return the estimated number of bytes retained by this array on the heap
+     */
+    public long estimatedMemoryBytes();
+
 }
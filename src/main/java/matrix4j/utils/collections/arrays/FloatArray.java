@@ -39,4 +39,9 @@ public interface FloatArray extends Serializable {
 
     public void clear();
 
+    /**
+     * @return the estimated number of bytes retained by this array on the heap
+     */
+    public long estimatedMemoryBytes();
+
 }
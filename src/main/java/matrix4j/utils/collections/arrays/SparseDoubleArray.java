@@ -17,6 +17,7 @@ package matrix4j.utils.collections.arrays;
 
 import matrix4j.utils.lang.ArrayUtils;
 import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
 import matrix4j.vector.VectorProcedure;
 
 import java.util.Arrays;
@@ -42,6 +43,18 @@ public final class SparseDoubleArray implements DoubleArray {
         mSize = 0;
     }
 
+    /**
+     * Builds an array from unsorted entries in <code>[0, size)</code> of the given arrays.
+     *
+     * @param sumDuplicates sum the values of duplicate keys if true, otherwise the last one wins
+     * @see #putAll(int[], double[], int, int, boolean)
+     */
+    public SparseDoubleArray(@Nonnull int[] keys, @Nonnull double[] values, int size,
+            boolean sumDuplicates) {
+        this(Math.max(size, 1));
+        putAll(keys, values, 0, size, sumDuplicates);
+    }
+
     private SparseDoubleArray(@Nonnull int[] mKeys, @Nonnull double[] mValues, int mSize) {
         this.mKeys = mKeys;
         this.mValues = mValues;
@@ -110,6 +123,97 @@ public final class SparseDoubleArray implements DoubleArray {
         }
     }
 
+    /**
+     * Puts unsorted entries in <code>[offset, offset + length)</code> of the given arrays in O((n +
+     * m) + m log m) where n is {@link #size()} and m is the length of the batch. The batch is
+     * sorted in a stable manner and then merged with the current entries in one linear pass.
+     *
+     * @param sumDuplicates sum the values of duplicate keys, including a key that already exists,
+     *        if true. Otherwise, the last one in the batch wins.
+     */
+    public void putAll(@Nonnull final int[] keys, @Nonnull final double[] values, final int offset,
+            final int length, final boolean sumDuplicates) {
+        Preconditions.checkArgument(offset >= 0 && length >= 0,
+            "Invalid offset/length: " + offset + '/' + length);
+        Preconditions.checkArgument(offset + length <= keys.length,
+            "offset + length (" + (offset + length) + ") exceeds #keys (" + keys.length + ")");
+        Preconditions.checkArgument(offset + length <= values.length,
+            "offset + length (" + (offset + length) + ") exceeds #values (" + values.length + ")");
+        if (length == 0) {
+            return;
+        }
+
+        // (key, position) pairs encoded in longs so that a primitive sort is stable
+        final long[] order = new long[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = ((long) keys[offset + i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        final int[] batchKeys = new int[length];
+        final double[] batchValues = new double[length];
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            final int k = (int) (order[i] >> 32);
+            final double v = values[offset + (int) order[i]];
+            if (n != 0 && batchKeys[n - 1] == k) {
+                if (sumDuplicates) {
+                    batchValues[n - 1] += v;
+                } else {
+                    batchValues[n - 1] = v;
+                }
+            } else {
+                batchKeys[n] = k;
+                batchValues[n] = v;
+                n++;
+            }
+        }
+
+        if (mSize == 0) {
+            this.mKeys = batchKeys;
+            this.mValues = batchValues;
+            this.mSize = n;
+            return;
+        }
+
+        final int[] newKeys = new int[mSize + n];
+        final double[] newValues = new double[mSize + n];
+        int i = 0, j = 0, size = 0;
+        while (i < mSize && j < n) {
+            final int k1 = mKeys[i], k2 = batchKeys[j];
+            if (k1 < k2) {
+                newKeys[size] = k1;
+                newValues[size++] = mValues[i++];
+            } else if (k1 > k2) {
+                newKeys[size] = k2;
+                newValues[size++] = batchValues[j++];
+            } else {
+                newKeys[size] = k1;
+                newValues[size++] = sumDuplicates ? mValues[i] + batchValues[j] : batchValues[j];
+                i++;
+                j++;
+            }
+        }
+        System.arraycopy(mKeys, i, newKeys, size, mSize - i);
+        System.arraycopy(mValues, i, newValues, size, mSize - i);
+        size += mSize - i;
+        System.arraycopy(batchKeys, j, newKeys, size, n - j);
+        System.arraycopy(batchValues, j, newValues, size, n - j);
+        size += n - j;
+
+        this.mKeys = newKeys;
+        this.mValues = newValues;
+        this.mSize = size;
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this array
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(2, 4) + SizeOf.sizeOf(mKeys) + SizeOf.sizeOf(mValues);
+    }
+
     @Override
     public int size() {
         return mSize;
@@ -128,6 +232,22 @@ public final class SparseDoubleArray implements DoubleArray {
         mValues[index] = value;
     }
 
+    /**
+     * @return the backing sorted keys of which the first {@link #size()} elements are valid
+     */
+    @Nonnull
+    public int[] getKeys() {
+        return mKeys;
+    }
+
+    /**
+     * @return the backing values of which the first {@link #size()} elements are valid
+     */
+    @Nonnull
+    public double[] getValues() {
+        return mValues;
+    }
+
     public int indexOfKey(int key) {
         return Arrays.binarySearch(mKeys, 0, mSize, key);
     }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.utils.collections.heaps;
+
+import matrix4j.utils.lang.Preconditions;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A bounded binary min-heap of (index, value) pairs on primitive arrays that keeps the k largest
+ * values offered, preferring the smaller index among equal values. NaN values are ignored.
+ *
+ * <pre>
+ * IntDoubleTopKHeap heap = new IntDoubleTopKHeap(k);
+ * for (...) {
+ *     heap.offer(col, value);
+ * }
+ * int n = heap.drainTo(indices, values, 0); // in descending order of values
+ * </pre>
+ */
+@NotThreadSafe
+public final class IntDoubleTopKHeap {
+
+    @Nonnull
+    private final int[] indices;
+    @Nonnull
+    private final double[] values;
+    private int size;
+
+    public IntDoubleTopKHeap(@Nonnegative int k) {
+        Preconditions.checkArgument(k > 0, "Invalid k: " + k);
+        this.indices = new int[k];
+        this.values = new double[k];
+        this.size = 0;
+    }
+
+    public int k() {
+        return indices.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == indices.length;
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * @return true if the pair is kept, possibly evicting the smallest one
+     */
+    public boolean offer(final int index, final double value) {
+        if (value != value) {// NaN
+            return false;
+        }
+        if (size < indices.length) {
+            siftUp(size++, index, value);
+            return true;
+        }
+        final double minValue = values[0];
+        if (value < minValue || (value == minValue && index > indices[0])) {
+            return false;
+        }
+        siftDown(0, index, value);
+        return true;
+    }
+
+    /**
+     * Pops all the pairs in descending order of values, ties broken by ascending index, into
+     * <code>dstIndices[offset, offset + size)</code> and
+     * <code>dstValues[offset, offset + size)</code>.
+     *
+     * @return the number of pairs written
+     */
+    public int drainTo(@Nonnull final int[] dstIndices, @Nonnull final double[] dstValues,
+            @Nonnegative final int offset) {
+        final int n = size;
+        for (int i = offset + n - 1; i >= offset; i--) {
+            dstIndices[i] = indices[0];
+            dstValues[i] = values[0];
+            pollMin();
+        }
+        return n;
+    }
+
+    /**
+     * @see #drainTo(int[], double[], int)
+     */
+    public int drainTo(@Nonnull final int[] dstIndices, @Nonnull final float[] dstValues,
+            @Nonnegative final int offset) {
+        final int n = size;
+        for (int i = offset + n - 1; i >= offset; i--) {
+            dstIndices[i] = indices[0];
+            dstValues[i] = (float) values[0];
+            pollMin();
+        }
+        return n;
+    }
+
+    private void pollMin() {
+        final int last = --size;
+        if (last > 0) {
+            siftDown(0, indices[last], values[last]);
+        }
+    }
+
+    /**
+     * @return true if (i1, v1) ranks below (i2, v2)
+     */
+    private static boolean less(final int i1, final double v1, final int i2, final double v2) {
+        return v1 < v2 || (v1 == v2 && i1 > i2);
+    }
+
+    private void siftUp(int pos, final int index, final double value) {
+        final int[] indices = this.indices;
+        final double[] values = this.values;
+        while (pos > 0) {
+            final int parent = (pos - 1) >>> 1;
+            if (!less(index, value, indices[parent], values[parent])) {
+                break;
+            }
+            indices[pos] = indices[parent];
+            values[pos] = values[parent];
+            pos = parent;
+        }
+        indices[pos] = index;
+        values[pos] = value;
+    }
+
+    private void siftDown(int pos, final int index, final double value) {
+        final int[] indices = this.indices;
+        final double[] values = this.values;
+        final int half = size >>> 1;
+        while (pos < half) {
+            int child = (pos << 1) + 1;
+            final int right = child + 1;
+            if (right < size
+                    && less(indices[right], values[right], indices[child], values[child])) {
+                child = right;
+            }
+            if (!less(indices[child], values[child], index, value)) {
+                break;
+            }
+            indices[pos] = indices[child];
+            values[pos] = values[child];
+            pos = child;
+        }
+        indices[pos] = index;
+        values[pos] = value;
+    }
+
+}
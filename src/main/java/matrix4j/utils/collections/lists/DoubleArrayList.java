@@ -15,6 +15,8 @@
  */
 package matrix4j.utils.collections.lists;
 
+import matrix4j.utils.lang.SizeOf;
+
 import java.io.Serializable;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -120,6 +122,13 @@ public final class DoubleArrayList implements Serializable {
         return data[index];
     }
 
+    /**
+     * @return the estimated number of bytes retained by this list including unused capacity
+     */
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 4) + SizeOf.sizeOf(data);
+    }
+
     public int size() {
         return used;
     }
@@ -16,6 +16,7 @@
 package matrix4j.utils.collections.lists;
 
 import matrix4j.utils.lang.ArrayUtils;
+import matrix4j.utils.lang.SizeOf;
 
 import java.io.Serializable;
 import java.util.NoSuchElementException;
@@ -143,6 +144,13 @@ public final class IntArrayList implements Serializable {
         return ArrayUtils.indexOf(data, key, 0, used) != -1;
     }
 
+    /**
+     * @return the estimated number of bytes retained by this list including unused capacity
+     */
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 4) + SizeOf.sizeOf(data);
+    }
+
     public int size() {
         return used;
     }
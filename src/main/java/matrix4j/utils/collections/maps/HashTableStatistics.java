@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.utils.collections.maps;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A snapshot of the occupancy and probe lengths of an open-addressing hash table.
+ *
+ * Probe lengths are those of successful lookups of the keys present at the time of the snapshot,
+ * where 1 means a key sits in its home slot. Taking a snapshot scans the whole table, so it costs
+ * nothing until requested.
+ */
+@Immutable
+public final class HashTableStatistics {
+
+    @Nonnegative
+    private final int capacity;
+    @Nonnegative
+    private final int size;
+    @Nonnegative
+    private final int removed;
+    private final float loadFactor;
+    private final double averageProbeLength;
+    @Nonnegative
+    private final int maxProbeLength;
+    @Nonnegative
+    private final long rehashCount;
+    @Nonnegative
+    private final long rehashNanos;
+
+    HashTableStatistics(int capacity, int size, int removed, float loadFactor,
+            double averageProbeLength, int maxProbeLength, long rehashCount, long rehashNanos) {
+        this.capacity = capacity;
+        this.size = size;
+        this.removed = removed;
+        this.loadFactor = loadFactor;
+        this.averageProbeLength = averageProbeLength;
+        this.maxProbeLength = maxProbeLength;
+        this.rehashCount = rehashCount;
+        this.rehashNanos = rehashNanos;
+    }
+
+    @Nonnull
+    static HashTableStatistics of(@Nonnull final long[] keys, @Nonnull final byte[] states,
+            final byte full, final byte removedState, @Nonnull final LongHashFunction hashFunction,
+            final float loadFactor, final long rehashCount, final long rehashNanos) {
+        final int capacity = keys.length;
+        int size = 0, removed = 0, maxProbes = 0;
+        long totalProbes = 0L;
+        for (int i = 0; i < capacity; i++) {
+            final byte state = states[i];
+            if (state == removedState) {
+                removed++;
+            } else if (state == full) {
+                final int probes = probeLength(hashFunction.hash(keys[i]), i, capacity);
+                size++;
+                totalProbes += probes;
+                maxProbes = Math.max(maxProbes, probes);
+            }
+        }
+        final double avgProbes = (size == 0) ? 0.d : (double) totalProbes / size;
+        return new HashTableStatistics(capacity, size, removed, loadFactor, avgProbes, maxProbes,
+            rehashCount, rehashNanos);
+    }
+
+    /**
+     * Replays the double hashing sequence of a key until it reaches the given slot.
+     */
+    private static int probeLength(final int hash, final int slot, final int capacity) {
+        final int decr = 1 + (hash % (capacity - 2));
+        int index = hash % capacity;
+        int probes = 1;
+        while (index != slot && probes < capacity) {
+            index -= decr;
+            if (index < 0) {
+                index += capacity;
+            }
+            probes++;
+        }
+        return probes;
+    }
+
+    /**
+     * @return the number of slots
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of REMOVED tombstone slots
+     */
+    public int getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return the number of FREE slots
+     */
+    public int getFree() {
+        return capacity - size - removed;
+    }
+
+    /**
+     * @return the ratio of entries to slots
+     */
+    public double getLoad() {
+        return (capacity == 0) ? 0.d : (double) size / capacity;
+    }
+
+    /**
+     * @return the load at which the table grows
+     */
+    public float getLoadFactor() {
+        return loadFactor;
+    }
+
+    public double getAverageProbeLength() {
+        return averageProbeLength;
+    }
+
+    public int getMaxProbeLength() {
+        return maxProbeLength;
+    }
+
+    /**
+     * @return the number of times the table has been reallocated
+     */
+    public long getRehashCount() {
+        return rehashCount;
+    }
+
+    /**
+     * @return the total time spent in reallocating the table in nanoseconds
+     */
+    public long getRehashNanos() {
+        return rehashNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "HashTableStatistics [capacity=" + capacity + ", size=" + size + ", removed="
+                + removed + ", load=" + getLoad() + ", loadFactor=" + loadFactor
+                + ", averageProbeLength=" + averageProbeLength + ", maxProbeLength="
+                + maxProbeLength + ", rehashCount=" + rehashCount + ", rehashNanos=" + rehashNanos
+                + "]";
+    }
+
+}
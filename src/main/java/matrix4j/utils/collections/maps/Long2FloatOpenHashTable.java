@@ -15,6 +15,7 @@
  */
 package matrix4j.utils.collections.maps;
 
+import matrix4j.utils.lang.SizeOf;
 import matrix4j.utils.math.Primes;
 
 import java.io.Externalizable;
@@ -23,6 +24,8 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Arrays;
 
+import javax.annotation.Nonnull;
+
 /**
  * An open-addressing hash table using double hashing.
  *
@@ -30,6 +33,10 @@ import java.util.Arrays;
  * Primary hash function: h1(k) = k mod m
  * Secondary hash function: h2(k) = 1 + (k mod(m-2))
  * </pre>
+ *
+ * where k is the key mixed by a {@link LongHashFunction}, {@link LongHashFunction#MURMUR3} by
+ * default. The hash function is not serialized: a deserialized table hashes with
+ * {@link LongHashFunction#MURMUR3} until {@link #hashFunction(LongHashFunction)} is called.
  * 
  * @see http://en.wikipedia.org/wiki/Double_hashing
  */
@@ -44,12 +51,14 @@ public final class Long2FloatOpenHashTable implements Externalizable {
 
     private static final float SHRINK_FACTOR = 0.1f; // at least 10% of table must be FREE
     private static final float GROW_FACTOR_AT_SHRINK = 1.7f;
+    private static final float PURGE_FACTOR = 0.2f; // at most 20% of table can be REMOVED
 
     protected/* final */float _loadFactor;
     protected/* final */float _growFactor;
 
     protected int _used;
     protected int _freeEntries;
+    protected int _removedEntries;
 
     /** Used entry threshold to grow table */
     protected int _growThreshold;
@@ -58,18 +67,33 @@ public final class Long2FloatOpenHashTable implements Externalizable {
      * avoid shrink at very early remove().
      */
     protected int _shrinkThreshold;
+    /** Removed entry threshold to rehash table at the same capacity */
+    protected int _purgeThreshold;
 
     protected float _defaultReturnValue = 0.f;
 
+    @Nonnull
+    protected LongHashFunction _hashFunction;
+
+    /** The number of reallocations and the time spent in them */
+    protected long _rehashCount;
+    protected long _rehashNanos;
+
     protected long[] _keys;
     protected float[] _values;
     protected byte[] _states;
 
     protected Long2FloatOpenHashTable(int size, float loadFactor, float growFactor,
             boolean forcePrime) {
+        this(size, loadFactor, growFactor, forcePrime, LongHashFunction.MURMUR3);
+    }
+
+    protected Long2FloatOpenHashTable(int size, float loadFactor, float growFactor,
+            boolean forcePrime, @Nonnull LongHashFunction hashFunction) {
         if (size < 1) {
             throw new IllegalArgumentException();
         }
+        this._hashFunction = hashFunction;
         this._loadFactor = loadFactor;
         this._growFactor = growFactor;
         int actualSize = forcePrime ? Primes.findLeastPrimeNumber(size) : size;
@@ -80,6 +104,7 @@ public final class Long2FloatOpenHashTable implements Externalizable {
         this._freeEntries = actualSize;
         this._growThreshold = Math.round(actualSize * _loadFactor);
         this._shrinkThreshold = Math.round(actualSize * SHRINK_FACTOR);
+        this._purgeThreshold = Math.round(actualSize * PURGE_FACTOR);
     }
 
     public Long2FloatOpenHashTable(int size, int loadFactor, int growFactor) {
@@ -90,6 +115,10 @@ public final class Long2FloatOpenHashTable implements Externalizable {
         this(size, DEFAULT_LOAD_FACTOR, DEFAULT_GROW_FACTOR, true);
     }
 
+    public Long2FloatOpenHashTable(int size, @Nonnull LongHashFunction hashFunction) {
+        this(size, DEFAULT_LOAD_FACTOR, DEFAULT_GROW_FACTOR, true, hashFunction);
+    }
+
     /**
      * Only for {@link Externalizable}
      */
@@ -102,6 +131,17 @@ public final class Long2FloatOpenHashTable implements Externalizable {
         this._defaultReturnValue = v;
     }
 
+    /**
+     * Replaces the hash function and rehashes the entries with it, e.g., to restore the function of
+     * a table after deserialization.
+     */
+    public void hashFunction(@Nonnull final LongHashFunction hashFunction) {
+        this._hashFunction = hashFunction;
+        if (_keys != null) {
+            rehash(_keys.length);
+        }
+    }
+
     public boolean containsKey(final long key) {
         return _findKey(key) >= 0;
     }
@@ -135,9 +175,11 @@ public final class Long2FloatOpenHashTable implements Externalizable {
     }
 
     public float _remove(final int index) {
+        final float old = _values[index];
         _states[index] = REMOVED;
         --_used;
-        return _values[index];
+        postRemoveEntry();
+        return old;
     }
 
     public float put(final long key, final float value) {
@@ -160,39 +202,43 @@ public final class Long2FloatOpenHashTable implements Externalizable {
         final byte[] states = _states;
 
         byte state = states[keyIdx];
-        if (state == FULL) {// double hashing
-            if (keys[keyIdx] == key) {
-                float old = values[keyIdx];
-                values[keyIdx] = value;
-                return old;
-            }
-            // try second hash
+        if (state != FREE) {// double hashing
             final int loopIndex = keyIdx;
             final int decr = 1 + (hash % (keyLength - 2));
+            int removedIdx = -1;
             for (;;) {
+                if (keys[keyIdx] == key) {
+                    if (state == FULL) {
+                        float old = values[keyIdx];
+                        values[keyIdx] = value;
+                        return old;
+                    }
+                    // a live entry of the key never follows its REMOVED slot
+                    assert (state == REMOVED);
+                    break;
+                }
+                if (state == REMOVED && removedIdx == -1) {
+                    removedIdx = keyIdx;
+                }
                 keyIdx -= decr;
                 if (keyIdx < 0) {
                     keyIdx += keyLength;
                 }
                 if (keyIdx == loopIndex) {
+                    if (removedIdx != -1) {
+                        break;
+                    }
                     throw new IllegalStateException(
                         "Detected infinite loop where key=" + key + ", keyIdx=" + keyIdx);
                 }
-
                 state = states[keyIdx];
                 if (state == FREE) {
                     break;
                 }
-                if (keys[keyIdx] == key) {
-                    if (state == FULL) {
-                        float old = values[keyIdx];
-                        values[keyIdx] = value;
-                        return old;
-                    } else {
-                        assert (state == REMOVED);
-                        break;
-                    }
-                }
+            }
+            if (removedIdx != -1) {// reuse the first REMOVED slot on the probe sequence
+                keyIdx = removedIdx;
+                state = REMOVED;
             }
         }
         keys[keyIdx] = key;
@@ -206,18 +252,24 @@ public final class Long2FloatOpenHashTable implements Externalizable {
                 int newCapacity = Math.max(keys.length, Math.round(_used * GROW_FACTOR_AT_SHRINK));
                 ensureCapacity(newCapacity);
             }
+        } else {
+            --_removedEntries;
         }
 
         return defaultValue;
     }
 
-    /** @return expanded or not */
+    /** @return rehashed or not */
     protected boolean preAddEntry(final int index) {
         if ((_used + 1) >= _growThreshold) {// too filled
             int newCapacity = Math.round(_keys.length * _growFactor);
             ensureCapacity(newCapacity);
             return true;
         }
+        if (_removedEntries > _purgeThreshold) {// too many REMOVED slots
+            compact();
+            return true;
+        }
         return false;
     }
 
@@ -266,9 +318,53 @@ public final class Long2FloatOpenHashTable implements Externalizable {
         float old = _values[keyIdx];
         _states[keyIdx] = REMOVED;
         --_used;
+        postRemoveEntry();
         return old;
     }
 
+    /**
+     * Counts the REMOVED slot. Too many of them are dropped by the next insertion, not here, so
+     * that open iterators and slot indices stay valid while removing.
+     */
+    protected void postRemoveEntry() {
+        ++_removedEntries;
+    }
+
+    /**
+     * Rehashes the entries at the current capacity to drop the REMOVED slots left by
+     * {@link #remove(long)}, which otherwise lengthen every probe sequence passing over them.
+     */
+    public void compact() {
+        rehash(_keys.length);
+    }
+
+    /**
+     * Rehashes the entries into the smallest capacity holding them under the load factor, dropping
+     * the REMOVED slots.
+     */
+    public void trimToSize() {
+        int newCapacity = Math.max(_used + 1, Math.round(_used / _loadFactor) + 1);
+        newCapacity = Primes.findLeastPrimeNumber(newCapacity);
+        rehash(Math.min(newCapacity, _keys.length));
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this table including free and removed slots
+     */
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(4, 52) + SizeOf.sizeOf(_keys) + SizeOf.sizeOf(_values)
+                + SizeOf.sizeOf(_states);
+    }
+
+    /**
+     * Takes a snapshot of the occupancy and probe lengths of this table by scanning it.
+     */
+    @Nonnull
+    public HashTableStatistics statistics() {
+        return HashTableStatistics.of(_keys, _states, FULL, REMOVED, _hashFunction, _loadFactor,
+            _rehashCount, _rehashNanos);
+    }
+
     public int size() {
         return _used;
     }
@@ -277,6 +373,7 @@ public final class Long2FloatOpenHashTable implements Externalizable {
         Arrays.fill(_states, FREE);
         this._used = 0;
         this._freeEntries = _states.length;
+        this._removedEntries = 0;
     }
 
     public IMapIterator entries() {
@@ -307,6 +404,7 @@ public final class Long2FloatOpenHashTable implements Externalizable {
     }
 
     private void rehash(final int newCapacity) {
+        final long start = System.nanoTime();
         final long[] oldKeys = _keys;
         final float[] oldValues = _values;
         final byte[] oldStates = _states;
@@ -348,12 +446,16 @@ public final class Long2FloatOpenHashTable implements Externalizable {
         this._states = newStates;
         this._used = used;
         this._freeEntries = newCapacity - used;
+        this._removedEntries = 0;
         this._growThreshold = Math.round(newCapacity * _loadFactor);
         this._shrinkThreshold = Math.round(newCapacity * SHRINK_FACTOR);
+        this._purgeThreshold = Math.round(newCapacity * PURGE_FACTOR);
+        this._rehashNanos += System.nanoTime() - start;
+        this._rehashCount++;
     }
 
-    private static int keyHash(final long key) {
-        return (int) (key ^ (key >>> 32)) & 0x7FFFFFFF;
+    private int keyHash(final long key) {
+        return _hashFunction.hash(key);
     }
 
     public interface IMapIterator {
@@ -470,8 +572,10 @@ public final class Long2FloatOpenHashTable implements Externalizable {
         this._states = states;
         this._used = used;
         this._freeEntries = newCapacity - used;
+        this._removedEntries = 0;
         this._growThreshold = Math.round(newCapacity * _loadFactor);
         this._shrinkThreshold = Math.round(newCapacity * SHRINK_FACTOR);
+        this._purgeThreshold = Math.round(newCapacity * PURGE_FACTOR);
     }
 
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.utils.collections.maps;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Maps a long key to a non-negative int hash for the Long2* open hash tables.
+ *
+ * Keys of matrices are <code>row &lt;&lt; 32 | col</code>, so folding the upper and lower halves
+ * ({@link #XOR_FOLD}) hashes them to <code>row ^ col</code>, which collides for every diagonal and
+ * band. {@link #MURMUR3}, the default, mixes all 64 bits before truncating.
+ */
+public abstract class LongHashFunction {
+
+    /** <code>(key ^ key &gt;&gt;&gt; 32) &amp; 0x7FFFFFFF</code>, the hash of older versions */
+    @Nonnull
+    public static final LongHashFunction XOR_FOLD = new LongHashFunction() {
+        @Override
+        public int hash(final long key) {
+            return (int) (key ^ (key >>> 32)) & 0x7FFFFFFF;
+        }
+    };
+
+    /**
+     * The 64-bit finalizer (fmix64) of MurmurHash3.
+     *
+     * @link https://github.com/aappleby/smhasher/blob/master/src/MurmurHash3.cpp
+     */
+    @Nonnull
+    public static final LongHashFunction MURMUR3 = new LongHashFunction() {
+        @Override
+        public int hash(final long key) {
+            long h = key;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return (int) h & 0x7FFFFFFF;
+        }
+    };
+
+    /**
+     * The output function of SplitMix64 (a variant of Stafford's Mix13).
+     *
+     * @link http://xorshift.di.unimi.it/splitmix64.c
+     */
+    @Nonnull
+    public static final LongHashFunction SPLITMIX64 = new LongHashFunction() {
+        @Override
+        public int hash(final long key) {
+            long h = key;
+            h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+            h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+            h ^= h >>> 31;
+            return (int) h & 0x7FFFFFFF;
+        }
+    };
+
+    public LongHashFunction() {}
+
+    @Nonnegative
+    public abstract int hash(long key);
+
+}
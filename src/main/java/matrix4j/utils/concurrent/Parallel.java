@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.utils.concurrent;
+
+import matrix4j.utils.lang.Preconditions;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Runs an index range in parallel by recursively splitting it on a {@link ForkJoinPool}.
+ *
+ * <pre>
+ * Parallel.forEach(0, matrix.numRows(), new Parallel.RangeProcedure() {
+ *     public void apply(int from, int to) {
+ *         final VectorCursor cursor = new VectorCursor();
+ *         for (int row = from; row &lt; to; row++) {
+ *             ...
+ *         }
+ *     }
+ * });
+ * </pre>
+ *
+ * A procedure must only write state owned by its range, e.g., <code>dst[from, to)</code>.
+ */
+public final class Parallel {
+
+    private Parallel() {}
+
+    /**
+     * A procedure over <code>[from, to)</code> of an index range.
+     */
+    public abstract static class RangeProcedure {
+
+        public abstract void apply(@Nonnegative int from, @Nonnegative int to);
+
+    }
+
+    private static final class PoolHolder {
+        // worker threads of a ForkJoinPool are daemon threads
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * @return the shared pool with one worker per available processor
+     */
+    @Nonnull
+    public static ForkJoinPool pool() {
+        return PoolHolder.POOL;
+    }
+
+    /**
+     * @return the number of workers of {@link #pool()}
+     */
+    public static int parallelism() {
+        return pool().getParallelism();
+    }
+
+    /**
+     * Runs the procedure over <code>[from, to)</code> on {@link #pool()} in chunks of about 4 per
+     * worker.
+     */
+    public static void forEach(@Nonnegative final int from, @Nonnegative final int to,
+            @Nonnull final RangeProcedure procedure) {
+        final int grainSize = Math.max(1, (to - from) / (parallelism() * 4));
+        forEach(pool(), from, to, grainSize, procedure);
+    }
+
+    /**
+     * Runs the procedure over <code>[from, to)</code> by {@link #forEach(int, int, RangeProcedure)}
+     * if parallel, or at once in the calling thread otherwise.
+     */
+    public static void forEach(@Nonnegative final int from, @Nonnegative final int to,
+            @Nonnull final RangeProcedure procedure, final boolean parallel) {
+        if (parallel) {
+            forEach(from, to, procedure);
+        } else {
+            procedure.apply(from, to);
+        }
+    }
+
+    /**
+     * Runs the procedure over <code>[from, to)</code> split into chunks of at most grainSize
+     * indices. Returns after all of them complete, rethrowing the exception of a failed chunk.
+     */
+    public static void forEach(@Nonnull final ForkJoinPool pool, @Nonnegative final int from,
+            @Nonnegative final int to, @Nonnegative final int grainSize,
+            @Nonnull final RangeProcedure procedure) {
+        Preconditions.checkArgument(from <= to, "from (" + from + ") > to (" + to + ")");
+        Preconditions.checkArgument(grainSize > 0, "Invalid grainSize: " + grainSize);
+
+        if (to - from <= grainSize) {
+            procedure.apply(from, to);
+            return;
+        }
+        pool.invoke(new RangeAction(from, to, grainSize, procedure));
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 5325018447431683716L;
+
+        private final int from, to, grainSize;
+        @Nonnull
+        private final RangeProcedure procedure;
+
+        RangeAction(int from, int to, int grainSize, @Nonnull RangeProcedure procedure) {
+            this.from = from;
+            this.to = to;
+            this.grainSize = grainSize;
+            this.procedure = procedure;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grainSize) {
+                procedure.apply(from, to);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, mid, grainSize, procedure),
+                new RangeAction(mid, to, grainSize, procedure));
+        }
+    }
+
+}
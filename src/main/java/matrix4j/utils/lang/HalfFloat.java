@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.utils.lang;
+
+/**
+ * Conversions between float and 16-bit floating point formats (IEEE 754 binary16 and bfloat16).
+ *
+ * Both encoders round to nearest even.
+ *
+ * @link https://en.wikipedia.org/wiki/Half-precision_floating-point_format
+ * @link https://en.wikipedia.org/wiki/Bfloat16_floating-point_format
+ */
+public final class HalfFloat {
+
+    /** The largest finite value of binary16 */
+    public static final float MAX_VALUE = 65504.f;
+
+    private HalfFloat() {}
+
+    public static float halfToFloat(final short half) {
+        final int h = half & 0xffff;
+        final int sign = (h & 0x8000) << 16;
+        final int exp = (h >>> 10) & 0x1f;
+        final int mantissa = h & 0x3ff;
+
+        if (exp == 0) {
+            if (mantissa == 0) {
+                return Float.intBitsToFloat(sign); // +/- zero
+            }
+            // subnormal: mantissa * 2^-24
+            float f = mantissa * 5.9604645E-8f;
+            return (sign == 0) ? f : -f;
+        } else if (exp == 0x1f) {
+            // Inf or NaN
+            return Float.intBitsToFloat(sign | 0x7f800000 | (mantissa << 13));
+        }
+        return Float.intBitsToFloat(sign | ((exp + 112) << 23) | (mantissa << 13));
+    }
+
+    public static short floatToHalf(final float f) {
+        final int bits = Float.floatToRawIntBits(f);
+        final int sign = (bits >>> 16) & 0x8000;
+        final int val = bits & 0x7fffffff;
+
+        if (val >= 0x7f800000) {// Inf or NaN
+            if (val == 0x7f800000) {
+                return (short) (sign | 0x7c00);
+            }
+            return (short) (sign | 0x7e00 | ((val >>> 13) & 0x3ff));
+        }
+        if (val >= 0x477ff000) {// overflows to Inf
+            return (short) (sign | 0x7c00);
+        }
+        if (val < 0x38800000) {// subnormal or zero in binary16
+            if (val < 0x33000000) {// less than 2^-25
+                return (short) sign;
+            }
+            final int exp = val >>> 23;
+            final int mantissa = (val & 0x7fffff) | 0x800000;
+            final int shift = 126 - exp;
+            int h = mantissa >>> shift;
+            final int rem = mantissa & ((1 << shift) - 1);
+            final int halfway = 1 << (shift - 1);
+            if (rem > halfway || (rem == halfway && (h & 1) != 0)) {
+                h++;
+            }
+            return (short) (sign | h);
+        }
+
+        // rebias exponent from 127 to 15
+        int h = (val - 0x38000000) >>> 13;
+        final int rem = val & 0x1fff;
+        if (rem > 0x1000 || (rem == 0x1000 && (h & 1) != 0)) {
+            h++; // may carry into the exponent, which is the correct rounding
+        }
+        return (short) (sign | h);
+    }
+
+    public static float bfloat16ToFloat(final short bf16) {
+        return Float.intBitsToFloat((bf16 & 0xffff) << 16);
+    }
+
+    public static short floatToBFloat16(final float f) {
+        final int bits = Float.floatToRawIntBits(f);
+        if ((bits & 0x7fffffff) > 0x7f800000) {// keep NaN quiet
+            return (short) ((bits >>> 16) | 0x40);
+        }
+        final int rounding = 0x7fff + ((bits >>> 16) & 1);
+        return (short) ((bits + rounding) >>> 16);
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.utils.lang;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+/**
+ * Estimates of retained heap sizes assuming a 64-bit HotSpot JVM with compressed oops, i.e., a
+ * 12-byte object header, a 16-byte array header, 4-byte references and 8-byte alignment.
+ */
+public final class SizeOf {
+
+    public static final int OBJECT_HEADER = 12;
+    public static final int ARRAY_HEADER = 16;
+    public static final int REFERENCE = 4;
+    public static final int ALIGNMENT = 8;
+
+    private SizeOf() {}
+
+    public static long align(@Nonnegative final long bytes) {
+        return (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * @return shallow size of an object having the given fields
+     */
+    public static long object(@Nonnegative final int numReferences,
+            @Nonnegative final int primitiveBytes) {
+        return align(OBJECT_HEADER + (long) numReferences * REFERENCE + primitiveBytes);
+    }
+
+    public static long array(@Nonnegative final long length, @Nonnegative final int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    public static long sizeOf(@Nullable final byte[] array) {
+        return (array == null) ? 0L : array(array.length, 1);
+    }
+
+    public static long sizeOf(@Nullable final short[] array) {
+        return (array == null) ? 0L : array(array.length, 2);
+    }
+
+    public static long sizeOf(@Nullable final int[] array) {
+        return (array == null) ? 0L : array(array.length, 4);
+    }
+
+    public static long sizeOf(@Nullable final float[] array) {
+        return (array == null) ? 0L : array(array.length, 4);
+    }
+
+    public static long sizeOf(@Nullable final long[] array) {
+        return (array == null) ? 0L : array(array.length, 8);
+    }
+
+    public static long sizeOf(@Nullable final double[] array) {
+        return (array == null) ? 0L : array(array.length, 8);
+    }
+
+    /**
+     * @return size of the outer array and its non-null rows
+     */
+    public static long sizeOf(@Nullable final short[][] array) {
+        if (array == null) {
+            return 0L;
+        }
+        long bytes = array(array.length, REFERENCE);
+        for (short[] row : array) {
+            bytes += sizeOf(row);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return size of the outer array and its non-null rows
+     */
+    public static long sizeOf(@Nullable final int[][] array) {
+        if (array == null) {
+            return 0L;
+        }
+        long bytes = array(array.length, REFERENCE);
+        for (int[] row : array) {
+            bytes += sizeOf(row);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return size of the outer array and its non-null rows
+     */
+    public static long sizeOf(@Nullable final double[][] array) {
+        if (array == null) {
+            return 0L;
+        }
+        long bytes = array(array.length, REFERENCE);
+        for (double[] row : array) {
+            bytes += sizeOf(row);
+        }
+        return bytes;
+    }
+
+}
@@ -15,6 +15,8 @@
  */
 package matrix4j.vector;
 
+import matrix4j.utils.lang.SizeOf;
+
 import java.util.Arrays;
 
 import javax.annotation.Nonnegative;
@@ -38,6 +40,11 @@ public final class DenseFloatVector extends AbstractVector {
         this.size = values.length;
     }
 
+    @Nonnull
+    public float[] getValues() {
+        return values;
+    }
+
     @Override
     public float get(@Nonnegative final int index, final float defaultValue) {
         checkIndex(index);
@@ -91,6 +98,14 @@ public final class DenseFloatVector extends AbstractVector {
         return size;
     }
 
+    /**
+     * @return the estimated number of bytes retained by this vector
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 4) + SizeOf.sizeOf(values);
+    }
+
     @Override
     public void clear() {
         Arrays.fill(values, 0.f);
@@ -15,6 +15,8 @@
  */
 package matrix4j.vector;
 
+import matrix4j.utils.lang.SizeOf;
+
 import java.util.Arrays;
 
 import javax.annotation.Nonnegative;
@@ -38,6 +40,11 @@ public final class DenseVector extends AbstractVector {
         this.size = values.length;
     }
 
+    @Nonnull
+    public double[] getValues() {
+        return values;
+    }
+
     @Override
     public double get(@Nonnegative final int index, final double defaultValue) {
         checkIndex(index);
@@ -74,6 +81,14 @@ public final class DenseVector extends AbstractVector {
         return size;
     }
 
+    /**
+     * @return the estimated number of bytes retained by this vector
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 4) + SizeOf.sizeOf(values);
+    }
+
     @Override
     public void clear() {
         Arrays.fill(values, 0.d);
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.vector;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A pull-style cursor over the stored (index, float value) entries of a row or a column.
+ *
+ * A cursor is either a zero-copy view of <code>values[offset, offset + length)</code> of the
+ * underlying storage, or a slice of buffers owned by the cursor. When {@link #indices()} is null,
+ * the slice is dense and the index of an entry is its position relative to {@link #offset()}.
+ *
+ * <pre>
+ * FloatVectorCursor cursor = new FloatVectorCursor();
+ * for (int row = 0; row &lt; matrix.numRows(); row++) {
+ *     matrix.getRow(row, cursor);
+ *     while (cursor.next()) {
+ *         sum += cursor.value() * w[cursor.index()];
+ *     }
+ * }
+ * </pre>
+ */
+@NotThreadSafe
+public final class FloatVectorCursor {
+
+    @Nullable
+    private int[] indices;
+    @Nonnull
+    private float[] values;
+    private int offset;
+    private int end;
+    private int pos;
+
+    @Nonnull
+    private int[] indexBuffer;
+    @Nonnull
+    private float[] valueBuffer;
+
+    public FloatVectorCursor() {
+        this(16);
+    }
+
+    public FloatVectorCursor(@Nonnegative int initialCapacity) {
+        this.indexBuffer = new int[initialCapacity];
+        this.valueBuffer = new float[initialCapacity];
+        clear();
+    }
+
+    /**
+     * Points this cursor to the given storage without copying it.
+     *
+     * @param indices null for a dense slice
+     */
+    @Nonnull
+    public FloatVectorCursor view(@Nullable final int[] indices, @Nonnull final float[] values,
+            @Nonnegative final int offset, @Nonnegative final int length) {
+        this.indices = indices;
+        this.values = values;
+        this.offset = offset;
+        this.end = offset + length;
+        this.pos = offset - 1;
+        return this;
+    }
+
+    /**
+     * Resets this cursor to an empty slice of its own buffers to be filled by
+     * {@link #append(int, float)}.
+     */
+    @Nonnull
+    public FloatVectorCursor clear() {
+        return view(indexBuffer, valueBuffer, 0, 0);
+    }
+
+    /**
+     * Appends an entry to the buffers owned by this cursor. Must be preceded by {@link #clear()}.
+     */
+    public void append(@Nonnegative final int index, final float value) {
+        if (end == indexBuffer.length) {
+            final int newCapacity = Math.max(16, end * 2);
+            this.indexBuffer = Arrays.copyOf(indexBuffer, newCapacity);
+            this.valueBuffer = Arrays.copyOf(valueBuffer, newCapacity);
+            this.indices = indexBuffer;
+            this.values = valueBuffer;
+        }
+        indexBuffer[end] = index;
+        valueBuffer[end] = value;
+        end++;
+    }
+
+    /**
+     * Moves this cursor to the next entry.
+     *
+     * @return false if there are no more entries
+     */
+    public boolean next() {
+        if (pos + 1 >= end) {
+            return false;
+        }
+        pos++;
+        return true;
+    }
+
+    public int index() {
+        return (indices == null) ? pos - offset : indices[pos];
+    }
+
+    public float value() {
+        return values[pos];
+    }
+
+    /**
+     * Moves this cursor back to the first entry.
+     */
+    public void rewind() {
+        this.pos = offset - 1;
+    }
+
+    public boolean isDense() {
+        return indices == null;
+    }
+
+    /**
+     * @return null for a dense slice
+     */
+    @Nullable
+    public int[] indices() {
+        return indices;
+    }
+
+    @Nonnull
+    public float[] values() {
+        return values;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int length() {
+        return end - offset;
+    }
+
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.vector;
+
+import matrix4j.utils.collections.arrays.SparseDoubleArray;
+import matrix4j.utils.lang.ArrayUtils;
+import matrix4j.utils.lang.Preconditions;
+import matrix4j.utils.lang.SizeOf;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * A sparse vector backed by an open-addressing (linear probing) hash table for random-access
+ * accumulation, e.g., of gradients.
+ *
+ * {@link #incr(int, double)} and {@link #set(int, double)} are O(1) on average. Slots are marked as
+ * used by a generation stamp, so that {@link #clear()} is O(1) without touching the table. Use
+ * {@link #compact(int[], double[])} or {@link #toSparseVector()} to get entries sorted by index.
+ */
+public final class HashSparseVector extends AbstractVector {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    @Nonnull
+    private int[] keys;
+    @Nonnull
+    private double[] values;
+    /** the slot is used iff stamps[slot] == generation */
+    @Nonnull
+    private int[] stamps;
+    /** used slots in insertion order */
+    @Nonnull
+    private int[] slots;
+
+    private int generation;
+    private int mask;
+    private int threshold;
+    @Nonnegative
+    private int size;
+
+    public HashSparseVector() {
+        this(16);
+    }
+
+    public HashSparseVector(@Nonnegative int expectedSize) {
+        super();
+        Preconditions.checkArgument(expectedSize >= 0, "Invalid expectedSize: " + expectedSize);
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private void allocate(@Nonnegative final int capacity) {
+        this.keys = new int[capacity];
+        this.values = new double[capacity];
+        this.stamps = new int[capacity];
+        this.slots = new int[(int) (capacity * LOAD_FACTOR) + 1];
+        this.generation = 1;
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+        this.size = 0;
+    }
+
+    @Override
+    public double get(@Nonnegative final int index, final double defaultValue) {
+        checkIndex(index);
+
+        final int slot = findSlot(index);
+        if (stamps[slot] != generation) {
+            return defaultValue;
+        }
+        return values[slot];
+    }
+
+    @Override
+    public void set(@Nonnegative final int index, final double value) {
+        checkIndex(index);
+
+        final int slot = slotFor(index);
+        values[slot] = value;
+    }
+
+    @Override
+    public void incr(@Nonnegative final int index, final double delta) {
+        checkIndex(index);
+
+        final int slot = slotFor(index);
+        values[slot] += delta;
+    }
+
+    @Override
+    public void each(@Nonnull final VectorProcedure procedure) {
+        for (int i = 0; i < size; i++) {
+            final int slot = slots[i];
+            procedure.apply(keys[slot], values[slot]);
+        }
+    }
+
+    /**
+     * @return the number of stored entries
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the estimated number of bytes retained by this vector
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(4, 16) + SizeOf.sizeOf(keys) + SizeOf.sizeOf(values)
+                + SizeOf.sizeOf(stamps) + SizeOf.sizeOf(slots);
+    }
+
+    /**
+     * Removes all entries in O(1).
+     */
+    @Override
+    public void clear() {
+        this.size = 0;
+        if (++generation == 0) {// wrapped around
+            Arrays.fill(stamps, 0);
+            this.generation = 1;
+        }
+    }
+
+    @Override
+    public double[] toArray() {
+        int last = -1;
+        for (int i = 0; i < size; i++) {
+            last = Math.max(last, keys[slots[i]]);
+        }
+        final double[] array = new double[last + 1];
+        for (int i = 0; i < size; i++) {
+            final int slot = slots[i];
+            array[keys[slot]] = values[slot];
+        }
+        return array;
+    }
+
+    /**
+     * Copies the entries into the given arrays sorted by index.
+     *
+     * @return the number of entries written, i.e., {@link #size()}
+     */
+    public int compact(@Nonnull final int[] dstKeys, @Nonnull final double[] dstValues) {
+        Preconditions.checkArgument(dstKeys.length >= size,
+            "dstKeys.length (" + dstKeys.length + ") must be equals to or greater than " + size);
+        Preconditions.checkArgument(dstValues.length >= size, "dstValues.length ("
+                + dstValues.length + ") must be equals to or greater than " + size);
+
+        for (int i = 0; i < size; i++) {
+            final int slot = slots[i];
+            dstKeys[i] = keys[slot];
+            dstValues[i] = values[slot];
+        }
+        ArrayUtils.sort(dstKeys, dstValues, size);
+        return size;
+    }
+
+    @Nonnull
+    public SparseVector toSparseVector() {
+        final int[] sortedKeys = new int[size];
+        final double[] sortedValues = new double[size];
+        compact(sortedKeys, sortedValues);
+
+        final SparseDoubleArray array = new SparseDoubleArray(Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            array.append(sortedKeys[i], sortedValues[i]);
+        }
+        return new SparseVector(array);
+    }
+
+    /**
+     * @return the slot of the index, or the free slot where the index would be placed
+     */
+    private int findSlot(final int index) {
+        int slot = hash(index) & mask;
+        while (stamps[slot] == generation && keys[slot] != index) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * @return the slot of the index, inserting a zero entry if absent. Note that the table may be
+     *         reallocated.
+     */
+    private int slotFor(final int index) {
+        int slot = findSlot(index);
+        if (stamps[slot] == generation) {
+            return slot;
+        }
+        if (size >= threshold) {
+            rehash(keys.length << 1);
+            slot = findSlot(index);
+        }
+        stamps[slot] = generation;
+        keys[slot] = index;
+        values[slot] = 0.d;
+        slots[size++] = slot;
+        return slot;
+    }
+
+    private void rehash(@Nonnegative final int newCapacity) {
+        final int[] oldKeys = keys;
+        final double[] oldValues = values;
+        final int[] oldSlots = slots;
+        final int oldSize = size;
+
+        allocate(newCapacity);
+        for (int i = 0; i < oldSize; i++) {
+            final int oldSlot = oldSlots[i];
+            final int slot = findSlot(oldKeys[oldSlot]);
+            stamps[slot] = generation;
+            keys[slot] = oldKeys[oldSlot];
+            values[slot] = oldValues[oldSlot];
+            slots[size++] = slot;
+        }
+    }
+
+    private static int hash(final int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        final int required = (int) Math.ceil(expectedSize / LOAD_FACTOR) + 1;
+        return Math.max(16, Integer.highestOneBit(required - 1) << 1);
+    }
+
+}
@@ -16,6 +16,7 @@
 package matrix4j.vector;
 
 import matrix4j.utils.collections.arrays.SparseDoubleArray;
+import matrix4j.utils.lang.SizeOf;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -35,6 +36,11 @@ public final class SparseVector extends AbstractVector {
         this.values = values;
     }
 
+    @Nonnull
+    public SparseDoubleArray getValues() {
+        return values;
+    }
+
     @Override
     public double get(@Nonnegative final int index, final double defaultValue) {
         return values.get(index, defaultValue);
@@ -60,6 +66,14 @@ public final class SparseVector extends AbstractVector {
         return values.size();
     }
 
+    /**
+     * @return the estimated number of bytes retained by this vector
+     */
+    @Override
+    public long estimatedMemoryBytes() {
+        return SizeOf.object(1, 0) + values.estimatedMemoryBytes();
+    }
+
     @Override
     public void clear() {
         values.clear();
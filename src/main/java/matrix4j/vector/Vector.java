@@ -44,6 +44,11 @@ public interface Vector {
 
     public int size();
 
+    /**
+     * @return the estimated number of bytes retained by this vector on the heap
+     */
+    public long estimatedMemoryBytes();
+
     public void clear();
 
     @Nonnull
@@ -0,0 +1,699 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.vector;
+
+import matrix4j.utils.collections.arrays.SparseDoubleArray;
+import matrix4j.utils.collections.arrays.SparseFloatArray;
+import matrix4j.utils.lang.Preconditions;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Allocation-free arithmetic kernels over dense (<code>values[0, n)</code>) and sparse
+ * (<code>indices[0, size)</code> sorted in ascending order and <code>values[0, size)</code>)
+ * vectors.
+ */
+public final class VectorUtils {
+
+    /**
+     * Sparse-sparse dot product switches from merge join to binary search when one side has more
+     * than this times as many entries as the other.
+     */
+    private static final int GALLOP_RATIO = 16;
+
+    private VectorUtils() {}
+
+    // ------------------------------------------------
+    // dot
+
+    public static double dot(@Nonnull final double[] x, @Nonnull final double[] y,
+            @Nonnegative final int n) {
+        double s0 = 0.d, s1 = 0.d, s2 = 0.d, s3 = 0.d;
+        int i = 0;
+        for (final int last = n - 3; i < last; i += 4) {
+            s0 += x[i] * y[i];
+            s1 += x[i + 1] * y[i + 1];
+            s2 += x[i + 2] * y[i + 2];
+            s3 += x[i + 3] * y[i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += x[i] * y[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    public static float dot(@Nonnull final float[] x, @Nonnull final float[] y,
+            @Nonnegative final int n) {
+        float s0 = 0.f, s1 = 0.f, s2 = 0.f, s3 = 0.f;
+        int i = 0;
+        for (final int last = n - 3; i < last; i += 4) {
+            s0 += x[i] * y[i];
+            s1 += x[i + 1] * y[i + 1];
+            s2 += x[i + 2] * y[i + 2];
+            s3 += x[i + 3] * y[i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += x[i] * y[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Sparse-dense dot product.
+     */
+    public static double dot(@Nonnull final int[] xIndices, @Nonnull final double[] xValues,
+            @Nonnegative final int xSize, @Nonnull final double[] y) {
+        double s0 = 0.d, s1 = 0.d, s2 = 0.d, s3 = 0.d;
+        int i = 0;
+        for (final int last = xSize - 3; i < last; i += 4) {
+            s0 += xValues[i] * y[xIndices[i]];
+            s1 += xValues[i + 1] * y[xIndices[i + 1]];
+            s2 += xValues[i + 2] * y[xIndices[i + 2]];
+            s3 += xValues[i + 3] * y[xIndices[i + 3]];
+        }
+        for (; i < xSize; i++) {
+            s0 += xValues[i] * y[xIndices[i]];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Sparse-dense dot product.
+     */
+    public static float dot(@Nonnull final int[] xIndices, @Nonnull final float[] xValues,
+            @Nonnegative final int xSize, @Nonnull final float[] y) {
+        float s0 = 0.f, s1 = 0.f, s2 = 0.f, s3 = 0.f;
+        int i = 0;
+        for (final int last = xSize - 3; i < last; i += 4) {
+            s0 += xValues[i] * y[xIndices[i]];
+            s1 += xValues[i + 1] * y[xIndices[i + 1]];
+            s2 += xValues[i + 2] * y[xIndices[i + 2]];
+            s3 += xValues[i + 3] * y[xIndices[i + 3]];
+        }
+        for (; i < xSize; i++) {
+            s0 += xValues[i] * y[xIndices[i]];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Sparse-sparse dot product by merge join over sorted indices.
+     */
+    public static double dot(@Nonnull final int[] xIndices, @Nonnull final double[] xValues,
+            @Nonnegative final int xSize, @Nonnull final int[] yIndices,
+            @Nonnull final double[] yValues, @Nonnegative final int ySize) {
+        if (xSize > ySize) {
+            return dot(yIndices, yValues, ySize, xIndices, xValues, xSize);
+        }
+        if (xSize == 0) {
+            return 0.d;
+        }
+
+        double sum = 0.d;
+        if (ySize / GALLOP_RATIO > xSize) {
+            for (int i = 0, lo = 0; i < xSize && lo < ySize; i++) {
+                final int j = Arrays.binarySearch(yIndices, lo, ySize, xIndices[i]);
+                if (j >= 0) {
+                    sum += xValues[i] * yValues[j];
+                    lo = j + 1;
+                } else {
+                    lo = ~j;
+                }
+            }
+            return sum;
+        }
+
+        int i = 0, j = 0;
+        int xi = xIndices[0], yj = yIndices[0];
+        while (true) {
+            if (xi < yj) {
+                if (++i == xSize) {
+                    break;
+                }
+                xi = xIndices[i];
+            } else if (xi > yj) {
+                if (++j == ySize) {
+                    break;
+                }
+                yj = yIndices[j];
+            } else {
+                sum += xValues[i] * yValues[j];
+                if (++i == xSize || ++j == ySize) {
+                    break;
+                }
+                xi = xIndices[i];
+                yj = yIndices[j];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Sparse-sparse dot product by merge join over sorted indices.
+     */
+    public static float dot(@Nonnull final int[] xIndices, @Nonnull final float[] xValues,
+            @Nonnegative final int xSize, @Nonnull final int[] yIndices,
+            @Nonnull final float[] yValues, @Nonnegative final int ySize) {
+        if (xSize > ySize) {
+            return dot(yIndices, yValues, ySize, xIndices, xValues, xSize);
+        }
+        if (xSize == 0) {
+            return 0.f;
+        }
+
+        float sum = 0.f;
+        if (ySize / GALLOP_RATIO > xSize) {
+            for (int i = 0, lo = 0; i < xSize && lo < ySize; i++) {
+                final int j = Arrays.binarySearch(yIndices, lo, ySize, xIndices[i]);
+                if (j >= 0) {
+                    sum += xValues[i] * yValues[j];
+                    lo = j + 1;
+                } else {
+                    lo = ~j;
+                }
+            }
+            return sum;
+        }
+
+        int i = 0, j = 0;
+        int xi = xIndices[0], yj = yIndices[0];
+        while (true) {
+            if (xi < yj) {
+                if (++i == xSize) {
+                    break;
+                }
+                xi = xIndices[i];
+            } else if (xi > yj) {
+                if (++j == ySize) {
+                    break;
+                }
+                yj = yIndices[j];
+            } else {
+                sum += xValues[i] * yValues[j];
+                if (++i == xSize || ++j == ySize) {
+                    break;
+                }
+                xi = xIndices[i];
+                yj = yIndices[j];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Dot product of vectors of any representation. Dense and sparse double/float vectors use the
+     * array kernels, other vectors fall back to {@link Vector#each(VectorProcedure)}.
+     *
+     * @throws IllegalArgumentException if both vectors are dense and their lengths differ
+     * @throws IndexOutOfBoundsException if an entry of a sparse vector lies beyond the length of a
+     *         dense one
+     */
+    public static double dot(@Nonnull final Vector x, @Nonnull final Vector y) {
+        if (x instanceof SparseVector) {
+            final SparseDoubleArray xa = ((SparseVector) x).getValues();
+            if (y instanceof DenseVector) {
+                final double[] yv = ((DenseVector) y).getValues();
+                final int[] keys = xa.getKeys();
+                final int size = xa.size();
+                checkDenseBounds(keys, size, yv.length);
+                return dot(keys, xa.getValues(), size, yv);
+            } else if (y instanceof SparseVector) {
+                final SparseDoubleArray ya = ((SparseVector) y).getValues();
+                return dot(xa.getKeys(), xa.getValues(), xa.size(), ya.getKeys(), ya.getValues(),
+                    ya.size());
+            }
+        } else if (x instanceof SparseFloatVector) {
+            final SparseFloatArray xa = ((SparseFloatVector) x).getValues();
+            if (y instanceof DenseFloatVector) {
+                final float[] yv = ((DenseFloatVector) y).getValues();
+                final int[] keys = xa.getKeys();
+                final int size = xa.size();
+                checkDenseBounds(keys, size, yv.length);
+                return dot(keys, xa.getValues(), size, yv);
+            } else if (y instanceof SparseFloatVector) {
+                final SparseFloatArray ya = ((SparseFloatVector) y).getValues();
+                return dot(xa.getKeys(), xa.getValues(), xa.size(), ya.getKeys(), ya.getValues(),
+                    ya.size());
+            }
+        } else if (x instanceof DenseVector) {
+            final double[] xv = ((DenseVector) x).getValues();
+            if (y instanceof DenseVector) {
+                final double[] yv = ((DenseVector) y).getValues();
+                checkSameLength(xv.length, yv.length);
+                return dot(xv, yv, xv.length);
+            } else if (y instanceof SparseVector) {
+                return dot(y, x);
+            }
+        } else if (x instanceof DenseFloatVector) {
+            final float[] xv = ((DenseFloatVector) x).getValues();
+            if (y instanceof DenseFloatVector) {
+                final float[] yv = ((DenseFloatVector) y).getValues();
+                checkSameLength(xv.length, yv.length);
+                return dot(xv, yv, xv.length);
+            } else if (y instanceof SparseFloatVector) {
+                return dot(y, x);
+            }
+        }
+
+        if (isDense(x) && !isDense(y)) {
+            // iterate the sparse side so that its entries are checked against the dense length
+            return dot(y, x);
+        }
+        final int length;
+        if (isDense(y)) {
+            length = y.size();
+            if (isDense(x)) {
+                checkSameLength(x.size(), length);
+            }
+        } else {
+            length = Integer.MAX_VALUE;
+        }
+        final DotProcedure proc = new DotProcedure(y, length);
+        x.each(proc);
+        return proc.sum;
+    }
+
+    private static final class DotProcedure extends VectorProcedure {
+
+        @Nonnull
+        private final Vector y;
+        private final int length;
+
+        private double sum;
+
+        DotProcedure(@Nonnull Vector y, @Nonnegative int length) {
+            super();
+            this.y = y;
+            this.length = length;
+        }
+
+        @Override
+        public void apply(final int i, final double value) {
+            if (i >= length) {
+                throw new IndexOutOfBoundsException("Index " + i + " out of bounds " + length);
+            }
+            if (value != 0.d) {
+                sum += value * y.get(i);
+            }
+        }
+
+    }
+
+    // ------------------------------------------------
+    // axpy
+
+    /**
+     * y += a * x
+     */
+    public static void axpy(final double a, @Nonnull final double[] x, @Nonnull final double[] y,
+            @Nonnegative final int n) {
+        int i = 0;
+        for (final int last = n - 3; i < last; i += 4) {
+            y[i] += a * x[i];
+            y[i + 1] += a * x[i + 1];
+            y[i + 2] += a * x[i + 2];
+            y[i + 3] += a * x[i + 3];
+        }
+        for (; i < n; i++) {
+            y[i] += a * x[i];
+        }
+    }
+
+    /**
+     * y += a * x
+     */
+    public static void axpy(final float a, @Nonnull final float[] x, @Nonnull final float[] y,
+            @Nonnegative final int n) {
+        int i = 0;
+        for (final int last = n - 3; i < last; i += 4) {
+            y[i] += a * x[i];
+            y[i + 1] += a * x[i + 1];
+            y[i + 2] += a * x[i + 2];
+            y[i + 3] += a * x[i + 3];
+        }
+        for (; i < n; i++) {
+            y[i] += a * x[i];
+        }
+    }
+
+    /**
+     * y += a * x where x is sparse and y is dense.
+     */
+    public static void axpy(final double a, @Nonnull final int[] xIndices,
+            @Nonnull final double[] xValues, @Nonnegative final int xSize,
+            @Nonnull final double[] y) {
+        int i = 0;
+        for (final int last = xSize - 3; i < last; i += 4) {
+            y[xIndices[i]] += a * xValues[i];
+            y[xIndices[i + 1]] += a * xValues[i + 1];
+            y[xIndices[i + 2]] += a * xValues[i + 2];
+            y[xIndices[i + 3]] += a * xValues[i + 3];
+        }
+        for (; i < xSize; i++) {
+            y[xIndices[i]] += a * xValues[i];
+        }
+    }
+
+    /**
+     * y += a * x where x is sparse and y is dense.
+     */
+    public static void axpy(final float a, @Nonnull final int[] xIndices,
+            @Nonnull final float[] xValues, @Nonnegative final int xSize,
+            @Nonnull final float[] y) {
+        int i = 0;
+        for (final int last = xSize - 3; i < last; i += 4) {
+            y[xIndices[i]] += a * xValues[i];
+            y[xIndices[i + 1]] += a * xValues[i + 1];
+            y[xIndices[i + 2]] += a * xValues[i + 2];
+            y[xIndices[i + 3]] += a * xValues[i + 3];
+        }
+        for (; i < xSize; i++) {
+            y[xIndices[i]] += a * xValues[i];
+        }
+    }
+
+    /**
+     * y += a * x
+     */
+    public static void axpy(final double a, @Nonnull final Vector x, @Nonnull final Vector y) {
+        if (a == 0.d) {
+            return;
+        }
+        if (y instanceof DenseVector) {
+            final double[] yv = ((DenseVector) y).getValues();
+            if (x instanceof DenseVector) {
+                final double[] xv = ((DenseVector) x).getValues();
+                Preconditions.checkArgument(xv.length <= yv.length,
+                    "|x| " + xv.length + " must be less than or equal to |y| " + yv.length);
+                axpy(a, xv, yv, xv.length);
+                return;
+            } else if (x instanceof SparseVector) {
+                final SparseDoubleArray xa = ((SparseVector) x).getValues();
+                final int[] keys = xa.getKeys();
+                final int size = xa.size();
+                checkDenseBounds(keys, size, yv.length);
+                axpy(a, keys, xa.getValues(), size, yv);
+                return;
+            }
+        } else if (y instanceof DenseFloatVector) {
+            final float[] yv = ((DenseFloatVector) y).getValues();
+            if (x instanceof DenseFloatVector) {
+                final float[] xv = ((DenseFloatVector) x).getValues();
+                Preconditions.checkArgument(xv.length <= yv.length,
+                    "|x| " + xv.length + " must be less than or equal to |y| " + yv.length);
+                axpy((float) a, xv, yv, xv.length);
+                return;
+            } else if (x instanceof SparseFloatVector) {
+                final SparseFloatArray xa = ((SparseFloatVector) x).getValues();
+                final int[] keys = xa.getKeys();
+                final int size = xa.size();
+                checkDenseBounds(keys, size, yv.length);
+                axpy((float) a, keys, xa.getValues(), size, yv);
+                return;
+            }
+        }
+
+        x.each(new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                if (value != 0.d) {
+                    y.incr(i, a * value);
+                }
+            }
+        });
+    }
+
+    // ------------------------------------------------
+    // scale
+
+    /**
+     * x *= a
+     */
+    public static void scale(final double a, @Nonnull final double[] x, @Nonnegative final int n) {
+        int i = 0;
+        for (final int last = n - 3; i < last; i += 4) {
+            x[i] *= a;
+            x[i + 1] *= a;
+            x[i + 2] *= a;
+            x[i + 3] *= a;
+        }
+        for (; i < n; i++) {
+            x[i] *= a;
+        }
+    }
+
+    /**
+     * x *= a
+     */
+    public static void scale(final float a, @Nonnull final float[] x, @Nonnegative final int n) {
+        int i = 0;
+        for (final int last = n - 3; i < last; i += 4) {
+            x[i] *= a;
+            x[i + 1] *= a;
+            x[i + 2] *= a;
+            x[i + 3] *= a;
+        }
+        for (; i < n; i++) {
+            x[i] *= a;
+        }
+    }
+
+    /**
+     * x *= a
+     */
+    public static void scale(final double a, @Nonnull final Vector x) {
+        if (x instanceof DenseVector) {
+            final double[] v = ((DenseVector) x).getValues();
+            scale(a, v, v.length);
+        } else if (x instanceof SparseVector) {
+            final SparseDoubleArray array = ((SparseVector) x).getValues();
+            scale(a, array.getValues(), array.size());
+        } else if (x instanceof DenseFloatVector) {
+            final float[] v = ((DenseFloatVector) x).getValues();
+            scale((float) a, v, v.length);
+        } else if (x instanceof SparseFloatVector) {
+            final SparseFloatArray array = ((SparseFloatVector) x).getValues();
+            scale((float) a, array.getValues(), array.size());
+        } else {
+            x.each(new VectorProcedure() {
+                @Override
+                public void apply(final int i, final double value) {
+                    if (value != 0.d) {
+                        x.set(i, a * value);
+                    }
+                }
+            });
+        }
+    }
+
+    // ------------------------------------------------
+    // norms
+
+    /**
+     * @return sum of absolute values
+     */
+    public static double norm1(@Nonnull final double[] x, @Nonnegative final int n) {
+        double s0 = 0.d, s1 = 0.d, s2 = 0.d, s3 = 0.d;
+        int i = 0;
+        for (final int last = n - 3; i < last; i += 4) {
+            s0 += Math.abs(x[i]);
+            s1 += Math.abs(x[i + 1]);
+            s2 += Math.abs(x[i + 2]);
+            s3 += Math.abs(x[i + 3]);
+        }
+        for (; i < n; i++) {
+            s0 += Math.abs(x[i]);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * @return sum of absolute values
+     */
+    public static double norm1(@Nonnull final float[] x, @Nonnegative final int n) {
+        double s0 = 0.d, s1 = 0.d, s2 = 0.d, s3 = 0.d;
+        int i = 0;
+        for (final int last = n - 3; i < last; i += 4) {
+            s0 += Math.abs(x[i]);
+            s1 += Math.abs(x[i + 1]);
+            s2 += Math.abs(x[i + 2]);
+            s3 += Math.abs(x[i + 3]);
+        }
+        for (; i < n; i++) {
+            s0 += Math.abs(x[i]);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * @return euclidean norm without guarding against overflow of the sum of squares
+     */
+    public static double norm2(@Nonnull final double[] x, @Nonnegative final int n) {
+        return Math.sqrt(dot(x, x, n));
+    }
+
+    /**
+     * @return euclidean norm without guarding against overflow of the sum of squares
+     */
+    public static double norm2(@Nonnull final float[] x, @Nonnegative final int n) {
+        double s0 = 0.d, s1 = 0.d, s2 = 0.d, s3 = 0.d;
+        int i = 0;
+        for (final int last = n - 3; i < last; i += 4) {
+            final double x0 = x[i], x1 = x[i + 1], x2 = x[i + 2], x3 = x[i + 3];
+            s0 += x0 * x0;
+            s1 += x1 * x1;
+            s2 += x2 * x2;
+            s3 += x3 * x3;
+        }
+        for (; i < n; i++) {
+            final double xi = x[i];
+            s0 += xi * xi;
+        }
+        return Math.sqrt((s0 + s1) + (s2 + s3));
+    }
+
+    /**
+     * @return maximum absolute value
+     */
+    public static double normInf(@Nonnull final double[] x, @Nonnegative final int n) {
+        double m0 = 0.d, m1 = 0.d;
+        int i = 0;
+        for (final int last = n - 1; i < last; i += 2) {
+            m0 = Math.max(m0, Math.abs(x[i]));
+            m1 = Math.max(m1, Math.abs(x[i + 1]));
+        }
+        if (i < n) {
+            m0 = Math.max(m0, Math.abs(x[i]));
+        }
+        return Math.max(m0, m1);
+    }
+
+    /**
+     * @return maximum absolute value
+     */
+    public static double normInf(@Nonnull final float[] x, @Nonnegative final int n) {
+        float m0 = 0.f, m1 = 0.f;
+        int i = 0;
+        for (final int last = n - 1; i < last; i += 2) {
+            m0 = Math.max(m0, Math.abs(x[i]));
+            m1 = Math.max(m1, Math.abs(x[i + 1]));
+        }
+        if (i < n) {
+            m0 = Math.max(m0, Math.abs(x[i]));
+        }
+        return Math.max(m0, m1);
+    }
+
+    public static double norm1(@Nonnull final Vector x) {
+        if (x instanceof DenseVector) {
+            final double[] v = ((DenseVector) x).getValues();
+            return norm1(v, v.length);
+        } else if (x instanceof SparseVector) {
+            final SparseDoubleArray array = ((SparseVector) x).getValues();
+            return norm1(array.getValues(), array.size());
+        } else if (x instanceof DenseFloatVector) {
+            final float[] v = ((DenseFloatVector) x).getValues();
+            return norm1(v, v.length);
+        } else if (x instanceof SparseFloatVector) {
+            final SparseFloatArray array = ((SparseFloatVector) x).getValues();
+            return norm1(array.getValues(), array.size());
+        }
+
+        final double[] sum = new double[1];
+        x.each(new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                sum[0] += Math.abs(value);
+            }
+        });
+        return sum[0];
+    }
+
+    public static double norm2(@Nonnull final Vector x) {
+        if (x instanceof DenseVector) {
+            final double[] v = ((DenseVector) x).getValues();
+            return norm2(v, v.length);
+        } else if (x instanceof SparseVector) {
+            final SparseDoubleArray array = ((SparseVector) x).getValues();
+            return norm2(array.getValues(), array.size());
+        } else if (x instanceof DenseFloatVector) {
+            final float[] v = ((DenseFloatVector) x).getValues();
+            return norm2(v, v.length);
+        } else if (x instanceof SparseFloatVector) {
+            final SparseFloatArray array = ((SparseFloatVector) x).getValues();
+            return norm2(array.getValues(), array.size());
+        }
+
+        final double[] sum = new double[1];
+        x.each(new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                sum[0] += value * value;
+            }
+        });
+        return Math.sqrt(sum[0]);
+    }
+
+    public static double normInf(@Nonnull final Vector x) {
+        if (x instanceof DenseVector) {
+            final double[] v = ((DenseVector) x).getValues();
+            return normInf(v, v.length);
+        } else if (x instanceof SparseVector) {
+            final SparseDoubleArray array = ((SparseVector) x).getValues();
+            return normInf(array.getValues(), array.size());
+        } else if (x instanceof DenseFloatVector) {
+            final float[] v = ((DenseFloatVector) x).getValues();
+            return normInf(v, v.length);
+        } else if (x instanceof SparseFloatVector) {
+            final SparseFloatArray array = ((SparseFloatVector) x).getValues();
+            return normInf(array.getValues(), array.size());
+        }
+
+        final double[] max = new double[1];
+        x.each(new VectorProcedure() {
+            @Override
+            public void apply(final int i, final double value) {
+                max[0] = Math.max(max[0], Math.abs(value));
+            }
+        });
+        return max[0];
+    }
+
+    // ------------------------------------------------
+    // helpers
+
+    private static boolean isDense(@Nonnull final Vector x) {
+        return x instanceof DenseVector || x instanceof DenseFloatVector;
+    }
+
+    private static void checkSameLength(@Nonnegative final int xLength,
+            @Nonnegative final int yLength) {
+        Preconditions.checkArgument(xLength == yLength,
+            "|x| " + xLength + " must be equal to |y| " + yLength);
+    }
+
+    private static void checkDenseBounds(@Nonnull final int[] sortedIndices,
+            @Nonnegative final int size, @Nonnegative final int length) {
+        if (size > 0 && (sortedIndices[0] < 0 || sortedIndices[size - 1] >= length)) {
+            throw new IndexOutOfBoundsException(
+                "Index " + sortedIndices[size - 1] + " out of bounds " + length);
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix;
+
+import matrix4j.matrix.dense.RowMajorDenseMatrix2d;
+import matrix4j.matrix.sparse.CSCMatrix;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.DoKMatrix;
+import matrix4j.utils.collections.maps.Long2DoubleOpenHashTable;
+import matrix4j.utils.lang.SizeOf;
+import matrix4j.vector.DenseVector;
+import matrix4j.vector.SparseVector;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MatrixFormatTest {
+
+    @Test
+    public void testSizeOf() {
+        Assert.assertEquals(16L, SizeOf.sizeOf(new int[0]));
+        Assert.assertEquals(24L, SizeOf.sizeOf(new int[1]));
+        Assert.assertEquals(24L, SizeOf.sizeOf(new int[2]));
+        Assert.assertEquals(32L, SizeOf.sizeOf(new double[2]));
+        Assert.assertEquals(0L, SizeOf.sizeOf((double[]) null));
+        Assert.assertEquals(16L + 8L + 32L, SizeOf.sizeOf(new double[][] {new double[2], null}));
+        Assert.assertEquals(16L, SizeOf.object(0, 1));
+    }
+
+    @Test
+    public void testEstimatedMemoryBytes() {
+        CSRMatrix csr = new CSRMatrix(new int[] {0, 2, 3, 4}, new int[] {0, 2, 1, 2},
+            new double[] {1, 2, 3, 4}, 3);
+        Assert.assertEquals(40L + 32L + 32L + 48L, csr.estimatedMemoryBytes());
+        Assert.assertEquals(MatrixFormat.CSR.estimateMemoryBytes(3, 3, 4),
+            csr.estimatedMemoryBytes());
+
+        CSCMatrix csc = csr.toColumnMajorMatrix();
+        Assert.assertEquals(MatrixFormat.CSC.estimateMemoryBytes(3, 3, 4),
+            csc.estimatedMemoryBytes());
+
+        RowMajorDenseMatrix2d dense =
+                new RowMajorDenseMatrix2d(new double[][] {{1, 2, 3}, null, {4, 5, 6}}, 3);
+        Assert.assertEquals(
+            MatrixFormat.DENSE_ROW_MAJOR.estimateMemoryBytes(3, 3, 6) - SizeOf.array(3, 8),
+            dense.estimatedMemoryBytes());
+
+        DoKMatrix dok = new DoKMatrix(100000);
+        Long2DoubleOpenHashTable table = new Long2DoubleOpenHashTable(100000);
+        Assert.assertTrue(table.estimatedMemoryBytes() > 100000L * 17);
+        Assert.assertTrue(dok.estimatedMemoryBytes() > table.estimatedMemoryBytes());
+
+        SparseVector sparse = new SparseVector();
+        DenseVector vec = new DenseVector(new double[10]);
+        Assert.assertEquals(SizeOf.object(1, 4) + 96L, vec.estimatedMemoryBytes());
+        Assert.assertTrue(sparse.estimatedMemoryBytes() > 0L);
+    }
+
+    @Test
+    public void testRecommend() {
+        Assert.assertEquals(MatrixFormat.CSR, MatrixFormat.recommend(1000, 1000, 5000, true));
+        Assert.assertEquals(MatrixFormat.CSC, MatrixFormat.recommend(1000, 1000, 5000, false));
+        Assert.assertEquals(MatrixFormat.DENSE_ROW_MAJOR,
+            MatrixFormat.recommend(1000, 1000, 900000, true));
+        Assert.assertEquals(MatrixFormat.DENSE_COLUMN_MAJOR,
+            MatrixFormat.recommend(1000, 1000, 900000, false));
+        // 12 bytes per non-zero vs. 8 bytes per cell
+        Assert.assertEquals(MatrixFormat.CSR, MatrixFormat.recommend(100, 100, 6000, true));
+        Assert.assertEquals(MatrixFormat.DENSE_ROW_MAJOR,
+            MatrixFormat.recommend(100, 100, 7000, true));
+
+        CSRMatrix csr = new CSRMatrix(new int[] {0, 1, 1}, new int[] {0}, new double[] {1}, 100);
+        Assert.assertEquals(MatrixFormat.CSR, MatrixFormat.recommend(csr));
+        Assert.assertEquals(MatrixFormat.CSC, MatrixFormat.recommend(csr.toColumnMajorMatrix()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecommendInvalidNnz() {
+        MatrixFormat.recommend(10, 10, 101, true);
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix;
+
+import matrix4j.matrix.MatrixReductions.Reduction;
+import matrix4j.matrix.dense.ColumnMajorDenseMatrix2d;
+import matrix4j.matrix.dense.RowMajorDenseMatrix2d;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.DoKMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+import matrix4j.matrix.sparse.floats.DoKFloatMatrix;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MatrixReductionsTest {
+
+    @Test
+    public void testReductions() {
+        final int numRows = 53, numCols = 29;
+        final Random rnd = new Random(53L);
+        final double[][] dense = new double[numRows][numCols];
+        final double[][] columns = new double[numCols][numRows];
+        final DoKMatrix dok = new DoKMatrix(numRows, numCols);
+        final DoKFloatMatrix dokFloat = new DoKFloatMatrix(numRows, numCols);
+        for (int row = 0; row < numRows; row++) {
+            // row 0 is empty, row 1 is full, and the others are sparse
+            final int sparsity = (row == 1) ? 1 : 4;
+            for (int col = 0; col < numCols; col++) {
+                if (row > 0 && rnd.nextInt(sparsity) == 0) {
+                    // exactly representable in float with some negative rows
+                    double v = (rnd.nextInt(40) - 10) * 0.25d;
+                    v = (v == 0.d) ? 1.d : v;
+                    v = (row % 5 == 2) ? -Math.abs(v) : v;
+                    dense[row][col] = v;
+                    columns[col][row] = v;
+                    dok.set(row, col, v);
+                    dokFloat.set(row, col, (float) v);
+                }
+            }
+        }
+        final CSRMatrix csr = MatrixTestUtils.toCSRMatrix(dense, null);
+        final CSRFloatMatrix csrFloat = MatrixTestUtils.toFloat(csr);
+
+        final Matrix[] matrices = new Matrix[] {csr, csr.toColumnMajorMatrix(), dok,
+                new RowMajorDenseMatrix2d(dense, numCols),
+                new ColumnMajorDenseMatrix2d(columns, numRows), csrFloat,
+                csrFloat.toColumnMajorMatrix(), dokFloat};
+        for (Matrix matrix : matrices) {
+            for (Reduction reduction : Reduction.values()) {
+                final String msg = matrix.getClass().getSimpleName() + " " + reduction;
+                final double[] rowDst = new double[numRows + 1];
+                Assert.assertSame(rowDst, MatrixReductions.reduceRows(matrix, reduction, rowDst));
+                for (int row = 0; row < numRows; row++) {
+                    Assert.assertEquals(msg, reduce(dense[row], reduction), rowDst[row], 1E-9);
+                }
+                final double[] colDst = MatrixReductions.reduceColumns(matrix, reduction);
+                Assert.assertEquals(numCols, colDst.length);
+                for (int col = 0; col < numCols; col++) {
+                    double[] column = new double[numRows];
+                    for (int row = 0; row < numRows; row++) {
+                        column[row] = dense[row][col];
+                    }
+                    Assert.assertEquals(msg, reduce(column, reduction), colDst[col], 1E-9);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBufferTooShort() {
+        MatrixReductions.reduceColumns(new DoKMatrix(2, 3), Reduction.SUM, new double[2]);
+    }
+
+    private static double reduce(final double[] values, final Reduction reduction) {
+        double sum = 0.d, abs = 0.d, sq = 0.d, nnz = 0.d;
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            abs += Math.abs(v);
+            sq += v * v;
+            nnz += (v != 0.d) ? 1 : 0;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        final double mean = sum / values.length;
+        switch (reduction) {
+            case SUM:
+                return sum;
+            case MEAN:
+                return mean;
+            case MIN:
+                return min;
+            case MAX:
+                return max;
+            case L1_NORM:
+                return abs;
+            case L2_NORM:
+                return Math.sqrt(sq);
+            case NNZ:
+                return nnz;
+            case VARIANCE: {
+                double var = 0.d;
+                for (double v : values) {
+                    var += (v - mean) * (v - mean);
+                }
+                return var / values.length;
+            }
+            default:
+                throw new AssertionError(reduction);
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix;
+
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+import matrix4j.utils.collections.lists.DoubleArrayList;
+import matrix4j.utils.collections.lists.IntArrayList;
+import matrix4j.utils.lang.UnaryDoubleOperator;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.junit.Assert;
+
+/**
+ * Fixtures and assertions shared by the matrix tests.
+ */
+public final class MatrixTestUtils {
+
+    @Nonnull
+    public static final UnaryDoubleOperator LOG1P_ABS = new UnaryDoubleOperator() {
+        @Override
+        public double apply(final double value) {
+            return Math.log1p(Math.abs(value));
+        }
+    };
+
+    private MatrixTestUtils() {}
+
+    /**
+     * @param stored the entries to store, or null to store the non-zero entries
+     * @return a CSR matrix holding the stored entries of <code>dense</code>
+     */
+    @Nonnull
+    public static CSRMatrix toCSRMatrix(@Nonnull final double[][] dense,
+            @Nullable final boolean[][] stored) {
+        final int numRows = dense.length;
+        final int numCols = (numRows == 0) ? 0 : dense[0].length;
+        final int[] rowPointers = new int[numRows + 1];
+        final IntArrayList columnIndices = new IntArrayList();
+        final DoubleArrayList values = new DoubleArrayList();
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numCols; col++) {
+                final double v = dense[row][col];
+                if ((stored == null) ? v != 0.d : stored[row][col]) {
+                    columnIndices.add(col);
+                    values.add(v);
+                }
+            }
+            rowPointers[row + 1] = columnIndices.size();
+        }
+        return new CSRMatrix(rowPointers, columnIndices.toArray(true), values.toArray(true),
+            numCols);
+    }
+
+    /**
+     * @return a CSR float matrix sharing the structure of the given matrix
+     */
+    @Nonnull
+    public static CSRFloatMatrix toFloat(@Nonnull final CSRMatrix csr) {
+        return new CSRFloatMatrix(csr.getRowPointers(), csr.getColumnIndices(),
+            toFloat(csr.getValues()), csr.numColumns());
+    }
+
+    @Nonnull
+    public static float[] toFloat(@Nonnull final double[] values) {
+        final float[] floats = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            floats[i] = (float) values[i];
+        }
+        return floats;
+    }
+
+    /**
+     * @return <code>offset + step * (i % period)</code> for each <code>i</code> in [0, n)
+     */
+    @Nonnull
+    public static double[] periodicFactors(@Nonnegative final int n, @Nonnegative final int period,
+            final double offset, final double step) {
+        final double[] factors = new double[n];
+        for (int i = 0; i < n; i++) {
+            factors[i] = offset + step * (i % period);
+        }
+        return factors;
+    }
+
+    /**
+     * Asserts that <code>actual</code> holds <code>f(expected[i][j] * rowFactors[i] *
+     * colFactors[j])</code> for every entry.
+     */
+    public static void assertScaledAndMapped(@Nonnull final Matrix expected,
+            @Nonnull final double[] rowFactors, @Nonnull final double[] colFactors,
+            @Nonnull final UnaryDoubleOperator f, @Nonnull final Matrix actual,
+            final double delta) {
+        for (int row = 0; row < expected.numRows(); row++) {
+            for (int col = 0; col < expected.numColumns(); col++) {
+                final double v =
+                        f.apply(expected.get(row, col, 0.d) * rowFactors[row] * colFactors[col]);
+                Assert.assertEquals(v, actual.get(row, col, 0.d), delta);
+            }
+        }
+    }
+
+    /**
+     * Stores explicit zeros, as left by in-place updates, in every third entry and a NaN in the
+     * second one.
+     */
+    public static void addZerosAndNaN(@Nonnull final CSRMatrix csr) {
+        final double[] values = csr.getValues();
+        for (int i = 0; i < values.length; i += 3) {
+            values[i] = 0.d;
+        }
+        values[1] = Double.NaN;
+    }
+
+    /**
+     * Asserts that <code>pruned</code> holds exactly the entries of <code>matrix</code> whose
+     * absolute value is not less than or equal to the threshold, which includes NaN.
+     */
+    public static void assertPruned(@Nonnull final Matrix matrix, @Nonnull final Matrix pruned,
+            final double threshold) {
+        int kept = 0;
+        for (int row = 0; row < matrix.numRows(); row++) {
+            for (int col = 0; col < matrix.numColumns(); col++) {
+                double v = matrix.get(row, col, 0.d);
+                if (Math.abs(v) <= threshold) {
+                    v = 0.d;
+                } else {
+                    kept++;
+                }
+                Assert.assertEquals(v, pruned.get(row, col, 0.d), 0.d);
+            }
+        }
+        Assert.assertEquals(kept, pruned.nnz());
+    }
+
+}
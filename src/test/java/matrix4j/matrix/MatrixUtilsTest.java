@@ -15,10 +15,23 @@
  */
 package matrix4j.matrix;
 
+import matrix4j.matrix.dense.ColumnMajorDenseMatrix2d;
+import matrix4j.matrix.dense.RowMajorDenseMatrix2d;
+import matrix4j.matrix.ints.ColumnMajorDenseIntMatrix2d;
+import matrix4j.matrix.ints.ColumnMajorIntMatrix;
+import matrix4j.matrix.ints.DoKIntMatrix;
+import matrix4j.matrix.ints.IntMatrix;
 import matrix4j.matrix.sparse.CSCMatrix;
 import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.DoKMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
 import matrix4j.utils.lang.ArrayUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.Assert;
@@ -126,4 +139,233 @@ public class MatrixUtilsTest {
         }
     }
 
+    @Test
+    public void testWhichMaxIntMatrix() {
+        final int numRows = 301, numCols = 37;
+        final Random rnd = new Random(31L);
+        final int[][] dense = new int[numRows][numCols];
+        final int[][] columns = new int[numCols][numRows];
+        final DoKIntMatrix sparse = new DoKIntMatrix(numRows, numCols);
+        final boolean[][] stored = new boolean[numRows][numCols];
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numCols; col++) {
+                int v = rnd.nextInt(10) - 5;
+                v = (v >= 0) ? v + 1 : v; // non-zero with many ties
+                dense[row][col] = v;
+                columns[col][row] = v;
+                // leave row 0 and column 0 empty
+                if (row > 0 && col > 0 && rnd.nextInt(3) == 0) {
+                    stored[row][col] = true;
+                    sparse.set(row, col, v);
+                }
+            }
+        }
+
+        assertWhichMax(new ColumnMajorDenseIntMatrix2d(columns, numRows), dense, null);
+        assertWhichMax(sparse, dense, stored);
+        assertWhichMax(sparse.toRowMajorMatrix(), dense, stored);
+        assertWhichMax(sparse.toColumnMajorMatrix(true), dense, stored);
+
+        // short and null columns of a dense matrix are not stored
+        columns[3] = null;
+        columns[5] = new int[numRows / 2];
+        final boolean[][] partial = new boolean[numRows][numCols];
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numCols; col++) {
+                partial[row][col] = columns[col] != null && row < columns[col].length;
+                if (columns[col] != null && row < columns[col].length) {
+                    dense[row][col] = columns[col][row];
+                }
+            }
+        }
+        assertWhichMax(new ColumnMajorDenseIntMatrix2d(columns, numRows), dense, partial);
+    }
+
+    @Test
+    public void testWhichMaxMatrix() {
+        final int numRows = 257, numCols = 41;
+        final Random rnd = new Random(37L);
+        final double[][] dense = new double[numRows][numCols];
+        final double[][] columns = new double[numCols][numRows];
+        final boolean[][] stored = new boolean[numRows][numCols];
+        final DoKMatrix dok = new DoKMatrix(numRows, numCols);
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numCols; col++) {
+                double v = rnd.nextInt(10) - 5;
+                v = (v >= 0) ? v + 1 : v;
+                dense[row][col] = v;
+                columns[col][row] = v;
+                if (row > 0 && col > 0 && rnd.nextInt(4) == 0) {
+                    stored[row][col] = true;
+                    dok.set(row, col, v);
+                }
+            }
+        }
+        final CSRMatrix csr = MatrixTestUtils.toCSRMatrix(dense, stored);
+
+        assertWhichMax(new RowMajorDenseMatrix2d(dense, numCols), dense, null);
+        assertWhichMax(new ColumnMajorDenseMatrix2d(columns, numRows), dense, null);
+        assertWhichMax(dok, dense, stored);
+        assertWhichMax(csr, dense, stored);
+        assertWhichMax(csr.toColumnMajorMatrix(), dense, stored);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWhichMaxBufferTooShort() {
+        MatrixUtils.whichMaxInRows(new DoKIntMatrix(3, 3), new int[2]);
+    }
+
+    private static void assertWhichMax(final IntMatrix matrix, final int[][] dense,
+            final boolean[][] stored) {
+        final int numRows = dense.length, numCols = dense[0].length;
+        final int[] expectedRows = new int[numRows];
+        final int[] expectedCols = new int[numCols];
+        Arrays.fill(expectedCols, -1);
+        for (int row = 0; row < numRows; row++) {
+            expectedRows[row] = -1;
+            for (int col = 0; col < numCols; col++) {
+                if (stored != null && !stored[row][col]) {
+                    continue;
+                }
+                final int v = dense[row][col];
+                if (expectedRows[row] == -1 || v > dense[row][expectedRows[row]]) {
+                    expectedRows[row] = col;
+                }
+                if (expectedCols[col] == -1 || v > dense[expectedCols[col]][col]) {
+                    expectedCols[col] = row;
+                }
+            }
+        }
+        for (int row = 0; row < numRows; row++) {
+            if (!(matrix instanceof ColumnMajorIntMatrix)) {
+                Assert.assertEquals(expectedRows[row], MatrixUtils.whichMax(matrix, row));
+            }
+        }
+
+        final String name = matrix.getClass().getSimpleName();
+        Assert.assertArrayEquals(name, expectedRows,
+            MatrixUtils.whichMaxInRows(matrix, new int[numRows]));
+        Assert.assertArrayEquals(name, expectedRows,
+            MatrixUtils.whichMaxInRows(matrix, new int[numRows], true));
+        Assert.assertArrayEquals(name, expectedCols,
+            MatrixUtils.whichMaxInColumns(matrix, new int[numCols]));
+        Assert.assertArrayEquals(name, expectedCols,
+            MatrixUtils.whichMaxInColumns(matrix, new int[numCols], true));
+    }
+
+    private static void assertWhichMax(final Matrix matrix, final double[][] dense,
+            final boolean[][] stored) {
+        final int numRows = dense.length, numCols = dense[0].length;
+        final int[] expectedRows = new int[numRows];
+        final int[] expectedCols = new int[numCols];
+        Arrays.fill(expectedRows, -1);
+        Arrays.fill(expectedCols, -1);
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numCols; col++) {
+                if (stored != null && !stored[row][col]) {
+                    continue;
+                }
+                final double v = dense[row][col];
+                if (expectedRows[row] == -1 || v > dense[row][expectedRows[row]]) {
+                    expectedRows[row] = col;
+                }
+                if (expectedCols[col] == -1 || v > dense[expectedCols[col]][col]) {
+                    expectedCols[col] = row;
+                }
+            }
+        }
+
+        final String name = matrix.getClass().getSimpleName();
+        Assert.assertArrayEquals(name, expectedRows,
+            MatrixUtils.whichMaxInRows(matrix, new int[numRows]));
+        Assert.assertArrayEquals(name, expectedRows,
+            MatrixUtils.whichMaxInRows(matrix, new int[numRows], true));
+        Assert.assertArrayEquals(name, expectedCols,
+            MatrixUtils.whichMaxInColumns(matrix, new int[numCols]));
+        Assert.assertArrayEquals(name, expectedCols,
+            MatrixUtils.whichMaxInColumns(matrix, new int[numCols], true));
+    }
+
+    @Test
+    public void testTopKInRows() {
+        final int numRows = 203, numCols = 50, k = 5;
+        final Random rnd = new Random(41L);
+        final double[][] dense = new double[numRows][numCols];
+        final boolean[][] stored = new boolean[numRows][numCols];
+        for (int row = 0; row < numRows; row++) {
+            // row 0 is empty and some rows have fewer than k entries
+            final int sparsity = (row % 10 == 1) ? 40 : 3;
+            for (int col = 0; col < numCols; col++) {
+                double v = rnd.nextInt(20) - 10;
+                v = (v >= 0) ? v + 1 : v;
+                dense[row][col] = v;
+                if (row > 0 && rnd.nextInt(sparsity) == 0) {
+                    stored[row][col] = true;
+                }
+            }
+        }
+        final CSRMatrix csr = MatrixTestUtils.toCSRMatrix(dense, stored);
+        final CSRFloatMatrix csrFloat = MatrixTestUtils.toFloat(csr);
+
+        assertTopK(new RowMajorDenseMatrix2d(dense, numCols), dense, null, k);
+        assertTopK(csr, dense, stored, k);
+        assertTopK(csrFloat, dense, stored, k);
+    }
+
+    private static void assertTopK(final Matrix matrix, final double[][] dense,
+            final boolean[][] stored, final int k) {
+        final int numRows = dense.length, batch = 64;
+        final int[] indices = new int[batch * k];
+        final double[] values = new double[batch * k];
+        final float[] floatValues = new float[batch * k];
+        final int[] counts = new int[batch];
+        for (boolean parallel : new boolean[] {false, true}) {
+            for (int fromRow = 0; fromRow < numRows; fromRow += batch) {
+                final int toRow = Math.min(numRows, fromRow + batch);
+                if (matrix instanceof FloatMatrix) {
+                    MatrixUtils.topKInRows((FloatMatrix) matrix, k, fromRow, toRow, indices,
+                        floatValues, counts, parallel);
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = floatValues[i];
+                    }
+                } else {
+                    MatrixUtils.topKInRows(matrix, k, fromRow, toRow, indices, values, counts,
+                        parallel);
+                }
+                for (int row = fromRow; row < toRow; row++) {
+                    final int[] expected = expectedTopK(dense, stored, row, k);
+                    final int i = row - fromRow;
+                    Assert.assertEquals(expected.length, counts[i]);
+                    for (int j = 0; j < expected.length; j++) {
+                        Assert.assertEquals(expected[j], indices[i * k + j]);
+                        Assert.assertEquals(dense[row][expected[j]], values[i * k + j], 0.d);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] expectedTopK(final double[][] dense, final boolean[][] stored,
+            final int row, final int k) {
+        final double[] values = dense[row];
+        final List<Integer> cols = new ArrayList<>();
+        for (int col = 0; col < values.length; col++) {
+            if (stored == null || stored[row][col]) {
+                cols.add(col);
+            }
+        }
+        Collections.sort(cols, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                int cmp = Double.compare(values[o2], values[o1]);
+                return (cmp != 0) ? cmp : Integer.compare(o1, o2);
+            }
+        });
+        final int[] top = new int[Math.min(k, cols.size())];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = cols.get(i);
+        }
+        return top;
+    }
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix;
+
+import matrix4j.matrix.builders.CSRMatrixBuilder;
+import matrix4j.matrix.builders.RowMajorDenseMatrixBuilder;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RowBatchTest {
+
+    @Test
+    public void testCSRMatrix() {
+        CSRMatrix matrix = csrMatrix();
+        RowBatch batch = new RowBatch(1, 1);
+
+        matrix.getRows(new int[] {-1, 5, 0, 2, -1}, 1, 3, batch);
+        Assert.assertEquals(3, batch.numRows());
+        Assert.assertEquals(9, batch.nnz());
+        assertBatch(matrix, new int[] {5, 0, 2}, batch);
+
+        matrix.getRows(1, 4, batch);
+        Assert.assertEquals(3, batch.numRows());
+        Assert.assertEquals(8, batch.nnz());
+        assertBatch(matrix, new int[] {1, 2, 3}, batch);
+
+        matrix.getRows(3, 3, batch);
+        Assert.assertEquals(0, batch.numRows());
+        Assert.assertEquals(0, batch.nnz());
+    }
+
+    @Test
+    public void testCSRFloatMatrix() {
+        CSRFloatMatrix matrix = MatrixTestUtils.toFloat(csrMatrix());
+
+        FloatRowBatch batch = new FloatRowBatch();
+        matrix.getRows(new int[] {4, 2}, 0, 2, batch);
+        Assert.assertEquals(2, batch.numRows());
+        Assert.assertEquals(5, batch.nnz());
+        Assert.assertArrayEquals(new int[] {0, 1, 5}, copyOf(batch.getRowPointers(), 3));
+        Assert.assertEquals(56.f, batch.getValues()[0], 0.f);
+        Assert.assertEquals(36.f, batch.getValues()[4], 0.f);
+
+        matrix.getRows(0, 2, batch);
+        Assert.assertArrayEquals(new int[] {0, 4, 6}, copyOf(batch.getRowPointers(), 3));
+        Assert.assertEquals(1, batch.getColumnIndices()[4]);
+        Assert.assertEquals(22.f, batch.getValues()[4], 0.f);
+    }
+
+    @Test
+    public void testRowMajorDenseMatrix2d() {
+        RowMajorDenseMatrixBuilder builder = new RowMajorDenseMatrixBuilder(1024);
+        builder.nextRow(new double[] {11, 12, 13, 14});
+        builder.nextRow(new double[] {0, 22, 23});
+        builder.nextRow();
+        builder.nextRow(new double[] {0, 0, 0, 44, 45});
+        RowMajorMatrix matrix = builder.buildMatrix();
+
+        RowBatch batch = new RowBatch();
+        matrix.getRows(new int[] {3, 2, 1}, 0, 3, batch);
+        assertBatch(matrix, new int[] {3, 2, 1}, batch);
+
+        matrix.getRows(0, matrix.numRows(), batch);
+        assertBatch(matrix, new int[] {0, 1, 2, 3}, batch);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidRange() {
+        csrMatrix().getRows(2, 7, new RowBatch());
+    }
+
+    private static void assertBatch(final Matrix matrix, final int[] rows, final RowBatch batch) {
+        Assert.assertEquals(rows.length, batch.numRows());
+        final int[] rowPointers = batch.getRowPointers();
+        final int[] columnIndices = batch.getColumnIndices();
+        final double[] values = batch.getValues();
+        for (int i = 0; i < rows.length; i++) {
+            final double[] expected = matrix.getRow(rows[i], new double[matrix.numColumns()]);
+            final double[] actual = new double[matrix.numColumns()];
+            for (int j = rowPointers[i]; j < rowPointers[i + 1]; j++) {
+                actual[columnIndices[j]] = values[j];
+            }
+            Assert.assertArrayEquals(expected, actual, 0.d);
+        }
+        Assert.assertEquals(batch.nnz(), rowPointers[rows.length]);
+    }
+
+    private static int[] copyOf(final int[] a, final int length) {
+        final int[] dst = new int[length];
+        System.arraycopy(a, 0, dst, 0, length);
+        return dst;
+    }
+
+    private static CSRMatrix csrMatrix() {
+        /*
+        11  12  13  14  0   0
+        0   22  23  0   0   0
+        0   0   33  34  35  36
+        0   0   0   44  45  0
+        0   0   0   0   0   56
+        0   0   0   0   0   66
+        */
+        CSRMatrixBuilder builder = new CSRMatrixBuilder(1024);
+        builder.nextColumn(0, 11).nextColumn(1, 12).nextColumn(2, 13).nextColumn(3, 14).nextRow();
+        builder.nextColumn(1, 22).nextColumn(2, 23).nextRow();
+        builder.nextColumn(2, 33).nextColumn(3, 34).nextColumn(4, 35).nextColumn(5, 36).nextRow();
+        builder.nextColumn(3, 44).nextColumn(4, 45).nextRow();
+        builder.nextColumn(5, 56).nextRow();
+        builder.nextColumn(5, 66).nextRow();
+        return builder.buildMatrix();
+    }
+
+}
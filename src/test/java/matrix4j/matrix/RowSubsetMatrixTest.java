@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix;
+
+import matrix4j.matrix.builders.CSRMatrixBuilder;
+import matrix4j.matrix.builders.RowMajorDenseMatrixBuilder;
+import matrix4j.matrix.sparse.CSCMatrix;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.floats.CSCFloatMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RowSubsetMatrixTest {
+
+    @Test
+    public void testShuffleView() {
+        CSRMatrix matrix = csrMatrix();
+        int[] indices = new int[] {5, 3, 1, 0, 2, 4};
+        RowSubsetMatrix view = MatrixUtils.shuffleView(matrix, indices);
+        Assert.assertEquals(6, view.numRows());
+        Assert.assertEquals(6, view.numColumns());
+        Assert.assertEquals(matrix.nnz(), view.nnz());
+        Assert.assertTrue(view.swappable());
+        assertRows(matrix, indices, view);
+
+        view.swap(0, 5);
+        Assert.assertArrayEquals(new int[] {4, 3, 1, 0, 2, 5}, indices);
+        Assert.assertEquals(56.d, view.get(0, 5), 0.d);
+        Assert.assertEquals(66.d, view.get(5, 5), 0.d);
+        assertRows(matrix, indices, view);
+
+        // the underlying matrix is untouched
+        Assert.assertEquals(66.d, matrix.get(5, 5), 0.d);
+    }
+
+    @Test
+    public void testRowRange() {
+        CSRMatrix matrix = csrMatrix();
+        RowSubsetMatrix view = new RowSubsetMatrix(matrix, 1, 4);
+        Assert.assertEquals(3, view.numRows());
+        Assert.assertEquals(8, view.nnz());
+        Assert.assertFalse(view.swappable());
+        assertRows(matrix, new int[] {1, 2, 3}, view);
+
+        RowBatch batch = view.getRows(1, 3, new RowBatch());
+        Assert.assertEquals(2, batch.numRows());
+        Assert.assertEquals(6, batch.nnz());
+        Assert.assertEquals(33.d, batch.getValues()[0], 0.d);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRowRangeOutOfBounds() {
+        new RowSubsetMatrix(csrMatrix(), 1, 4).get(3, 0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRowRangeSwap() {
+        new RowSubsetMatrix(csrMatrix(), 1, 4).swap(0, 1);
+    }
+
+    @Test
+    public void testToColumnMajorMatrix() {
+        CSRMatrix matrix = csrMatrix();
+        int[] indices = new int[] {2, 0};
+        CSCMatrix csc = new RowSubsetMatrix(matrix, indices).toColumnMajorMatrix();
+        Assert.assertEquals(2, csc.numRows());
+        Assert.assertEquals(8, csc.nnz());
+        assertRows(matrix, indices, csc);
+    }
+
+    @Test
+    public void testDenseMatrix() {
+        RowMajorDenseMatrixBuilder builder = new RowMajorDenseMatrixBuilder(1024);
+        builder.nextRow(new double[] {11, 12, 13, 14});
+        builder.nextRow(new double[] {0, 22, 23});
+        builder.nextRow(new double[] {0, 0, 33, 34, 35, 36});
+        RowMajorMatrix matrix = builder.buildMatrix();
+
+        int[] indices = new int[] {2, 2, 0};
+        RowSubsetMatrix view = MatrixUtils.shuffleView(matrix, indices);
+        Assert.assertEquals(12, view.nnz());
+        assertRows(matrix, indices, view);
+
+        view.set(2, 0, 1.d);
+        Assert.assertEquals(1.d, matrix.get(0, 0), 0.d);
+    }
+
+    @Test
+    public void testFloatMatrix() {
+        CSRFloatMatrix matrix = MatrixTestUtils.toFloat(csrMatrix());
+
+        int[] indices = new int[] {4, 0, 2};
+        RowSubsetFloatMatrix view = MatrixUtils.shuffleView(matrix, indices);
+        Assert.assertEquals(9, view.nnz());
+        assertRows(matrix, indices, view);
+        Assert.assertEquals(56.f, view.get(0, 5, 0.f), 0.f);
+
+        float[] row = view.getRow(1, new float[6]);
+        Assert.assertArrayEquals(new float[] {11, 12, 13, 14, 0, 0}, row, 0.f);
+
+        FloatRowBatch batch = view.getRows(new int[] {0, 2}, 0, 2, new FloatRowBatch());
+        Assert.assertEquals(2, batch.numRows());
+        Assert.assertEquals(5, batch.nnz());
+
+        CSCFloatMatrix csc = view.toColumnMajorMatrix();
+        Assert.assertEquals(9, csc.nnz());
+        assertRows(matrix, indices, csc);
+    }
+
+    private static void assertRows(final Matrix expected, final int[] indices,
+            final Matrix actual) {
+        for (int i = 0; i < indices.length; i++) {
+            for (int j = 0; j < expected.numColumns(); j++) {
+                Assert.assertEquals(expected.get(indices[i], j, 0.d), actual.get(i, j, 0.d), 0.d);
+            }
+        }
+    }
+
+    private static CSRMatrix csrMatrix() {
+        /*
+        11  12  13  14  0   0
+        0   22  23  0   0   0
+        0   0   33  34  35  36
+        0   0   0   44  45  0
+        0   0   0   0   0   56
+        0   0   0   0   0   66
+        */
+        CSRMatrixBuilder builder = new CSRMatrixBuilder(1024);
+        builder.nextColumn(0, 11).nextColumn(1, 12).nextColumn(2, 13).nextColumn(3, 14).nextRow();
+        builder.nextColumn(1, 22).nextColumn(2, 23).nextRow();
+        builder.nextColumn(2, 33).nextColumn(3, 34).nextColumn(4, 35).nextColumn(5, 36).nextRow();
+        builder.nextColumn(3, 44).nextColumn(4, 45).nextRow();
+        builder.nextColumn(5, 56).nextRow();
+        builder.nextColumn(5, 66).nextRow();
+        return builder.buildMatrix();
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.generators;
+
+import matrix4j.matrix.Matrix;
+import matrix4j.matrix.builders.CSRMatrixBuilder;
+import matrix4j.matrix.sparse.CSCMatrix;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.DoKMatrix;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SparseMatrixGeneratorTest {
+
+    @Test
+    public void testUniform() throws IOException {
+        SparseMatrixGenerator gen = new UniformMatrixGenerator(500, 300, 10000, 43L);
+        CSRMatrix csr = assertConsistent(gen);
+        assertNnz(10000, csr.nnz(), 0.05d);
+    }
+
+    @Test
+    public void testZipf() throws IOException {
+        SparseMatrixGenerator gen = new ZipfMatrixGenerator(1000, 1000, 20000, 1.1d, 1.1d, 43L);
+        CSRMatrix csr = assertConsistent(gen);
+        assertNnz(20000, csr.nnz(), 0.2d);
+        // skewed row degrees
+        Assert.assertTrue(csr.numColumns(0) > 20 * Math.max(1, csr.numColumns(999)));
+    }
+
+    @Test
+    public void testBanded() throws IOException {
+        SparseMatrixGenerator gen = new BandedMatrixGenerator(200, 200, 2, 3, 100000, 43L);
+        CSRMatrix csr = assertConsistent(gen);
+        // fully filled band
+        Assert.assertEquals(gen.expectedNnz(), csr.nnz(), 0.d);
+        for (int row = 0; row < 200; row++) {
+            for (int col = 0; col < 200; col++) {
+                boolean inBand = col >= row - 2 && col <= row + 3;
+                Assert.assertEquals(inBand, csr.get(row, col) != 0.d);
+            }
+        }
+    }
+
+    @Test
+    public void testBlockDiagonal() throws IOException {
+        SparseMatrixGenerator gen = new BlockDiagonalMatrixGenerator(100, 60, 4, 300, 43L);
+        CSRMatrix csr = assertConsistent(gen);
+        assertNnz(300, csr.nnz(), 0.2d);
+        for (int row = 0; row < 100; row++) {
+            final int block = row / 25;
+            for (int col = 0; col < 60; col++) {
+                if (col / 15 != block) {
+                    Assert.assertEquals(0.d, csr.get(row, col), 0.d);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRMat() throws IOException {
+        SparseMatrixGenerator gen = new RMatMatrixGenerator(10, 8000, 43L);
+        Assert.assertEquals(1024, gen.numRows());
+        Assert.assertEquals(8000, gen.expectedNnz(), 1e-6);
+        CSRMatrix csr = assertConsistent(gen);
+        assertNnz(8000, csr.nnz(), 0.2d);
+        // the top-left quadrant is the densest
+        Assert.assertTrue(csr.numColumns(0) > csr.numColumns(1023));
+    }
+
+    @Test
+    public void testReproducible() {
+        CSRMatrix m1 = new ZipfMatrixGenerator(100, 100, 500, 1.d, 1.d, 7L).toCSRMatrix();
+        CSRMatrix m2 = new ZipfMatrixGenerator(100, 100, 500, 1.d, 1.d, 7L).toCSRMatrix();
+        CSRMatrix m3 = new ZipfMatrixGenerator(100, 100, 500, 1.d, 1.d, 8L).toCSRMatrix();
+        Assert.assertArrayEquals(m1.getColumnIndices(), m2.getColumnIndices());
+        Assert.assertArrayEquals(m1.getValues(), m2.getValues(), 0.d);
+        Assert.assertFalse(java.util.Arrays.equals(m1.getValues(), m3.getValues()));
+    }
+
+    @Test
+    public void testEmptyShape() {
+        for (SparseMatrixGenerator gen : new SparseMatrixGenerator[] {
+                new UniformMatrixGenerator(0, 10, 0, 1L),
+                new UniformMatrixGenerator(10, 0, 0, 1L)}) {
+            Assert.assertEquals(0, gen.toCSRMatrix().nnz());
+            Assert.assertEquals(0, gen.toCSCMatrix().nnz());
+            DoKMatrix dok = gen.toDoKMatrix();
+            Assert.assertEquals(gen.numRows(), dok.numRows());
+            Assert.assertEquals(gen.numColumns(), dok.numColumns());
+            Assert.assertEquals(0, dok.nnz());
+        }
+    }
+
+    private static CSRMatrix assertConsistent(final SparseMatrixGenerator gen) throws IOException {
+        final CSRMatrix csr = gen.toCSRMatrix();
+        final CSCMatrix csc = gen.toCSCMatrix();
+        final DoKMatrix dok = gen.toDoKMatrix();
+        Assert.assertEquals(gen.numRows(), csr.numRows());
+        Assert.assertEquals(gen.numColumns(), csr.numColumns());
+        Assert.assertEquals(csr.nnz(), csc.nnz());
+        Assert.assertEquals(csr.nnz(), dok.nnz());
+
+        final StringWriter libsvm = new StringWriter();
+        gen.writeLibSVM(libsvm);
+        final CSRMatrixBuilder builder = new CSRMatrixBuilder(1024);
+        final BufferedReader reader = new BufferedReader(new StringReader(libsvm.toString()));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            builder.nextRow(line.isEmpty() ? new String[0] : line.split(" "));
+        }
+        final Matrix parsed = builder.buildMatrix();
+        Assert.assertEquals(csr.nnz(), parsed.nnz());
+
+        final StringWriter edges = new StringWriter();
+        gen.writeEdgeList(edges);
+        final String[] lines = edges.toString().split("\n");
+        Assert.assertEquals(csr.nnz(), lines.length);
+        final String[] first = lines[0].split(" ");
+        Assert.assertEquals(Double.parseDouble(first[2]),
+            csr.get(Integer.parseInt(first[0]), Integer.parseInt(first[1])), 0.d);
+
+        for (int row = 0; row < gen.numRows(); row++) {
+            for (int col = 0; col < gen.numColumns(); col++) {
+                final double expected = csr.get(row, col);
+                Assert.assertEquals(expected, csc.get(row, col), 0.d);
+                Assert.assertEquals(expected, dok.get(row, col), 0.d);
+                if (col < parsed.numColumns()) {// trailing empty columns are not inferred
+                    Assert.assertEquals(expected, parsed.get(row, col, 0.d), 0.d);
+                }
+            }
+        }
+        return csr;
+    }
+
+    private static void assertNnz(final double expected, final int actual, final double delta) {
+        Assert.assertEquals(expected, actual, expected * delta);
+    }
+
+}
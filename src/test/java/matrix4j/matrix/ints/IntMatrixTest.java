@@ -315,6 +315,102 @@ public class IntMatrixTest {
         Assert.assertEquals(4 + 2 + 4 + 2 + 1 + 1, count.getValue());
     }
 
+    @Test
+    public void testCSRMatrix() {
+        DoKIntMatrix dok = DoKIntMatrix.build(rowMajorData(), true, true);
+        for (boolean narrow : new boolean[] {false, true}) {
+            CSRIntMatrix csr = dok.toRowMajorMatrix(narrow);
+            Assert.assertEquals(narrow ? 1 : 4, csr.bytesPerValue());
+            Assert.assertEquals(14, csr.nnz());
+            assertEquals(dok, csr);
+            Assert.assertEquals(4, csr.numColumns(2));
+            Assert.assertArrayEquals(new int[] {0, 0, 33, 34, 35, 36}, csr.getRow(2));
+
+            final int[] sum = new int[2];
+            csr.eachNonZeroInRow(0, new VectorProcedure() {
+                @Override
+                public void apply(int i, int value) {
+                    sum[0] += value;
+                }
+            });
+            csr.eachInRow(3, new VectorProcedure() {
+                @Override
+                public void apply(int i, int value) {
+                    sum[1]++;
+                }
+            });
+            Assert.assertEquals(11 + 12 + 13 + 14, sum[0]);
+            Assert.assertEquals(6, sum[1]);
+
+            assertEquals(dok, csr.toColumnMajorMatrix());
+            Assert.assertEquals(csr.bytesPerValue(), csr.toColumnMajorMatrix().bytesPerValue());
+        }
+    }
+
+    @Test
+    public void testCSCMatrix() {
+        DoKIntMatrix dok = DoKIntMatrix.build(rowMajorData(), true, true);
+        for (boolean narrow : new boolean[] {false, true}) {
+            CSCIntMatrix csc = dok.toColumnMajorMatrix(narrow);
+            Assert.assertEquals(14, csc.nnz());
+            assertEquals(dok, csc);
+            Assert.assertEquals(3, csc.numRows(3));
+            Assert.assertArrayEquals(new int[] {0, 0, 33, 34, 35, 36}, csc.getRow(2));
+
+            final int[] rows = new int[6];
+            csc.eachNonNullInColumn(5, 1, 5, new VectorProcedure() {
+                @Override
+                public void apply(int i, int value) {
+                    rows[i] = value;
+                }
+            });
+            Assert.assertArrayEquals(new int[] {0, 0, 36, 0, 56, 0}, rows);
+
+            assertEquals(dok, csc.toRowMajorMatrix());
+        }
+    }
+
+    @Test
+    public void testNarrowValuesWiden() {
+        DoKIntMatrix dok = DoKIntMatrix.build(rowMajorData(), true, true);
+        CSRIntMatrix csr = dok.toRowMajorMatrix(true);
+        Assert.assertEquals(1, csr.bytesPerValue());
+        long narrowBytes = csr.estimatedMemoryBytes();
+        Assert.assertTrue(narrowBytes < dok.toRowMajorMatrix(false).estimatedMemoryBytes());
+
+        csr.incr(0, 0, 200);
+        Assert.assertEquals(2, csr.bytesPerValue());
+        Assert.assertEquals(211, csr.get(0, 0));
+        csr.set(5, 5, 1 << 20);
+        Assert.assertEquals(4, csr.bytesPerValue());
+        Assert.assertEquals(1 << 20, csr.get(5, 5));
+        Assert.assertEquals(211, csr.getAndSet(0, 0, -5));
+        Assert.assertEquals(-5, csr.get(0, 0));
+        Assert.assertEquals(12, csr.get(0, 1));
+
+        // a widened copy, not the backing storage
+        int[] values = csr.toValueArray();
+        Assert.assertEquals(csr.nnz(), values.length);
+        Assert.assertEquals(-5, values[0]);
+        values[0] = 7;
+        Assert.assertEquals(-5, csr.get(0, 0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCSRMatrixIncrMissing() {
+        DoKIntMatrix.build(rowMajorData(), true, true).toRowMajorMatrix().incr(1, 0);
+    }
+
+    private static void assertEquals(IntMatrix expected, IntMatrix actual) {
+        Assert.assertEquals(expected.numRows(), actual.numRows());
+        Assert.assertEquals(expected.numColumns(), actual.numColumns());
+        for (int row = 0; row < expected.numRows(); row++) {
+            for (int col = 0; col < expected.numColumns(); col++) {
+                Assert.assertEquals(expected.get(row, col, -1), actual.get(row, col, -1));
+            }
+        }
+    }
+
     private static int[][] rowMajorData() {
         /*
         11  12  13  14  0   0
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse;
+
+import matrix4j.matrix.MatrixTestUtils;
+import matrix4j.matrix.generators.UniformMatrixGenerator;
+import matrix4j.vector.VectorCursor;
+import matrix4j.vector.VectorProcedure;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CSCMatrixTest {
+
+    @Test
+    public void testRowAccess() {
+        UniformMatrixGenerator generator = new UniformMatrixGenerator(200, 50, 1000, 43L);
+        CSRMatrix csr = generator.toCSRMatrix();
+        CSCMatrix csc = generator.toCSCMatrix();
+        Assert.assertFalse(csc.hasRowIndex());
+
+        VectorCursor cursor = new VectorCursor();
+        double[] dst = new double[csc.numColumns()];
+        for (int row = 0; row < csc.numRows(); row++) {
+            Assert.assertEquals(csr.numColumns(row), csc.numColumns(row));
+            Assert.assertArrayEquals(csr.getRow(row), csc.getRow(row), 0.d);
+            Assert.assertArrayEquals(csr.getRow(row), csc.getRow(row, dst), 0.d);
+
+            csc.getRow(row, cursor);
+            int prev = -1;
+            while (cursor.next()) {
+                Assert.assertTrue(cursor.index() > prev);
+                Assert.assertEquals(csr.get(row, cursor.index()), cursor.value(), 0.d);
+                prev = cursor.index();
+            }
+            Assert.assertEquals(csr.numColumns(row), cursor.length());
+        }
+        Assert.assertTrue(csc.hasRowIndex());
+        Assert.assertEquals(csc.nnz(), csc.rowIndex().getPositions().length);
+    }
+
+    @Test
+    public void testEachInRow() {
+        UniformMatrixGenerator generator = new UniformMatrixGenerator(100, 30, 500, 43L);
+        final CSRMatrix csr = generator.toCSRMatrix();
+        CSCMatrix csc = generator.toCSCMatrix();
+
+        for (int row = 0; row < csc.numRows(); row++) {
+            final int r = row;
+            final int[] count = new int[3];
+            csc.eachNonZeroInRow(row, new VectorProcedure() {
+                @Override
+                public void apply(int col, double value) {
+                    Assert.assertEquals(csr.get(r, col), value, 0.d);
+                    count[0]++;
+                }
+            });
+            csc.eachInRow(row, new VectorProcedure() {
+                @Override
+                public void apply(int col, double value) {
+                    Assert.assertEquals(csr.get(r, col), value, 0.d);
+                    count[1]++;
+                }
+            }, true);
+            csc.eachColumnIndexInRow(row, new VectorProcedure() {
+                @Override
+                public void apply(int col) {
+                    count[2]++;
+                }
+            });
+            Assert.assertEquals(csr.numColumns(row), count[0]);
+            Assert.assertEquals(csc.numColumns(), count[1]);
+            Assert.assertEquals(csr.numColumns(row), count[2]);
+        }
+    }
+
+    @Test
+    public void testDropRowIndex() {
+        CSCMatrix csc = new UniformMatrixGenerator(100, 30, 500, 43L).toCSCMatrix();
+        final long withoutIndex = csc.estimatedMemoryBytes();
+        final double[] row = csc.getRow(7);
+        Assert.assertTrue(csc.hasRowIndex());
+        Assert.assertTrue(csc.estimatedMemoryBytes() > withoutIndex);
+
+        csc.dropRowIndex();
+        Assert.assertFalse(csc.hasRowIndex());
+        Assert.assertEquals(withoutIndex, csc.estimatedMemoryBytes());
+        Assert.assertArrayEquals(row, csc.getRow(7), 0.d);
+
+        // the index refers to the values, so updates are visible through it
+        for (int col = 0; col < row.length; col++) {
+            if (row[col] != 0.d) {
+                csc.set(7, col, -1.d);
+                Assert.assertEquals(-1.d, csc.getRow(7)[col], 0.d);
+                break;
+            }
+        }
+    }
+
+    @Test
+    public void testToRowMajorMatrix() {
+        UniformMatrixGenerator generator = new UniformMatrixGenerator(100, 30, 500, 43L);
+        CSRMatrix expected = generator.toCSRMatrix();
+        CSCMatrix csc = generator.toCSCMatrix();
+        CSRMatrix withoutIndex = csc.toRowMajorMatrix();
+        csc.rowIndex();
+        CSRMatrix withIndex = csc.toRowMajorMatrix();
+        Assert.assertArrayEquals(expected.getRowPointers(), withIndex.getRowPointers());
+        Assert.assertArrayEquals(withoutIndex.getColumnIndices(), withIndex.getColumnIndices());
+        Assert.assertArrayEquals(withoutIndex.getValues(), withIndex.getValues(), 0.d);
+    }
+
+    @Test
+    public void testScaleAndMap() {
+        final UniformMatrixGenerator generator = new UniformMatrixGenerator(120, 40, 800, 43L);
+        final CSCMatrix expected = generator.toCSCMatrix();
+        final double[] rowFactors =
+                MatrixTestUtils.periodicFactors(expected.numRows(), 3, 1.d, 1.d);
+        final double[] colFactors =
+                MatrixTestUtils.periodicFactors(expected.numColumns(), 4, 0.d, 0.5d);
+        for (boolean parallel : new boolean[] {false, true}) {
+            CSCMatrix csc = generator.toCSCMatrix();
+            csc.scaleRows(rowFactors, parallel);
+            csc.scaleColumns(colFactors, parallel);
+            csc.map(MatrixTestUtils.LOG1P_ABS, parallel);
+            MatrixTestUtils.assertScaledAndMapped(expected, rowFactors, colFactors,
+                MatrixTestUtils.LOG1P_ABS, csc, 1E-12);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScaleRowsTooFewFactors() {
+        CSCMatrix csc = new UniformMatrixGenerator(20, 10, 50, 43L).toCSCMatrix();
+        csc.scaleRows(new double[csc.numRows() - 1]);
+    }
+
+    @Test
+    public void testPrune() {
+        final CSRMatrix csr = new UniformMatrixGenerator(80, 30, 600, 43L).toCSRMatrix();
+        MatrixTestUtils.addZerosAndNaN(csr);
+        final CSCMatrix csc = csr.toColumnMajorMatrix();
+
+        final CSCMatrix withoutZeros = csc.prune();
+        MatrixTestUtils.assertPruned(csc, withoutZeros, 0.d);
+        final CSCMatrix pruned = csc.prune(0.5d);
+        MatrixTestUtils.assertPruned(csc, pruned, 0.5d);
+        Assert.assertTrue(pruned.nnz() < withoutZeros.nnz());
+        Assert.assertSame(pruned, pruned.prune(0.5d));
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse;
+
+import matrix4j.matrix.MatrixTestUtils;
+import matrix4j.matrix.generators.UniformMatrixGenerator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CSRMatrixTest {
+
+    @Test
+    public void testScaleAndMap() {
+        final UniformMatrixGenerator generator = new UniformMatrixGenerator(120, 40, 800, 43L);
+        final CSRMatrix expected = generator.toCSRMatrix();
+        final double[] rowFactors =
+                MatrixTestUtils.periodicFactors(expected.numRows(), 3, 1.d, 1.d);
+        final double[] colFactors =
+                MatrixTestUtils.periodicFactors(expected.numColumns(), 4, 0.d, 0.5d);
+        for (boolean parallel : new boolean[] {false, true}) {
+            CSRMatrix csr = generator.toCSRMatrix();
+            csr.scaleRows(rowFactors, parallel);
+            csr.scaleColumns(colFactors, parallel);
+            csr.map(MatrixTestUtils.LOG1P_ABS, parallel);
+            MatrixTestUtils.assertScaledAndMapped(expected, rowFactors, colFactors,
+                MatrixTestUtils.LOG1P_ABS, csr, 1E-12);
+        }
+    }
+
+    @Test
+    public void testPrune() {
+        final CSRMatrix expected = new UniformMatrixGenerator(80, 30, 600, 43L).toCSRMatrix();
+        Assert.assertSame(expected, expected.prune(0.d));
+
+        final CSRMatrix csr = new UniformMatrixGenerator(80, 30, 600, 43L).toCSRMatrix();
+        MatrixTestUtils.addZerosAndNaN(csr);
+        final CSRMatrix withoutZeros = csr.prune();
+        MatrixTestUtils.assertPruned(csr, withoutZeros, 0.d);
+        final CSRMatrix pruned = csr.prune(0.5d);
+        MatrixTestUtils.assertPruned(csr, pruned, 0.5d);
+        Assert.assertTrue(pruned.nnz() < withoutZeros.nnz());
+        Assert.assertSame(pruned, pruned.prune(0.5d));
+    }
+
+}
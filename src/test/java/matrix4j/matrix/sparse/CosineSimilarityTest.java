@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse;
+
+import matrix4j.matrix.MatrixTestUtils;
+import matrix4j.matrix.MatrixUtils;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CosineSimilarityTest {
+
+    @Test
+    public void testKnnSmall() {
+        // 1 0 1
+        // 2 0 2
+        // 0 3 0
+        // 1 1 0
+        CSRMatrix matrix = MatrixUtils.coo2csr(new int[] {0, 0, 1, 1, 2, 3, 3},
+            new int[] {0, 2, 0, 2, 1, 0, 1}, new double[] {1, 1, 2, 2, 3, 1, 1}, 4, 3, true);
+
+        CSRMatrix knn = CosineSimilarity.knn(matrix, 2, 0.d);
+        Assert.assertEquals(4, knn.numRows());
+        Assert.assertEquals(4, knn.numColumns());
+        Assert.assertEquals(0.d, knn.get(0, 0), 0.d);
+        Assert.assertEquals(1.d, knn.get(0, 1), 1E-12);
+        Assert.assertEquals(0.5d, knn.get(0, 3), 1E-12);
+        Assert.assertEquals(Math.sqrt(0.5d), knn.get(2, 3), 1E-12);
+        Assert.assertEquals(1, knn.numColumns(2));
+        Assert.assertEquals(2, knn.numColumns(3));
+        Assert.assertEquals(Math.sqrt(0.5d), knn.get(3, 2), 1E-12);
+
+        // k = 1 keeps the row 1 for the row 0, and the threshold drops the pairs at 0.5
+        knn = CosineSimilarity.knn(matrix, 1, 0.6d);
+        Assert.assertArrayEquals(new int[] {1, 0, 3, 2}, knn.getColumnIndices());
+        Assert.assertArrayEquals(new int[] {0, 1, 2, 3, 4}, knn.getRowPointers());
+    }
+
+    @Test
+    public void testKnnRandom() {
+        final int numRows = 300, numCols = 80, k = 7;
+        final double threshold = 0.1d;
+        final Random rnd = new Random(47L);
+        final double[][] dense = new double[numRows][numCols];
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numCols; col++) {
+                // row 0 is empty
+                if (row > 0 && rnd.nextInt(10) == 0) {
+                    dense[row][col] = rnd.nextDouble() * 2.d - 0.5d;
+                }
+            }
+        }
+        final CSRMatrix matrix = MatrixTestUtils.toCSRMatrix(dense, null);
+        final CSRFloatMatrix floatMatrix = MatrixTestUtils.toFloat(matrix);
+
+        final CSRMatrix knn = CosineSimilarity.knn(matrix, k, threshold);
+        final CSRMatrix parallelKnn = CosineSimilarity.knn(matrix, k, threshold, true);
+        Assert.assertArrayEquals(knn.getRowPointers(), parallelKnn.getRowPointers());
+        Assert.assertArrayEquals(knn.getColumnIndices(), parallelKnn.getColumnIndices());
+        Assert.assertArrayEquals(knn.getValues(), parallelKnn.getValues(), 0.d);
+
+        final CSRMatrix floatKnn = CosineSimilarity.knn(floatMatrix, k, threshold, true);
+        Assert.assertEquals(knn.nnz(), floatKnn.nnz());
+        Assert.assertArrayEquals(knn.getValues(), floatKnn.getValues(), 1E-5);
+
+        final int[] rowPointers = knn.getRowPointers();
+        final int[] columnIndices = knn.getColumnIndices();
+        for (int row = 0; row < numRows; row++) {
+            final List<Integer> expected = expectedNeighbors(dense, row, k, threshold);
+            Assert.assertEquals(expected.size(), knn.numColumns(row));
+            for (int j = rowPointers[row]; j < rowPointers[row + 1]; j++) {
+                Assert.assertTrue(j == rowPointers[row] || columnIndices[j - 1] < columnIndices[j]);
+                Assert.assertTrue(expected.contains(columnIndices[j]));
+                Assert.assertEquals(cosine(dense[row], dense[columnIndices[j]]), knn.getValues()[j],
+                    1E-12);
+            }
+        }
+    }
+
+    private static List<Integer> expectedNeighbors(final double[][] dense, final int row,
+            final int k, final double threshold) {
+        final double[] similarities = new double[dense.length];
+        final List<Integer> candidates = new ArrayList<>();
+        for (int other = 0; other < dense.length; other++) {
+            similarities[other] = cosine(dense[row], dense[other]);
+            if (other != row && sharesColumn(dense[row], dense[other])
+                    && similarities[other] >= threshold) {
+                candidates.add(other);
+            }
+        }
+        Collections.sort(candidates, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                int cmp = Double.compare(similarities[o2], similarities[o1]);
+                return (cmp != 0) ? cmp : Integer.compare(o1, o2);
+            }
+        });
+        return candidates.subList(0, Math.min(k, candidates.size()));
+    }
+
+    private static boolean sharesColumn(final double[] a, final double[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != 0.d && b[i] != 0.d) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double cosine(final double[] a, final double[] b) {
+        double dot = 0.d, na = 0.d, nb = 0.d;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        return (na == 0.d || nb == 0.d) ? 0.d : dot / Math.sqrt(na * nb);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse;
+
+import matrix4j.matrix.generators.UniformMatrixGenerator;
+import matrix4j.vector.VectorCursor;
+import matrix4j.vector.VectorProcedure;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DualCSRMatrixTest {
+
+    @Test
+    public void testColumnAccess() {
+        UniformMatrixGenerator generator = new UniformMatrixGenerator(200, 50, 1000, 43L);
+        final CSCMatrix csc = generator.toCSCMatrix();
+        DualCSRMatrix matrix = new DualCSRMatrix(generator.toCSRMatrix());
+        Assert.assertEquals(csc.nnz(), matrix.nnz());
+
+        VectorCursor cursor = new VectorCursor();
+        for (int col = 0; col < matrix.numColumns(); col++) {
+            matrix.getColumn(col, cursor);
+            int prev = -1;
+            while (cursor.next()) {
+                Assert.assertTrue(cursor.index() > prev);
+                Assert.assertEquals(csc.get(cursor.index(), col), cursor.value(), 0.d);
+                prev = cursor.index();
+            }
+            Assert.assertEquals(csc.getColumn(col, new VectorCursor()).length(), cursor.length());
+            Assert.assertEquals(cursor.length(), matrix.numRows(col));
+
+            final int c = col;
+            final int[] count = new int[2];
+            matrix.eachNonZeroInColumn(col, new VectorProcedure() {
+                @Override
+                public void apply(int row, double value) {
+                    Assert.assertEquals(csc.get(row, c), value, 0.d);
+                    count[0]++;
+                }
+            });
+            matrix.eachInColumn(col, new VectorProcedure() {
+                @Override
+                public void apply(int row, double value) {
+                    Assert.assertEquals(csc.get(row, c), value, 0.d);
+                    count[1]++;
+                }
+            }, true);
+            Assert.assertEquals(cursor.length(), count[0]);
+            Assert.assertEquals(matrix.numRows(), count[1]);
+        }
+    }
+
+    @Test
+    public void testSharedValues() {
+        CSRMatrix csr = new UniformMatrixGenerator(100, 30, 500, 43L).toCSRMatrix();
+        DualCSRMatrix matrix = new DualCSRMatrix(csr);
+        Assert.assertSame(csr.getValues(), matrix.getValues());
+
+        final int row = 3;
+        final int col = csr.getColumnIndices()[csr.getRowPointers()[row]];
+        matrix.set(row, col, 42.d);
+        Assert.assertEquals(42.d, csr.get(row, col), 0.d);
+        Assert.assertEquals(42.d, matrix.toColumnMajorMatrix().get(row, col), 0.d);
+
+        VectorCursor cursor = matrix.getColumn(col, new VectorCursor());
+        boolean found = false;
+        while (cursor.next()) {
+            if (cursor.index() == row) {
+                Assert.assertEquals(42.d, cursor.value(), 0.d);
+                found = true;
+            }
+        }
+        Assert.assertTrue(found);
+    }
+
+    @Test
+    public void testToColumnMajorMatrix() {
+        UniformMatrixGenerator generator = new UniformMatrixGenerator(100, 30, 500, 43L);
+        CSCMatrix expected = generator.toCSCMatrix();
+        CSCMatrix actual = new DualCSRMatrix(generator.toCSRMatrix()).toColumnMajorMatrix();
+        Assert.assertArrayEquals(expected.getColumnPointers(), actual.getColumnPointers());
+        Assert.assertArrayEquals(expected.getRowIndices(), actual.getRowIndices());
+        Assert.assertArrayEquals(expected.getValues(), actual.getValues(), 0.d);
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse;
+
+import matrix4j.matrix.MatrixTestUtils;
+import matrix4j.matrix.generators.UniformMatrixGenerator;
+import matrix4j.matrix.sparse.floats.CSCFloatMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LinearCombinationTest {
+
+    @Test
+    public void testAdd() {
+        CSRMatrix a = new UniformMatrixGenerator(60, 40, 300, 43L).toCSRMatrix();
+        CSRMatrix b = new UniformMatrixGenerator(60, 40, 300, 47L).toCSRMatrix();
+
+        CSRMatrix csr = LinearCombination.add(2.d, a, -0.5d, b);
+        CSCMatrix csc =
+                LinearCombination.add(2.d, a.toColumnMajorMatrix(), -0.5d, b.toColumnMajorMatrix());
+        CSRFloatMatrix csrFloat = LinearCombination.add(2.f, MatrixTestUtils.toFloat(a), -0.5f,
+            MatrixTestUtils.toFloat(b));
+        CSCFloatMatrix cscFloat =
+                LinearCombination.add(2.f, MatrixTestUtils.toFloat(a).toColumnMajorMatrix(), -0.5f,
+                    MatrixTestUtils.toFloat(b).toColumnMajorMatrix());
+
+        int union = 0;
+        for (int row = 0; row < a.numRows(); row++) {
+            for (int col = 0; col < a.numColumns(); col++) {
+                double va = a.get(row, col, Double.NaN), vb = b.get(row, col, Double.NaN);
+                if (Double.isNaN(va) && Double.isNaN(vb)) {
+                    Assert.assertTrue(Double.isNaN(csr.get(row, col, Double.NaN)));
+                    Assert.assertTrue(Double.isNaN(csc.get(row, col, Double.NaN)));
+                    continue;
+                }
+                union++;
+                double expected =
+                        2.d * (Double.isNaN(va) ? 0.d : va) - 0.5d * (Double.isNaN(vb) ? 0.d : vb);
+                Assert.assertEquals(expected, csr.get(row, col), 1E-12);
+                Assert.assertEquals(expected, csc.get(row, col), 1E-12);
+                Assert.assertEquals(expected, csrFloat.get(row, col), 1E-5);
+                Assert.assertEquals(expected, cscFloat.get(row, col), 1E-5);
+            }
+        }
+        Assert.assertEquals(union, csr.getValues().length);
+        Assert.assertEquals(union, csc.getValues().length);
+        Assert.assertEquals(union, csrFloat.getValues().length);
+        Assert.assertEquals(union, cscFloat.getValues().length);
+    }
+
+    @Test
+    public void testCombineShards() {
+        final int numShards = 64, numRows = 100, numCols = 70;
+        final CSRMatrix[] shards = new CSRMatrix[numShards];
+        final CSCMatrix[] cscShards = new CSCMatrix[numShards];
+        final CSRFloatMatrix[] floatShards = new CSRFloatMatrix[numShards];
+        final double[] weights = new double[numShards];
+        final float[] floatWeights = new float[numShards];
+        final double[][] expected = new double[numRows][numCols];
+        final double[][] sum = new double[numRows][numCols];
+        for (int s = 0; s < numShards; s++) {
+            shards[s] = new UniformMatrixGenerator(numRows, numCols, 50, s).toCSRMatrix();
+            cscShards[s] = shards[s].toColumnMajorMatrix();
+            floatShards[s] = MatrixTestUtils.toFloat(shards[s]);
+            weights[s] = floatWeights[s] = 1.f / (1 + s % 4);
+            for (int row = 0; row < numRows; row++) {
+                for (int col = 0; col < numCols; col++) {
+                    double v = shards[s].get(row, col, 0.d);
+                    expected[row][col] += weights[s] * v;
+                    sum[row][col] += v;
+                }
+            }
+        }
+
+        final CSRMatrix csr = LinearCombination.combine(shards, weights, false);
+        final CSRMatrix parallelCsr = LinearCombination.combine(shards, weights, true);
+        Assert.assertArrayEquals(csr.getRowPointers(), parallelCsr.getRowPointers());
+        Assert.assertArrayEquals(csr.getColumnIndices(), parallelCsr.getColumnIndices());
+        Assert.assertArrayEquals(csr.getValues(), parallelCsr.getValues(), 0.d);
+
+        final CSCMatrix csc = LinearCombination.combine(cscShards, weights, true);
+        final CSRFloatMatrix csrFloat = LinearCombination.combine(floatShards, floatWeights, true);
+        final CSRMatrix plain = LinearCombination.combine(shards, null, true);
+        final int[] rowPointers = csr.getRowPointers();
+        final int[] columnIndices = csr.getColumnIndices();
+        for (int row = 0; row < numRows; row++) {
+            for (int j = rowPointers[row] + 1; j < rowPointers[row + 1]; j++) {
+                Assert.assertTrue(columnIndices[j - 1] < columnIndices[j]);
+            }
+            for (int col = 0; col < numCols; col++) {
+                Assert.assertEquals(expected[row][col], csr.get(row, col), 1E-9);
+                Assert.assertEquals(expected[row][col], csc.get(row, col), 1E-9);
+                Assert.assertEquals(expected[row][col], csrFloat.get(row, col), 1E-4);
+                Assert.assertEquals(sum[row][col], plain.get(row, col), 1E-9);
+            }
+        }
+        Assert.assertEquals(csr.nnz(), csc.nnz());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShapeMismatch() {
+        LinearCombination.add(1.d, new UniformMatrixGenerator(10, 10, 20, 43L).toCSRMatrix(), 1.d,
+            new UniformMatrixGenerator(10, 11, 20, 43L).toCSRMatrix());
+    }
+
+}
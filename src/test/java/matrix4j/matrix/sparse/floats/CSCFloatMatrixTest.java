@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse.floats;
+
+import matrix4j.matrix.MatrixTestUtils;
+import matrix4j.matrix.generators.UniformMatrixGenerator;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.vector.FloatVectorCursor;
+import matrix4j.vector.VectorCursor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CSCFloatMatrixTest {
+
+    @Test
+    public void testRowAccess() {
+        CSRFloatMatrix csrFloat = MatrixTestUtils.toFloat(
+            new UniformMatrixGenerator(100, 30, 500, 43L).toCSRMatrix());
+        CSCFloatMatrix cscFloat = csrFloat.toColumnMajorMatrix();
+
+        FloatVectorCursor floatCursor = new FloatVectorCursor();
+        VectorCursor cursor = new VectorCursor();
+        float[] dst = new float[cscFloat.numColumns()];
+        for (int row = 0; row < cscFloat.numRows(); row++) {
+            Assert.assertEquals(csrFloat.numColumns(row), cscFloat.numColumns(row));
+            Assert.assertArrayEquals(csrFloat.getRow(row, new float[dst.length]),
+                cscFloat.getRow(row, dst), 0.f);
+            Assert.assertEquals(csrFloat.numColumns(row),
+                cscFloat.getRow(row, floatCursor).length());
+            Assert.assertEquals(csrFloat.numColumns(row), cscFloat.getRow(row, cursor).length());
+        }
+        CSRFloatMatrix roundTrip = cscFloat.toRowMajorMatrix();
+        Assert.assertArrayEquals(csrFloat.getColumnIndices(), roundTrip.getColumnIndices());
+        Assert.assertArrayEquals(csrFloat.getValues(), roundTrip.getValues(), 0.f);
+    }
+
+    @Test
+    public void testScaleAndMap() {
+        final UniformMatrixGenerator generator = new UniformMatrixGenerator(120, 40, 800, 43L);
+        final CSRMatrix expected = generator.toCSRMatrix();
+        final double[] rowFactors =
+                MatrixTestUtils.periodicFactors(expected.numRows(), 3, 1.d, 1.d);
+        final double[] colFactors =
+                MatrixTestUtils.periodicFactors(expected.numColumns(), 4, 0.d, 0.5d);
+        for (boolean parallel : new boolean[] {false, true}) {
+            CSCFloatMatrix matrix =
+                    MatrixTestUtils.toFloat(generator.toCSRMatrix()).toColumnMajorMatrix();
+            matrix.scaleRows(MatrixTestUtils.toFloat(rowFactors), parallel);
+            matrix.scaleColumns(MatrixTestUtils.toFloat(colFactors), parallel);
+            matrix.map(MatrixTestUtils.LOG1P_ABS, parallel);
+            MatrixTestUtils.assertScaledAndMapped(expected, rowFactors, colFactors,
+                MatrixTestUtils.LOG1P_ABS, matrix, 1E-5);
+        }
+    }
+
+    @Test
+    public void testPrune() {
+        final CSRMatrix csr = new UniformMatrixGenerator(80, 30, 600, 43L).toCSRMatrix();
+        MatrixTestUtils.addZerosAndNaN(csr);
+        final CSCFloatMatrix matrix = MatrixTestUtils.toFloat(csr).toColumnMajorMatrix();
+
+        final CSCFloatMatrix withoutZeros = matrix.prune();
+        MatrixTestUtils.assertPruned(matrix, withoutZeros, 0.d);
+        final CSCFloatMatrix pruned = matrix.prune(0.5d);
+        MatrixTestUtils.assertPruned(matrix, pruned, 0.5d);
+        Assert.assertTrue(pruned.nnz() < withoutZeros.nnz());
+        Assert.assertSame(pruned, pruned.prune(0.5d));
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse.floats;
+
+import matrix4j.matrix.ColumnMajorFloatMatrix;
+import matrix4j.matrix.MatrixUtils;
+import matrix4j.matrix.RowMajorFloatMatrix;
+import matrix4j.vector.VectorProcedure;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CSRHalfFloatMatrixTest {
+
+    @Test
+    public void testHalf() {
+        CSRFloatMatrix src = randomMatrix(50, 40, 300, 43L);
+        CSRHalfFloatMatrix matrix = CSRHalfFloatMatrix.build(src, false);
+        assertApproxEquals(src, matrix, 5E-3f);
+    }
+
+    @Test
+    public void testBFloat16() {
+        CSRFloatMatrix src = randomMatrix(50, 40, 300, 43L);
+        CSRHalfFloatMatrix matrix = CSRHalfFloatMatrix.build(src, true);
+        Assert.assertTrue(matrix.isBFloat16());
+        assertApproxEquals(src, matrix, 2E-2f);
+    }
+
+    @Test
+    public void testSetAndMultiply() {
+        CSRFloatMatrix src = randomMatrix(20, 30, 100, 31L);
+        CSRHalfFloatMatrix matrix = CSRHalfFloatMatrix.build(src, false);
+
+        int col = src.getColumnIndices()[0];
+        matrix.set(0, col, 0.5f);
+        Assert.assertEquals(0.5f, matrix.get(0, col, -1.f), 0.f);
+        src.set(0, col, 0.5f);
+
+        float[] x = new float[src.numColumns()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i * 0.01f;
+        }
+        float[] expected = src.multiply(x, new float[src.numRows()]);
+        float[] actual = matrix.multiply(x, new float[src.numRows()]);
+        Assert.assertArrayEquals(expected, actual, 1E-2f);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSetFail() {
+        CSRHalfFloatMatrix matrix = CSRHalfFloatMatrix.build(
+            MatrixUtils.coo2csr(new int[] {0}, new int[] {0}, new float[] {1.f}, 2, 2, true),
+            false);
+        matrix.set(1, 1, 1.f);
+    }
+
+    static void assertApproxEquals(final CSRFloatMatrix expected, final RowMajorFloatMatrix actual,
+            final float delta) {
+        Assert.assertEquals(expected.numRows(), actual.numRows());
+        Assert.assertEquals(expected.numColumns(), actual.numColumns());
+        Assert.assertEquals(expected.nnz(), actual.nnz());
+
+        float[] dst1 = new float[expected.numColumns()];
+        float[] dst2 = new float[expected.numColumns()];
+        for (int row = 0; row < expected.numRows(); row++) {
+            expected.getRow(row, dst1);
+            actual.getRow(row, dst2);
+            for (int j = 0; j < dst1.length; j++) {
+                Assert.assertEquals(dst1[j], dst2[j], delta);
+            }
+            actual.eachNonZeroInRow(row, new VectorProcedure() {
+                @Override
+                public void apply(int col, float value) {
+                    Assert.assertNotEquals(0.f, value, 0.f);
+                }
+            });
+        }
+
+        ColumnMajorFloatMatrix csc = actual.toColumnMajorMatrix();
+        Assert.assertEquals(expected.nnz(), csc.nnz());
+    }
+
+    static CSRFloatMatrix randomMatrix(int numRows, int numCols, int nnz, long seed) {
+        final Random rnd = new Random(seed);
+        final int[] rows = new int[nnz];
+        final int[] cols = new int[nnz];
+        final float[] data = new float[nnz];
+        for (int i = 0; i < nnz; i++) {
+            // distinct cells: walk the matrix with a random stride
+            int cell = (int) ((i * 7919L) % (numRows * numCols));
+            rows[i] = cell / numCols;
+            cols[i] = cell % numCols;
+            data[i] = (rnd.nextFloat() - 0.5f) * 10.f;
+        }
+        return MatrixUtils.coo2csr(rows, cols, data, numRows, numCols, true);
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.matrix.sparse.floats;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CSRQuantizedFloatMatrixTest {
+
+    @Test
+    public void testQuantize() {
+        CSRFloatMatrix src = CSRHalfFloatMatrixTest.randomMatrix(50, 40, 300, 43L);
+        CSRQuantizedFloatMatrix matrix = CSRQuantizedFloatMatrix.build(src);
+        // values lie in [-5, 5), so the quantization step is at most 10/255
+        CSRHalfFloatMatrixTest.assertApproxEquals(src, matrix, 10.f / 255 / 2 + 1E-5f);
+    }
+
+    @Test
+    public void testSetClamped() {
+        CSRFloatMatrix src = CSRHalfFloatMatrixTest.randomMatrix(5, 10, 20, 31L);
+        CSRQuantizedFloatMatrix matrix = CSRQuantizedFloatMatrix.build(src);
+
+        int col = src.getColumnIndices()[0];
+        float max = matrix.getOffsets()[0] + 255 * matrix.getScales()[0];
+        matrix.set(0, col, 1000.f);
+        Assert.assertEquals(max, matrix.get(0, col, 0.f), 1E-5f);
+    }
+
+    @Test
+    public void testMultiply() {
+        CSRFloatMatrix src = CSRHalfFloatMatrixTest.randomMatrix(20, 30, 100, 31L);
+        CSRQuantizedFloatMatrix matrix = CSRQuantizedFloatMatrix.build(src);
+
+        float[] x = new float[src.numColumns()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 1.f - i * 0.05f;
+        }
+        float[] expected = matrix.toFloatMatrix().multiply(x, new float[src.numRows()]);
+        float[] actual = matrix.multiply(x, new float[src.numRows()]);
+        Assert.assertArrayEquals(expected, actual, 1E-4f);
+    }
+
+}
@@ -54,4 +54,37 @@ public class DoubleArrayTest {
         }
     }
 
+    @Test
+    public void testSparseDoubleArrayPutAll() {
+        SparseDoubleArray array = new SparseDoubleArray(new int[] {5, 1, 3, 1, -2},
+            new double[] {5, 1, 3, 10, -2}, 5, true);
+        Assert.assertEquals(4, array.size());
+        Assert.assertEquals("{-2=-2.0, 1=11.0, 3=3.0, 5=5.0}", array.toString());
+
+        array.putAll(new int[] {0, 9, 4, 3, 9, 3}, new double[] {0, 1, 4, 30, 2, 300}, 1, 4, false);
+        Assert.assertEquals("{-2=-2.0, 1=11.0, 3=30.0, 4=4.0, 5=5.0, 9=2.0}", array.toString());
+
+        array.putAll(new int[] {1, 10}, new double[] {1, 10}, 0, 2, true);
+        Assert.assertEquals("{-2=-2.0, 1=12.0, 3=30.0, 4=4.0, 5=5.0, 9=2.0, 10=10.0}",
+            array.toString());
+
+        array.append(11, 11);
+        Assert.assertEquals(11.d, array.get(11), 0.d);
+    }
+
+    @Test
+    public void testSparseFloatArrayPutAll() {
+        SparseFloatArray array =
+                new SparseFloatArray(new int[] {3, 1, 3}, new float[] {3, 1, 4}, 3, false);
+        Assert.assertEquals("{1=1.0, 3=4.0}", array.toString());
+
+        array.putAll(new int[] {2, 3}, new float[] {2, 1}, 0, 2, true);
+        Assert.assertEquals("{1=1.0, 2=2.0, 3=5.0}", array.toString());
+
+        SparseFloatArray empty = new SparseFloatArray(new int[0], new float[0], 0, true);
+        Assert.assertEquals(0, empty.size());
+        empty.append(1, 1.f);
+        Assert.assertEquals(1.f, empty.get(1), 0.f);
+    }
+
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.utils.collections.heaps;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntDoubleTopKHeapTest {
+
+    @Test
+    public void testOfferAndDrain() {
+        final Random rnd = new Random(43L);
+        final int n = 1000;
+        final double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = rnd.nextInt(50); // many ties
+        }
+
+        for (int k : new int[] {1, 7, 100, n, n + 5}) {
+            IntDoubleTopKHeap heap = new IntDoubleTopKHeap(k);
+            for (int i = n - 1; i >= 0; i--) {
+                heap.offer(i, values[i]);
+            }
+            final int expectedSize = Math.min(k, n);
+            Assert.assertEquals(expectedSize, heap.size());
+
+            int[] indices = new int[k + 2];
+            double[] dst = new double[k + 2];
+            Assert.assertEquals(expectedSize, heap.drainTo(indices, dst, 2));
+            Assert.assertEquals(0, heap.size());
+
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer o1, Integer o2) {
+                    int cmp = Double.compare(values[o2], values[o1]);
+                    return (cmp != 0) ? cmp : Integer.compare(o1, o2);
+                }
+            });
+            for (int i = 0; i < expectedSize; i++) {
+                Assert.assertEquals(order[i].intValue(), indices[i + 2]);
+                Assert.assertEquals(values[order[i]], dst[i + 2], 0.d);
+            }
+        }
+    }
+
+    @Test
+    public void testNaNAndFloatDrain() {
+        IntDoubleTopKHeap heap = new IntDoubleTopKHeap(2);
+        Assert.assertFalse(heap.offer(0, Double.NaN));
+        Assert.assertTrue(heap.offer(1, -1.5d));
+        Assert.assertTrue(heap.offer(2, Double.NEGATIVE_INFINITY));
+        Assert.assertTrue(heap.isFull());
+        Assert.assertTrue(heap.offer(3, 2.5d));
+        Assert.assertFalse(heap.offer(4, -1.5d));
+
+        int[] indices = new int[2];
+        float[] values = new float[2];
+        Assert.assertEquals(2, heap.drainTo(indices, values, 0));
+        Assert.assertArrayEquals(new int[] {3, 1}, indices);
+        Assert.assertArrayEquals(new float[] {2.5f, -1.5f}, values, 0.f);
+    }
+
+}
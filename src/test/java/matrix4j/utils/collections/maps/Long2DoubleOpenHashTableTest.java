@@ -15,6 +15,11 @@
  */
 package matrix4j.utils.collections.maps;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -158,4 +163,196 @@ public class Long2DoubleOpenHashTableTest {
         }
         Assert.assertEquals(numEntries * 2, map.size());
     }
+
+    @Test
+    public void testStatistics() {
+        Long2DoubleOpenHashTable map = new Long2DoubleOpenHashTable(100);
+        HashTableStatistics stats = map.statistics();
+        Assert.assertEquals(0, stats.getSize());
+        Assert.assertEquals(0.d, stats.getAverageProbeLength(), 0.d);
+        Assert.assertEquals(0L, stats.getRehashCount());
+
+        for (int row = 0; row < 100; row++) {
+            for (int col = 0; col < 100; col++) {
+                map.put(((long) row << 32) | col, 1.d);
+            }
+        }
+        for (int col = 0; col < 10; col++) {
+            map.remove(col);
+        }
+
+        stats = map.statistics();
+        Assert.assertEquals(map.size(), stats.getSize());
+        Assert.assertEquals(9990, stats.getSize());
+        Assert.assertEquals(10, stats.getRemoved());
+        Assert.assertEquals(stats.getCapacity() - 10000, stats.getFree());
+        Assert.assertTrue(stats.getRehashCount() > 0L);
+        Assert.assertTrue(stats.getRehashNanos() > 0L);
+        Assert.assertTrue(stats.getAverageProbeLength() >= 1.d);
+        Assert.assertTrue(stats.getMaxProbeLength() >= stats.getAverageProbeLength());
+        Assert.assertTrue(stats.getLoad() < stats.getLoadFactor());
+    }
+
+    @Test
+    public void testHashFunction() {
+        LongHashFunction[] functions =
+                {LongHashFunction.XOR_FOLD, LongHashFunction.MURMUR3, LongHashFunction.SPLITMIX64};
+        int[] maxProbes = new int[functions.length];
+        for (int f = 0; f < functions.length; f++) {
+            Long2DoubleOpenHashTable map = new Long2DoubleOpenHashTable(16384, functions[f]);
+            // diagonal band: row ^ col takes only a few distinct values
+            for (int row = 0; row < 2000; row++) {
+                for (int col = Math.max(0, row - 1); col <= row + 1; col++) {
+                    map.put(((long) row << 32) | col, row + col);
+                }
+            }
+            for (int row = 0; row < 2000; row++) {
+                for (int col = Math.max(0, row - 1); col <= row + 1; col++) {
+                    Assert.assertEquals(row + col, map.get(((long) row << 32) | col), 0.d);
+                }
+            }
+            maxProbes[f] = map.statistics().getMaxProbeLength();
+        }
+        Assert.assertTrue(maxProbes[0] > 100);
+        Assert.assertTrue(maxProbes[1] < 20);
+        Assert.assertTrue(maxProbes[2] < 20);
+    }
+
+    @Test
+    public void testSerializationWithHashFunction() throws Exception {
+        Long2DoubleOpenHashTable map =
+                new Long2DoubleOpenHashTable(16384, LongHashFunction.XOR_FOLD);
+        for (int i = 0; i < 1000; i++) {
+            map.put(((long) i << 32) | i, i);
+        }
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(map);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        Long2DoubleOpenHashTable deserialized = (Long2DoubleOpenHashTable) ois.readObject();
+        Assert.assertEquals(1000, deserialized.size());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, deserialized.get(((long) i << 32) | i), 0.d);
+        }
+        // the hash function is not serialized: every diagonal key folds to 0 only with XOR_FOLD
+        Assert.assertTrue(deserialized.statistics().getMaxProbeLength() < 20);
+        deserialized.hashFunction(LongHashFunction.XOR_FOLD);
+        Assert.assertTrue(deserialized.statistics().getMaxProbeLength() > 100);
+        Assert.assertEquals(1000, deserialized.size());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, deserialized.get(((long) i << 32) | i), 0.d);
+        }
+    }
+
+    @Test
+    public void testPutAfterRemoveOnProbeSequence() {
+        Long2DoubleOpenHashTable map =
+                new Long2DoubleOpenHashTable(16384, LongHashFunction.XOR_FOLD);
+        final long k1 = 1L;
+        final long k2 = 1L + 17029; // least prime >= 16384, so both keys start at the same slot
+        map.put(k1, 1.d);
+        map.put(k2, 2.d);
+        Assert.assertEquals(1.d, map.remove(k1), 0.d);
+
+        // must update k2 in place, not insert it again into the REMOVED slot of k1
+        Assert.assertEquals(2.d, map.put(k2, 3.d), 0.d);
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(3.d, map.remove(k2), 0.d);
+        Assert.assertFalse(map.containsKey(k2));
+        Assert.assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testRemoveChurn() {
+        Long2DoubleOpenHashTable map = new Long2DoubleOpenHashTable(16384);
+        final int numEntries = 5000;
+        for (int i = 0; i < numEntries; i++) {
+            map.put(i, i);
+        }
+        final int capacity = map.statistics().getCapacity();
+        // slide a window of live keys so that every step leaves a REMOVED slot behind
+        for (int i = numEntries; i < 100 * numEntries; i++) {
+            Assert.assertEquals(i - numEntries, map.remove(i - numEntries), 0.d);
+            map.put(i, i);
+            Assert.assertEquals(numEntries, map.size());
+        }
+        HashTableStatistics stats = map.statistics();
+        Assert.assertEquals(capacity, stats.getCapacity());
+        Assert.assertTrue(stats.toString(), stats.getRemoved() <= Math.round(capacity * 0.2f));
+        Assert.assertTrue(stats.toString(), stats.getRehashCount() > 0);
+        for (int i = 99 * numEntries; i < 100 * numEntries; i++) {
+            Assert.assertEquals(i, map.get(i, -1.d), 0.d);
+        }
+        Assert.assertFalse(map.containsKey(99 * numEntries - 1));
+    }
+
+    @Test
+    public void testRemoveWhileIterating() {
+        Long2DoubleOpenHashTable map = new Long2DoubleOpenHashTable(1024);
+        for (int i = 0; i < 700; i++) {
+            map.put(i, i);
+        }
+        final int capacity = map.statistics().getCapacity();
+        Assert.assertTrue(700 > Math.round(capacity * 0.2f));
+
+        int visited = 0;
+        final Long2DoubleOpenHashTable.IMapIterator itor = map.entries();
+        for (int idx; (idx = itor.next()) != -1; visited++) {
+            Assert.assertEquals(itor.getKey(), map._remove(idx), 0.d);
+        }
+        Assert.assertEquals(700, visited);
+        Assert.assertEquals(0, map.size());
+        Assert.assertEquals(700, map.statistics().getRemoved());
+
+        // the REMOVED slots are dropped by the next insertion
+        map.put(1000L, 1.d);
+        HashTableStatistics stats = map.statistics();
+        Assert.assertEquals(0, stats.getRemoved());
+        Assert.assertEquals(capacity, stats.getCapacity());
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(1.d, map.get(1000L), 0.d);
+    }
+
+    @Test
+    public void testCompactAndTrimToSize() {
+        Long2DoubleOpenHashTable map = new Long2DoubleOpenHashTable(16384);
+        for (int i = 0; i < 10000; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 10000; i += 4) {
+            map.remove(i);
+        }
+        Assert.assertTrue(map.statistics().getRemoved() > 0);
+
+        final int capacity = map.statistics().getCapacity();
+        map.compact();
+        HashTableStatistics stats = map.statistics();
+        Assert.assertEquals(capacity, stats.getCapacity());
+        Assert.assertEquals(0, stats.getRemoved());
+        Assert.assertEquals(7500, map.size());
+
+        for (int i = 7500; i < 10000; i++) {
+            map.remove(i);
+        }
+        map.trimToSize();
+        stats = map.statistics();
+        Assert.assertEquals(0, stats.getRemoved());
+        Assert.assertTrue(stats.toString(), stats.getCapacity() < capacity);
+        Assert.assertTrue(stats.toString(), stats.getLoad() <= 0.75d);
+        Assert.assertEquals(5625, map.size());
+        for (int i = 0; i < 10000; i++) {
+            if (i < 7500 && i % 4 != 0) {
+                Assert.assertEquals(i, map.get(i, -1.d), 0.d);
+            } else {
+                Assert.assertFalse(map.containsKey(i));
+            }
+        }
+        // still grows after trimming
+        for (int i = 10000; i < 20000; i++) {
+            map.put(i, i);
+        }
+        Assert.assertEquals(15625, map.size());
+    }
+
 }
@@ -180,4 +180,55 @@ public class Long2IntOpenHashTableTest {
         }
         Assert.assertEquals(numEntries * 2, map.size());
     }
+
+    @Test
+    public void testStatistics() {
+        Long2IntOpenHashTable map = new Long2IntOpenHashTable(16384, LongHashFunction.XOR_FOLD);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        HashTableStatistics stats = map.statistics();
+        Assert.assertEquals(1000, stats.getSize());
+        Assert.assertEquals(0, stats.getRemoved());
+        Assert.assertEquals(0L, stats.getRehashCount());
+        // sequential keys never collide without mixing
+        Assert.assertEquals(1.d, stats.getAverageProbeLength(), 0.d);
+        Assert.assertEquals(1, stats.getMaxProbeLength());
+    }
+
+    @Test
+    public void testIncrAfterRemoveAndClear() {
+        Long2IntOpenHashTable map = new Long2IntOpenHashTable(16384);
+        map.incr(1L, 5);
+        map.remove(1L);
+        map.incr(1L, 3);
+        Assert.assertEquals(3, map.get(1L));
+
+        map.clear();
+        map.incr(1L, 7);
+        Assert.assertEquals(7, map.get(1L));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRemoveWhileIterating() {
+        Long2IntOpenHashTable map = new Long2IntOpenHashTable(1024);
+        for (int i = 0; i < 700; i++) {
+            map.put(i, i);
+        }
+
+        int visited = 0;
+        final Long2IntOpenHashTable.IMapIterator itor = map.entries();
+        while (itor.next() != -1) {
+            Assert.assertEquals(itor.getValue(), map.remove(itor.getKey()));
+            visited++;
+        }
+        Assert.assertEquals(700, visited);
+        Assert.assertEquals(0, map.size());
+
+        map.incr(1000L, 3);
+        Assert.assertEquals(0, map.statistics().getRemoved());
+        Assert.assertEquals(3, map.get(1000L));
+    }
+
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.utils.lang;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HalfFloatTest {
+
+    @Test
+    public void testHalfRoundTrip() {
+        // every finite binary16 value must survive decode/encode
+        for (int h = 0; h <= 0xffff; h++) {
+            final short half = (short) h;
+            final float f = HalfFloat.halfToFloat(half);
+            if (Float.isNaN(f)) {
+                Assert.assertTrue(Float.isNaN(HalfFloat.halfToFloat(HalfFloat.floatToHalf(f))));
+                continue;
+            }
+            Assert.assertEquals("h=" + Integer.toHexString(h), half, HalfFloat.floatToHalf(f));
+        }
+    }
+
+    @Test
+    public void testHalfSpecialValues() {
+        Assert.assertEquals(1.f, HalfFloat.halfToFloat((short) 0x3c00), 0.f);
+        Assert.assertEquals(-2.f, HalfFloat.halfToFloat((short) 0xc000), 0.f);
+        Assert.assertEquals(HalfFloat.MAX_VALUE, HalfFloat.halfToFloat((short) 0x7bff), 0.f);
+        Assert.assertEquals(Float.POSITIVE_INFINITY,
+            HalfFloat.halfToFloat(HalfFloat.floatToHalf(65520.f)), 0.f);
+        Assert.assertEquals(HalfFloat.MAX_VALUE,
+            HalfFloat.halfToFloat(HalfFloat.floatToHalf(65519.f)), 0.f);
+        Assert.assertEquals(5.9604645E-8f, HalfFloat.halfToFloat((short) 0x0001), 0.f);
+        Assert.assertEquals(0.f, HalfFloat.halfToFloat(HalfFloat.floatToHalf(1E-9f)), 0.f);
+        Assert.assertEquals((short) 0x8000, HalfFloat.floatToHalf(-0.f));
+    }
+
+    @Test
+    public void testHalfRounding() {
+        // 1 + 2^-11 is halfway between 1 and 1 + 2^-10; ties to even
+        Assert.assertEquals((short) 0x3c00, HalfFloat.floatToHalf(1.f + 0.00048828125f));
+        // 1 + 3 * 2^-11 is halfway between 1 + 2^-10 and 1 + 2^-9; ties to even
+        Assert.assertEquals((short) 0x3c02, HalfFloat.floatToHalf(1.f + 3 * 0.00048828125f));
+    }
+
+    @Test
+    public void testBFloat16() {
+        Assert.assertEquals(1.f, HalfFloat.bfloat16ToFloat(HalfFloat.floatToBFloat16(1.f)), 0.f);
+        Assert.assertEquals(3.140625f,
+            HalfFloat.bfloat16ToFloat(HalfFloat.floatToBFloat16(3.14159265f)), 0.f);
+        Assert.assertEquals(1E30f, HalfFloat.bfloat16ToFloat(HalfFloat.floatToBFloat16(1E30f)),
+            1E28f);
+        Assert.assertTrue(
+            Float.isNaN(HalfFloat.bfloat16ToFloat(HalfFloat.floatToBFloat16(Float.NaN))));
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.vector;
+
+import matrix4j.utils.collections.arrays.SparseFloatArray;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HashSparseVectorTest {
+
+    @Test
+    public void testIncrAndGet() {
+        HashSparseVector vec = new HashSparseVector(4);
+        Map<Integer, Double> expected = new HashMap<Integer, Double>();
+        Random rnd = new Random(43L);
+        for (int i = 0; i < 10000; i++) {
+            int index = rnd.nextInt(3000);
+            double delta = rnd.nextDouble();
+            vec.incr(index, delta);
+            Double old = expected.get(index);
+            expected.put(index, (old == null) ? delta : old.doubleValue() + delta);
+        }
+        Assert.assertEquals(expected.size(), vec.size());
+        for (Map.Entry<Integer, Double> e : expected.entrySet()) {
+            Assert.assertEquals(e.getValue().doubleValue(), vec.get(e.getKey()), 1e-9);
+        }
+        Assert.assertEquals(-1.d, vec.get(3000, -1.d), 0.d);
+
+        final double[] sum = new double[1];
+        vec.each(new VectorProcedure() {
+            @Override
+            public void apply(int i, double value) {
+                sum[0] += value;
+            }
+        });
+        double expectedSum = 0.d;
+        for (Double v : expected.values()) {
+            expectedSum += v.doubleValue();
+        }
+        Assert.assertEquals(expectedSum, sum[0], 1e-6);
+    }
+
+    @Test
+    public void testClear() {
+        HashSparseVector vec = new HashSparseVector();
+        for (int round = 0; round < 3; round++) {
+            vec.set(5, 1.d);
+            vec.incr(7, 2.d);
+            Assert.assertEquals(2, vec.size());
+            Assert.assertEquals(1.d, vec.get(5), 0.d);
+            Assert.assertEquals(2.d, vec.get(7), 0.d);
+            vec.clear();
+            Assert.assertEquals(0, vec.size());
+            Assert.assertEquals(0.d, vec.get(5), 0.d);
+            Assert.assertEquals(0.d, vec.get(7), 0.d);
+        }
+    }
+
+    @Test
+    public void testCompact() {
+        HashSparseVector vec = new HashSparseVector();
+        vec.set(100, 3.d);
+        vec.set(2, 1.d);
+        vec.set(50, 2.d);
+
+        int[] keys = new int[4];
+        double[] values = new double[4];
+        Assert.assertEquals(3, vec.compact(keys, values));
+        Assert.assertArrayEquals(new int[] {2, 50, 100, 0}, keys);
+        Assert.assertArrayEquals(new double[] {1.d, 2.d, 3.d, 0.d}, values, 0.d);
+
+        SparseVector sparse = vec.toSparseVector();
+        Assert.assertEquals(3, sparse.size());
+        Assert.assertEquals(2.d, sparse.get(50), 0.d);
+        Assert.assertEquals(101, vec.toArray().length);
+        Assert.assertEquals(3.d, vec.toArray()[100], 0.d);
+    }
+
+    @Test
+    public void testFloatVector() {
+        HashSparseFloatVector vec = new HashSparseFloatVector(1);
+        for (int i = 0; i < 100; i++) {
+            vec.incr(i * 7, 1.d);
+            vec.incr(i * 7, 0.5d);
+        }
+        Assert.assertEquals(100, vec.size());
+        Assert.assertEquals(1.5f, vec.get(70, 0.f), 0.f);
+
+        SparseFloatVector sparse = vec.toSparseVector();
+        SparseFloatArray array = sparse.getValues();
+        Assert.assertEquals(100, array.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i * 7, array.keyAt(i));
+            Assert.assertEquals(1.5f, array.valueAt(i), 0.f);
+        }
+        double[] dense = vec.toArray();
+        Assert.assertEquals(99 * 7 + 1, dense.length);
+        Assert.assertEquals(1.5d, dense[70], 0.d);
+        Assert.assertEquals(0.d, dense[71], 0.d);
+
+        vec.clear();
+        Assert.assertEquals(0, vec.size());
+        Assert.assertEquals(0.f, vec.get(70, 0.f), 0.f);
+    }
+
+}
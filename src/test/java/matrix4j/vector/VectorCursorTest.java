@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.vector;
+
+import matrix4j.matrix.Matrix;
+import matrix4j.matrix.MatrixTestUtils;
+import matrix4j.matrix.builders.CSCMatrixBuilder;
+import matrix4j.matrix.builders.CSRMatrixBuilder;
+import matrix4j.matrix.builders.ColumnMajorDenseMatrixBuilder;
+import matrix4j.matrix.builders.DoKMatrixBuilder;
+import matrix4j.matrix.builders.MatrixBuilder;
+import matrix4j.matrix.builders.RowMajorDenseMatrixBuilder;
+import matrix4j.matrix.sparse.CSRMatrix;
+import matrix4j.matrix.sparse.floats.CSCFloatMatrix;
+import matrix4j.matrix.sparse.floats.CSRFloatMatrix;
+import matrix4j.matrix.sparse.floats.DoKFloatMatrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VectorCursorTest {
+
+    @Test
+    public void testAppend() {
+        VectorCursor cursor = new VectorCursor(1);
+        Assert.assertFalse(cursor.next());
+        for (int i = 0; i < 100; i++) {
+            cursor.append(i * 2, i);
+        }
+        Assert.assertEquals(100, cursor.length());
+        Assert.assertFalse(cursor.isDense());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals(i * 2, cursor.index());
+            Assert.assertEquals(i, cursor.value(), 0.d);
+        }
+        Assert.assertFalse(cursor.next());
+
+        cursor.rewind();
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(0, cursor.index());
+
+        cursor.clear();
+        Assert.assertEquals(0, cursor.length());
+        Assert.assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testDenseView() {
+        VectorCursor cursor = new VectorCursor();
+        cursor.view(null, new double[] {1, 2, 3, 4}, 1, 2);
+        Assert.assertTrue(cursor.isDense());
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(0, cursor.index());
+        Assert.assertEquals(2.d, cursor.value(), 0.d);
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(1, cursor.index());
+        Assert.assertEquals(3.d, cursor.value(), 0.d);
+        Assert.assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testCSRMatrixZeroCopy() {
+        CSRMatrix matrix = build(new CSRMatrixBuilder(1024));
+        VectorCursor cursor = matrix.getRow(2, new VectorCursor());
+        Assert.assertSame(matrix.getColumnIndices(), cursor.indices());
+        Assert.assertEquals(4, cursor.length());
+        assertRows(matrix);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCSRMatrixColumnUnsupported() {
+        build(new CSRMatrixBuilder(1024)).getColumn(0, new VectorCursor());
+    }
+
+    @Test
+    public void testCSCMatrix() {
+        Matrix matrix = build(new CSCMatrixBuilder(1024));
+        assertRows(matrix);
+        assertColumns(matrix);
+    }
+
+    @Test
+    public void testDoKMatrix() {
+        Matrix matrix = build(new DoKMatrixBuilder(1024));
+        assertRows(matrix);
+        assertColumns(matrix);
+    }
+
+    @Test
+    public void testRowMajorDenseMatrix2d() {
+        Matrix matrix = build(new RowMajorDenseMatrixBuilder(1024));
+        assertRows(matrix);
+        assertColumns(matrix);
+    }
+
+    @Test
+    public void testColumnMajorDenseMatrix2d() {
+        Matrix matrix = build(new ColumnMajorDenseMatrixBuilder(1024));
+        assertRows(matrix);
+        assertColumns(matrix);
+    }
+
+    @Test
+    public void testFloatMatrices() {
+        CSRMatrix csr = build(new CSRMatrixBuilder(1024));
+        CSRFloatMatrix csrFloat = MatrixTestUtils.toFloat(csr);
+        CSCFloatMatrix cscFloat = csrFloat.toColumnMajorMatrix();
+        DoKFloatMatrix dokFloat = new DoKFloatMatrix(6, 6);
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                float v = csrFloat.get(row, col, 0.f);
+                if (v != 0.f) {
+                    dokFloat.set(row, col, v);
+                }
+            }
+        }
+
+        FloatVectorCursor cursor = new FloatVectorCursor();
+        for (int row = 0; row < 6; row++) {
+            assertRow(csrFloat, row, csrFloat.getRow(row, cursor));
+            assertRow(csrFloat, row, cscFloat.getRow(row, cursor));
+            assertRow(csrFloat, row, dokFloat.getRow(row, cursor));
+        }
+        for (int col = 0; col < 6; col++) {
+            assertColumn(csrFloat, col, cscFloat.getColumn(col, cursor));
+            assertColumn(csrFloat, col, dokFloat.getColumn(col, cursor));
+        }
+    }
+
+    private static void assertRows(final Matrix matrix) {
+        final VectorCursor cursor = new VectorCursor(2);
+        for (int row = 0; row < matrix.numRows(); row++) {
+            matrix.getRow(row, cursor);
+            double sum = 0.d;
+            while (cursor.next()) {
+                Assert.assertEquals(matrix.get(row, cursor.index()), cursor.value(), 0.d);
+                sum += cursor.value();
+            }
+            Assert.assertEquals(rowSum(matrix, row), sum, 0.d);
+        }
+    }
+
+    private static void assertColumns(final Matrix matrix) {
+        final VectorCursor cursor = new VectorCursor(2);
+        for (int col = 0; col < matrix.numColumns(); col++) {
+            matrix.getColumn(col, cursor);
+            double sum = 0.d;
+            while (cursor.next()) {
+                Assert.assertEquals(matrix.get(cursor.index(), col), cursor.value(), 0.d);
+                sum += cursor.value();
+            }
+            Assert.assertEquals(columnSum(matrix, col), sum, 0.d);
+        }
+    }
+
+    private static void assertRow(final Matrix expected, final int row,
+            final FloatVectorCursor cursor) {
+        double sum = 0.d;
+        while (cursor.next()) {
+            Assert.assertEquals(expected.get(row, cursor.index()), cursor.value(), 0.d);
+            sum += cursor.value();
+        }
+        Assert.assertEquals(rowSum(expected, row), sum, 0.d);
+    }
+
+    private static void assertColumn(final Matrix expected, final int col,
+            final FloatVectorCursor cursor) {
+        double sum = 0.d;
+        while (cursor.next()) {
+            Assert.assertEquals(expected.get(cursor.index(), col), cursor.value(), 0.d);
+            sum += cursor.value();
+        }
+        Assert.assertEquals(columnSum(expected, col), sum, 0.d);
+    }
+
+    private static double rowSum(final Matrix matrix, final int row) {
+        double sum = 0.d;
+        for (int col = 0; col < matrix.numColumns(); col++) {
+            sum += matrix.get(row, col);
+        }
+        return sum;
+    }
+
+    private static double columnSum(final Matrix matrix, final int col) {
+        double sum = 0.d;
+        for (int row = 0; row < matrix.numRows(); row++) {
+            sum += matrix.get(row, col);
+        }
+        return sum;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Matrix> T build(final MatrixBuilder builder) {
+        /*
+        11  12  13  14  0   0
+        0   22  23  0   0   0
+        0   0   33  34  35  36
+        0   0   0   44  45  0
+        0   0   0   0   0   56
+        0   0   0   0   0   66
+        */
+        builder.nextRow(new String[] {"0:11", "1:12", "2:13", "3:14"});
+        builder.nextRow(new String[] {"1:22", "2:23"});
+        builder.nextRow(new String[] {"2:33", "3:34", "4:35", "5:36"});
+        builder.nextRow(new String[] {"3:44", "4:45"});
+        builder.nextRow(new String[] {"5:56"});
+        builder.nextRow(new String[] {"5:66"});
+        return (T) builder.buildMatrix();
+    }
+
+}
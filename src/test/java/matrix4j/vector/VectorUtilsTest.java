@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 and onwards Makoto Yui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package matrix4j.vector;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VectorUtilsTest {
+
+    @Test
+    public void testDenseDot() {
+        double[] x = new double[] {1, 2, 3, 4, 5, 6, 7};
+        double[] y = new double[] {7, 6, 5, 4, 3, 2, 1};
+        Assert.assertEquals(84.d, VectorUtils.dot(x, y, 7), 0.d);
+        Assert.assertEquals(7.d + 12.d + 15.d, VectorUtils.dot(x, y, 3), 0.d);
+        Assert.assertEquals(84.f, VectorUtils.dot(new float[] {1, 2, 3, 4, 5, 6, 7},
+            new float[] {7, 6, 5, 4, 3, 2, 1}, 7), 0.f);
+        Assert.assertEquals(84.d, VectorUtils.dot(new DenseVector(x), new DenseVector(y)), 0.d);
+    }
+
+    @Test
+    public void testSparseDot() {
+        Random rnd = new Random(31L);
+        for (int trial = 0; trial < 20; trial++) {
+            int dims = 1000;
+            double[] xd = new double[dims];
+            double[] yd = new double[dims];
+            SparseVector xs = new SparseVector();
+            SparseVector ys = new SparseVector();
+            SparseFloatVector xf = new SparseFloatVector();
+            DenseFloatVector yf = new DenseFloatVector(dims);
+            // x is either comparable to or much sparser than y to cover both join strategies
+            int xnnz = (trial % 2 == 0) ? 300 : 5;
+            for (int i = 0; i < xnnz; i++) {
+                int k = rnd.nextInt(dims);
+                float v = rnd.nextInt(10) + 1;
+                xd[k] = v;
+                xs.set(k, v);
+                xf.set(k, v);
+            }
+            for (int i = 0; i < 400; i++) {
+                int k = rnd.nextInt(dims);
+                float v = rnd.nextInt(10) + 1;
+                yd[k] = v;
+                ys.set(k, v);
+                yf.set(k, v);
+            }
+            double expected = VectorUtils.dot(xd, yd, dims);
+            DenseVector y = new DenseVector(yd);
+            Assert.assertEquals(expected, VectorUtils.dot(xs, y), 0.d);
+            Assert.assertEquals(expected, VectorUtils.dot(y, xs), 0.d);
+            Assert.assertEquals(expected, VectorUtils.dot(xs, ys), 0.d);
+            Assert.assertEquals(expected, VectorUtils.dot(ys, xs), 0.d);
+            Assert.assertEquals(expected, VectorUtils.dot(xf, yf), 0.d);
+            // generic fallback
+            Assert.assertEquals(expected, VectorUtils.dot(xf, y), 0.d);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSparseDotOutOfBounds() {
+        SparseVector x = new SparseVector();
+        x.set(3, 1.d);
+        VectorUtils.dot(x, new DenseVector(3));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGenericDotOutOfBounds() {
+        SparseFloatVector x = new SparseFloatVector();
+        x.set(3, 1.f);
+        VectorUtils.dot(new DenseVector(3), x);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDenseDotLengthMismatch() {
+        VectorUtils.dot(new DenseVector(3), new DenseVector(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGenericDenseDotLengthMismatch() {
+        VectorUtils.dot(new DenseVector(3), new DenseFloatVector(4));
+    }
+
+    @Test
+    public void testAxpy() {
+        DenseVector y = new DenseVector(new double[] {1, 1, 1, 1, 1});
+        VectorUtils.axpy(2.d, new DenseVector(new double[] {1, 2, 3, 4, 5}), y);
+        Assert.assertArrayEquals(new double[] {3, 5, 7, 9, 11}, y.toArray(), 0.d);
+
+        SparseVector x = new SparseVector();
+        x.set(4, 1.d);
+        x.set(0, -1.d);
+        VectorUtils.axpy(-1.d, x, y);
+        Assert.assertArrayEquals(new double[] {4, 5, 7, 9, 10}, y.toArray(), 0.d);
+
+        DenseFloatVector yf = new DenseFloatVector(3);
+        SparseFloatVector xf = new SparseFloatVector();
+        xf.set(1, 2.f);
+        VectorUtils.axpy(0.5d, xf, yf);
+        Assert.assertArrayEquals(new float[] {0, 1, 0}, yf.getValues(), 0.f);
+
+        // generic fallback
+        SparseVector ys = new SparseVector();
+        VectorUtils.axpy(3.d, x, ys);
+        Assert.assertEquals(-3.d, ys.get(0), 0.d);
+        Assert.assertEquals(3.d, ys.get(4), 0.d);
+    }
+
+    @Test
+    public void testScaleAndNorms() {
+        double[] values = new double[] {3, -4, 0, 12, -1, 2, 5};
+        DenseVector x = new DenseVector(values.clone());
+        SparseVector xs = new SparseVector();
+        DenseFloatVector xf = new DenseFloatVector(values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != 0.d) {
+                xs.set(i, values[i]);
+            }
+            xf.set(i, values[i]);
+        }
+
+        for (Vector v : new Vector[] {x, xs, xf}) {
+            Assert.assertEquals(27.d, VectorUtils.norm1(v), 0.d);
+            Assert.assertEquals(Math.sqrt(199.d), VectorUtils.norm2(v), 1E-6d);
+            Assert.assertEquals(12.d, VectorUtils.normInf(v), 0.d);
+
+            VectorUtils.scale(-2.d, v);
+            Assert.assertEquals(24.d, VectorUtils.normInf(v), 0.d);
+            Assert.assertEquals(-24.d, v.get(3), 0.d);
+        }
+    }
+
+}